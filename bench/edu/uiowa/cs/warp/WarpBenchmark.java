@@ -0,0 +1,309 @@
+package edu.uiowa.cs.warp;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import edu.uiowa.cs.warp.SystemAttributes.ScheduleChoices;
+import edu.uiowa.cs.warp.Visualizable.SystemVisualizations;
+import edu.uiowa.cs.warp.Visualizable.WorkLoadVisualizations;
+
+/**
+ * WarpBenchmark measures the throughput and allocation rate of each step of the WARP pipeline:
+ * WorkLoad construction, Program construction for each scheduler, NonPreemptiveSchedule
+ * construction and toProgram(), WarpDSL.getInstructionParameters(), LatencyAnalysis
+ * latencyReport(), and Visualization toFile() for each visualization.
+ * <p>
+ * Each step is run on the repository's input files and on synthetic workloads built by the
+ * WorkLoadGenerator. Every measurement is preceded by warm-up iterations so the JIT compiler has
+ * compiled the code being measured. An iteration calls the step repeatedly for a fixed time, and
+ * the result of each call is consumed so the JIT compiler cannot eliminate the work. Allocation is
+ * measured with the HotSpot per-thread allocation counter, when the JVM supports it.
+ * <p>
+ * Usage: WarpBenchmark [-i inputFile]... [-g nodesxflows]... [-w warmups] [-m measurements]
+ * [-t milliseconds] [-f filter]
+ * <p>
+ * Without -i or -g options, the default inputs and synthetic workloads are used. The -f option
+ * only runs the steps whose name contains the filter text. Output files are written to the
+ * BenchmarkFiles/ sub-directory.
+ *
+ * @version 2.0 Fall 2025
+ */
+public class WarpBenchmark {
+
+  private static final String[] DEFAULT_INPUTS =
+      {"Example.txt", "StressTest.txt", "Example4.txt", "WARP-WASHU-MIX.txt"};
+  private static final String[] DEFAULT_GENERATED = {"100x50", "400x200"};
+  private static final String OUTPUT_SUB_DIRECTORY = "BenchmarkFiles/";
+  private static final Integer DEFAULT_WARMUPS = 3;
+  private static final Integer DEFAULT_MEASUREMENTS = 5;
+  private static final Integer DEFAULT_ITERATION_MILLIS = 500;
+  private static final String ROW_FORMAT = "%-28s %-36s %12s %12s %14s %12s\n";
+
+  private final Integer warmups;
+  private final Integer measurements;
+  private final Long iterationNanos;
+  private final String filter;
+  private final com.sun.management.ThreadMXBean threads;
+  private final Description table = new Description(); // rows measured so far
+  private long sink; // results are folded in here so the JIT cannot discard the work measured
+
+  /**
+   * The result of measuring one pipeline step.
+   */
+  private static final class Result {
+    private Double opsPerSecond; // mean over the measurement iterations
+    private Double opsPerSecondError; // standard deviation over the measurement iterations
+    private Double bytesPerOp; // -1 when allocation can not be measured
+    private Double bytesPerSecond;
+  }
+
+  WarpBenchmark(Integer warmups, Integer measurements, Integer iterationMillis, String filter) {
+    this.warmups = warmups;
+    this.measurements = measurements;
+    this.iterationNanos = iterationMillis * 1_000_000L;
+    this.filter = filter;
+    var threadBean = ManagementFactory.getThreadMXBean();
+    if (threadBean instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) threadBean).isThreadAllocatedMemorySupported()) {
+      threads = (com.sun.management.ThreadMXBean) threadBean;
+      threads.setThreadAllocatedMemoryEnabled(true);
+    } else {
+      threads = null;
+    }
+  }
+
+  /**
+   * Runs every pipeline step on one input file.
+   *
+   * @param options naming the input file
+   */
+  void benchmarkInput(Options options) {
+    var input = new File(options.getInputFileName()).getName();
+    var workLoad = new WorkLoad(options);
+    var snapshot = WorkLoadSnapshot.of(workLoad);
+
+    run(input, "WorkLoad", () -> new WorkLoad(options).getFlowNames().length);
+    run(input, "WorkLoadSnapshot.toWorkLoad", () -> snapshot.toWorkLoad(options).getName().length());
+
+    /* each program is built from a fresh fork, since the schedulers change the workload */
+    for (ScheduleChoices choice : ScheduleChoices.values()) {
+      var schedulerOptions = new Options(options);
+      schedulerOptions.setSchedulerSelected(choice.name());
+      run(input, "Program " + choice,
+          () -> new Program(snapshot.toWorkLoad(schedulerOptions)).getSchedule().size());
+    }
+
+    var posetOptions = new Options(options);
+    posetOptions.setSchedulerSelected(ScheduleChoices.POSET_PRIORITY.name());
+    var numChannels = options.getNumChannels();
+    run(input, "NonPreemptiveSchedule", () -> new NonPreemptiveSchedule(
+        new ConnectivityPoset(snapshot.toWorkLoad(posetOptions)), numChannels).endScheduleTime);
+    var schedule = new NonPreemptiveSchedule(
+        new ConnectivityPoset(snapshot.toWorkLoad(posetOptions)), numChannels);
+    run(input, "NonPreemptiveSchedule.toProgram", () -> schedule.toProgram().size());
+
+    var warp = new WarpSystem(snapshot.toWorkLoad(options));
+    var program = warp.getProgram();
+    var instructions = instructions(program.getSchedule());
+    var dsl = new WarpDSL();
+    run(input, "WarpDSL.getInstructionParameters", () -> {
+      var parameters = 0;
+      for (String instruction : instructions) {
+        parameters += dsl.getInstructionParameters(instruction).size();
+      }
+      return parameters;
+    });
+    run(input, "LatencyAnalysis.latencyReport",
+        () -> new LatencyAnalysis(program).latencyReport().size());
+
+    for (WorkLoadVisualizations choice : WorkLoadVisualizations.values()) {
+      var viz = VisualizationFactory.createWorkLoadVisualization(warp.getWorkload(), choice);
+      run(input, "toFile " + choice, () -> viz.toFile().getName().length());
+    }
+    for (SystemVisualizations choice : SystemVisualizations.values()) {
+      var viz = VisualizationFactory.createSystemVisualization(warp, choice);
+      run(input, "toFile " + choice, () -> viz.toFile().getName().length());
+    }
+  }
+
+  /* returns every instruction in the program, excluding the sleep instructions */
+  private List<String> instructions(ProgramSchedule schedule) {
+    var instructions = new ArrayList<String>();
+    for (int time = 0; time < schedule.getNumRows(); time++) {
+      for (int node = 0; node < schedule.getNumColumns(); node++) {
+        var instruction = schedule.get(time, node);
+        if (instruction != null && !instruction.equals(CodeFragment.sleep())) {
+          instructions.add(instruction);
+        }
+      }
+    }
+    return instructions;
+  }
+
+  /**
+   * Measures one pipeline step and prints a row with the result.
+   *
+   * @param input name of the workload
+   * @param step name of the pipeline step
+   * @param operation runs the step once and returns a value derived from its result
+   */
+  void run(String input, String step, Callable<Integer> operation) {
+    if (filter != null && !step.contains(filter)) {
+      return;
+    }
+    try {
+      for (int i = 0; i < warmups; i++) {
+        iteration(operation);
+      }
+      var result = new Result();
+      var ops = new double[measurements];
+      var totalOps = 0L;
+      var totalBytes = 0L;
+      var totalNanos = 0L;
+      for (int i = 0; i < measurements; i++) {
+        var startBytes = allocatedBytes();
+        var startTime = System.nanoTime();
+        var count = iteration(operation);
+        var elapsed = System.nanoTime() - startTime;
+        totalBytes += allocatedBytes() - startBytes;
+        totalNanos += elapsed;
+        totalOps += count;
+        ops[i] = count * 1e9 / elapsed;
+      }
+      result.opsPerSecond = mean(ops);
+      result.opsPerSecondError = standardDeviation(ops, result.opsPerSecond);
+      result.bytesPerOp = threads == null ? -1.0 : (double) totalBytes / totalOps;
+      result.bytesPerSecond = threads == null ? -1.0 : totalBytes * 1e9 / totalNanos;
+      var row = String.format(ROW_FORMAT, input, step, format(result.opsPerSecond),
+          format(result.opsPerSecondError), formatBytes(result.bytesPerOp),
+          formatBytes(result.bytesPerSecond));
+      table.add(row);
+      System.out.print(row);
+    } catch (Exception e) {
+      System.err.printf("\n\tERROR: benchmark %s on %s failed: %s\n", step, input, e);
+    }
+  }
+
+  /* calls the operation until the iteration time has passed; returns the number of calls */
+  private long iteration(Callable<Integer> operation) throws Exception {
+    var count = 0L;
+    var start = System.nanoTime();
+    do {
+      sink += operation.call();
+      count++;
+    } while (System.nanoTime() - start < iterationNanos);
+    return count;
+  }
+
+  private long allocatedBytes() {
+    return threads == null ? 0L
+        : threads.getThreadAllocatedBytes(Thread.currentThread().threadId());
+  }
+
+  private static double mean(double[] values) {
+    var sum = 0.0;
+    for (double value : values) {
+      sum += value;
+    }
+    return sum / values.length;
+  }
+
+  private static double standardDeviation(double[] values, double mean) {
+    var sum = 0.0;
+    for (double value : values) {
+      sum += (value - mean) * (value - mean);
+    }
+    return values.length > 1 ? Math.sqrt(sum / (values.length - 1)) : 0.0;
+  }
+
+  private static String format(double value) {
+    return value >= 100.0 ? String.format("%.0f", value) : String.format("%.2f", value);
+  }
+
+  private static String formatBytes(double bytes) {
+    if (bytes < 0) {
+      return "n/a";
+    }
+    String[] units = {"B", "KB", "MB", "GB"};
+    var unit = 0;
+    while (bytes >= 1024.0 && unit < units.length - 1) {
+      bytes /= 1024.0;
+      unit++;
+    }
+    return String.format("%.1f %s", bytes, units[unit]);
+  }
+
+  /**
+   * Writes a synthetic workload with the number of nodes and flows specified (e.g. "400x200") to
+   * an input file in the output directory and returns options naming that file.
+   */
+  private static Options generatedInput(Options options, String size) {
+    var dimensions = size.split("x");
+    var generator = new WorkLoadGenerator();
+    generator.setNumNodes(Integer.parseInt(dimensions[0]));
+    generator.setNumFlows(Integer.parseInt(dimensions[1]));
+    generator.setName("Synthetic" + dimensions[0] + "x" + dimensions[1]);
+    var fm = options.getFileManager();
+    var directory = fm.createDirectory(fm.getBaseDirectory(), OUTPUT_SUB_DIRECTORY);
+    var inputFile = directory + "/" + generator.getName() + ".txt";
+    fm.writeFile(inputFile, generator.toWarpText());
+    var inputOptions = new Options(options);
+    inputOptions.setInputFile(inputFile);
+    return inputOptions;
+  }
+
+  public static void main(String[] args) {
+    var inputs = new ArrayList<String>();
+    var generated = new ArrayList<String>();
+    var warmups = DEFAULT_WARMUPS;
+    var measurements = DEFAULT_MEASUREMENTS;
+    var iterationMillis = DEFAULT_ITERATION_MILLIS;
+    String filter = null;
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      switch (args[i]) {
+        case "-i":
+          inputs.add(args[i + 1]);
+          break;
+        case "-g":
+          generated.add(args[i + 1]);
+          break;
+        case "-w":
+          warmups = Integer.parseInt(args[i + 1]);
+          break;
+        case "-m":
+          measurements = Integer.parseInt(args[i + 1]);
+          break;
+        case "-t":
+          iterationMillis = Integer.parseInt(args[i + 1]);
+          break;
+        case "-f":
+          filter = args[i + 1];
+          break;
+        default:
+          System.err.printf("\n\tWarning! Unknown option %s ignored\n", args[i]);
+          break;
+      }
+    }
+    if (inputs.isEmpty() && generated.isEmpty()) {
+      inputs.addAll(List.of(DEFAULT_INPUTS));
+      generated.addAll(List.of(DEFAULT_GENERATED));
+    }
+    var options = new Options();
+    options.setOutputSubDirectory(OUTPUT_SUB_DIRECTORY);
+    var benchmark = new WarpBenchmark(warmups, measurements, iterationMillis, filter);
+    for (String input : inputs) {
+      var inputOptions = new Options(options);
+      inputOptions.setInputFile(input);
+      benchmark.benchmarkInput(inputOptions);
+    }
+    for (String size : generated) {
+      benchmark.benchmarkInput(generatedInput(options, size));
+    }
+    /* the schedulers print progress messages, so repeat the complete table at the end */
+    System.out.printf("\n" + ROW_FORMAT, "Input", "Step", "ops/s", "error", "alloc/op", "alloc/s");
+    System.out.print(benchmark.table.toString());
+    System.out.printf("(checksum %d)\n", benchmark.sink);
+  }
+}
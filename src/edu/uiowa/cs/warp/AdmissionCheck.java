@@ -0,0 +1,114 @@
+package edu.uiowa.cs.warp;
+
+import java.util.HashMap;
+import java.util.Map;
+import edu.uiowa.cs.warp.SystemAttributes.ScheduleChoices;
+
+/**
+ * An admission check that decides, from the WorkLoad alone, whether the workload is definitely
+ * infeasible before a Program is built for it. The check runs in O(flows x hops) time and
+ * tests two necessary conditions of every schedule that makes each link's transmission attempts
+ * in distinct time slots:
+ * <ul>
+ * <li>A flow's packet can't be attempted on its i-th link (counting from 0) until i time slots
+ * after its release, so a flow whose i-th link needs n attempts has a latency of at least i + n
+ * time slots, which must not exceed its deadline.</li>
+ * <li>A node waits or pulls once per time slot, so the attempts on all of the links into the
+ * node in a hyperperiod must fit in the time slots between the earliest release and the latest
+ * absolute deadline of the flow instances using those links.</li>
+ * </ul>
+ * When either condition fails the verdict is INFEASIBLE, with one reason per failure. Otherwise
+ * the verdict is UNKNOWN, and only building the program tells whether the workload can be
+ * scheduled.
+ *
+ * @version 2.0 Fall 2025
+ */
+public class AdmissionCheck {
+
+  /**
+   * The result of the admission check.
+   */
+  public enum Verdict {
+    /** No schedule can meet every flow's deadline. */
+    INFEASIBLE,
+    /** The check can't tell; the program must be built. */
+    UNKNOWN
+  }
+
+  private final Description reasons = new Description();
+
+  /**
+   * Checks the workload for the scheduler selected in its options.
+   *
+   * @param workLoad to be checked
+   */
+  AdmissionCheck(WorkLoad workLoad) {
+    /*
+     * RealTime HART attempts each link of a flow the same number of times. The smaller of that
+     * number and the link's attempts keeps the check valid for both.
+     */
+    var realtimeHART =
+        workLoad.getOptions().getSchedulerSelected() == ScheduleChoices.RTHART;
+    var hyperPeriod = workLoad.getHyperPeriod();
+    Map<String, long[]> demands = new HashMap<>(); // {attempts, earliest, latest} per node
+    for (String flowName : workLoad.getFlowNames()) {
+      var nodes = workLoad.getNodesInFlow(flowName);
+      var deadline = workLoad.getFlowDeadline(flowName);
+      var period = workLoad.getFlowPeriod(flowName);
+      var phase = workLoad.getFlowPhase(flowName);
+      var numInstances = hyperPeriod / period;
+      var linkAttempts = workLoad.getNumTxAttemptsPerLink(flowName);
+      var flowAttempts = workLoad.getFlowTxAttemptsPerLink(flowName);
+      var lastDeadline = (numInstances - 1L) * period + phase + deadline;
+      var attempts = new int[nodes.length - 1];
+      var minLatency = 0;
+      for (int link = 0; link < attempts.length; link++) {
+        attempts[link] = realtimeHART ? Math.min(flowAttempts, linkAttempts[link])
+            : linkAttempts[link];
+        minLatency = Math.max(minLatency, link + attempts[link]);
+      }
+      if (minLatency > deadline) {
+        reasons.add(String.format("Flow %s needs at least %d time slots to reach %s, "
+            + "but its deadline is %d\n", flowName, minLatency, nodes[nodes.length - 1],
+            deadline));
+        continue; // its nodes' demands would only repeat this reason
+      }
+      for (int link = 0; link < attempts.length; link++) {
+        var demand = demands.computeIfAbsent(nodes[link + 1],
+            node -> new long[] {0L, Long.MAX_VALUE, Long.MIN_VALUE});
+        demand[0] += (long) attempts[link] * numInstances;
+        demand[1] = Math.min(demand[1], phase + link);
+        demand[2] = Math.max(demand[2], lastDeadline);
+      }
+    }
+    for (String node : workLoad.getNodeNamesOrderedAlphabetically()) {
+      var demand = demands.get(node);
+      if (demand != null && demand[0] > demand[2] - demand[1]) {
+        reasons.add(String.format("Node %s must receive %d transmission attempts per "
+            + "hyperperiod in %d time slots\n", node, demand[0], demand[2] - demand[1]));
+      }
+    }
+  }
+
+  /**
+   * @return INFEASIBLE if no schedule can meet every flow's deadline, otherwise UNKNOWN
+   */
+  public Verdict getVerdict() {
+    return reasons.isEmpty() ? Verdict.UNKNOWN : Verdict.INFEASIBLE;
+  }
+
+  /**
+   * @return true if the workload is definitely infeasible
+   */
+  public Boolean isInfeasible() {
+    return getVerdict() == Verdict.INFEASIBLE;
+  }
+
+  /**
+   * @return the reasons the workload is infeasible, one per line, or no lines if the verdict
+   *         is UNKNOWN
+   */
+  public Description getReasons() {
+    return reasons;
+  }
+}
@@ -0,0 +1,118 @@
+package edu.uiowa.cs.warp;
+
+/**
+ * Limits the work done to build a program and analyze it, so that a pathological workload, such
+ * as one with large co-prime periods and a huge hyperperiod, fails fast instead of running until
+ * it runs out of memory. A budget is a cancellation token with an optional time limit, counted
+ * from when the budget is created, and an optional limit on the number of time slots of a
+ * schedule. The limits are set with the -tl and -sl options.
+ * <p>
+ * The Program, Schedule, Poset, and analyses built for a program share its budget and check it
+ * at each step of their loops: each flow instance, activation, or node. When the budget is used
+ * up, the check throws a BudgetExceededException, which reports how far the work got. The checks
+ * are cooperative, so cancel() stops the work at its next check, from any thread.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class Budget {
+
+  /** The limit that stopped the work. */
+  enum Limit {
+    CANCELLED, TIME, SLOTS
+  }
+
+  private static final Long NANOS_PER_MILLI = 1_000_000L;
+
+  private final Integer timeLimit; // in milliseconds, or 0 if not limited
+  private final Integer slotLimit; // or 0 if not limited
+  private final Long deadline; // System.nanoTime() at which the time limit is exceeded
+  private volatile boolean cancelled = false;
+
+  /**
+   * Creates a budget without limits, which is only used up when it is cancelled.
+   */
+  Budget() {
+    this(0, 0);
+  }
+
+  /**
+   * Creates a budget with the time and slot limits of the options.
+   *
+   * @param options with the limits
+   */
+  Budget(Options options) {
+    this(options.getTimeLimit(), options.getSlotLimit());
+  }
+
+  /**
+   * Creates a budget whose time starts now.
+   *
+   * @param timeLimit in milliseconds, or 0 for no time limit
+   * @param slotLimit number of time slots of a schedule, or 0 for no slot limit
+   */
+  Budget(Integer timeLimit, Integer slotLimit) {
+    this.timeLimit = timeLimit;
+    this.slotLimit = slotLimit;
+    this.deadline = System.nanoTime() + timeLimit * NANOS_PER_MILLI;
+  }
+
+  /**
+   * Cancels the work that checks this budget, at its next check.
+   */
+  void cancel() {
+    cancelled = true;
+  }
+
+  /**
+   * @return true if the budget was cancelled
+   */
+  Boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Checks that the budget isn't cancelled and its time isn't up.
+   *
+   * @param stage of the work checked, such as "Program" or "ChannelAnalysis"
+   * @param element worked on: a flow, activation, or node name, or null
+   * @param slot the work got to, or null
+   * @throws BudgetExceededException if the work must stop
+   */
+  void check(String stage, String element, Integer slot) {
+    if (cancelled) {
+      throw new BudgetExceededException(Limit.CANCELLED, describe(Limit.CANCELLED), stage,
+          element, slot);
+    }
+    if (timeLimit > 0 && System.nanoTime() - deadline > 0) {
+      throw new BudgetExceededException(Limit.TIME, describe(Limit.TIME), stage, element, slot);
+    }
+  }
+
+  /**
+   * Checks the budget, and that a schedule of the number of time slots given is within the slot
+   * limit. Call it before a schedule is extended, so an oversized one is never allocated.
+   *
+   * @param stage of the work checked
+   * @param element worked on, or null
+   * @param numSlots of the schedule
+   * @throws BudgetExceededException if the work must stop
+   */
+  void checkSlots(String stage, String element, Integer numSlots) {
+    check(stage, element, null);
+    if (slotLimit > 0 && numSlots > slotLimit) {
+      throw new BudgetExceededException(Limit.SLOTS, describe(Limit.SLOTS), stage, element,
+          numSlots);
+    }
+  }
+
+  private String describe(Limit limit) {
+    switch (limit) {
+      case TIME:
+        return String.format("time limit of %d ms exceeded", timeLimit);
+      case SLOTS:
+        return String.format("slot limit of %d time slots exceeded", slotLimit);
+      default:
+        return "cancelled";
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package edu.uiowa.cs.warp;
+
+/**
+ * Thrown when the Budget of a program is used up while the program or one of its analyses is
+ * built. It reports how far the work got: the stage it was in, the flow, activation, or node it
+ * was working on, and the time slot it got to, along with any details the stages it passed
+ * through add, such as the number of flows already scheduled.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class BudgetExceededException extends RuntimeException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final Budget.Limit limit;
+  private final String stage;
+  private final String element;
+  private final Integer slot;
+  private final Description details = new Description();
+
+  /**
+   * Creates the exception.
+   *
+   * @param limit that was exceeded
+   * @param message describing the limit
+   * @param stage of the work stopped
+   * @param element worked on, or null
+   * @param slot the work got to, or null
+   */
+  BudgetExceededException(Budget.Limit limit, String message, String stage, String element,
+      Integer slot) {
+    super(String.format("%s stopped: %s", stage, message));
+    this.limit = limit;
+    this.stage = stage;
+    this.element = element;
+    this.slot = slot;
+  }
+
+  /**
+   * Returns the budget exceeded exception that caused the throwable, such as the cause of the
+   * CompletionException of a program built in the background.
+   *
+   * @param thrown throwable whose causes are searched
+   * @return the exception, or null if the throwable wasn't caused by one
+   */
+  static BudgetExceededException causeOf(Throwable thrown) {
+    for (Throwable cause = thrown; cause != null; cause = cause.getCause()) {
+      if (cause instanceof BudgetExceededException) {
+        return (BudgetExceededException) cause;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Adds a line to the report, about the partial result of a stage the work passed through.
+   *
+   * @param detail line, without a newline
+   * @return this exception, to be rethrown
+   */
+  BudgetExceededException addDetail(String detail) {
+    details.add("\t" + detail + "\n");
+    return this;
+  }
+
+  Budget.Limit getLimit() {
+    return limit;
+  }
+
+  String getStage() {
+    return stage;
+  }
+
+  /**
+   * @return the flow, activation, or node worked on, or null if unknown
+   */
+  String getElement() {
+    return element;
+  }
+
+  /**
+   * @return the time slot the work got to, or null if unknown
+   */
+  Integer getSlot() {
+    return slot;
+  }
+
+  /**
+   * Returns the report of how far the work got, one line per item.
+   *
+   * @return the report
+   */
+  Description getReport() {
+    var report = new Description();
+    report.add(String.format("ERROR: %s\n", getMessage()));
+    if (element != null) {
+      report.add(String.format("\tWorking on: %s\n", element));
+    }
+    if (slot != null) {
+      report.add(String.format("\tTime slot: %d\n", slot));
+    }
+    report.addAll(details);
+    return report;
+  }
+}
@@ -1,40 +1,112 @@
 package edu.uiowa.cs.warp;
 
+import java.util.Arrays;
+
 /**
  * Performs a channel analysis of the WARP program.
  * <p>
- * CS2820 Fall 2025 Project: Implement this class to analyze the use of channels
- * by the Warp program. A channel analysis table is created that shows the nodes
- * and flows using each channel in each time slot.
+ * Each time slot of the program is scanned once. Every channel in an instruction belongs to a
+ * push or pull, which claims the channel for the node's transmission, or to a wait, in which the
+ * node listens on the channel. The channels claimed in a time slot are kept in a bitmask, so the
+ * scan is linear in the size of the program and allocates nothing for a time slot without
+ * conflicts. A channel conflict exists when, in the same time slot,
+ * <ul>
+ * <li>two different nodes claim the same channel for their transmissions, or</li>
+ * <li>a node claims two different channels for its transmissions, or</li>
+ * <li>an instruction uses a channel that isn't one of the nChannels available.</li>
+ * </ul>
+ * The alternatives of one node's conditional instruction, such as
+ * {@code if has(F0) push(F0: B -> C, #3) else pull(F0: A -> B, #3)}, are one use of the channel.
+ * A node may listen on another channel than the one it transmits on, as in
+ * {@code if has(F0) push(F0: C -> D, #1) else wait(#4)}, because only one alternative runs.
+ * <p>
+ * The channel analysis table shows the flows and nodes using each channel in each time slot.
+ * It is only built when it is requested, for the channel (.ch) visualization.
  *
  * @author sgoddard
  * @version 2.0 Fall 2025
  */
 public class ChannelAnalysis {
 
+  private static final String PUSH = "push";
+  private static final String PULL = "pull";
+  private static final char CHANNEL_MARK = '#';
+  private static final String UNUSED = ""; // table entry of a channel not used in a time slot
+  private static final String LINK_SEPARATOR = ", ";
+  private static final Integer MAX_CHANNELS = Long.SIZE; // channels a bitmask can hold
+  private static final String STAGE = "ChannelAnalysis"; // reported when the budget is exceeded
+  private static final String TIMER = "analysis.channel";
+  private static final int SLOTS_PER_BUDGET_CHECK = 1024;
+
   /** Represents the current WARP program. */
   private Program program;
 
-  /** Schedule table which maps time slots and channels to transmissions. */
+  /** Schedule table which maps time slots and nodes to instructions. */
   private ProgramSchedule programTable;
 
+  /** Table which maps time slots and channels to transmissions, built when first requested. */
+  private ProgramSchedule channelTable;
+
+  /** Number of channels available to the program. */
+  private Integer nChannels;
+
+  /** Node names, in the column order of the program schedule. */
+  private String[] nodeNames;
+
+  /** Description of each channel conflict found. */
+  private Description conflicts;
+
   /** Flag that indicates whether any channel conflict exists. */
   private Boolean conflictExists;
 
+  /** Budget of the program, checked as its time slots are analyzed. */
+  private Budget budget;
+
   /**
-   * Constructs a new ChannelAnalysis object for the given WARP system.
+   * Constructs a new ChannelAnalysis object for the given WARP system, and checks its program
+   * for channel conflicts.
    *
    * @param warp the WARP system containing the program and its schedule
    */
   ChannelAnalysis(WarpInterface warp) {
-    this.program = warp.getProgram();
+    this(warp.getProgram());
+  }
+
+  /**
+   * Constructs a new ChannelAnalysis object for the program, and checks it for channel
+   * conflicts.
+   *
+   * @param program to be analyzed
+   */
+  ChannelAnalysis(Program program) {
+    this.program = program;
     this.programTable = program.getSchedule();
-    this.conflictExists = false;
+    this.nChannels = program.getNumChannels();
+    this.nodeNames = program.toWorkLoad().getNodeNamesOrderedAlphabetically();
+    this.budget = program.getBudget();
+    this.channelTable = null;
+    var timer = program.getMetrics().timer(TIMER);
+    var start = timer.start();
+    try {
+      this.conflicts = findConflicts();
+    } finally {
+      timer.stop(start);
+    }
+    this.conflictExists = !conflicts.isEmpty();
   }
 
-  /** Returns the analysis table derived from the program schedule. */
+  /**
+   * Returns the channel analysis table. Each row is a time slot and each column is a channel,
+   * listing the flow links transmitted on the channel in that time slot, or an empty string if
+   * the channel isn't used.
+   *
+   * @return the channel analysis table
+   */
   public ProgramSchedule getChannelAnalysisTable() {
-    return programTable;
+    if (channelTable == null) {
+      channelTable = buildChannelTable();
+    }
+    return channelTable;
   }
 
   /**
@@ -45,4 +117,128 @@ public class ChannelAnalysis {
   public Boolean isChannelConflict() {
     return conflictExists;
   }
+
+  /**
+   * Returns a description of each channel conflict, one line per conflict, which is empty when
+   * no conflict exists.
+   *
+   * @return the channel conflicts
+   */
+  public Description getConflicts() {
+    return conflicts;
+  }
+
+  /**
+   * @return the number of channels available to the program
+   */
+  public Integer getNumChannels() {
+    return nChannels;
+  }
+
+  /**
+   * Scans each time slot of the program once for channel conflicts.
+   *
+   * @return a description of each conflict found
+   */
+  private Description findConflicts() {
+    var found = new Description();
+    var numSlots = programTable.getNumRows();
+    var numNodes = programTable.getNumColumns();
+    var numTracked = Math.min(nChannels, MAX_CHANNELS);
+    var owner = new int[numTracked]; // node that claimed each channel in the current time slot
+    for (int slot = 0; slot < numSlots; slot++) {
+      if (slot % SLOTS_PER_BUDGET_CHECK == 0) {
+        budget.check(STAGE, null, slot);
+      }
+      var claimed = 0L; // bit c is set when channel c has been claimed in this time slot
+      var reported = 0L; // bit c is set when a conflict on channel c has been reported
+      for (int node = 0; node < numNodes; node++) {
+        var instruction = programTable.get(slot, node);
+        if (instruction == null) {
+          continue;
+        }
+        var nodeChannel = -1;
+        for (int mark = instruction.indexOf(CHANNEL_MARK); mark >= 0;
+            mark = instruction.indexOf(CHANNEL_MARK, mark + 1)) {
+          var channel = parseChannel(instruction, mark + 1);
+          if (channel >= numTracked) {
+            found.add(String.format("Time slot %d: node %s uses channel %d, but only %d "
+                + "channels are available\n", slot, nodeNames[node], channel, nChannels));
+            continue;
+          }
+          if (!isClaim(instruction, mark)) {
+            continue; // listening, which may be on another channel than the node's transmission
+          }
+          if (nodeChannel < 0) {
+            nodeChannel = channel;
+          } else if (channel != nodeChannel) {
+            found.add(String.format("Time slot %d: node %s transmits on channels %d and %d\n",
+                slot, nodeNames[node], nodeChannel, channel));
+            nodeChannel = channel; // report each change of channel once
+          }
+          var bit = 1L << channel;
+          if ((claimed & bit) == 0) {
+            claimed |= bit;
+            owner[channel] = node;
+          } else if (owner[channel] != node && (reported & bit) == 0) {
+            reported |= bit; // report each shared channel once
+            found.add(String.format("Time slot %d: nodes %s and %s both transmit on channel %d\n",
+                slot, nodeNames[owner[channel]], nodeNames[node], channel));
+          }
+        }
+      }
+    }
+    return found;
+  }
+
+  /**
+   * Builds the channel analysis table from the push and pull instructions of the program.
+   *
+   * @return the channel analysis table
+   */
+  private ProgramSchedule buildChannelTable() {
+    var table = new ProgramSchedule();
+    var numSlots = programTable.getNumRows();
+    var numNodes = programTable.getNumColumns();
+    for (int slot = 0; slot < numSlots; slot++) {
+      var transmissions = new String[nChannels];
+      Arrays.fill(transmissions, UNUSED);
+      for (int node = 0; node < numNodes; node++) {
+        var instruction = programTable.get(slot, node);
+        if (instruction == null) {
+          continue;
+        }
+        for (int mark = instruction.indexOf(CHANNEL_MARK); mark >= 0;
+            mark = instruction.indexOf(CHANNEL_MARK, mark + 1)) {
+          var channel = parseChannel(instruction, mark + 1);
+          if (channel >= nChannels || !isClaim(instruction, mark)) {
+            continue;
+          }
+          /* the link is between the open parenthesis and the ", " before the channel */
+          var link = instruction.substring(instruction.lastIndexOf('(', mark) + 1,
+              mark - LINK_SEPARATOR.length());
+          transmissions[channel] = transmissions[channel].isEmpty() ? link
+              : transmissions[channel] + LINK_SEPARATOR + link;
+        }
+      }
+      table.add(new InstructionTimeSlot(transmissions));
+    }
+    return table;
+  }
+
+  /* true if the channel at mark belongs to a push or pull rather than a wait */
+  private static Boolean isClaim(String instruction, int mark) {
+    var command = instruction.lastIndexOf('(', mark) - PUSH.length();
+    return instruction.startsWith(PUSH, command) || instruction.startsWith(PULL, command);
+  }
+
+  /* parses the channel number that starts at index, without creating a substring */
+  private static int parseChannel(String instruction, int index) {
+    var channel = 0;
+    while (index < instruction.length() && Character.isDigit(instruction.charAt(index))) {
+      channel = 10 * channel + (instruction.charAt(index) - '0');
+      index++;
+    }
+    return channel;
+  }
 }
@@ -0,0 +1,130 @@
+package edu.uiowa.cs.warp;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Finds the smallest number of channels, up to the number in the options, with which a workload
+ * is schedulable by the scheduler selected. The number is found by a binary search, which
+ * assumes that a workload schedulable with n channels is also schedulable with more.
+ * <p>
+ * The input file is parsed once: each probe schedules a copy of the workload forked from a
+ * WorkLoadSnapshot, with its own copy of the options. A probe stops building its program at the
+ * first deadline miss (Program.deadlineMisses() or Schedule.schedulable), since one miss decides
+ * it. When the AdmissionCheck proves the workload infeasible, no number of channels can help, so
+ * nothing is scheduled.
+ * <p>
+ * The report has one row for each probe, in the order probed, with the time it took, followed by
+ * the minimum number of channels and the total time.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class ChannelSearch {
+
+  private static final String TITLE = "ChannelSearch";
+  private static final String[] PROBE_HEADER = {"Channels", "Schedulable", "Time(ms)"};
+  private static final Double NANOS_PER_MILLI = 1_000_000.0;
+  private static final Integer MIN_CHANNELS = 1;
+
+  private final WarpInterface warp;
+  private final WorkLoadSnapshot snapshot;
+  private final Map<Integer, Boolean> probed = new HashMap<>();
+  private final Description probes = new Description();
+  private Integer minChannels = null;
+  private Long searchTime = null;
+
+  /**
+   * Creates a search for the system's workload, scheduled with the system's options.
+   *
+   * @param warp system whose workload is searched
+   */
+  ChannelSearch(WarpInterface warp) {
+    this.warp = warp;
+    this.snapshot = WorkLoadSnapshot.of(warp.getWorkload());
+  }
+
+  /**
+   * Searches for the smallest number of channels, once.
+   *
+   * @return the smallest number of channels with which the workload is schedulable, or null if
+   *         it isn't schedulable with the number of channels in the options
+   */
+  synchronized Integer search() {
+    if (searchTime == null) {
+      var start = System.nanoTime();
+      var low = MIN_CHANNELS;
+      var high = warp.getNumChannels();
+      if (!warp.getAdmissionCheck().isInfeasible() && isSchedulable(high)) {
+        while (low < high) {
+          var middle = (low + high) / 2;
+          if (isSchedulable(middle)) {
+            high = middle;
+          } else {
+            low = middle + 1;
+          }
+        }
+        minChannels = high;
+      }
+      searchTime = System.nanoTime() - start;
+    }
+    return minChannels;
+  }
+
+  /**
+   * Returns whether the workload is schedulable with the number of channels. Each number of
+   * channels is scheduled at most once.
+   *
+   * @param numChannels available to the scheduler
+   * @return true if every flow instance meets its deadline
+   */
+  synchronized Boolean isSchedulable(Integer numChannels) {
+    var result = probed.get(numChannels);
+    if (result == null) {
+      var options = new Options(warp.getOptions());
+      options.setnChannels(numChannels);
+      var start = System.nanoTime();
+      result = new Program(snapshot.toWorkLoad(options), true).isSchedulable();
+      probed.put(numChannels, result);
+      probes.add(String.format("%d\t%s\t%s\n", numChannels, result ? "yes" : "no",
+          millis(System.nanoTime() - start)));
+    }
+    return result;
+  }
+
+  /**
+   * Searches, then writes the report to a file in the output directory and prints it.
+   *
+   * @return the report
+   */
+  Description run() {
+    search();
+    var report = createReport();
+    new ReportVisualization(warp, report, TITLE).toFile();
+    System.out.print(report.toString());
+    return report;
+  }
+
+  private Description createReport() {
+    var report = new Description();
+    report.add(String.format("Channel search for graph %s\n", warp.getName()));
+    report.add(String.format("Scheduler Name: %s\n", warp.getSchedulerName()));
+    report.add(String.format("M: %s\n", String.valueOf(warp.getMinPacketReceptionRate())));
+    report.add(String.format("E2E: %s\n", String.valueOf(warp.getE2E())));
+    report.add(String.join("\t", PROBE_HEADER) + "\n");
+    report.addAll(probes);
+    if (minChannels != null) {
+      report.add(String.format("Minimum channels: %d\n", minChannels));
+    } else if (warp.getAdmissionCheck().isInfeasible()) {
+      report.add("Not schedulable with any number of channels:\n");
+      report.addAll(warp.getAdmissionCheck().getReasons());
+    } else {
+      report.add(String.format("Not schedulable with %d channels\n", warp.getNumChannels()));
+    }
+    report.add(String.format("Total(ms): %s\n", millis(searchTime)));
+    return report;
+  }
+
+  private static String millis(Long nanos) {
+    return String.format("%.1f", nanos / NANOS_PER_MILLI);
+  }
+}
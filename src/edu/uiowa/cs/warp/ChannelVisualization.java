@@ -1,12 +1,13 @@
 package edu.uiowa.cs.warp;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
- * Creates the visualizations for the channel analysis of the WARP program.
- * <p>
- * 
- * CS2820 Fall 2025 Project: Implement this class to create the file visualization that is requested
- * in Warp.
- * 
+ * Creates the visualizations for the channel analysis of the WARP program. The table has a row
+ * for each time slot and a column for each channel, showing the flow links transmitted on the
+ * channel. The footer reports the channel conflicts found.
+ *
  * @author sgoddard
  * @version 2.0 Fall 2025
  *
@@ -23,4 +24,95 @@ public class ChannelVisualization extends Visualization {
     this.warp = warp;
     this.ca = warp.getChannelAnalysis();
   }
+
+  @Override
+  protected GuiWindow displayVisualization() {
+    return new GuiWindow(warp.getOptions(), createTitle(), createColumnHeader(),
+        createVisualizationData());
+  }
+
+  @Override
+  protected Description createHeader() {
+    Description header = new Description();
+    header.add(createTitle());
+    header.add(String.format("Scheduler Name: %s\n", warp.getSchedulerName()));
+    if (warp.getNumFaults() > 0) { // only specify when deterministic fault model is assumed
+      header.add(String.format("numFaults: %d\n", warp.getNumFaults()));
+    }
+    header.add(String.format("M: %s\n", String.valueOf(warp.getMinPacketReceptionRate())));
+    header.add(String.format("E2E: %s\n", String.valueOf(warp.getE2E())));
+    header.add(String.format("nChannels: %d\n", ca.getNumChannels()));
+    return header;
+  }
+
+  @Override
+  protected Description createFooter() {
+    Description footer = new Description();
+    if (ca.isChannelConflict()) {
+      footer.add("// WARNING: Channel conflicts exist:\n");
+      for (String conflict : ca.getConflicts()) {
+        footer.add(String.format("// %s", conflict));
+      }
+    } else {
+      footer.add("// No channel conflicts\n");
+    }
+    return footer;
+  }
+
+  @Override
+  protected String[] createColumnHeader() {
+    var nChannels = ca.getNumChannels();
+    String[] columnNames = new String[nChannels + 1];
+    columnNames[0] = "Time Slot";
+    for (int channel = 0; channel < nChannels; channel++) {
+      columnNames[channel + 1] = String.valueOf(channel);
+    }
+    return columnNames;
+  }
+
+  @Override
+  protected String[][] createVisualizationData() {
+    if (visualizationData == null) {
+      var table = ca.getChannelAnalysisTable();
+      int numRows = table.getNumRows();
+      int numColumns = ca.getNumChannels();
+      visualizationData = new String[numRows][numColumns + 1];
+      for (int row = 0; row < numRows; row++) {
+        visualizationData[row][0] = String.valueOf(row);
+        for (int column = 0; column < numColumns; column++) {
+          visualizationData[row][column + 1] = table.get(row, column);
+        }
+      }
+    }
+    return visualizationData;
+  }
+
+  /**
+   * Writes the channel analysis table one time slot at a time, as ProgramVisualization writes
+   * the program. The rows are the same as those of visualization().
+   *
+   * @param out writer of the file
+   * @throws IOException if the file can't be written
+   */
+  @Override
+  protected void writeVisualization(Writer out) throws IOException {
+    out.write(String.join("\t", createColumnHeader()) + "\n");
+    var table = ca.getChannelAnalysisTable();
+    int numRows = table.getNumRows();
+    int numColumns = ca.getNumChannels();
+    var rowString = new StringBuilder();
+    for (int row = 0; row < numRows; row++) {
+      rowString.setLength(0);
+      rowString.append(row);
+      for (int column = 0; column < numColumns; column++) {
+        rowString.append('\t').append(table.get(row, column));
+      }
+      rowString.append('\n');
+      out.append(rowString);
+    }
+  }
+
+  private String createTitle() {
+    return String.format("%s for graph %s\n", OBJECT_NAME, warp.getName());
+  }
 }
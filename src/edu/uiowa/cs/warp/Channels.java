@@ -57,6 +57,23 @@ public class Channels {
     this.channelsAvailable = new ArrayList<ChannelSet>();
   }
 
+  /**
+   * Creates a copy of another channel manager. Channels taken from or returned to the copy
+   * don't change the original.
+   *
+   * @param other channel manager to copy
+   */
+  Channels(Channels other) {
+    this.nChannels = other.nChannels;
+    this.verbose = other.verbose;
+    this.channelsAvailable = new ArrayList<ChannelSet>(other.channelsAvailable.size());
+    for (ChannelSet channels : other.channelsAvailable) {
+      var copy = new ChannelSet();
+      copy.addAll(channels);
+      this.channelsAvailable.add(copy);
+    }
+  }
+
   /*
    * FIX: Previously returned a copy (new HashSet<>(...)), which caused removals to be lost
    * and could lead to channel conflicts. Now returns the LIVE set for this time slot.
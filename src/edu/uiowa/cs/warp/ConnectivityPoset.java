@@ -15,6 +15,10 @@ public class ConnectivityPoset extends Poset {
 		super(workload);
 		
 	}
+
+	ConnectivityPoset(WorkLoad workload, Budget budget) {
+		super(workload, budget);
+	}
 	
 	
 	/**
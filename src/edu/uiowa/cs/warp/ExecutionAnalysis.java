@@ -1,41 +1,241 @@
 package edu.uiowa.cs.warp;
 
+import java.util.stream.IntStream;
+
 /**
- * ExecutionAnalysis records the execution in active time slots for each
- * release of each flow for the WARP system. A correct schedule will have
- * a COMPLETE recorded at or before the absolute DEADLINE for each flow 
- * instance released. The missed deadline will be reported in the Latency
- * Report, which in created by another class.
- * 
- * CS2820 Spring 2025 Project: Implement this class to create the 
- * execution table.
- * 
+ * ExecutionAnalysis classifies what each node's radio does in each time slot of the WARP
+ * program, so schedulers can be compared on energy without a simulator. An instruction with a
+ * push may transmit, an instruction with only a pull or a wait listens, and a sleep turns the
+ * radio off. The radio is on when a node transmits or listens.
+ * <p>
+ * The program schedule is read one node column at a time, and the columns are classified in
+ * parallel. From the classification the analysis computes, for each node, the number of time
+ * slots its radio is on, its duty cycle, and the longest run of consecutive sleep slots, and
+ * for each time slot the number of nodes whose radio is on.
+ *
  * @author sgoddard
- * @version 1.10 Spring 2025
+ * @version 2.0 Fall 2025
  */
 public class ExecutionAnalysis {
 
- 
+  /** What a node's radio does in a time slot. */
+  enum Activity {
+    TRANSMIT("transmit"), LISTEN("listen"), SLEEP("sleep");
+
+    private final String label;
+
+    Activity(String label) {
+      this.label = label;
+    }
+
+    /**
+     * @return true if the radio is on for this activity
+     */
+    Boolean isRadioOn() {
+      return this != SLEEP;
+    }
+
+    @Override
+    public String toString() {
+      return label;
+    }
+  }
+
+  private static final String PUSH_FRAGMENT = "push(";
+  private static final String PULL_FRAGMENT = "pull(";
+  private static final String WAIT_FRAGMENT = "wait(";
+  private static final Activity[] ACTIVITIES = Activity.values();
+  private static final String STAGE = "ExecutionAnalysis"; // reported when the budget is exceeded
+  private static final String TIMER = "analysis.execution";
+
+  /** Schedule table which maps time slots and nodes to instructions. */
+  private ProgramSchedule programTable;
+
+  /** Table which maps time slots and nodes to activities, built when first requested. */
   private ProgramSchedule executionTable;
-  
 
+  /** Node names, in the column order of the program schedule. */
+  private String[] nodeNames;
+
+  /** Budget of the program, checked for each node analyzed. */
+  private Budget budget;
+
+  /** Activity ordinal of each node (first index) in each time slot (second index). */
+  private byte[][] activities;
+
+  private int[] radioOnSlots;
+  private int[] longestSleep;
+  private int[] activeNodes;
+
+  /**
+   * Constructs a new ExecutionAnalysis object for the program of the given WARP system.
+   *
+   * @param warp the WARP system containing the program and its schedule
+   */
   ExecutionAnalysis(WarpInterface warp) {
-	// TODO Auto-generated constructor stub
+    this(warp.getProgram());
   }
-  
+
+  /**
+   * Constructs a new ExecutionAnalysis object for the program, and classifies the activity of
+   * each node in each time slot.
+   *
+   * @param program to be analyzed
+   */
   ExecutionAnalysis(Program program) {
-	// TODO Auto-generated constructor stub
+    this.programTable = program.getSchedule();
+    this.nodeNames = program.toWorkLoad().getNodeNamesOrderedAlphabetically();
+    this.budget = program.getBudget();
+    this.executionTable = null;
+    var timer = program.getMetrics().timer(TIMER);
+    var start = timer.start();
+    try {
+      var numSlots = programTable.getNumRows();
+      var numNodes = programTable.getNumColumns();
+      activities = new byte[numNodes][numSlots];
+      radioOnSlots = new int[numNodes];
+      longestSleep = new int[numNodes];
+      /* each task writes only its own column and node entries, so no locking is needed */
+      IntStream.range(0, numNodes).parallel().forEach(this::analyzeColumn);
+      activeNodes = new int[numSlots];
+      for (byte[] column : activities) {
+        for (int slot = 0; slot < numSlots; slot++) {
+          if (ACTIVITIES[column[slot]].isRadioOn()) {
+            activeNodes[slot]++;
+          }
+        }
+      }
+    } finally {
+      timer.stop(start);
+    }
   }
 
   /**
-   * Returns the executionTable, once it is implemented in the final project.
-   * 
-   * @return
+   * Returns the execution table. Each row is a time slot and each column is a node, in the
+   * column order of the program schedule, showing whether the node transmits, listens, or
+   * sleeps in that time slot.
+   *
+   * @return the execution table
    */
   public ProgramSchedule getExecutionTable() {
-	// TODO implement this method stub
-	  executionTable = new ProgramSchedule();
+    if (executionTable == null) {
+      executionTable = new ProgramSchedule();
+      for (int slot = 0; slot < getNumTimeSlots(); slot++) {
+        var row = new String[activities.length];
+        for (int node = 0; node < activities.length; node++) {
+          row[node] = ACTIVITIES[activities[node][slot]].toString();
+        }
+        executionTable.add(new InstructionTimeSlot(row));
+      }
+    }
     return executionTable;
   }
 
+  /**
+   * @return the node names, in the column order of the execution table
+   */
+  public String[] getNodeNames() {
+    return nodeNames;
+  }
+
+  /**
+   * @return the number of time slots in the program
+   */
+  public Integer getNumTimeSlots() {
+    return programTable.getNumRows();
+  }
+
+  /**
+   * Returns what the node's radio does in the time slot.
+   *
+   * @param node column of the node in the program schedule
+   * @param slot time slot
+   * @return the node's activity
+   */
+  Activity getActivity(int node, int slot) {
+    return ACTIVITIES[activities[node][slot]];
+  }
+
+  /**
+   * Returns the number of time slots in which the node's radio is on, transmitting or listening.
+   *
+   * @param node column of the node in the program schedule
+   * @return the node's radio-on time slots
+   */
+  public Integer getRadioOnSlots(int node) {
+    return radioOnSlots[node];
+  }
+
+  /**
+   * Returns the fraction of the program's time slots in which the node's radio is on.
+   *
+   * @param node column of the node in the program schedule
+   * @return the node's duty cycle, between 0.0 and 1.0
+   */
+  public Double getDutyCycle(int node) {
+    var numSlots = getNumTimeSlots();
+    return numSlots > 0 ? (double) radioOnSlots[node] / numSlots : 0.0;
+  }
+
+  /**
+   * Returns the length of the longest run of consecutive time slots in which the node sleeps.
+   *
+   * @param node column of the node in the program schedule
+   * @return the node's longest sleep, in time slots
+   */
+  public Integer getLongestSleep(int node) {
+    return longestSleep[node];
+  }
+
+  /**
+   * Returns the number of nodes whose radio is on in the time slot.
+   *
+   * @param slot time slot
+   * @return the number of active nodes
+   */
+  public Integer getActiveNodes(int slot) {
+    return activeNodes[slot];
+  }
+
+  /* classifies one node's column of the program and computes the node's totals */
+  private void analyzeColumn(int node) {
+    budget.check(STAGE, nodeNames[node], null);
+    var column = activities[node];
+    var radioOn = 0;
+    var sleepRun = 0;
+    var longest = 0;
+    for (int slot = 0; slot < column.length; slot++) {
+      var activity = classify(programTable.get(slot, node));
+      column[slot] = (byte) activity.ordinal();
+      if (activity.isRadioOn()) {
+        radioOn++;
+        sleepRun = 0;
+      } else {
+        sleepRun++;
+        longest = Math.max(longest, sleepRun);
+      }
+    }
+    radioOnSlots[node] = radioOn;
+    longestSleep[node] = longest;
+  }
+
+  /**
+   * Classifies an instruction. An instruction that may push transmits, even when it pulls or
+   * waits if it has nothing to push, so a node's radio-on time is counted at its most costly.
+   *
+   * @param instruction from the program schedule
+   * @return what the radio does when the instruction runs
+   */
+  static Activity classify(String instruction) {
+    if (instruction == null) {
+      return Activity.SLEEP;
+    }
+    if (instruction.contains(PUSH_FRAGMENT)) {
+      return Activity.TRANSMIT;
+    }
+    if (instruction.contains(PULL_FRAGMENT) || instruction.contains(WAIT_FRAGMENT)) {
+      return Activity.LISTEN;
+    }
+    return Activity.SLEEP;
+  }
 }
@@ -1,30 +1,118 @@
 package edu.uiowa.cs.warp;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * ExecutionVisualization creates the visualizations for the execution analysis of
- * the WARP program.
- * <p>
- * 
- * CS2820 Spring 2025 Project: Implement this class to create the file
- * visualization that is requested in Warp.
- * 
+ * the WARP program. The table has a row for each time slot and a column for each node,
+ * showing whether the node transmits, listens, or sleeps, followed by the number of nodes
+ * whose radio is on. The footer summarizes the radio-on time of each node.
+ *
  * @author sgoddard
- * @version 1.10 Spring 2025
+ * @version 2.0 Fall 2025
  *
  */
 public class ExecutionVisualization extends Visualization {
 
   private static final String SOURCE_SUFFIX = ".ea";
   private static final String OBJECT_NAME = "Execution Analysis";
+  private static final String ACTIVE_NODES = "Active Nodes";
+  private WarpInterface warp;
   private ExecutionAnalysis ea;
-  private Program program;
-  private WorkLoad workload;
 
   ExecutionVisualization(WarpInterface warp) {
     super(warp, SOURCE_SUFFIX);
-    this.program = warp.getProgram();
-    this.workload = warp.getWorkload();
+    this.warp = warp;
     this.ea = warp.getExecutionAnalysis();
   }
 
+  @Override
+  protected GuiWindow displayVisualization() {
+    return new GuiWindow(warp.getOptions(), createTitle(), createColumnHeader(),
+        createVisualizationData());
+  }
+
+  @Override
+  protected Description createHeader() {
+    Description header = new Description();
+    header.add(createTitle());
+    header.add(String.format("Scheduler Name: %s\n", warp.getSchedulerName()));
+    if (warp.getNumFaults() > 0) { // only specify when deterministic fault model is assumed
+      header.add(String.format("numFaults: %d\n", warp.getNumFaults()));
+    }
+    header.add(String.format("M: %s\n", String.valueOf(warp.getMinPacketReceptionRate())));
+    header.add(String.format("E2E: %s\n", String.valueOf(warp.getE2E())));
+    return header;
+  }
+
+  @Override
+  protected Description createFooter() {
+    Description footer = new Description();
+    var nodeNames = ea.getNodeNames();
+    var numSlots = ea.getNumTimeSlots();
+    for (int node = 0; node < nodeNames.length; node++) {
+      footer.add(String.format(
+          "// Node %s: radio on %d of %d time slots (%.2f%% duty cycle), longest sleep %d\n",
+          nodeNames[node], ea.getRadioOnSlots(node), numSlots, 100 * ea.getDutyCycle(node),
+          ea.getLongestSleep(node)));
+    }
+    return footer;
+  }
+
+  @Override
+  protected String[] createColumnHeader() {
+    var nodeNames = ea.getNodeNames();
+    String[] columnNames = new String[nodeNames.length + 2];
+    columnNames[0] = "Time Slot";
+    System.arraycopy(nodeNames, 0, columnNames, 1, nodeNames.length);
+    columnNames[nodeNames.length + 1] = ACTIVE_NODES;
+    return columnNames;
+  }
+
+  @Override
+  protected String[][] createVisualizationData() {
+    if (visualizationData == null) {
+      var table = ea.getExecutionTable();
+      int numRows = table.getNumRows();
+      int numNodes = ea.getNodeNames().length;
+      visualizationData = new String[numRows][numNodes + 2];
+      for (int row = 0; row < numRows; row++) {
+        visualizationData[row][0] = String.valueOf(row);
+        for (int node = 0; node < numNodes; node++) {
+          visualizationData[row][node + 1] = table.get(row, node);
+        }
+        visualizationData[row][numNodes + 1] = String.valueOf(ea.getActiveNodes(row));
+      }
+    }
+    return visualizationData;
+  }
+
+  /**
+   * Writes the execution table one time slot at a time, as ProgramVisualization writes the
+   * program. The rows are the same as those of visualization().
+   *
+   * @param out writer of the file
+   * @throws IOException if the file can't be written
+   */
+  @Override
+  protected void writeVisualization(Writer out) throws IOException {
+    out.write(String.join("\t", createColumnHeader()) + "\n");
+    int numRows = ea.getNumTimeSlots();
+    int numNodes = ea.getNodeNames().length;
+    var rowString = new StringBuilder();
+    for (int row = 0; row < numRows; row++) {
+      rowString.setLength(0);
+      rowString.append(row);
+      for (int node = 0; node < numNodes; node++) {
+        rowString.append('\t').append(ea.getActivity(node, row));
+      }
+      rowString.append('\t').append(ea.getActiveNodes(row)).append('\n');
+      out.append(rowString);
+    }
+  }
+
+  private String createTitle() {
+    return String.format("%s for graph %s\n", OBJECT_NAME, warp.getName());
+  }
 }
@@ -3,13 +3,22 @@ package edu.uiowa.cs.warp;
 import com.mkyong.system.OSValidator;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.swing.JFileChooser;
 
 /**
@@ -23,6 +32,7 @@ import javax.swing.JFileChooser;
  */
 public class FileManager {
   private static final String UNKNOWN = "Unknown";
+  private static final AtomicLong temporaryFileCount = new AtomicLong(); // names temporary files
   private String baseDirectory;
   private Boolean verbose;
   private String graphFileName = UNKNOWN; // name of the input graph file
@@ -163,13 +173,94 @@ public class FileManager {
     return newDirectory;
   }
 
+  /**
+   * A buffered writer whose contents go to a temporary file that replaces the file it was
+   * opened on when the writer is committed, so a reader never sees a partly written file. A
+   * writer closed without being committed, such as when writing the contents failed, deletes the
+   * temporary file and leaves the file as it was.
+   */
+  public static final class AtomicFileWriter extends BufferedWriter {
+
+    private final Path file;
+    private final Path temporaryFile;
+    private Boolean committed = false;
+    private Boolean closed = false;
+
+    private AtomicFileWriter(Path file, Path temporaryFile) throws IOException {
+      super(new OutputStreamWriter(Files.newOutputStream(temporaryFile), StandardCharsets.UTF_8));
+      this.file = file;
+      this.temporaryFile = temporaryFile;
+    }
+
+    /**
+     * Closes the writer and replaces the file with the contents written.
+     *
+     * @throws IOException if the contents can't be written or the file can't be replaced
+     */
+    public void commit() throws IOException {
+      committed = true;
+      close();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        super.close();
+      } catch (IOException e) {
+        committed = false;
+        throw e;
+      } finally {
+        if (!committed) {
+          Files.deleteIfExists(temporaryFile);
+        }
+      }
+      if (committed) {
+        replaceFile(temporaryFile, file);
+      }
+    }
+  }
+
+  /**
+   * Opens a buffered writer on the file, so that large files can be written as their
+   * contents are produced rather than built as one string first. The file is written as
+   * UTF-8, as in writeFile(). The file is only replaced when the writer is committed
+   * once all of its contents are written; closing it without committing discards them.
+   * 
+   * @param file to be written
+   * @return the writer, which the caller must commit and close
+   * @throws IOException if the file can't be opened
+   */
+  public AtomicFileWriter newFileWriter(String file) throws IOException {
+    Path fileName = Path.of(file);
+    return new AtomicFileWriter(fileName, temporaryFileFor(fileName));
+  }
+
+  /**
+   * Writes the file contents as UTF-8. As with newFileWriter(), the file is replaced
+   * only once its new contents are completely written.
+   * 
+   * @param file to be written
+   * @param fileContents to be written
+   */
   public void writeFile(String file, String fileContents) {
     Path fileName = Path.of(file);
+    Path temporaryFile = temporaryFileFor(fileName);
     try {
-      Files.writeString(fileName, fileContents); // comment out if tag is being used (line above)
+      Files.writeString(temporaryFile, fileContents);
+      replaceFile(temporaryFile, fileName);
     } catch (IOException e) {
       /* the file will be closed automatically upon exit of this try block */
       System.err.println("Error on writing file contents to file" + file + ": " + e.getMessage());
+      try {
+        Files.deleteIfExists(temporaryFile);
+      } catch (IOException deleteError) {
+        System.err.println("Error on deleting file" + temporaryFile + ": "
+            + deleteError.getMessage());
+      }
     } 
   }
 
@@ -185,6 +276,24 @@ public class FileManager {
     return contents;
   }
 
+  /* a hidden file in the same directory, so it can be renamed to the file it replaces */
+  private static Path temporaryFileFor(Path file) {
+    var name = String.format(".%s.%d-%d.tmp", file.getFileName(), ProcessHandle.current().pid(),
+        temporaryFileCount.incrementAndGet());
+    return file.resolveSibling(name);
+  }
+
+  private static void replaceFile(Path temporaryFile, Path file) throws IOException {
+    try {
+      Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      Files.deleteIfExists(temporaryFile);
+      throw e;
+    }
+  }
+
   /* File Utilities follow */
   public Boolean fileExists(String fileName) {
     File file = new File(fileName);
@@ -195,6 +304,27 @@ public class FileManager {
     return exists;
   }
 
+  /**
+   * Returns true if the file is a binary workload (.wldb) file rather than a text graph file.
+   * The file type is detected from the file contents, not its suffix.
+   * 
+   * @param fileName of the file to check
+   * @return true if the file is a binary workload file
+   */
+  public Boolean isBinaryWorkLoadFile(String fileName) {
+    return WorkLoadBinaryFile.isBinaryFile(fileName);
+  }
+
+  private String readBinaryWorkLoadFile(String file) {
+    String contents = null;
+    try {
+      contents = WorkLoadBinaryFile.read(file).toWarpText();
+    } catch (IOException e) {
+      System.err.println("Error on reading file" + file + ": " + e.getMessage());
+    }
+    return contents;
+  }
+
   public Boolean isValidDirectoryName(String name) {
     if (name == null || name.trim().isEmpty()) {
       return false; // Null or empty names are not valid
@@ -222,6 +352,21 @@ public class FileManager {
     return graphFileName;
   }
 
+  /**
+   * Registers the directory of the input graph file with the watch service, so that the
+   * service reports when the graph file is created or modified. The directory is watched,
+   * rather than the file, because many editors save a file by replacing it.
+   * 
+   * @param watcher with which the directory is registered
+   * @return the key of the registration, whose events name the files that changed
+   * @throws IOException if the directory can't be watched
+   */
+  public WatchKey watchGraphFile(WatchService watcher) throws IOException {
+    Path directory = Path.of(getGraphFileName()).toAbsolutePath().getParent();
+    return directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_MODIFY);
+  }
+
   private void setGraphFileName (String inputFile) {
     graphFileName = inputFile;
   }
@@ -289,7 +434,13 @@ public class FileManager {
   }
 
   private String readGraphFileContents (String inputFile)  {
-    String graphFileContents = readFile(inputFile);
+    String graphFileContents;
+    if (isBinaryWorkLoadFile(inputFile)) {
+      /* a binary workload file is presented as the equivalent WARP graph description */
+      graphFileContents = readBinaryWorkLoadFile(inputFile);
+    } else {
+      graphFileContents = readFile(inputFile);
+    }
     if (verbose) {
       System.out.println("************************************");
       System.out.println("Graph File Read:");
@@ -1,13 +1,6 @@
 package edu.uiowa.cs.warp;
 
-import org.antlr.v4.runtime.CharStream;
-import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
-import org.antlr.v4.runtime.tree.ParseTree;
-import org.antlr.v4.runtime.tree.ParseTreeWalker;
-
 import edu.uiowa.cs.warpdsls.WARPBaseListener;
-import edu.uiowa.cs.warpdsls.WARPLexer;
 import edu.uiowa.cs.warpdsls.WARPParser;
 
 /*
@@ -21,16 +14,9 @@ public final class GraphVizListener extends WARPBaseListener {
 	GraphVizVisualization gv; // gv object creating this object. Yes, it is wierd!
 	private GraphVizListener(GraphVizVisualization gv){
         this.gv = gv; // use GraphViz object passed to this object
-     // Read input file and build AST of graphFile
+     // Walk the parsed input graph to build the Graph Viz file content
         try {
-        	CharStream inputGraph = CharStreams.fromString(gv.getGraphFile());
-        	var lexer = new WARPLexer(inputGraph);
-        	var tokens = new CommonTokenStream(lexer);
-        	var parser = new WARPParser(tokens);
-        	ParseTree warpTree = parser.warp(); // begin parsing at rule 'warp'
-        	var warp = new ParseTreeWalker();
-        	 // Now populate build the Graph Viz file content by walking the input Graph tokens
-        	warp.walk(this, warpTree);
+        	gv.getInputGraph().walk(this);
         } catch (Exception e) {
         	e.printStackTrace();
         	System.err.println("ERROR: Unable to parse graphFile" + e.getMessage());
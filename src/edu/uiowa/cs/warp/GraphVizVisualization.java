@@ -34,7 +34,7 @@ public class GraphVizVisualization extends Visualization {
 
   private String gvFileContents; // contents of Graph Viz File to be created
   private String gvTitleCaption; // Title Caption to be merged with gvFileContents
-  private String graphFile; 
+  private InputGraph inputGraph; // parsed graphFile
   private String graphName;
   private Boolean verbose; // verbose flag
   private GraphVizVisualization gv;
@@ -54,10 +54,10 @@ public class GraphVizVisualization extends Visualization {
      * workload and structure of the sensor network as a di-graph.
      */
     setNameExtension(EMPTY);
-    this.graphFile = graphFile;
+    this.inputGraph = InputGraph.of(options.getInputFileName(), graphFile);
     this.gv = this;
     verbose = false;
-    workLoad = new WorkLoad(options);
+    workLoad = null; // only needed for the display, so created when first displayed
     createGraphVizContent();
   }
 
@@ -68,6 +68,9 @@ public class GraphVizVisualization extends Visualization {
 
   @Override
   protected GuiWindow displayVisualization() {
+    if (workLoad == null) {
+      workLoad = new WorkLoad(options);
+    }
     WarpGraph flowDiGraph = new FlowDiGraph(workLoad);
     Graph digraph = flowDiGraph.getGraph();
     String displayTitle = String.format("%s: %s",TITLE, graphName);
@@ -80,7 +83,11 @@ public class GraphVizVisualization extends Visualization {
   }
 
   public String getGraphFile () {
-    return graphFile;
+    return inputGraph.getContents();
+  }
+
+  InputGraph getInputGraph () {
+    return inputGraph;
   }
 
   public void initializeGraphVizContent (String graphName)  {
@@ -28,6 +28,7 @@ public class Gui extends JFrame {
   private InputFileMenu inputFileMenu = null;
   private OptionsMenu warpOptionsMenu;
   private ViewMenu viewMenu;
+  private ProgressPanel progressPanel;
 
   public static Gui getInstance(WarpInterface warp) {
     if (gui == null) {
@@ -80,6 +81,17 @@ public class Gui extends JFrame {
     return viewMenu;
   }
 
+  /**
+   * Get the status bar that shows the progress of the work done in the 
+   * background. The controller uses this method to update it and to
+   * attach the listener of its cancel button.
+   * 
+   * @return the progress panel
+   */
+  public ProgressPanel getProgressPanel() {
+    return progressPanel;
+  }
+
   /**
    * Private constructor to create the Gui. This constructor can only be
    * called by the public getInstance() method. This constructor and the
@@ -137,6 +149,10 @@ public class Gui extends JFrame {
     /* Now attach the menu bar to the frame */
     setJMenuBar(menuBar);
 
+    /* The status bar shows the progress of the visualizations being built */
+    progressPanel = new ProgressPanel();
+    add(progressPanel, BorderLayout.SOUTH);
+
     /* Just to make things look nicer, change the default
      * icon to the custom Warp icon.
      */
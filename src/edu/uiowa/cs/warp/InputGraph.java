@@ -0,0 +1,152 @@
+package edu.uiowa.cs.warp;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.ParseTreeWalker;
+import edu.uiowa.cs.warpdsls.WARPLexer;
+import edu.uiowa.cs.warpdsls.WARPParser;
+
+/**
+ * InputGraph is the parsed form of an input graph file: its contents and the ANTLR parse tree
+ * built from them. The tree is only built the first time the graph is walked, so an InputGraph
+ * whose contents are just echoed, such as for the .wld file, never holds a parse tree. The WorkLoadListener, the GraphVizListener, and the WorkLoadVisualization all
+ * use the InputGraph instead of reading and parsing the file themselves.
+ * <p>
+ * Parsed input graphs are cached by file path and a hash of the file contents, so a file is parsed
+ * only once no matter how many workloads and visualizations are built from it, while a file that
+ * was edited is parsed again. The parse tree is never changed after it is built, so it can be
+ * walked by any number of listeners.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class InputGraph {
+
+  private static final Integer CACHE_SIZE = 8; // number of parsed input graphs kept
+  private static final Map<String, InputGraph> cache =
+      new LinkedHashMap<String, InputGraph>(16, 0.75f, true) { // least recently used order
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, InputGraph> eldest) {
+          return size() > CACHE_SIZE;
+        }
+      };
+
+  private final String fileName;
+  private final String contents;
+  private ParseTree warpTree; // built the first time the graph is walked
+  private Boolean parsed = false;
+
+  private InputGraph(String fileName, String contents) {
+    this.fileName = fileName;
+    this.contents = contents;
+  }
+
+  /**
+   * Returns the parsed input graph file named in options. The file is read to check whether its
+   * contents changed, but it is only parsed if this content has not been walked before.
+   *
+   * @param options naming the input graph file
+   * @return the parsed input graph
+   */
+  static InputGraph of(Options options) {
+    FileManager fm = options.getFileManager();
+    var contents = fm.readGraphFile(options.getInputFileName());
+    /* use the file name from the FileManager in case it had to ask the user for a new name */
+    return of(fm.getGraphFileName(), contents);
+  }
+
+  /**
+   * Returns the input graph with the contents provided, which is the same input graph, with the
+   * same parse tree, as returned before for the same contents of this file.
+   *
+   * @param fileName of the input graph file
+   * @param contents of the input graph file
+   * @return the parsed input graph
+   */
+  static InputGraph of(String fileName, String contents) {
+    var key = new File(fileName).getAbsolutePath() + "#" + hash(contents);
+    synchronized (cache) {
+      var inputGraph = cache.get(key);
+      if (inputGraph != null) {
+        return inputGraph;
+      }
+    }
+    synchronized (cache) {
+      var inputGraph = cache.get(key);
+      if (inputGraph == null) {
+        inputGraph = new InputGraph(fileName, contents);
+        cache.put(key, inputGraph);
+      }
+      return inputGraph;
+    }
+  }
+
+  /**
+   * Walks the parse tree, calling the listener as each rule is entered and exited. The tree is
+   * built by the first walk.
+   *
+   * @param listener to be called
+   */
+  void walk(ParseTreeListener listener) {
+    var tree = getTree();
+    if (tree != null) {
+      ParseTreeWalker.DEFAULT.walk(listener, tree);
+    }
+  }
+
+  /* parses under this graph's lock, so different files can be parsed concurrently */
+  private synchronized ParseTree getTree() {
+    if (!parsed) {
+      parsed = true; // a graph that can't be parsed isn't parsed again
+      try {
+        var lexer = new WARPLexer(CharStreams.fromString(contents));
+        var parser = new WARPParser(new CommonTokenStream(lexer));
+        warpTree = parser.warp(); // begin parsing at rule 'warp'
+      } catch (Exception e) {
+        e.printStackTrace();
+        System.err.println("ERROR: Unable to parse graphFile" + e.getMessage());
+      }
+    }
+    return warpTree;
+  }
+
+  /**
+   * @return the name of the input graph file
+   */
+  String getFileName() {
+    return fileName;
+  }
+
+  /**
+   * @return the contents of the input graph file
+   */
+  String getContents() {
+    return contents;
+  }
+
+  private static String hash(String contents) {
+    if (contents == null) {
+      return "";
+    }
+    try {
+      var digest = MessageDigest.getInstance("SHA-256")
+          .digest(contents.getBytes(StandardCharsets.UTF_8));
+      var hex = new StringBuilder();
+      for (byte b : digest) {
+        hex.append(String.format("%02x", b));
+      }
+      return hex.toString();
+    } catch (NoSuchAlgorithmException e) {
+      return Integer.toHexString(contents.hashCode()) + ":" + contents.length();
+    }
+  }
+}
@@ -1,7 +1,12 @@
 package edu.uiowa.cs.warp;
 
 import edu.uiowa.cs.warp.WarpDSL.InstructionParameters;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * @author sgoddard2
@@ -11,11 +16,22 @@ public class LatencyAnalysis {
 
   private static String DEADLINE_MISS = " => DEADLINE MISS";
   private static String FLOW_SEPARATOR = "******************************\n";
+  private static final String PUSH = "push";
+  private static final String PULL = "pull";
+  private static final int[] NO_SLOTS = new int[0];
+  private static final int INITIAL_SLOTS = 16;
+  private static final String STAGE = "LatencyAnalysis"; // reported when the budget is exceeded
+  private static final String REPORT_TIMER = "analysis.latency.report";
+  private static final String DISTRIBUTIONS_TIMER = "analysis.latency.distributions";
   private Description latencyReport;
+  private Map<String, int[]> txSlots; // time slots of each link's Tx attempts, when indexed
+  private List<LatencyDistribution> latencyDistributions;
   private Program program;
   private WorkLoad workload;
   private ProgramSchedule programTable;
   private HashMap<String, Integer> nodeIndex;
+  private Budget budget; // of the program, checked for each flow instance
+  private Metrics metrics; // of the program
 
   LatencyAnalysis(WarpInterface warp) {
     this.latencyReport = new Description();
@@ -23,6 +39,8 @@ public class LatencyAnalysis {
     this.workload = warp.getWorkload();
     this.programTable = program.getSchedule();
     this.nodeIndex = program.getNodeMapIndex();
+    this.budget = program.getBudget();
+    this.metrics = program.getMetrics();
   }
 
   LatencyAnalysis(Program program) {
@@ -31,6 +49,8 @@ public class LatencyAnalysis {
     this.workload = program.toWorkLoad();
     this.programTable = program.getSchedule();
     this.nodeIndex = program.getNodeMapIndex();
+    this.budget = program.getBudget();
+    this.metrics = program.getMetrics();
   }
 
   public Description latencyReport() {
@@ -48,82 +68,321 @@ public class LatencyAnalysis {
      * an instance, then the latency is not computed (as we assume deadline <= period. Thus, the
      * report is: "UNKNOWN latency for FlowName:Instance; Not enough transmissions attempted"
      * 
+     * The program is scanned once to index the time slots of each link's transmissions, and then
+     * the flows are reported in parallel, each from the index of its last link.
      */
+    var timer = metrics.timer(REPORT_TIMER);
+    var start = timer.start();
+    try {
+      var flows = workload.getFlowNamesInPriorityOrder();
+      var txSlots = getTransmissions();
+      var hyperPeriod = workload.getHyperPeriod();
+      /* each task updates the release time of only its own flow */
+      var flowReports = flows.parallelStream()
+          .map(flowName -> flowReport(flowName, txSlots, hyperPeriod))
+          .collect(Collectors.toList());
+      for (Description flowReport : flowReports) {
+        latencyReport.addAll(flowReport);
+      }
+    } finally {
+      timer.stop(start);
+    }
+    return latencyReport;
+  }
 
-    var flows = workload.getFlowNamesInPriorityOrder();
-    for (String flowName : flows) {
-      var time = 0;
-
-      var nodes = workload.getNodesInFlow(flowName); // names of nodes in flow
-      var flowSnkIndex = nodes.length - 1;
-      /* get snk of last link in the flow, which is also the Flow snk node */
-      String snk = nodes[flowSnkIndex];
-      /* get the src of last link in the flow */
-      String src = nodes[flowSnkIndex - 1];
-      /* get (column) indexes into programTable of these nodes */
-      var snkIndex = nodeIndex.get(snk);
-      var srcIndex = nodeIndex.get(src);
-      /* get the array containing the number of transmissions required for each link in the flow */
-      var numTxAttemptsPerLink = workload.getNumTxAttemptsPerLink(flowName);
-      /* get the number of transmission required for the last link in the flow
-       * This means we have to go back 2 from the last entry, which is the max number
-       * of transmissions needed. The next to last entry is the sink node, which has
-       * no push/pulls from it. So, need to go to the node before that, which makes
-       * it length - 2.
-       *  */
-      var numTxRequired = numTxAttemptsPerLink[numTxAttemptsPerLink.length - 2];
-      var numTxProcessed = 0; // num of Tx seen in the program schedule so far
-      var instance = 0;
-      while (time < workload.getHyperPeriod()) {
-        /* get next release time and absolute deadline of the flow */
-        var releaseTime = workload.nextReleaseTime(flowName, time);
-        var deadline = workload.nextAbsoluteDeadline(flowName, releaseTime);
-        var nextReleaseTime = workload.nextReleaseTime(flowName, deadline);
-        // var latency = 0;
-        time = releaseTime;
-        numTxProcessed = 0; // num of Tx seen in the program schedule so far
-        while (time < nextReleaseTime) {
-          /* get instruction strings at these to locations */
-          String instr1 = programTable.get(time, srcIndex);
-          String instr2 = programTable.get(time, snkIndex);
-          numTxProcessed += numMatchingTx(flowName, src, snk, instr1);
-          numTxProcessed += numMatchingTx(flowName, src, snk, instr2);
-          if (numTxProcessed == numTxRequired) {
-            /*
-             * all required Tx attempts have been made compute and record latency
-             */
-            var latency = time - releaseTime + 1;
-            // report latency
-            String latencyMsg =
-                String.format("Maximum latency for %s:%d is %d", flowName, instance, latency);
-            if (latency > deadline) {
-              /* deadline missed, so color the text red */
-              latencyMsg += DEADLINE_MISS;
-            }
-            latencyMsg += "\n";
-            latencyReport.add(latencyMsg);
-            time = nextReleaseTime;
-          } else {
-            time++;
-          }
+  /**
+   * Reports the latency of each instance of the flow, in the form described by latencyReport().
+   * 
+   * @param flowName flow to be reported
+   * @param txSlots time slots of the transmission attempts on each link
+   * @param hyperPeriod of the workload
+   * @return the flow's latency report, ending with a flow separator
+   */
+  private Description flowReport(String flowName, Map<String, int[]> txSlots,
+      Integer hyperPeriod) {
+    var flowReport = new Description();
+    var nodes = workload.getNodesInFlow(flowName); // names of nodes in flow
+    var flowSnkIndex = nodes.length - 1;
+    /* get snk of last link in the flow, which is also the Flow snk node */
+    String snk = nodes[flowSnkIndex];
+    /* get the src of last link in the flow */
+    String src = nodes[flowSnkIndex - 1];
+    /* get the time slots of the transmission attempts on the last link */
+    var slots = txSlots.getOrDefault(linkName(flowName, src, snk), NO_SLOTS);
+    /* get the array containing the number of transmissions required for each link in the flow */
+    var numTxAttemptsPerLink = workload.getNumTxAttemptsPerLink(flowName);
+    /* get the number of transmission required for the last link in the flow
+     * This means we have to go back 2 from the last entry, which is the max number
+     * of transmissions needed. The next to last entry is the sink node, which has
+     * no push/pulls from it. So, need to go to the node before that, which makes
+     * it length - 2.
+     *  */
+    var numTxRequired = numTxAttemptsPerLink[numTxAttemptsPerLink.length - 2];
+    var time = 0;
+    var instance = 0;
+    while (time < hyperPeriod) {
+      budget.check(STAGE, flowName, time);
+      /* get next release time and absolute deadline of the flow */
+      var releaseTime = workload.nextReleaseTime(flowName, time);
+      var deadline = workload.nextAbsoluteDeadline(flowName, releaseTime);
+      var nextReleaseTime = workload.nextReleaseTime(flowName, deadline);
+      /* the Tx attempts made from the release up to the next release */
+      var first = firstSlotAtOrAfter(slots, releaseTime);
+      var numTxAttempted = firstSlotAtOrAfter(slots, nextReleaseTime) - first;
+      var completionTime = completionTime(slots, first, numTxAttempted, numTxRequired,
+          releaseTime, nextReleaseTime);
+      if (completionTime != null) {
+        /*
+         * all required Tx attempts have been made compute and record latency
+         */
+        var latency = completionTime - releaseTime + 1;
+        // report latency
+        String latencyMsg =
+            String.format("Maximum latency for %s:%d is %d", flowName, instance, latency);
+        if (latency > deadline) {
+          /* deadline missed, so color the text red */
+          latencyMsg += DEADLINE_MISS;
+        }
+        latencyMsg += "\n";
+        flowReport.add(latencyMsg);
+      } else if (numTxAttempted < numTxRequired) {
+        /*
+         * This flow missed its deadline with required number of Tx!! This message should not be
+         * printed with the schedulers built
+         */
+        String latencyMsg =
+            String.format("UNKNOWN latency for %s:%d; Not enough transmissions attempted\n",
+                flowName, instance);
+        flowReport.add(latencyMsg);
+      }
+      time = nextReleaseTime;
+      instance++;
+    }
+    flowReport.add(FLOW_SEPARATOR);
+    return flowReport;
+  }
 
+  /**
+   * Returns the latency distribution of each flow instance, with the flows in priority order
+   * and the instances of each flow in release order. Each transmission attempt in the program
+   * is assumed to succeed with probability M, independently of the others, so the node holding
+   * a flow's packet is a Markov chain that is evaluated over the time slots of the program.
+   * The distributions are computed when first requested, with the flows in parallel.
+   * 
+   * @return the latency distributions
+   */
+  public synchronized List<LatencyDistribution> getLatencyDistributions() {
+    if (latencyDistributions == null) {
+      var timer = metrics.timer(DISTRIBUTIONS_TIMER);
+      var start = timer.start();
+      try {
+        var txSlots = getTransmissions();
+        var hyperPeriod = workload.getHyperPeriod();
+        /* each task updates the release time of only its own flow */
+        latencyDistributions = workload.getFlowNamesInPriorityOrder().parallelStream()
+            .flatMap(flowName -> flowDistributions(flowName, txSlots, hyperPeriod).stream())
+            .collect(Collectors.toList());
+      } finally {
+        timer.stop(start);
+      }
+    }
+    return latencyDistributions;
+  }
+
+  /**
+   * Evaluates the latency distribution of each instance of the flow. The probability of each
+   * node of the flow holding the packet is kept in a double[], which starts with the packet at
+   * the flow's src node when the instance is released. In each time slot with Tx attempts on
+   * the flow's links, the packet moves from the src to the snk node of an attempted link with
+   * probability M. A node either pushes or pulls in a time slot, so the packet moves at most
+   * one hop per time slot. Time slots without attempts on the flow's links don't change the
+   * probabilities, so they are skipped.
+   * 
+   * @param flowName flow to be evaluated
+   * @param txSlots time slots of the transmission attempts on each link
+   * @param hyperPeriod of the workload
+   * @return the latency distribution of each instance of the flow
+   */
+  private List<LatencyDistribution> flowDistributions(String flowName,
+      Map<String, int[]> txSlots, Integer hyperPeriod) {
+    var distributions = new ArrayList<LatencyDistribution>();
+    var nodes = workload.getNodesInFlow(flowName);
+    var numLinks = nodes.length - 1;
+    if (numLinks < 1) {
+      return distributions;
+    }
+    /* the time slots with attempts on any link of the flow, and the links attempted in each */
+    var linkSlots = new int[numLinks][];
+    for (int link = 0; link < numLinks; link++) {
+      linkSlots[link] =
+          txSlots.getOrDefault(linkName(flowName, nodes[link], nodes[link + 1]), NO_SLOTS);
+    }
+    var slots = Arrays.stream(linkSlots).flatMapToInt(Arrays::stream).sorted().distinct()
+        .toArray();
+    var attempted = new double[slots.length * numLinks]; // 1.0 if the link is attempted
+    for (int link = 0; link < numLinks; link++) {
+      for (int slot : linkSlots[link]) {
+        attempted[Arrays.binarySearch(slots, slot) * numLinks + link] = 1.0;
+      }
+    }
+    double m = program.getMinPacketReceptionRate();
+    var holds = new double[numLinks + 1]; // probability that each node holds the packet
+    var arrives = new double[numLinks + 1]; // probability that the packet arrives at each node
+    var time = 0;
+    var instance = 0;
+    while (time < hyperPeriod) {
+      budget.check(STAGE, flowName, time);
+      var releaseTime = workload.nextReleaseTime(flowName, time);
+      var deadline = workload.nextAbsoluteDeadline(flowName, releaseTime);
+      var nextReleaseTime = workload.nextReleaseTime(flowName, deadline);
+      var cdf = new double[Math.max(nextReleaseTime - releaseTime, 0)];
+      Arrays.fill(holds, 0.0);
+      holds[0] = 1.0;
+      var latency = 0; // entries of the cdf filled so far
+      var end = firstSlotAtOrAfter(slots, nextReleaseTime);
+      for (int index = firstSlotAtOrAfter(slots, releaseTime); index < end; index++) {
+        var slotLatency = slots[index] - releaseTime;
+        Arrays.fill(cdf, latency, slotLatency, holds[numLinks]);
+        var attempts = index * numLinks;
+        for (int link = 0; link < numLinks; link++) {
+          arrives[link + 1] = m * attempted[attempts + link] * holds[link];
         }
-        if (numTxProcessed < numTxRequired) {
-          /*
-           * This flow missed its deadline with required number of Tx!! This message should not be
-           * printed with the schedulers built
-           */
-          String latencyMsg =
-              String.format("UNKNOWN latency for %s:%d; Not enough transmissions attempted\n",
-                  flowName, instance);
-          latencyReport.add(latencyMsg);
+        for (int link = 0; link < numLinks; link++) {
+          holds[link] -= arrives[link + 1];
         }
-        instance++;
+        for (int node = 1; node <= numLinks; node++) {
+          holds[node] += arrives[node];
+        }
+        cdf[slotLatency] = holds[numLinks];
+        latency = slotLatency + 1;
       }
-      String flowSeparator = FLOW_SEPARATOR;
-      latencyReport.add(flowSeparator);
+      Arrays.fill(cdf, latency, cdf.length, holds[numLinks]);
+      distributions.add(new LatencyDistribution(flowName, instance, releaseTime, deadline, cdf));
+      time = nextReleaseTime;
+      instance++;
+    }
+    return distributions;
+  }
+
+  /* the index of the time slots of the program's Tx attempts, built when first needed */
+  private synchronized Map<String, int[]> getTransmissions() {
+    if (txSlots == null) {
+      txSlots = indexTransmissions();
+    }
+    return txSlots;
+  }
+
+  /**
+   * Scans the program once, and indexes the time slot of every push and pull by its link. A
+   * link's instructions are only in the columns of its src and snk nodes, so the slots of a
+   * link are those numMatchingTx() counts in these two columns. A slot is listed once for each
+   * instruction in it, and the slots of each link are in ascending order.
+   * 
+   * @return the time slots of the Tx attempts of each link, named by linkName()
+   */
+  private Map<String, int[]> indexTransmissions() {
+    var txSlots = new HashMap<String, SlotList>();
+    var numSlots = programTable.getNumRows();
+    var numNodes = programTable.getNumColumns();
+    for (int slot = 0; slot < numSlots; slot++) {
+      for (int node = 0; node < numNodes; node++) {
+        var instruction = programTable.get(slot, node);
+        if (instruction == null) {
+          continue;
+        }
+        for (int start = instruction.indexOf('('); start >= 0;
+            start = instruction.indexOf('(', start + 1)) {
+          if (!isTx(instruction, start)) {
+            continue; // the condition of an if, or a wait
+          }
+          var end = instruction.indexOf(',', start);
+          if (end > start) {
+            var link = instruction.substring(start + 1, end);
+            txSlots.computeIfAbsent(link, name -> new SlotList()).add(slot);
+          }
+        }
+      }
+    }
+    var index = new HashMap<String, int[]>(txSlots.size() * 2);
+    txSlots.forEach((link, slots) -> index.put(link, slots.toArray()));
+    return index;
+  }
+
+  /**
+   * Finds when the instance completes, which is the time slot in which the number of Tx
+   * attempts since its release reaches the number required. As when the schedule is walked one
+   * time slot at a time, an instance has no completion time when the attempts in a time slot
+   * take the count past the number required without reaching it.
+   * 
+   * @param slots time slots of the Tx attempts on the flow's last link
+   * @param first index in slots of the first attempt at or after the release
+   * @param numTxAttempted attempts from the release up to the next release
+   * @param numTxRequired attempts the instance requires
+   * @param releaseTime of the instance
+   * @param nextReleaseTime of the flow
+   * @return the completion time, or null if the instance has none
+   */
+  private static Integer completionTime(int[] slots, int first, int numTxAttempted,
+      int numTxRequired, int releaseTime, int nextReleaseTime) {
+    if (numTxRequired == 0) {
+      /* complete in the release slot, unless attempts are made in it */
+      var attemptInReleaseSlot = numTxAttempted > 0 && slots[first] == releaseTime;
+      return releaseTime < nextReleaseTime && !attemptInReleaseSlot ? releaseTime : null;
+    }
+    if (numTxAttempted < numTxRequired) {
+      return null;
+    }
+    var last = first + numTxRequired - 1;
+    if (numTxAttempted > numTxRequired && slots[last + 1] == slots[last]) {
+      return null; // the count passed the number required in one time slot
+    }
+    return slots[last];
+  }
+
+  /* index of the first slot at or after time, or slots.length if there is none */
+  private static int firstSlotAtOrAfter(int[] slots, int time) {
+    var low = 0;
+    var high = slots.length;
+    while (low < high) {
+      var middle = (low + high) >>> 1;
+      if (slots[middle] < time) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  /* true if the parameters starting at start are those of a push or a pull */
+  private static Boolean isTx(String instruction, int start) {
+    var command = start - PUSH.length();
+    return command >= 0
+        && (instruction.startsWith(PUSH, command) || instruction.startsWith(PULL, command));
+  }
+
+  /* name of a link, as it is written in push and pull instructions */
+  private static String linkName(String flow, String src, String snk) {
+    return String.format("%s: %s -> %s", flow, src, snk);
+  }
+
+  /**
+   * Time slots of a link's Tx attempts, in the order they are added.
+   */
+  private static final class SlotList {
+    private int[] slots = new int[INITIAL_SLOTS];
+    private int size = 0;
+
+    private void add(int slot) {
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, 2 * size);
+      }
+      slots[size++] = slot;
+    }
+
+    private int[] toArray() {
+      return Arrays.copyOf(slots, size);
     }
-    return latencyReport;
   }
 
   public Integer numMatchingTx(String flow, String src, String snk, String instr) {
@@ -137,7 +396,7 @@ public class LatencyAnalysis {
      * get a Warp instruction parser object and then get the instruction parameters from the
      * instruction string.
      */
-    var dsl = new WarpDSL();
+    var dsl = new WarpDSL(metrics);
     var instructionParametersArray = dsl.getInstructionParameters(instr);
 
     for (InstructionParameters entry : instructionParametersArray) {
@@ -0,0 +1,145 @@
+package edu.uiowa.cs.warp;
+
+/**
+ * The distribution of the latency of one instance of a flow, when each transmission attempt in
+ * the program succeeds with probability M. The distribution is given by its CDF: the
+ * probability that the packet released with the instance has reached the flow's snk node with
+ * a latency of at most L time slots, for each L from 1 up to the flow's next release. As in the
+ * latency report, a packet delivered in time slot t has a latency of t - releaseTime + 1.
+ * <p>
+ * The probability that the packet is never delivered before the next release may be greater
+ * than zero, so the expected latency is that of the packets delivered, and a percentile isn't
+ * reached when too few packets are delivered.
+ *
+ * @version 2.0 Fall 2025
+ */
+public class LatencyDistribution {
+
+  private final String flowName;
+  private final Integer instance;
+  private final Integer releaseTime;
+  private final Integer absoluteDeadline;
+  private final double[] cdf;
+
+  /**
+   * Creates the latency distribution of a flow instance.
+   *
+   * @param flowName of the flow
+   * @param instance number of the flow instance, starting at 0
+   * @param releaseTime of the instance
+   * @param absoluteDeadline of the instance
+   * @param cdf probability of delivery with latency at most L, at index L - 1
+   */
+  LatencyDistribution(String flowName, Integer instance, Integer releaseTime,
+      Integer absoluteDeadline, double[] cdf) {
+    this.flowName = flowName;
+    this.instance = instance;
+    this.releaseTime = releaseTime;
+    this.absoluteDeadline = absoluteDeadline;
+    this.cdf = cdf;
+  }
+
+  /**
+   * @return the name of the flow
+   */
+  public String getFlowName() {
+    return flowName;
+  }
+
+  /**
+   * @return the number of the flow instance, starting at 0
+   */
+  public Integer getInstance() {
+    return instance;
+  }
+
+  /**
+   * @return the release time of the instance
+   */
+  public Integer getReleaseTime() {
+    return releaseTime;
+  }
+
+  /**
+   * @return the absolute deadline of the instance
+   */
+  public Integer getAbsoluteDeadline() {
+    return absoluteDeadline;
+  }
+
+  /**
+   * @return the largest latency in the distribution, which ends at the flow's next release
+   */
+  public Integer getMaxLatency() {
+    return cdf.length;
+  }
+
+  /**
+   * Returns the probability that the packet is delivered with a latency of at most the given
+   * number of time slots.
+   *
+   * @param latency in time slots
+   * @return the value of the CDF at latency
+   */
+  public Double getDeliveryProbability(Integer latency) {
+    if (latency < 1 || cdf.length == 0) {
+      return 0.0;
+    }
+    return cdf[Math.min(latency, cdf.length) - 1];
+  }
+
+  /**
+   * @return the probability that the packet is delivered before the flow's next release
+   */
+  public Double getDeliveryProbability() {
+    return getDeliveryProbability(cdf.length);
+  }
+
+  /**
+   * @return the probability that the packet is delivered by the instance's deadline
+   */
+  public Double getOnTimeProbability() {
+    return getDeliveryProbability(absoluteDeadline - releaseTime);
+  }
+
+  /**
+   * Returns the expected latency of the packets delivered before the flow's next release.
+   *
+   * @return the expected latency in time slots, or null if no packet is ever delivered
+   */
+  public Double getExpectedLatency() {
+    var delivered = getDeliveryProbability();
+    if (delivered <= 0.0) {
+      return null;
+    }
+    var sum = 0.0;
+    var previous = 0.0;
+    for (int index = 0; index < cdf.length; index++) {
+      sum += (index + 1) * (cdf[index] - previous);
+      previous = cdf[index];
+    }
+    return sum / delivered;
+  }
+
+  /**
+   * Returns the smallest latency with which at least the given fraction of packets are
+   * delivered. For example, getLatencyPercentile(0.99) is the 99th-percentile latency.
+   *
+   * @param fraction of the packets released, between 0.0 and 1.0
+   * @return the latency in time slots, or null if fewer packets are delivered
+   */
+  public Integer getLatencyPercentile(Double fraction) {
+    /* the CDF is nondecreasing, so search for the first value at or above fraction */
+    var low = 0;
+    var high = cdf.length;
+    while (low < high) {
+      var middle = (low + high) >>> 1;
+      if (cdf[middle] < fraction) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low < cdf.length ? low + 1 : null;
+  }
+}
@@ -1,22 +1,24 @@
 package edu.uiowa.cs.warp;
 
+import java.util.List;
+
 /**
- * LatencyVisualization creates the visualizations for the liability analysis of the WARP program.
- * <p>
- * 
- * CS2820 Fall 2023 Project: Implement this class to create the visualization that is
- * requested in Warp. Be sure that both file and display visualizations are created.
- * 
+ * LatencyVisualization creates the visualizations for the latency analysis of the WARP program.
+ * Each row is a flow instance, showing the probability that its packet is delivered before the
+ * flow's next release and by its deadline, and its expected and 99th-percentile latencies when
+ * each transmission attempt succeeds with probability M. The worst-case latencies are in the
+ * latency report.
+ *
  * @author sgoddard
- * @version 1.6 Fall 2023
+ * @version 2.0 Fall 2025
  *
  */
 public class LatencyVisualization extends Visualization {
 
-  // TODO Auto-generated class stub for unimplemented visualization
-
   private static final String SOURCE_SUFFIX = ".la";
   private static final String OBJECT_NAME = "Latency Analysis";
+  private static final Double PERCENTILE = 0.99;
+  private static final String NOT_REACHED = "-";
   private WarpInterface warp;
   private LatencyAnalysis la;
 
@@ -25,4 +27,63 @@ public class LatencyVisualization extends Visualization {
     this.warp = warp;
     this.la = warp.getLatencyAnalysis();
   }
+
+  @Override
+  protected GuiWindow displayVisualization() {
+    return new GuiWindow(warp.getOptions(), createTitle(), createColumnHeader(),
+        createVisualizationData());
+  }
+
+  @Override
+  protected Description createHeader() {
+    Description header = new Description();
+    header.add(createTitle());
+    header.add(String.format("Scheduler Name: %s\n", warp.getSchedulerName()));
+    if (warp.getNumFaults() > 0) { // only specify when deterministic fault model is assumed
+      header.add(String.format("numFaults: %d\n", warp.getNumFaults()));
+    }
+    header.add(String.format("M: %s\n", String.valueOf(warp.getMinPacketReceptionRate())));
+    header.add(String.format("E2E: %s\n", String.valueOf(warp.getE2E())));
+    return header;
+  }
+
+  @Override
+  protected Description createFooter() {
+    Description footer = new Description();
+    footer.add(String.format("// Latencies are in time slots; %s means fewer than %s of the "
+        + "packets are delivered before the next release\n", NOT_REACHED, PERCENTILE));
+    return footer;
+  }
+
+  @Override
+  protected String[] createColumnHeader() {
+    return new String[] {"Flow:Instance", "Release Time", "Absolute Deadline", "P(Delivered)",
+        "P(On Time)", "Expected Latency", "p99 Latency"};
+  }
+
+  @Override
+  protected String[][] createVisualizationData() {
+    if (visualizationData == null) {
+      List<LatencyDistribution> distributions = la.getLatencyDistributions();
+      visualizationData = new String[distributions.size()][];
+      for (int row = 0; row < distributions.size(); row++) {
+        var distribution = distributions.get(row);
+        var expected = distribution.getExpectedLatency();
+        var percentile = distribution.getLatencyPercentile(PERCENTILE);
+        visualizationData[row] = new String[] {
+            String.format("%s:%d", distribution.getFlowName(), distribution.getInstance()),
+            String.valueOf(distribution.getReleaseTime()),
+            String.valueOf(distribution.getAbsoluteDeadline()),
+            String.format("%.6f", distribution.getDeliveryProbability()),
+            String.format("%.6f", distribution.getOnTimeProbability()),
+            expected == null ? NOT_REACHED : String.format("%.2f", expected),
+            percentile == null ? NOT_REACHED : String.valueOf(percentile)};
+      }
+    }
+    return visualizationData;
+  }
+
+  private String createTitle() {
+    return String.format("%s for graph %s\n", OBJECT_NAME, warp.getName());
+  }
 }
@@ -0,0 +1,421 @@
+package edu.uiowa.cs.warp;
+
+import java.io.ObjectStreamException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A read-only ProgramSchedule backed by a memory-mapped binary program (.dslb) file. Code that
+ * reads a ProgramSchedule with get(row, column), getNumRows(), getNumColumns(), get(row), or by
+ * iterating over its time slots works unchanged, but the instructions stay in the mapped file and
+ * are decoded as they are accessed, so an exported program can be analyzed without loading it
+ * onto the heap. Each distinct instruction string is decoded at most once.
+ * <p>
+ * The ArrayList this class inherits is always empty, so every List method that reads the time
+ * slots, such as stream(), subList(), equals(), or toString(), is answered from the mapped file
+ * instead. A schedule that is serialized is written as a ProgramSchedule on the heap.
+ * <p>
+ * The program attributes saved with the schedule (name, scheduler name, reliability parameters,
+ * number of channels, and node names in column order) are available from the getters of this
+ * class. Methods that would change the schedule throw an UnsupportedOperationException.
+ *
+ * @version 2.0 Fall 2025
+ * @see ProgramBinaryFile
+ */
+final class MappedProgramSchedule extends ProgramSchedule {
+
+  private static final long serialVersionUID = 1L;
+  private static final String READ_ONLY = "an exported program schedule is read-only";
+
+  private final transient MappedByteBuffer buffer;
+  private final transient String[] strings; // decoded on first use
+  private final transient List<InstructionTimeSlot> timeSlots = new TimeSlots();
+  private final Double minPacketReceptionRate;
+  private final Double e2e;
+  private final Integer numFaults;
+  private final Integer numChannels;
+  private final String name;
+  private final String schedulerName;
+  private final String[] nodeNames;
+  private final int numSlots;
+  private final int idBytes; // bytes per instruction id
+  private final int stringTable;
+  private final int stringData;
+  private final int slotData;
+  private final long endOfFile;
+
+  /**
+   * Reads the header of a mapped binary program file. The buffer must be positioned just after
+   * the magic number and version.
+   *
+   * @param buffer of the mapped binary program file
+   */
+  MappedProgramSchedule(MappedByteBuffer buffer) {
+    super();
+    this.buffer = buffer;
+    minPacketReceptionRate = buffer.getDouble();
+    e2e = buffer.getDouble();
+    numFaults = buffer.getInt();
+    numChannels = buffer.getInt();
+    var nameIndex = buffer.getInt();
+    var schedulerNameIndex = buffer.getInt();
+    var numStrings = buffer.getInt();
+    var numNodes = buffer.getInt();
+    numSlots = buffer.getInt();
+    var numStringBytes = buffer.getInt();
+    var numSlotBytes = buffer.getInt();
+    idBytes = buffer.getInt();
+
+    /*
+     * locate each section from the counts in the header, in long arithmetic so a corrupt header
+     * can't overflow; the sections of a valid file all lie within the mapped buffer
+     */
+    stringTable = ProgramBinaryFile.HEADER_BYTES;
+    var nodeSection = stringTable
+        + (long) Integer.BYTES * numStrings * ProgramBinaryFile.STRING_ENTRY_INTS;
+    var stringDataOffset = nodeSection + (long) Integer.BYTES * numNodes;
+    var slotDataOffset = stringDataOffset + numStringBytes;
+    var validCounts = numStrings >= 0 && numNodes >= 0 && numSlots >= 0 && numStringBytes >= 0
+        && idBytes >= 1 && idBytes <= Integer.BYTES
+        && (long) numSlots * numNodes * idBytes == numSlotBytes;
+    endOfFile = validCounts ? slotDataOffset + numSlotBytes : -1;
+    var valid = endOfFile == buffer.limit();
+    stringData = valid ? (int) stringDataOffset : 0;
+    slotData = valid ? (int) slotDataOffset : 0;
+
+    strings = new String[valid ? numStrings : 0];
+    if (valid) {
+      name = getString(nameIndex);
+      schedulerName = getString(schedulerNameIndex);
+      nodeNames = new String[numNodes];
+      for (int i = 0; i < numNodes; i++) {
+        nodeNames[i] = getString(buffer.getInt((int) nodeSection + Integer.BYTES * i));
+      }
+    } else {
+      /* corrupt file; ProgramBinaryFile.read() reports it */
+      name = null;
+      schedulerName = null;
+      nodeNames = new String[0];
+    }
+  }
+
+  /**
+   * Returns the instruction of a node in a time slot.
+   *
+   * @param row time slot
+   * @param column index of the node (see getNodeMapIndex())
+   * @return the instruction, or null if there isn't one
+   */
+  @Override
+  public String get(Integer row, Integer column) {
+    if (row < 0 || row >= numSlots || column < 0 || column >= nodeNames.length) {
+      return null;
+    }
+    return getInstruction(readId(slotPosition(row, column)));
+  }
+
+  /**
+   * Decodes all of the instructions in a time slot.
+   *
+   * @param row time slot
+   * @return the instructions of the time slot, in node column order
+   */
+  @Override
+  public InstructionTimeSlot get(int row) {
+    if (row < 0 || row >= numSlots) {
+      throw new IndexOutOfBoundsException(row);
+    }
+    var instructions = new String[nodeNames.length];
+    var position = slotPosition(row, 0);
+    for (int node = 0; node < nodeNames.length; node++) {
+      instructions[node] = getInstruction(readId(position));
+      position += idBytes;
+    }
+    return new InstructionTimeSlot(instructions);
+  }
+
+  @Override
+  public int size() {
+    return numSlots;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return numSlots == 0;
+  }
+
+  @Override
+  public Integer getNumRows() {
+    return numSlots;
+  }
+
+  @Override
+  public Integer getNumColumns() {
+    return numSlots > 0 ? nodeNames.length : 0;
+  }
+
+  @Override
+  public Iterator<InstructionTimeSlot> iterator() {
+    return timeSlots.iterator();
+  }
+
+  @Override
+  public ListIterator<InstructionTimeSlot> listIterator() {
+    return timeSlots.listIterator();
+  }
+
+  @Override
+  public ListIterator<InstructionTimeSlot> listIterator(int index) {
+    return timeSlots.listIterator(index);
+  }
+
+  @Override
+  public List<InstructionTimeSlot> subList(int fromIndex, int toIndex) {
+    return timeSlots.subList(fromIndex, toIndex);
+  }
+
+  @Override
+  public Spliterator<InstructionTimeSlot> spliterator() {
+    return timeSlots.spliterator();
+  }
+
+  @Override
+  public void forEach(Consumer<? super InstructionTimeSlot> action) {
+    timeSlots.forEach(action);
+  }
+
+  @Override
+  public Object[] toArray() {
+    return timeSlots.toArray();
+  }
+
+  @Override
+  public <T> T[] toArray(T[] a) {
+    return timeSlots.toArray(a);
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return timeSlots.contains(o);
+  }
+
+  @Override
+  public int indexOf(Object o) {
+    return timeSlots.indexOf(o);
+  }
+
+  @Override
+  public int lastIndexOf(Object o) {
+    return timeSlots.lastIndexOf(o);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o == this || timeSlots.equals(o);
+  }
+
+  @Override
+  public int hashCode() {
+    return timeSlots.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return timeSlots.toString();
+  }
+
+  @Override
+  public void set(Integer row, Integer column, String element) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public InstructionTimeSlot set(int index, InstructionTimeSlot element) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public boolean add(InstructionTimeSlot element) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public void add(int index, InstructionTimeSlot element) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends InstructionTimeSlot> c) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<? extends InstructionTimeSlot> c) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public InstructionTimeSlot remove(int index) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public boolean removeIf(Predicate<? super InstructionTimeSlot> filter) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public void replaceAll(UnaryOperator<InstructionTimeSlot> operator) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public void sort(Comparator<? super InstructionTimeSlot> c) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  public void clear() {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  @Override
+  protected void removeRange(int fromIndex, int toIndex) {
+    throw new UnsupportedOperationException(READ_ONLY);
+  }
+
+  /**
+   * Copies the time slots of the mapped file to a ProgramSchedule on the heap.
+   *
+   * @return a schedule with the same instructions, which can be changed
+   */
+  ProgramSchedule copy() {
+    var schedule = new ProgramSchedule();
+    forEach(schedule::add);
+    return schedule;
+  }
+
+  /* the mapped file isn't serializable, so the time slots are written instead */
+  private Object writeReplace() throws ObjectStreamException {
+    return copy();
+  }
+
+  /**
+   * @return a HashMap mapping node names to their column index in the schedule, as
+   *         Program.getNodeMapIndex() does for the program that was exported
+   */
+  public HashMap<String, Integer> getNodeMapIndex() {
+    var nodeIndexMap = new HashMap<String, Integer>();
+    for (int index = 0; index < nodeNames.length; index++) {
+      nodeIndexMap.put(nodeNames[index], index);
+    }
+    return nodeIndexMap;
+  }
+
+  /**
+   * @return the node names in schedule column order
+   */
+  public String[] getNodeNames() {
+    return nodeNames.clone();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getSchedulerName() {
+    return schedulerName;
+  }
+
+  public Integer getNumChannels() {
+    return numChannels;
+  }
+
+  public Double getMinPacketReceptionRate() {
+    return minPacketReceptionRate;
+  }
+
+  public Double getE2E() {
+    return e2e;
+  }
+
+  public Integer getNumFaults() {
+    return numFaults;
+  }
+
+  /* the size of the file described by the header */
+  long getEndOfFile() {
+    return endOfFile;
+  }
+
+  /* position of the id of a node in a time slot, which a valid file maps within the buffer */
+  private int slotPosition(int row, int column) {
+    return (int) (slotData + (long) idBytes * ((long) row * nodeNames.length + column));
+  }
+
+  private int readId(int position) {
+    var id = 0;
+    for (int i = 0; i < idBytes; i++) {
+      id = (id << Byte.SIZE) | (buffer.get(position + i) & 0xff);
+    }
+    return id;
+  }
+
+  /* instruction id 0 is an empty entry and id i + 1 is string i */
+  private String getInstruction(int id) {
+    return id == 0 ? null : getString(id - 1);
+  }
+
+  private String getString(int index) {
+    var string = strings[index];
+    if (string == null) {
+      /* a race here only decodes the same string twice */
+      var entry = stringTable + Integer.BYTES * index * ProgramBinaryFile.STRING_ENTRY_INTS;
+      var bytes = new byte[buffer.getInt(entry + Integer.BYTES)];
+      buffer.get(stringData + buffer.getInt(entry), bytes);
+      string = new String(bytes, StandardCharsets.UTF_8);
+      strings[index] = string;
+    }
+    return string;
+  }
+
+  /* read-only List view of the time slots in the mapped file */
+  private final class TimeSlots extends AbstractList<InstructionTimeSlot> {
+
+    @Override
+    public InstructionTimeSlot get(int row) {
+      return MappedProgramSchedule.this.get(row);
+    }
+
+    @Override
+    public int size() {
+      return numSlots;
+    }
+  }
+}
@@ -0,0 +1,269 @@
+package edu.uiowa.cs.warp;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Registry of the counters and per-phase timers that show where the time goes when a workload is
+ * read, scheduled, analyzed, and written to files. It is requested with the -metrics option, and
+ * is carried by the Options, so copies of the options, such as those of the WorkLoad, Program,
+ * and Visualizations built with them, record to the same registry.
+ * <p>
+ * A class looks up the counters and timers it records to once, by name, and keeps them. When
+ * metrics aren't requested, the options carry the DISABLED registry, whose counters and timers
+ * do nothing, so the cost of the instrumentation is a field test per count or phase.
+ * <p>
+ * The registry is registered with the platform MBean server for JMX clients such as jconsole,
+ * and is written to Metrics.json in the output directory at the end of a command-line run.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class Metrics implements MetricsMXBean {
+
+  /** Registry of options that don't record metrics. */
+  static final Metrics DISABLED = new Metrics(false);
+
+  static final String FILE_NAME = "Metrics.json";
+  static final String OBJECT_NAME = "edu.uiowa.cs.warp:type=Metrics";
+
+  private static final Double NANOS_PER_MILLI = 1_000_000.0;
+  private static final Counter NO_COUNTER = new Counter(false);
+  private static final Timer NO_TIMER = new Timer(false);
+
+  private final Boolean enabled;
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+  /**
+   * Counts events, such as time slots scanned. It can be updated from any thread.
+   */
+  static final class Counter {
+
+    private final LongAdder count;
+
+    private Counter(Boolean enabled) {
+      count = enabled ? new LongAdder() : null;
+    }
+
+    void increment() {
+      if (count != null) {
+        count.increment();
+      }
+    }
+
+    void add(long n) {
+      if (count != null) {
+        count.add(n);
+      }
+    }
+
+    long getCount() {
+      return count == null ? 0L : count.sum();
+    }
+
+    private void reset() {
+      count.reset();
+    }
+  }
+
+  /**
+   * Times a phase, such as building a poset, each time it runs. The value returned by start() is
+   * passed to stop() when the phase is done. It can be used from any thread.
+   */
+  static final class Timer {
+
+    private final Boolean enabled;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    private Timer(Boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    /**
+     * @return the start time of the phase, or 0 if metrics aren't recorded
+     */
+    long start() {
+      return enabled ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * Records a run of the phase.
+     *
+     * @param start value returned by start() when the phase started
+     */
+    void stop(long start) {
+      if (enabled) {
+        var elapsed = System.nanoTime() - start;
+        count.increment();
+        totalNanos.add(elapsed);
+        maxNanos.accumulate(elapsed);
+      }
+    }
+
+    long getCount() {
+      return count.sum();
+    }
+
+    Double getTotalMillis() {
+      return totalNanos.sum() / NANOS_PER_MILLI;
+    }
+
+    Double getMaxMillis() {
+      return maxNanos.get() / NANOS_PER_MILLI;
+    }
+
+    private void reset() {
+      count.reset();
+      totalNanos.reset();
+      maxNanos.reset();
+    }
+  }
+
+  /**
+   * Creates an empty registry that records metrics.
+   */
+  Metrics() {
+    this(true);
+  }
+
+  private Metrics(Boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * @return true if metrics are recorded
+   */
+  Boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Returns the counter with the name given, which is created the first time it is requested.
+   *
+   * @param name of the counter, such as "schedule.conflictChecks"
+   * @return the counter, which does nothing if metrics aren't recorded
+   */
+  Counter counter(String name) {
+    return enabled ? counters.computeIfAbsent(name, key -> new Counter(true)) : NO_COUNTER;
+  }
+
+  /**
+   * Returns the timer of the phase with the name given, which is created the first time it is
+   * requested.
+   *
+   * @param name of the phase, such as "poset.build"
+   * @return the timer, which does nothing if metrics aren't recorded
+   */
+  Timer timer(String name) {
+    return enabled ? timers.computeIfAbsent(name, key -> new Timer(true)) : NO_TIMER;
+  }
+
+  @Override
+  public Map<String, Long> getCounters() {
+    return snapshot(counters, Counter::getCount);
+  }
+
+  @Override
+  public Map<String, Long> getTimerCounts() {
+    return snapshot(timers, Timer::getCount);
+  }
+
+  @Override
+  public Map<String, Double> getTimerTotalMillis() {
+    return snapshot(timers, Timer::getTotalMillis);
+  }
+
+  @Override
+  public Map<String, Double> getTimerMaxMillis() {
+    return snapshot(timers, Timer::getMaxMillis);
+  }
+
+  @Override
+  public void reset() {
+    counters.values().forEach(Counter::reset);
+    timers.values().forEach(Timer::reset);
+  }
+
+  /**
+   * Returns the metrics as a JSON object with a "counters" object, which maps each counter name
+   * to its count, and a "timers" object, which maps each phase name to an object with the number
+   * of runs, and their total and maximum times in milliseconds. Names are in sorted order.
+   */
+  @Override
+  public String getJson() {
+    var json = new StringBuilder("{\n  \"counters\": {");
+    var separator = "\n";
+    for (Map.Entry<String, Long> counter : getCounters().entrySet()) {
+      json.append(separator).append(String.format("    %s: %d", quote(counter.getKey()),
+          counter.getValue()));
+      separator = ",\n";
+    }
+    json.append(counters.isEmpty() ? "},\n" : "\n  },\n").append("  \"timers\": {");
+    separator = "\n";
+    for (String name : new TreeMap<>(timers).keySet()) {
+      var timer = timers.get(name);
+      json.append(separator).append(String.format(Locale.ROOT,
+          "    %s: {\"count\": %d, \"totalMillis\": %.3f, \"maxMillis\": %.3f}", quote(name),
+          timer.getCount(), timer.getTotalMillis(), timer.getMaxMillis()));
+      separator = ",\n";
+    }
+    json.append(timers.isEmpty() ? "}\n" : "\n  }\n").append("}\n");
+    return json.toString();
+  }
+
+  /**
+   * Registers the metrics with the platform MBean server, replacing metrics registered before,
+   * so they can be watched with a JMX client while Warp runs. Does nothing if metrics aren't
+   * recorded.
+   */
+  void register() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      var server = ManagementFactory.getPlatformMBeanServer();
+      var name = new ObjectName(OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(this, name);
+    } catch (JMException e) {
+      System.err.println("ERROR: Unable to register the metrics with JMX: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Writes the metrics as JSON to Metrics.json in the output directory of the options. Does
+   * nothing if metrics aren't recorded.
+   *
+   * @param options with the output directory
+   */
+  void writeJson(Options options) {
+    if (!enabled) {
+      return;
+    }
+    var fm = options.getFileManager();
+    var fileName = fm.createFileNameTemplate(FILE_NAME, options.getOutputSubDirectory());
+    fm.writeFile(fileName, getJson());
+  }
+
+  private static <M, V> Map<String, V> snapshot(Map<String, M> metrics, Function<M, V> value) {
+    var values = new TreeMap<String, V>();
+    metrics.forEach((name, metric) -> values.put(name, value.apply(metric)));
+    return values;
+  }
+
+  private static String quote(String name) {
+    return "\"" + name.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+}
@@ -0,0 +1,24 @@
+package edu.uiowa.cs.warp;
+
+import java.util.Map;
+
+/**
+ * Management interface of the Metrics registry, through which JMX clients read the counters and
+ * phase timers of a running Warp system. The maps are keyed by counter or phase name.
+ *
+ * @version 2.0 Fall 2025
+ */
+public interface MetricsMXBean {
+
+  public Map<String, Long> getCounters();
+
+  public Map<String, Long> getTimerCounts(); // number of times each phase ran
+
+  public Map<String, Double> getTimerTotalMillis();
+
+  public Map<String, Double> getTimerMaxMillis();
+
+  public String getJson(); // all of the metrics, as written to Metrics.json
+
+  public void reset(); // sets every counter and timer back to 0
+}
@@ -10,4 +10,8 @@ public class NonPreemptiveSchedule extends Schedule {
 	NonPreemptiveSchedule(Poset poset, Integer numChannels) {
 		super(poset, numChannels);
 	}
+
+	NonPreemptiveSchedule(Poset poset, Integer numChannels, Boolean stopAtFirstMiss) {
+		super(poset, numChannels, stopAtFirstMiss);
+	}
 }
@@ -2,6 +2,7 @@ package edu.uiowa.cs.warp;
 
 import java.awt.Font;
 import java.nio.file.Paths;
+import java.util.Objects;
 
 import javax.swing.JTable;
 import javax.swing.UIManager;
@@ -40,9 +41,20 @@ public class Options {
   /* default number of faults to be tolerated per transmission (command-line option */
   private static final Integer DEFAULT_FAULTS_TOLERATED = 0; // => FaultModel.PROBABILISTIC
   private static final Double DEFAULT_FONT_SCALE_FACTOR = 1.0; // 100% => no scaling
+  private static final Integer MAX_JOBS = 64; // max number of output files written concurrently
+  private static final Integer DEFAULT_JOBS = 1; // => output files are written sequentially
+  private static final Integer MAX_HYPER_PERIODS = 1000000000; // max hyperperiods simulated
+  private static final Integer DEFAULT_HYPER_PERIODS = 10000; // hyperperiods simulated by -s
+  private static final Integer DEFAULT_SEED = 2820; // seed of the simulator's random numbers
+  private static final Integer NO_LIMIT = 0; // time and slot limits that aren't enforced
   
   private Integer nChannels; // number of wireless channels available for scheduling
   private Integer numFaults; // number of faults tolerated per edge
+  private Integer numJobs; // number of output files written concurrently
+  private Integer numHyperPeriods; // number of hyperperiods simulated
+  private Integer seed; // seed of the simulator's random numbers
+  private Integer timeLimit = NO_LIMIT; // milliseconds to build a program and its analyses
+  private Integer slotLimit = NO_LIMIT; // time slots of the longest schedule built
   /** The minimum rate at which packets are received over any
    * link in the system. This rate can be changed by a command-line option.
    */
@@ -63,15 +75,26 @@ public class Options {
   private Boolean caRequested; // Channel Analysis file requested flag
   private Boolean eaRequested; // Execution Analysis file requested flag
   private Boolean simRequested; // Simulation file requested flag
+  private Boolean wldbRequested = false; // binary workload file requested flag
+  private Boolean dslbRequested = false; // binary program file requested flag
+  private Boolean cacheRequested = false; // program cache requested flag
+  private Boolean watchRequested = false; // watch the input file flag
+  private Boolean precheckRequested = false; // admission check before scheduling flag
+  private Boolean minChannelsRequested = false; // minimum channel search flag
+  private Boolean prioritiesRequested = false; // priority assignment flag
+  private Boolean metricsRequested = false; // counters and phase timers requested flag
   private Boolean allRequested; // all out files requested flag
   private Boolean latencyRequested; // latency report requested flag
   private Boolean schedulerRequested = false;
   private Boolean verboseMode; // verbose mode flag (mainly for running in IDE)
   private String inputFile; // inputFile from which the graph workload is read
+  private String batchInput = null; // directory or glob of input files processed as a batch
+  private String diffInput = null; // binary program file compared with the program built
   private ScheduleChoices schedulerSelected; // Scheduler requested
   private FaultModel faultModel;
   private String currentDirectory;
   private FileManager fm;
+  private Metrics metrics = Metrics.DISABLED; // recorded to by everything built with the options
 
   /**
    * Default constructor. Sets default options for the Warp System.
@@ -104,6 +127,11 @@ public class Options {
    */
   public Options (Options sourceToCopy) {
     this.nChannels = sourceToCopy.getNumChannels();
+    this.numJobs = sourceToCopy.getNumJobs();
+    this.numHyperPeriods = sourceToCopy.getNumHyperPeriods();
+    this.seed = sourceToCopy.getSeed();
+    this.timeLimit = sourceToCopy.getTimeLimit();
+    this.slotLimit = sourceToCopy.getSlotLimit();
     this.minPacketReceptionRate = sourceToCopy.getMinPacketReceptionRate();
     this.e2e = sourceToCopy.getE2E();
     this.numFaults = sourceToCopy.getNumFaults();
@@ -118,14 +146,25 @@ public class Options {
     this.caRequested = sourceToCopy.caRequested();
     this.eaRequested = sourceToCopy.eaRequested();
     this.simRequested = sourceToCopy.simRequested();
+    this.wldbRequested = sourceToCopy.wldbRequested();
+    this.dslbRequested = sourceToCopy.dslbRequested();
+    this.cacheRequested = sourceToCopy.cacheRequested();
+    this.watchRequested = sourceToCopy.watchRequested();
+    this.precheckRequested = sourceToCopy.precheckRequested();
+    this.minChannelsRequested = sourceToCopy.minChannelsRequested();
+    this.prioritiesRequested = sourceToCopy.prioritiesRequested();
+    this.metricsRequested = sourceToCopy.metricsRequested();
     this.allRequested = sourceToCopy.allRequested();
     this.latencyRequested = sourceToCopy.latencyRequested();
     this.schedulerRequested = sourceToCopy.schedulerRequested();
     this.verboseMode = sourceToCopy.verboseMode();
     this.inputFile = sourceToCopy.getInputFileName();
+    this.batchInput = sourceToCopy.getBatchInput();
+    this.diffInput = sourceToCopy.getDiffInput();
     this.faultModel = sourceToCopy.getFaultModel();
     this.currentDirectory = sourceToCopy.getCurrentDirectory();
     this.fm = sourceToCopy.getFileManager();
+    this.metrics = sourceToCopy.getMetrics();
     this.fontScaleFactor = sourceToCopy.getFontScaleFactor();
    
   }
@@ -169,6 +208,11 @@ public class Options {
 
     /* Compare the data members and return accordingly  */
     return this.nChannels.equals(oOptions.getNumChannels()) && 
+        this.numJobs.equals(oOptions.getNumJobs()) &&
+        this.numHyperPeriods.equals(oOptions.getNumHyperPeriods()) &&
+        this.seed.equals(oOptions.getSeed()) &&
+        this.timeLimit.equals(oOptions.getTimeLimit()) &&
+        this.slotLimit.equals(oOptions.getSlotLimit()) &&
         this.minPacketReceptionRate.equals(oOptions.getMinPacketReceptionRate()) && 
         this.e2e.equals(oOptions.getE2E()) &&
         this.numFaults.equals(oOptions.getNumFaults()) &&
@@ -183,22 +227,53 @@ public class Options {
         this.caRequested.equals(oOptions.caRequested()) &&
         this.eaRequested.equals(oOptions.eaRequested()) &&
         this.simRequested.equals(oOptions.simRequested()) &&
+        this.wldbRequested.equals(oOptions.wldbRequested()) &&
+        this.dslbRequested.equals(oOptions.dslbRequested()) &&
+        this.cacheRequested.equals(oOptions.cacheRequested()) &&
+        this.watchRequested.equals(oOptions.watchRequested()) &&
+        this.precheckRequested.equals(oOptions.precheckRequested()) &&
+        this.minChannelsRequested.equals(oOptions.minChannelsRequested()) &&
+        this.prioritiesRequested.equals(oOptions.prioritiesRequested()) &&
+        this.metricsRequested.equals(oOptions.metricsRequested()) &&
         this.allRequested.equals(oOptions.allRequested()) &&
         this.latencyRequested.equals(oOptions.latencyRequested()) &&
         this.schedulerRequested.equals(oOptions.schedulerRequested()) &&
         this.verboseMode.equals(oOptions.verboseMode()) &&
         this.inputFile.equals(oOptions.getInputFileName()) &&
+        Objects.equals(this.batchInput, oOptions.getBatchInput()) &&
+        Objects.equals(this.diffInput, oOptions.getDiffInput()) &&
         this.faultModel.equals(oOptions.getFaultModel()) &&
         this.currentDirectory.equals(oOptions.getCurrentDirectory()) &&
         this.fontScaleFactor.equals(oOptions.getFontScaleFactor()); // &&
         // this.schedulerName.equals(oOptions.getSchedulerName()) ;
-    /* not checking FileManager for a match; don't think we need to */
+    /* not checking FileManager or Metrics for a match; don't think we need to */
   }
   
   public FileManager getFileManager() {
 	  return fm;
   }
+
+  /**
+   * Replaces the FileManager. Copies of an Options object share its FileManager, which keeps
+   * the name and contents of the last graph file read, so options used on another thread need
+   * a FileManager of their own.
+   * 
+   * @param fm FileManager used with these options
+   */
+  public void setFileManager(FileManager fm) {
+    this.fm = fm;
+  }
   
+  /**
+   * Returns the metrics that everything built with these options records to. Copies of an
+   * Options object share its metrics. If metrics weren't requested, nothing is recorded.
+   * 
+   * @return the metrics
+   */
+  Metrics getMetrics() {
+    return metrics;
+  }
+
   public String getCurrentDirectory() {
     return currentDirectory;
   }
@@ -236,6 +311,30 @@ public class Options {
       this.inputFile = inputFile;
     }
   }
+
+  /**
+   * @return the directory or glob of input files to be processed as a batch, or null if
+   *         only the input file is processed
+   */
+  public String getBatchInput() {
+    return batchInput;
+  }
+
+  public void setBatchInput(String batchInput) {
+    this.batchInput = batchInput;
+  }
+
+  /**
+   * @return the binary program file to compare with the program built, or null if no
+   *         comparison was requested
+   */
+  public String getDiffInput() {
+    return diffInput;
+  }
+
+  public void setDiffInput(String diffInput) {
+    this.diffInput = diffInput;
+  }
   
   public Double getE2E() {
     return e2e;
@@ -283,6 +382,66 @@ public class Options {
     setnChannels(converted);
   }
 
+  public Integer getNumJobs() {
+    return numJobs;
+  }
+
+  public void setNumJobs(Integer numJobs) {
+    if (numJobs > 0 && numJobs <= MAX_JOBS) {
+      this.numJobs = numJobs;
+    }
+  }
+
+  public Integer getNumHyperPeriods() {
+    return numHyperPeriods;
+  }
+
+  public void setNumHyperPeriods(Integer numHyperPeriods) {
+    if (numHyperPeriods > 0 && numHyperPeriods <= MAX_HYPER_PERIODS) {
+      this.numHyperPeriods = numHyperPeriods;
+    }
+  }
+
+  public Integer getSeed() {
+    return seed;
+  }
+
+  public void setSeed(Integer seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Returns the time, in milliseconds, that building a program and analyzing it may take before
+   * it is stopped (see Budget), or 0 if it isn't limited.
+   *
+   * @return the time limit in milliseconds
+   */
+  public Integer getTimeLimit() {
+    return timeLimit;
+  }
+
+  public void setTimeLimit(Integer timeLimit) {
+    if (timeLimit >= 0) {
+      this.timeLimit = timeLimit;
+    }
+  }
+
+  /**
+   * Returns the number of time slots a schedule may have before building it is stopped (see
+   * Budget), or 0 if it isn't limited.
+   *
+   * @return the slot limit
+   */
+  public Integer getSlotLimit() {
+    return slotLimit;
+  }
+
+  public void setSlotLimit(Integer slotLimit) {
+    if (slotLimit >= 0) {
+      this.slotLimit = slotLimit;
+    }
+  }
+
   public Integer getNumFaults() {
     return numFaults;
   }
@@ -388,6 +547,81 @@ public class Options {
     return simRequested;
   }
 
+  public Boolean wldbRequested() {
+    return wldbRequested;
+  }
+
+  public void setWldbRequested(Boolean wldbRequested) {
+    this.wldbRequested = wldbRequested;
+  }
+
+  public Boolean dslbRequested() {
+    return dslbRequested;
+  }
+
+  public void setDslbRequested(Boolean dslbRequested) {
+    this.dslbRequested = dslbRequested;
+  }
+
+  public Boolean cacheRequested() {
+    return cacheRequested;
+  }
+
+  public void setCacheRequested(Boolean cacheRequested) {
+    this.cacheRequested = cacheRequested;
+  }
+
+  public Boolean watchRequested() {
+    return watchRequested;
+  }
+
+  public void setWatchRequested(Boolean watchRequested) {
+    this.watchRequested = watchRequested;
+  }
+
+  public Boolean precheckRequested() {
+    return precheckRequested;
+  }
+
+  public void setPrecheckRequested(Boolean precheckRequested) {
+    this.precheckRequested = precheckRequested;
+  }
+
+  public Boolean minChannelsRequested() {
+    return minChannelsRequested;
+  }
+
+  public void setMinChannelsRequested(Boolean minChannelsRequested) {
+    this.minChannelsRequested = minChannelsRequested;
+  }
+
+  public Boolean prioritiesRequested() {
+    return prioritiesRequested;
+  }
+
+  public void setPrioritiesRequested(Boolean prioritiesRequested) {
+    this.prioritiesRequested = prioritiesRequested;
+  }
+
+  public Boolean metricsRequested() {
+    return metricsRequested;
+  }
+
+  /**
+   * Requests the metrics, which are recorded from then on by what is built with these options
+   * and their copies made after this call, or stops recording them.
+   * 
+   * @param metricsRequested true to record metrics
+   */
+  public void setMetricsRequested(Boolean metricsRequested) {
+    this.metricsRequested = metricsRequested;
+    if (!metricsRequested) {
+      metrics = Metrics.DISABLED;
+    } else if (!metrics.isEnabled()) {
+      metrics = new Metrics();
+    }
+  }
+
   public ScheduleChoices getSchedulerSelected() {
     return schedulerSelected;
   }
@@ -494,6 +728,9 @@ public class Options {
   private void setDefaultOptions () {
     this.verboseMode = false;
     this.nChannels = NUM_CHANNELS;
+    this.numJobs = DEFAULT_JOBS;
+    this.numHyperPeriods = DEFAULT_HYPER_PERIODS;
+    this.seed = DEFAULT_SEED;
     this.minPacketReceptionRate = MIN_PACKET_RECEPTION_RATE;
     this.e2e = E2E;
     this.numFaults = DEFAULT_FAULTS_TOLERATED;
@@ -568,6 +805,11 @@ public class Options {
     StringHolder scheduler = new StringHolder();
     IntHolder channels = new IntHolder();
     IntHolder faults = new IntHolder();
+    IntHolder jobs = new IntHolder();
+    IntHolder hyperPeriods = new IntHolder();
+    IntHolder randomSeed = new IntHolder();
+    IntHolder timeLimitMillis = new IntHolder();
+    IntHolder slotLimitSlots = new IntHolder();
     DoubleHolder m = new DoubleHolder();
     DoubleHolder end2end = new DoubleHolder();
     BooleanHolder gui = new BooleanHolder();
@@ -579,10 +821,20 @@ public class Options {
     BooleanHolder ca = new BooleanHolder();
     BooleanHolder ea = new BooleanHolder();
     BooleanHolder s = new BooleanHolder();
+    BooleanHolder wldb = new BooleanHolder();
+    BooleanHolder dslb = new BooleanHolder();
+    BooleanHolder cache = new BooleanHolder();
+    BooleanHolder watch = new BooleanHolder();
+    BooleanHolder precheck = new BooleanHolder();
+    BooleanHolder minChannels = new BooleanHolder();
+    BooleanHolder priorities = new BooleanHolder();
+    BooleanHolder metricsFlag = new BooleanHolder();
     BooleanHolder all = new BooleanHolder();
     BooleanHolder latency = new BooleanHolder();
     BooleanHolder verbose = new BooleanHolder();
     StringHolder input = new StringHolder();
+    StringHolder batch = new StringHolder();
+    StringHolder diff = new StringHolder();
     StringHolder output = new StringHolder();
     DoubleHolder fontScaler = new DoubleHolder(); 
 
@@ -599,6 +851,7 @@ public class Options {
         end2end);
     parser.addOption("-f, --faults %d {[0,10]} #number of faults per edge in a flow (per period)",
         faults);
+    parser.addOption("-j, --jobs %d {[1,64]} #number of output files written concurrently", jobs);
     parser.addOption("-gui %v #use the Graphical User Interface (GUI)", gui);
     parser.addOption("-d, --display %v #create a display window for visualizations", display);
     parser.addOption("-sf %f {[0.5,4.0]} #font scale factor for GUI", // (1.0 => no scale)",
@@ -616,10 +869,51 @@ public class Options {
         "-ca  %v #create a channel analysis file (tab delimited .csv) for the warp program", ca);
     parser.addOption(
         "-ea  %v #create an execution analysis file (tab delimited .csv) for the warp program", ea);
-    parser.addOption("-s  %v #create a simulator input file (.txt) for the warp program", s);
+    parser.addOption(
+        "-s  %v #simulate the warp program and create a simulation file (.sim) of its flows' delivery ratios, latencies, and deadline misses",
+        s);
+    parser.addOption(
+        "-hp, --hyperperiods %d {[1,1000000000]} #number of hyperperiods simulated for -s (default 10000)",
+        hyperPeriods);
+    parser.addOption("-seed %d #nonzero seed of the random numbers simulated for -s", randomSeed);
+    parser.addOption(
+        "-tl, --timelimit %d {[0,2147483647]} #<Milliseconds> after which building a program and its analyses is stopped with a report of how far it got (0 for no limit)",
+        timeLimitMillis);
+    parser.addOption(
+        "-sl, --slotlimit %d {[0,2147483647]} #maximum number of time slots in a schedule, beyond which building it is stopped with a report of how far it got (0 for no limit)",
+        slotLimitSlots);
+    parser.addOption(
+        "-wldb  %v #create a binary workload file (.wldb) that can be used as a fast-loading input file",
+        wldb);
+    parser.addOption(
+        "-dslb  %v #also write the warp program as a binary program file (.dslb)", dslb);
+    parser.addOption(
+        "-cache  %v #reuse programs built earlier for the same workload and options, which are cached in the output directory (.cache)",
+        cache);
+    parser.addOption(
+        "-watch  %v #keep running, and regenerate the output files affected when the input file changes",
+        watch);
+    parser.addOption(
+        "-pc, --precheck  %v #skip building the program when the workload's flows and nodes show it can't be scheduled",
+        precheck);
+    parser.addOption(
+        "-mc, --minchannels  %v #find the smallest number of channels, up to -c, with which the workload is schedulable (ChannelSearchReport.txt)",
+        minChannels);
+    parser.addOption(
+        "-pa, --priorities  %v #find flow priorities with which the workload is schedulable by the priority scheduler (PriorityAssignmentReport.txt)",
+        priorities);
+    parser.addOption(
+        "-metrics  %v #record counters and per-phase timers, which are available over JMX while running and written at the end of the run (Metrics.json)",
+        metricsFlag);
     parser.addOption("-a, --all  %v #create all output files (activates -gv, -wf, -ra, -ca -ea -la -l -s)", all);
     parser.addOption("-l, --latency  %v #generates end-to-end latency report file (.txt)", latency);
-    parser.addOption("-i, --input %s #<InputFile> of graph flows (workload)", input);
+    parser.addOption("-i, --input %s #<InputFile> of graph flows (workload), text or binary (.wldb)", input);
+    parser.addOption(
+        "-b, --batch %s #<Directory or glob> of input files to process in one run, -j at a time, with a summary table (BatchSummary.txt)",
+        batch);
+    parser.addOption(
+        "-diff %s #<ProgramFile> binary program (.dslb) to compare with the program built, by node and flow (ScheduleDiffReport.txt)",
+        diff);
     parser.addOption("-o, --output %s #<OutputDIRECTORY> where output files will be placed",
         output);
     parser.addOption(
@@ -636,6 +930,21 @@ public class Options {
     if (channels.value > 0) {
       nChannels = channels.value; // set option specified
     }
+    if (jobs.value > 0) {
+      numJobs = jobs.value; // set option specified
+    }
+    if (hyperPeriods.value > 0) {
+      numHyperPeriods = hyperPeriods.value; // set option specified
+    }
+    if (randomSeed.value != 0) {
+      seed = randomSeed.value; // set option specified
+    }
+    if (timeLimitMillis.value > 0) {
+      timeLimit = timeLimitMillis.value; // set option specified
+    }
+    if (slotLimitSlots.value > 0) {
+      slotLimit = slotLimitSlots.value; // set option specified
+    }
     if (faults.value > 0) { // global variable for # of Faults tolerated per edge
       numFaults = faults.value; // set option specified
     } 
@@ -662,6 +971,14 @@ public class Options {
     caRequested = ca.value; // Channel Analysis file requested flag
     eaRequested = ea.value; // Execution Analysis file requested flag
     simRequested = s.value; // Simulation file requested flag
+    wldbRequested = wldb.value; // binary workload file requested flag
+    dslbRequested = dslb.value; // binary program file requested flag
+    cacheRequested = cache.value; // program cache requested flag
+    watchRequested = watch.value; // watch the input file flag
+    precheckRequested = precheck.value; // admission check before scheduling flag
+    minChannelsRequested = minChannels.value; // minimum channel search flag
+    prioritiesRequested = priorities.value; // priority assignment flag
+    setMetricsRequested(metricsFlag.value); // counters and phase timers requested flag
     allRequested = all.value; // all out files requested flag
     latencyRequested = latency.value; // latency report requested flag
     verboseMode = verbose.value; // verbose mode flag (mainly for running in IDE)
@@ -669,6 +986,12 @@ public class Options {
       /* input file specified, so update the inputFile attribute */
       inputFile = input.value; 
     }
+    if (batch.value != null) { // process a batch of input files instead of the input file
+      batchInput = batch.value;
+    }
+    if (diff.value != null) { // compare the program built with a binary program file
+      diffInput = diff.value;
+    }
     if (scheduler.value != null) { // can't get choice from a null value so check first
       schedulerRequested = true;
     } 
@@ -681,9 +1004,11 @@ public class Options {
     faultModel = getFaultModel();
     /* Now ensure the input file exists. It was set to the
      * default value and possibly changed by the input option.
-     * Easiest to check once here at the end.
+     * Easiest to check once here at the end. A batch names its own input files.
      */
-    ensureFileExists(fm.verifyGraphFileName(inputFile));
+    if (batchInput == null) {
+      ensureFileExists(fm.verifyGraphFileName(inputFile));
+    }
   }
   
   public void print() { // print all system configuration parameters
@@ -691,6 +1016,11 @@ public class Options {
     System.out.println("WARP system configuration values:");
     System.out.println("\tScheduler=" + this.getSchedulerSelected());
     System.out.println("\tnChanels=" + this.getNumChannels());
+    System.out.println("\tnumJobs=" + this.getNumJobs());
+    System.out.println("\tnumHyperPeriods=" + this.getNumHyperPeriods());
+    System.out.println("\tseed=" + this.getSeed());
+    System.out.println("\ttimeLimit=" + this.getTimeLimit());
+    System.out.println("\tslotLimit=" + this.getSlotLimit());
     System.out.println("\tnumFaults=" + this.getNumFaults());
     System.out.println("\tminPacketReceptionRate=" + this.getMinPacketReceptionRate());
     System.out.println("\tE2E=" + this.getE2E());
@@ -703,6 +1033,14 @@ public class Options {
     System.out.println("\tcaRequest flag=" + this.caRequested());
     System.out.println("\teaRequest flag=" + this.eaRequested());
     System.out.println("\tsimRequest flag=" + this.simRequested());
+    System.out.println("\twldbRequest flag=" + this.wldbRequested());
+    System.out.println("\tdslbRequest flag=" + this.dslbRequested());
+    System.out.println("\tcacheRequest flag=" + this.cacheRequested());
+    System.out.println("\twatchRequest flag=" + this.watchRequested());
+    System.out.println("\tprecheckRequest flag=" + this.precheckRequested());
+    System.out.println("\tminChannelsRequest flag=" + this.minChannelsRequested());
+    System.out.println("\tprioritiesRequest flag=" + this.prioritiesRequested());
+    System.out.println("\tmetricsRequest flag=" + this.metricsRequested());
     System.out.println("\tallOutFilesRequest flag=" + this.allRequested());
     System.out.println("\tlatency flag=" + this.latencyRequested());
     if (this.getInputFileName() != null) {
@@ -710,6 +1048,12 @@ public class Options {
     } else {
       System.out.println("\tNo input file specified; will be requested when needed.");
     }
+    if (this.getBatchInput() != null) {
+      System.out.println("\tbatch input=" + this.getBatchInput());
+    }
+    if (this.getDiffInput() != null) {
+      System.out.println("\tdiff input=" + this.getDiffInput());
+    }
     System.out.println("\toutputSubDirectory=" + this.getOutputSubDirectory());
     System.out.println("\tverbose flag=" + this.verboseMode());
   }
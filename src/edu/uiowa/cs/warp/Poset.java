@@ -18,6 +18,8 @@ import java.util.PriorityQueue;
  */
 public abstract class Poset {	
 
+	private static final String BUILD_TIMER = "poset.build";
+
 	private Activations activations;
 	private WorkLoad workload;
 	protected Collection<Flow> flows;
@@ -25,6 +27,7 @@ public abstract class Poset {
 	private NodeMap nodeMap;
 	private PriorityQueue<Activation> priorityQueue;
 	protected HashMap<String, Integer> nodeConnectivityMap;
+	private Budget budget; // checked for each flow, and by the schedule of the poset
 
 	FlowNodeToActivationMap activationMap;
 	/*
@@ -44,7 +47,19 @@ public abstract class Poset {
 	 * 		identify other coordinators two away, etc.
 	 */
 	Poset(WorkLoad workload) {
+		this(workload, new Budget());
+	}
+
+	/**
+	 * Builds the poset, checking the budget of the program it is built
+	 * for at each flow. The Schedule of the poset checks the same budget.
+	 * 
+	 * @param workload to be partitioned into activations
+	 * @param budget of the program
+	 */
+	Poset(WorkLoad workload, Budget budget) {
 		this.workload = workload;
+		this.budget = budget;
 		this.activations = new Activations();
 		this.activationMap = new FlowNodeToActivationMap();
 		/* init map to return a null activation if null key intered */
@@ -55,9 +70,15 @@ public abstract class Poset {
 		priorityQueue = new 
 				SchedulableObjectQueue<Activation>(new 
 						PriorityComparator<Activation>());
-		/* get global node connectivity */
-		nodeConnectivityMap = getNodeConnectivity();
-		buildPosetOfActivations();
+		var buildTimer = getMetrics().timer(BUILD_TIMER);
+		var start = buildTimer.start();
+		try {
+			/* get global node connectivity */
+			nodeConnectivityMap = getNodeConnectivity();
+			buildPosetOfActivations();
+		} finally {
+			buildTimer.stop(start);
+		}
 	}
 
 	private HashMap<String, Integer> getNodeConnectivity() {
@@ -85,6 +106,21 @@ public abstract class Poset {
 		return map;
 	}
 
+	/**
+	 * @return the budget of the program the poset is built for
+	 */
+	Budget getBudget() {
+		return budget;
+	}
+
+	/**
+	 * @return the metrics of the workload's options, which the Schedule
+	 * of the poset records to as well
+	 */
+	Metrics getMetrics() {
+		return workload.getOptions().getMetrics();
+	}
+
 	public ArrayList<String> getNodeNames() {
 		var keys = nodeMap.keySet();
 		var nodeNames = new ArrayList<String>(keys.size());
@@ -124,6 +160,7 @@ public abstract class Poset {
 		/* assumes flow priorities have already been set */
 		var maxFlowLength = workload.maxFlowLength();
 		for (Flow flow: flows) {
+			budget.check("Poset", flow.getName(), null);
 			var flowNodes = flow.getNodes();
 			var numTxArray = workload.getNumTxAttemptsPerLink(flow.getName());
 			var flowPhase = flow.getPhase();
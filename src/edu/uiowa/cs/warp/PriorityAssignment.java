@@ -0,0 +1,268 @@
+package edu.uiowa.cs.warp;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Finds flow priorities with which a workload is schedulable by the Priority scheduler, which
+ * schedules the flows one after the other in priority order. The priorities are found in three
+ * steps, each tried only when the one before it fails:
+ * <ol>
+ * <li>The flows in the order of the scheduler selected (priority, RM, or DM order).</li>
+ * <li>Audsley's priority assignment, which assigns the lowest priority first. At each priority
+ * level, a flow gets the level if it meets its deadlines when scheduled after the flows without
+ * a priority, which are kept in the order of step 1, and the highest priority flows are tried
+ * last. The flows are scheduled in partial programs, each extending a partial program of the
+ * higher priority flows, so a flow is scheduled once for each flow it is tried after instead of
+ * the whole workload being scheduled for each try.</li>
+ * <li>A search of a bounded number of other orders, checked in parallel: the RM, DM, and input
+ * priority orders, then orders in which random flows are moved ahead of others.</li>
+ * </ol>
+ * Audsley's assignment is only optimal when a flow's latencies don't depend on the order of the
+ * flows before it, which isn't quite true of the Priority scheduler, so the order it finds is
+ * checked by building the program before it is used. A workload the AdmissionCheck proves
+ * infeasible isn't scheduled at all.
+ * <p>
+ * The priorities found are a priority for each flow, 0 for the highest, which apply() sets with
+ * WorkLoad.setFlowPriority().
+ *
+ * @version 2.0 Fall 2025
+ */
+final class PriorityAssignment {
+
+  private static final String TITLE = "PriorityAssignment";
+  private static final Integer MAX_SEARCHED_ORDERS = 64;
+  private static final Double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final WarpInterface warp;
+  private final WorkLoadSnapshot snapshot;
+  private final Options options; // of the Priority scheduler
+  private final AtomicInteger numOrdersChecked = new AtomicInteger();
+  private Integer numFlowsScheduled = 0; // in partial programs
+  private String foundBy = null;
+  private List<String> order = null; // flows in priority order, or null if none was found
+  private Long searchTime = null;
+
+  /**
+   * Creates a priority assignment for the system's workload, with the system's options.
+   *
+   * @param warp system whose workload is assigned priorities
+   */
+  PriorityAssignment(WarpInterface warp) {
+    this.warp = warp;
+    this.snapshot = WorkLoadSnapshot.of(warp.getWorkload());
+    this.options = new Options(warp.getOptions());
+    options.setSchedulerSelected("priority");
+  }
+
+  /**
+   * Searches for the priorities, once.
+   *
+   * @return the priority of each flow, 0 for the highest, in priority order, or null if no
+   *         priorities were found with which the workload is schedulable
+   */
+  synchronized Map<String, Integer> assign() {
+    if (searchTime == null) {
+      var start = System.nanoTime();
+      if (!warp.getAdmissionCheck().isInfeasible()) {
+        order = search();
+      }
+      searchTime = System.nanoTime() - start;
+    }
+    return order == null ? null : toPriorities(order);
+  }
+
+  /**
+   * Sets the priorities of the workload's flows, and puts them in priority order.
+   *
+   * @param priorities of the flows, as returned by assign()
+   * @param workLoad whose flows are assigned the priorities
+   */
+  static void apply(Map<String, Integer> priorities, WorkLoad workLoad) {
+    priorities.forEach(workLoad::setFlowPriority);
+    workLoad.setFlowsInPriorityOrder();
+  }
+
+  /**
+   * Searches, then writes the report to a file in the output directory and prints it.
+   *
+   * @return the report
+   */
+  Description run() {
+    var priorities = assign();
+    var report = new Description();
+    report.add(String.format("Priority assignment for graph %s\n", warp.getName()));
+    report.add("Scheduler Name: Priority\n");
+    report.add(String.format("M: %s\n", String.valueOf(warp.getMinPacketReceptionRate())));
+    report.add(String.format("E2E: %s\n", String.valueOf(warp.getE2E())));
+    report.add(String.format("nChannels: %d\n", warp.getNumChannels()));
+    if (priorities != null) {
+      report.add(String.format("Found by: %s\n", foundBy));
+      report.add("Flow\tPriority\n");
+      priorities.forEach(
+          (flowName, priority) -> report.add(String.format("%s\t%d\n", flowName, priority)));
+    } else if (warp.getAdmissionCheck().isInfeasible()) {
+      report.add("Not schedulable with any priorities:\n");
+      report.addAll(warp.getAdmissionCheck().getReasons());
+    } else {
+      report.add("No priorities found with which the workload is schedulable\n");
+    }
+    report.add(String.format("Flows scheduled in partial programs: %d\n", numFlowsScheduled));
+    report.add(String.format("Orders checked: %d\n", numOrdersChecked.get()));
+    report.add(String.format("Total(ms): %.1f\n", searchTime / NANOS_PER_MILLI));
+    new ReportVisualization(warp, report, TITLE).toFile();
+    System.out.print(report.toString());
+    return report;
+  }
+
+  private List<String> search() {
+    var schedulerOrder = orderOf(schedulerOrdering());
+    var unassigned = new ArrayList<String>(schedulerOrder);
+    /* prefixes.get(n) is the partial program of the first n flows in unassigned */
+    var prefixes = new ArrayList<Program>();
+    prefixes.add(new Program(snapshot.toWorkLoad(options), List.of()));
+    if (prefix(prefixes, unassigned, unassigned.size()).isSchedulable()) {
+      foundBy = "scheduler order";
+      return schedulerOrder;
+    }
+    var audsleyOrder = assignLowestFirst(unassigned, prefixes);
+    if (audsleyOrder != null && isSchedulable(audsleyOrder)) {
+      foundBy = "Audsley's assignment";
+      return audsleyOrder;
+    }
+    var candidates = candidateOrders(schedulerOrder, audsleyOrder);
+    var found = IntStream.range(0, candidates.size()).parallel()
+        .filter(index -> isSchedulable(candidates.get(index)))
+        .findFirst();
+    if (found.isPresent()) {
+      foundBy = String.format("search of %d orders", candidates.size());
+      return candidates.get(found.getAsInt());
+    }
+    return null;
+  }
+
+  /*
+   * Assigns the lowest priority first, and returns the flows in priority order, or null if no
+   * flow meets its deadlines at some priority level.
+   */
+  private List<String> assignLowestFirst(List<String> unassigned, List<Program> prefixes) {
+    var assigned = new LinkedList<String>();
+    while (!unassigned.isEmpty()) {
+      var lowest = unassigned.size() - 1;
+      while (lowest >= 0 && !meetsDeadlinesAfterOthers(unassigned, prefixes, lowest)) {
+        lowest--;
+      }
+      if (lowest < 0) {
+        return null;
+      }
+      assigned.addFirst(unassigned.remove(lowest));
+      /* the partial programs of the flows before it are still valid */
+      prefixes.subList(lowest + 1, prefixes.size()).clear();
+    }
+    return assigned;
+  }
+
+  /* returns true if the candidate meets its deadlines when scheduled after the other flows */
+  private Boolean meetsDeadlinesAfterOthers(List<String> unassigned, List<Program> prefixes,
+      Integer candidate) {
+    var program = prefix(prefixes, unassigned, candidate);
+    for (String flowName : unassigned.subList(candidate + 1, unassigned.size())) {
+      program = extend(program, flowName);
+    }
+    var numDeadlineMisses = program.deadlineMisses().size();
+    return extend(program, unassigned.get(candidate)).deadlineMisses().size()
+        == numDeadlineMisses;
+  }
+
+  /* returns the partial program of the first length flows, building the missing prefixes */
+  private Program prefix(List<Program> prefixes, List<String> flows, Integer length) {
+    while (prefixes.size() <= length) {
+      var last = prefixes.size() - 1;
+      prefixes.add(extend(prefixes.get(last), flows.get(last)));
+    }
+    return prefixes.get(length);
+  }
+
+  private Program extend(Program prefix, String flowName) {
+    numFlowsScheduled++;
+    return new Program(prefix, flowName);
+  }
+
+  /*
+   * Returns the other orders searched: the orders of the other schedulers, then orders made by
+   * moving a random flow ahead of others in the best order found so far, which is Audsley's order
+   * if it found one.
+   */
+  private List<List<String>> candidateOrders(List<String> schedulerOrder,
+      List<String> audsleyOrder) {
+    var candidates = new ArrayList<List<String>>();
+    for (Consumer<WorkLoad> ordering : List.<Consumer<WorkLoad>>of(WorkLoad::setFlowsInDMorder,
+        WorkLoad::setFlowsInRMorder, WorkLoad::setFlowsInPriorityOrder)) {
+      var candidate = orderOf(ordering);
+      if (!candidate.equals(schedulerOrder) && !candidates.contains(candidate)) {
+        candidates.add(candidate);
+      }
+    }
+    var best = audsleyOrder != null ? audsleyOrder : schedulerOrder;
+    var random = new SplittableRandom(options.getSeed());
+    var numFlows = best.size();
+    var numAttempts = 0;
+    while (numFlows > 1 && candidates.size() < MAX_SEARCHED_ORDERS
+        && numAttempts++ < MAX_SEARCHED_ORDERS * 4) {
+      var candidate = new ArrayList<String>(best);
+      var from = 1 + random.nextInt(numFlows - 1);
+      candidate.add(random.nextInt(from), candidate.remove(from));
+      if (!candidate.equals(schedulerOrder) && !candidate.equals(audsleyOrder)
+          && !candidates.contains(candidate)) {
+        candidates.add(candidate);
+      }
+    }
+    return candidates;
+  }
+
+  /* returns true if the workload with the flows in the order is schedulable */
+  private Boolean isSchedulable(List<String> flowNames) {
+    numOrdersChecked.incrementAndGet();
+    var workLoad = snapshot.toWorkLoad(options);
+    apply(toPriorities(flowNames), workLoad);
+    return new Program(workLoad, true).isSchedulable();
+  }
+
+  private List<String> orderOf(Consumer<WorkLoad> ordering) {
+    var workLoad = snapshot.toWorkLoad(options);
+    ordering.accept(workLoad);
+    return new ArrayList<String>(workLoad.getFlowNamesInPriorityOrder());
+  }
+
+  private Consumer<WorkLoad> schedulerOrdering() {
+    switch (warp.getOptions().getSchedulerSelected()) {
+      case RM:
+      case POSET_RM:
+      case WARP_POSET_RM:
+      case CONNECTIVITY_POSET_RM:
+        return WorkLoad::setFlowsInRMorder;
+      case DM:
+      case POSET_DM:
+      case WARP_POSET_DM:
+      case CONNECTIVITY_POSET_DM:
+        return WorkLoad::setFlowsInDMorder;
+      default:
+        return WorkLoad::setFlowsInPriorityOrder;
+    }
+  }
+
+  private static Map<String, Integer> toPriorities(List<String> flowNames) {
+    var priorities = new LinkedHashMap<String, Integer>();
+    for (String flowName : flowNames) {
+      priorities.put(flowName, priorities.size());
+    }
+    return priorities;
+  }
+}
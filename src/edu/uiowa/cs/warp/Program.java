@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 
 /**
  * @author sgoddard
@@ -19,6 +20,9 @@ public class Program implements SystemAttributes {
   private static final String SLEEP_INSTRUCTION = "sleep";
   private static final String WAIT_FRAGMENT = "wait(";
   private static final String ELSE_PULL_FRAGMENT = "else pull(";
+  private static final String STAGE = "Program"; // reported when the budget is exceeded
+  private static final int SLOTS_PER_BUDGET_CHECK = 1024;
+  private static final String SCHEDULE_TIMER = "program.schedule";
 
   // Global flags and data structures
   // FileManager wfm; // class to provide basic WARP file management functions
@@ -35,15 +39,112 @@ public class Program implements SystemAttributes {
   private Boolean verbose;
   // private Boolean reportLatency;
   private Description deadlineMisses;
+  private Boolean schedulable; // false if a POSET schedule couldn't place an activation
+  private Boolean stopAtFirstMiss = false;
+  private HashMap<String, Integer> nodeChannels; // after the flows of a partial program
+  private Budget budget; // shared with the poset, schedule, and analyses of the program
+  private Integer numFlowsScheduled = 0; // reported when the budget is exceeded
+  private Integer numFlowsToSchedule = 0;
+  private Metrics metrics; // of the options, recorded to while the flows are scheduled
+  private Metrics.Counter slotsScanned;
+  private Metrics.Counter conflictChecks;
+  private Metrics.Counter channelAllocations;
+  private Metrics.Counter scheduleGrows;
   private Options warpOptions;
   private FaultModel faultModel;
   
   Program(WorkLoad workLoad) {
+    this(workLoad, false);
+  }
+
+  /**
+   * Creates the program, and stops building its schedule at the first deadline miss when
+   * requested. The schedule of a program that stops early is incomplete, but isSchedulable()
+   * is correct, which is all a search over the options needs.
+   *
+   * @param workLoad for which the schedule is built
+   * @param stopAtFirstMiss true to stop at the first deadline miss
+   */
+  Program(WorkLoad workLoad, Boolean stopAtFirstMiss) {
     this.workLoad = workLoad; // flows for which schedules will be built
+    this.stopAtFirstMiss = stopAtFirstMiss;
+    initializeClassAttributes();
+    buildProgram();
+  }
+
+  /**
+   * Creates the program within a budget, which can be cancelled from another thread. When the
+   * budget is used up, the program isn't built, and a BudgetExceededException reports how far
+   * building it got. The analyses of the program check the same budget.
+   *
+   * @param workLoad for which the schedule is built
+   * @param budget for building the program and its analyses
+   */
+  Program(WorkLoad workLoad, Budget budget) {
+    this.workLoad = workLoad;
     initializeClassAttributes();
+    this.budget = budget;
     buildProgram();
   }
 
+  /**
+   * Creates the program from a schedule that was built earlier for the same workload and options,
+   * such as one read from the ProgramCache, so the schedule isn't built again.
+   *
+   * @param workLoad for which the schedule was built
+   * @param schedule built for the workload
+   * @param deadlineMisses found when the schedule was built
+   * @param schedulable isSchedulable() of the program when the schedule was built
+   */
+  Program(WorkLoad workLoad, ProgramSchedule schedule, Description deadlineMisses,
+      Boolean schedulable) {
+    this.workLoad = workLoad;
+    initializeClassAttributes(); // also puts the flows in the scheduler's priority order
+    setSchedule(schedule);
+    this.deadlineMisses = deadlineMisses;
+    this.schedulable = schedulable;
+  }
+
+  /**
+   * Creates a partial Priority program that schedules only the flows given, in the order given,
+   * whatever the scheduler selected. Use it with Program(Program, String) to try flows in
+   * different priority orders without scheduling the same higher priority flows again. The
+   * workLoad must not have been scheduled before.
+   *
+   * @param workLoad with the flows
+   * @param flowNames of the flows scheduled, in priority order
+   */
+  Program(WorkLoad workLoad, List<String> flowNames) {
+    this.workLoad = workLoad;
+    initializeClassAttributes();
+    scheduleFlows(createEmptySchedule(), flowNames);
+    nodeChannels = getNodeChannels();
+  }
+
+  /**
+   * Creates a partial Priority program that schedules one more flow, at a lower priority than
+   * the flows of a partial program, without scheduling those flows again. The flow is scheduled
+   * even if a flow before it misses a deadline, and the partial program isn't changed, so it can
+   * be extended by each flow in turn.
+   *
+   * @param prefix partial program of the higher priority flows
+   * @param flowName of the flow scheduled after them
+   */
+  Program(Program prefix, String flowName) {
+    this.workLoad = prefix.workLoad;
+    initializeClassAttributes();
+    channelsAvailable = new Channels(prefix.channelsAvailable);
+    deadlineMisses.addAll(prefix.deadlineMisses);
+    budget = prefix.budget; // a search extending partial programs is limited as a whole
+    numFlowsScheduled = prefix.numFlowsScheduled;
+    numFlowsToSchedule = prefix.numFlowsToSchedule;
+    prefix.nodeChannels.forEach(workLoad::setNodeChannel); // channels last used by each node
+    var schedule = new ProgramSchedule();
+    schedule.addAll(prefix.scheduleBuilt); // time slots are replaced, never changed, when built
+    scheduleFlows(schedule, List.of(flowName));
+    nodeChannels = getNodeChannels();
+  }
+
   private void initializeClassAttributes () { 
     /* requires workLoad to have already been set.
      * If not, all class attributes will be null!
@@ -59,7 +160,14 @@ public class Program implements SystemAttributes {
     channelsAvailable = new Channels(nChannels, verbose);
     // this.reportLatency = warpOptions.latencyRequested();
     deadlineMisses = new Description();
+    schedulable = true;
     faultModel = warpOptions.getFaultModel();
+    budget = new Budget(warpOptions);
+    metrics = warpOptions.getMetrics();
+    slotsScanned = metrics.counter("program.slotsScanned");
+    conflictChecks = metrics.counter("program.conflictChecks");
+    channelAllocations = metrics.counter("program.channelAllocations");
+    scheduleGrows = metrics.counter("program.scheduleGrows");
     }
   }
 
@@ -72,6 +180,20 @@ public class Program implements SystemAttributes {
     return workLoad;
   }
 
+  /**
+   * @return the budget of the program, which its analyses check too
+   */
+  Budget getBudget() {
+    return budget;
+  }
+
+  /**
+   * @return the metrics of the program's options, which its analyses record to too
+   */
+  Metrics getMetrics() {
+    return metrics;
+  }
+
   private void buildProgram() {
     /* requires workLoad to not be null. If so, then just return */
     if (workLoad == null) {
@@ -88,8 +210,9 @@ public class Program implements SystemAttributes {
       case WARP_POSET_RM: // fall through
       case WARP_POSET_DM: // fall through
 //        setScheduleSelected(choice);
-        var poset1 = new WarpPoset(workLoad);
-        var schedule1 = new NonPreemptiveSchedule(poset1, this.nChannels);
+        var poset1 = new WarpPoset(workLoad, budget);
+        var schedule1 = new NonPreemptiveSchedule(poset1, this.nChannels, stopAtFirstMiss);
+        schedulable = schedule1.isSchedulable();
         var newProgram = schedule1.toProgram();
         setSchedule(newProgram); // store the schedule built
         break;
@@ -101,8 +224,9 @@ public class Program implements SystemAttributes {
       case POSET_DM:
 //        setScheduleSelected(choice);
         // var poset = new BasicPoset(workLoad);
-        var poset2 = new ConnectivityPoset(workLoad);
-        var schedule2 = new NonPreemptiveSchedule(poset2, this.nChannels);
+        var poset2 = new ConnectivityPoset(workLoad, budget);
+        var schedule2 = new NonPreemptiveSchedule(poset2, this.nChannels, stopAtFirstMiss);
+        schedulable = schedule2.isSchedulable();
         newProgram = schedule2.toProgram();
         setSchedule(newProgram); // store the schedule built
         break;
@@ -160,14 +284,55 @@ public class Program implements SystemAttributes {
       }
       System.out.println(scheduleDetails);
     }
+    scheduleFlows(createEmptySchedule(), workLoad.getFlowNamesInPriorityOrder());
+  }
+
+  /*
+   * Creates a schedule of sleep instructions for one hyperperiod, with every channel available in
+   * each time slot.
+   */
+  private ProgramSchedule createEmptySchedule() {
+    var schedule = new ProgramSchedule(); // create an empty schedule
+    var nNodes = getNodeMapIndex().size();
+    var hyperPeriod = workLoad.getHyperPeriod();
+    checkSlots(null, hyperPeriod); // before the schedule is allocated
+    for (int i = 0; i < hyperPeriod; i++) { // This loop makes sure the schedule is full up to the
+                                            // period and the channels entries are all initialized
+      if (i % SLOTS_PER_BUDGET_CHECK == 0) { // a long hyperperiod can take a while to allocate
+        checkBudget(null, i);
+      }
+      // create a time slot for nNodes, each initialized with a SLEEP_INSTRUCTION
+      var newInstructionTimeSlot = new InstructionTimeSlot(nNodes, SLEEP_INSTRUCTION);
+      schedule.add(newInstructionTimeSlot);
+      channelsAvailable.addNewChannelSet();// initially, all channels are available in each time
+                                           // slot
+    }
+    return schedule;
+  }
+
+  /*
+   * Adds the flows to the schedule, one after the other in the order given, and stores the
+   * schedule built. A flow is scheduled in the time slots and channels the flows before it left.
+   * The scheduling is timed even when it stops early, at a deadline miss or a budget limit.
+   */
+  private void scheduleFlows(ProgramSchedule schedule, List<String> prioritizedFlows) {
+    var scheduleTimer = metrics.timer(SCHEDULE_TIMER);
+    var start = scheduleTimer.start();
+    try {
+      scheduleFlowsInOrder(schedule, prioritizedFlows);
+    } finally {
+      scheduleTimer.stop(start);
+    }
+  }
+
+  /* schedules the flows, as described for scheduleFlows() */
+  private void scheduleFlowsInOrder(ProgramSchedule schedule, List<String> prioritizedFlows) {
     var nTx = 0;// support nTx per transmission, which is set based on input parameter if
                 // nTransmissions == n 0 else flow.nTXperLink
     // var nTransmissions = getNumTransmissions();
     Boolean realtimeHART = getRealTimeHartFlag();
     // var optimizationRequested = getOptimizationFlag();
-    var schedule = new ProgramSchedule(); // create an empty schedule
     var newInstruction = SLEEP_INSTRUCTION; // initialize the new Instruction with a sleep
-    var prioritizedFlows = workLoad.getFlowNamesInPriorityOrder();
     // var orderedNodes = workLoad.getNodeNamesOrderedAlphabetically(); // create an array of node
     // names
     // sorted alphabetically
@@ -179,22 +344,9 @@ public class Program implements SystemAttributes {
      * }
      */
     var hyperPeriod = workLoad.getHyperPeriod();
-    for (int i = 0; i < hyperPeriod; i++) { // This loop makes sure the schedule is full up to the
-                                            // period and the channels entries are all initialized
-      var newInstructionTimeSlot = new InstructionTimeSlot(nNodes, SLEEP_INSTRUCTION); // create a
-                                                                                       // time slot
-                                                                                       // for
-                                                                                       // nNodes,
-                                                                                       // each
-                                                                                       // initialized
-                                                                                       // with a
-                                                                                       // SLEEP_INSTRUCTION
-      schedule.add(newInstructionTimeSlot);
-      channelsAvailable.addNewChannelSet();// initially, all channels are available in each time
-                                           // slot
-    }
     // create an instance of the Warp DSL class for parsing instructions
-    var dsl = new WarpDSL();
+    var dsl = new WarpDSL(metrics);
+    numFlowsToSchedule += prioritizedFlows.size();
 
     for (String flowName : prioritizedFlows) { // loop through all of the nodes in priority order
       var nodesInFlow = workLoad.getNodesInFlow(flowName);
@@ -237,6 +389,7 @@ public class Program implements SystemAttributes {
       var FlowSrcInstructionTimeSlot = flowPhase; // initialize the time at which the flow's src
                                                   // node can first transmit
       for (int instance = 0; instance < hyperPeriod / flowPeriod; instance++) {
+        checkBudget(flowName, instance * flowPeriod + flowPhase);
         for (int flowNodeIndex = 0; flowNodeIndex < nNodesInFlow - 1; flowNodeIndex++) { // don't
                                                                                          // push for
                                                                                          // last
@@ -283,6 +436,8 @@ public class Program implements SystemAttributes {
             if (instructionIndex >= schedule.size()) { // instructionIndex is beyond current
                                                        // schedule length. Increase schedule and
                                                        // channelsAvailable tables
+              checkSlots(flowName, instructionIndex + 1);
+              scheduleGrows.increment();
               for (int i = schedule.size(); i <= instructionIndex; i++) {
                 var newInstructionTimeSlot = new InstructionTimeSlot(nNodes, SLEEP_INSTRUCTION); // create
                                                                                                  // a
@@ -317,6 +472,7 @@ public class Program implements SystemAttributes {
                                               // channel was available. In that case, we need to
                                               // find a new slot for this instruction after the last
                                               // index found
+              checkBudget(flowName, instructionIndex);
               var startSearchIndex = instructionIndex + 1;
               instructionIndex = findNextAvailableInstructionTimeSlot(schedule, startSearchIndex,
                   flowNodeIndex, index, nTx, previousNodeInstruction, currentNodeInstruction,
@@ -325,6 +481,8 @@ public class Program implements SystemAttributes {
               if (instructionIndex >= schedule.size()) { // instructionIndex is beyond current
                                                          // schedule lenght. Increase schedule and
                                                          // channelsAvailable tables
+                checkSlots(flowName, instructionIndex + 1);
+                scheduleGrows.increment();
                 for (int i = schedule.size(); i <= instructionIndex; i++) {
                   var newInstructionTimeSlot = new InstructionTimeSlot(nNodes, SLEEP_INSTRUCTION); // create
                                                                                                    // a
@@ -348,6 +506,7 @@ public class Program implements SystemAttributes {
                   nodeIndex.get(currentNodeName), nodeIndex.get(snk));
             }
             workLoad.setNodeChannel(instructionNodeName, Integer.valueOf(channel));
+            channelAllocations.increment();
             if (realtimeHART) {
               newInstruction = pushInstruction(flowName, currentNodeName, snk, channel);
             } else {
@@ -711,12 +870,44 @@ public class Program implements SystemAttributes {
               flowName, instance, latency, flowDeadline);
           deadlineMisses.add(deadlineMsg);
           // System.out.printf(deadlineMsg);
+          if (stopAtFirstMiss) {
+            setSchedule(schedule); // store the part of the schedule built
+            return;
+          }
         }
       }
+      numFlowsScheduled++;
     }
     setSchedule(schedule); // store the schedule built
   }
 
+  /* checks the budget, reporting how far the program got if it is used up */
+  private void checkBudget(String flowName, Integer slot) {
+    try {
+      budget.check(STAGE, flowName, slot);
+    } catch (BudgetExceededException e) {
+      throw partialResult(e);
+    }
+  }
+
+  /* checks the budget and that the schedule may have numSlots time slots */
+  private void checkSlots(String flowName, Integer numSlots) {
+    try {
+      budget.checkSlots(STAGE, flowName, numSlots);
+    } catch (BudgetExceededException e) {
+      throw partialResult(e);
+    }
+  }
+
+  private BudgetExceededException partialResult(BudgetExceededException e) {
+    if (numFlowsToSchedule > 0) {
+      e.addDetail(String.format("Flows scheduled: %d of %d", numFlowsScheduled,
+          numFlowsToSchedule));
+      e.addDetail(String.format("Deadline misses so far: %d", deadlineMisses.size()));
+    }
+    return e;
+  }
+
   private String waitInstruction(String channel) {
     var size = channel.length();
     if (!Utilities.isInteger(channel)) {
@@ -958,6 +1149,7 @@ public class Program implements SystemAttributes {
 
   private Boolean slotIsAvailable(InstructionTimeSlot currentInstructionTimeSlot,
       Integer srcNodeIndex, Integer snkNodeIndex) {
+    slotsScanned.increment();
     var vacantSlot = false; // assume slot is not vacant ----// Flag indicating time slot search is
                             // done
     if (SLEEP_INSTRUCTION.equals(currentInstructionTimeSlot.get(srcNodeIndex))
@@ -987,8 +1179,9 @@ public class Program implements SystemAttributes {
 		var newChannel = UNKNOWN; 
 		
 		// create an instance of the Warp DSL class for parsing instructions
-		var dsl = new WarpDSL();
+		var dsl = new WarpDSL(metrics);
 		InstructionTimeSlot priorInstructionTimeSlot;
+		conflictChecks.increment();
 
 		var channels = channelsAvailable.getChannelSet(currentTime);
 		
@@ -1208,11 +1401,26 @@ public class Program implements SystemAttributes {
     return deadlineMisses;
   }
 
+  /**
+   * @return true if every flow instance meets its deadline in the schedule built
+   */
+  public Boolean isSchedulable() {
+    return schedulable && deadlineMisses.isEmpty();
+  }
+
   @Override
   public Integer getNumFaults() {
     return workLoad.getNumFaults();
   }
 
+  private HashMap<String, Integer> getNodeChannels() {
+    var channels = new HashMap<String, Integer>();
+    for (String nodeName : workLoad.getNodeNamesOrderedAlphabetically()) {
+      channels.put(nodeName, workLoad.getNodeChannel(nodeName));
+    }
+    return channels;
+  }
+
   /**
    * Constructs and returns a HashMap mapping node names to corresponding indexes in the schedule table
    * 
@@ -0,0 +1,210 @@
+package edu.uiowa.cs.warp;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Reads and writes the binary program (.dslb) format. A binary program file holds the same
+ * instructions as the text program (.dsl) file, but each distinct instruction is stored once and
+ * each time slot is stored as one instruction id per node. Long hyperperiods repeat the same few
+ * instructions many times, so the binary file is a small fraction of the text file, and it is
+ * read by memory-mapping it rather than parsing it line by line.
+ * <p>
+ * All numbers are big-endian. Instruction ids are unsigned numbers of the fewest bytes (1 to 4)
+ * that hold the largest id, so the id of any node in any time slot is at a known position: id 0
+ * is an empty (null) entry, and id i + 1 is string i of the string table. The node names, the
+ * program and scheduler names, and the instructions share the string table.
+ *
+ * <pre>
+ *   header       64 bytes: magic "WPGB", version, M, E2E, numFaults, nChannels, program name
+ *                (string), scheduler name (string), and the number of strings, nodes, time
+ *                slots, bytes of string data, and bytes of slot data, and bytes per instruction id
+ *   string table numStrings x (offset, length) of each string in the string data
+ *   nodes        numNodes x string, in schedule column order
+ *   string data  UTF-8 bytes
+ *   slot data    numSlots x numNodes instruction ids
+ * </pre>
+ * <p>
+ * A file is mapped as one buffer, so it can be at most MAX_FILE_BYTES long.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class ProgramBinaryFile {
+
+  static final String SUFFIX = ".dslb";
+
+  private static final byte[] MAGIC = {'W', 'P', 'G', 'B'};
+  private static final int VERSION = 2;
+  static final int HEADER_BYTES = 64;
+  static final int STRING_ENTRY_INTS = 2;
+  static final long MAX_FILE_BYTES = Integer.MAX_VALUE; // largest file that can be mapped
+  private static final int NULL_INSTRUCTION = 0;
+
+  private ProgramBinaryFile() {}
+
+  /**
+   * Writes the schedule of the program to a binary program file. The file is written in two
+   * passes over the schedule, so no copy of the program is built in memory.
+   *
+   * @param program to be written
+   * @param fileName of the binary program file
+   * @throws IOException if the file can't be written, or would be too large to be mapped
+   */
+  static void write(Program program, String fileName) throws IOException {
+    var schedule = program.getSchedule();
+    var nodeNames = program.toWorkLoad().getNodeNamesOrderedAlphabetically();
+    var numSlots = schedule.getNumRows();
+    var strings = new ArrayList<String>();
+    var stringIndex = new HashMap<String, Integer>();
+    var name = intern(program.getName(), strings, stringIndex);
+    var schedulerName = intern(program.getSchedulerName(), strings, stringIndex);
+    for (String nodeName : nodeNames) {
+      intern(nodeName, strings, stringIndex);
+    }
+    /* first pass: intern the instructions and size the instruction ids */
+    for (int slot = 0; slot < numSlots; slot++) {
+      for (int node = 0; node < nodeNames.length; node++) {
+        instructionId(schedule.get(slot, node), strings, stringIndex);
+      }
+    }
+    var idBytes = idBytes(strings.size());
+    var numSlotBytes = (long) numSlots * nodeNames.length * idBytes;
+    var stringBytes = new ArrayList<byte[]>(strings.size());
+    var numStringBytes = 0L;
+    for (String string : strings) {
+      var bytes = string.getBytes(StandardCharsets.UTF_8);
+      stringBytes.add(bytes);
+      numStringBytes += bytes.length;
+    }
+    var numFileBytes = HEADER_BYTES + (long) Integer.BYTES * STRING_ENTRY_INTS * strings.size()
+        + (long) Integer.BYTES * nodeNames.length + numStringBytes + numSlotBytes;
+    if (numFileBytes > MAX_FILE_BYTES) {
+      throw new IOException(String.format(
+          "%s would be %d bytes, more than the %d bytes of a binary program file that can be read",
+          fileName, numFileBytes, MAX_FILE_BYTES));
+    }
+
+    /* second pass: stream the file */
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(Path.of(fileName))))) {
+      /* header */
+      out.write(MAGIC);
+      out.writeInt(VERSION);
+      out.writeDouble(program.getMinPacketReceptionRate());
+      out.writeDouble(program.getE2E());
+      out.writeInt(program.getNumFaults());
+      out.writeInt(program.getNumChannels());
+      out.writeInt(name);
+      out.writeInt(schedulerName);
+      out.writeInt(strings.size());
+      out.writeInt(nodeNames.length);
+      out.writeInt(numSlots);
+      out.writeInt((int) numStringBytes); // both fit, as the whole file does
+      out.writeInt((int) numSlotBytes);
+      out.writeInt(idBytes);
+      /* string table */
+      var offset = 0;
+      for (byte[] bytes : stringBytes) {
+        out.writeInt(offset);
+        out.writeInt(bytes.length);
+        offset += bytes.length;
+      }
+      /* nodes */
+      for (String nodeName : nodeNames) {
+        out.writeInt(stringIndex.get(nodeName));
+      }
+      /* string data */
+      for (byte[] bytes : stringBytes) {
+        out.write(bytes);
+      }
+      /* slot data */
+      for (int slot = 0; slot < numSlots; slot++) {
+        for (int node = 0; node < nodeNames.length; node++) {
+          writeId(out, instructionId(schedule.get(slot, node), strings, stringIndex), idBytes);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads a binary program file by memory-mapping it. Only the header and node names are read;
+   * instructions are decoded from the mapped file as the schedule is accessed.
+   *
+   * @param fileName of the binary program file
+   * @return a read-only program schedule backed by the mapped file
+   * @throws IOException if the file can't be read or is not a valid binary program file
+   */
+  static MappedProgramSchedule read(String fileName) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+      if (channel.size() > MAX_FILE_BYTES) {
+        throw new IOException(fileName + " is too large to be a binary program file");
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (buffer.limit() < HEADER_BYTES) {
+      throw new IOException(fileName + " is too short to be a binary program file");
+    }
+    var magic = new byte[MAGIC.length];
+    buffer.get(magic);
+    if (!Arrays.equals(MAGIC, magic)) {
+      throw new IOException(fileName + " is not a binary program file");
+    }
+    var version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IOException(
+          String.format("%s has unsupported binary program version %d", fileName, version));
+    }
+    /* the rest of the header is read by the schedule, which locates the other sections */
+    var schedule = new MappedProgramSchedule(buffer);
+    if (schedule.getEndOfFile() != buffer.limit()) {
+      throw new IOException(fileName + " is truncated or corrupt");
+    }
+    return schedule;
+  }
+
+  private static void writeId(DataOutputStream out, int id, int idBytes) throws IOException {
+    for (int shift = Byte.SIZE * (idBytes - 1); shift >= 0; shift -= Byte.SIZE) {
+      out.write(id >>> shift);
+    }
+  }
+
+  /* the fewest bytes that hold each id up to maxId */
+  private static int idBytes(int maxId) {
+    var bytes = 1;
+    while (bytes < Integer.BYTES && (maxId >>> (Byte.SIZE * bytes)) != 0) {
+      bytes++;
+    }
+    return bytes;
+  }
+
+  private static int instructionId(String instruction, List<String> strings,
+      HashMap<String, Integer> stringIndex) {
+    if (instruction == null) {
+      return NULL_INSTRUCTION;
+    }
+    return intern(instruction, strings, stringIndex) + 1;
+  }
+
+  private static Integer intern(String string, List<String> strings,
+      HashMap<String, Integer> stringIndex) {
+    var index = stringIndex.get(string);
+    if (index == null) {
+      index = strings.size();
+      strings.add(string);
+      stringIndex.put(string, index);
+    }
+    return index;
+  }
+}
@@ -0,0 +1,245 @@
+package edu.uiowa.cs.warp;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A content-addressed cache of the programs built by the schedulers. Building a program is a
+ * pure function of the workload and the scheduling options (scheduler, M, E2E, number of
+ * channels, and number of faults tolerated), so a program is cached under a SHA-256 hash of
+ * them. When the same workload is scheduled again with the same options, for example when the
+ * GUI reopens it or a CI run exports it again, the program is read from the cache instead of
+ * being built.
+ * <p>
+ * The cache is the .cache directory in the output directory. Each entry is a binary program
+ * (.dslb) file holding the schedule and a text (.dm) file holding whether the program is
+ * schedulable, on its first line, and the deadline misses found when it was built, both named by
+ * the key. Entries are written to a temporary file and moved into
+ * place, so concurrent runs never read a partial entry. Entries that haven't been used in
+ * MAX_AGE are evicted, then the least recently used ones until the cache fits in MAX_BYTES.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class ProgramCache {
+
+  static final String DIRECTORY = ".cache";
+  static final String DEADLINE_MISSES_SUFFIX = ".dm";
+
+  private static final String KEY_FORMAT = "WarpProgramCache 2"; // change when the key changes
+  private static final String SCHEDULABLE = "schedulable: ";
+  private static final Long MAX_BYTES = 256L * 1024 * 1024;
+  private static final Duration MAX_AGE = Duration.ofDays(30);
+  private static final String TEMPORARY_SUFFIX = ".tmp";
+
+  private final Path directory;
+
+  /**
+   * Creates the cache in the output directory of the options.
+   *
+   * @param options whose output directory holds the cache
+   */
+  ProgramCache(Options options) {
+    var fm = options.getFileManager();
+    directory = Path.of(fm.createFileNameTemplate(DIRECTORY, options.getOutputSubDirectory()));
+  }
+
+  /**
+   * Returns the program for the workload, reading it from the cache if it was cached, and
+   * otherwise building it, within the budget, and adding it to the cache.
+   *
+   * @param workLoad to be scheduled, with the scheduling options
+   * @param budget of the build
+   * @return the program for the workload
+   */
+  Program getProgram(WorkLoad workLoad, Budget budget) {
+    var key = key(workLoad); // before scheduling, which changes the workload
+    var program = load(workLoad, key);
+    if (program == null) {
+      program = new Program(workLoad, budget);
+      store(program, key);
+      evict();
+    }
+    return program;
+  }
+
+  /**
+   * Computes the cache key of a workload: the hex SHA-256 hash of its flows and nodes and the
+   * options that the program built for it depends on.
+   *
+   * @param workLoad to be scheduled, with the scheduling options
+   * @return the cache key
+   */
+  static String key(WorkLoad workLoad) {
+    var options = workLoad.getOptions();
+    var inputs = String.join("\n", KEY_FORMAT, WorkLoadSnapshot.of(workLoad).toWarpText(),
+        options.getSchedulerSelected().name(), String.valueOf(workLoad.getMinPacketReceptionRate()),
+        String.valueOf(workLoad.getE2E()), String.valueOf(options.getNumChannels()),
+        String.valueOf(workLoad.getNumFaults()), String.valueOf(workLoad.getFaultModel()));
+    try {
+      var hash = MessageDigest.getInstance("SHA-256")
+          .digest(inputs.getBytes(StandardCharsets.UTF_8));
+      var key = new StringBuilder(2 * hash.length);
+      for (byte b : hash) {
+        key.append(String.format("%02x", b));
+      }
+      return key.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e); // required of every JVM
+    }
+  }
+
+  /**
+   * Reads the program for the workload from the cache.
+   *
+   * @param workLoad to be scheduled
+   * @param key of the workload
+   * @return the cached program, or null if it isn't cached
+   */
+  Program load(WorkLoad workLoad, String key) {
+    var programFile = directory.resolve(key + ProgramBinaryFile.SUFFIX);
+    var deadlineMissesFile = directory.resolve(key + DEADLINE_MISSES_SUFFIX);
+    if (!Files.exists(programFile)) {
+      return null;
+    }
+    try {
+      var lines = Files.readAllLines(deadlineMissesFile, StandardCharsets.UTF_8);
+      if (lines.isEmpty() || !lines.get(0).startsWith(SCHEDULABLE)) {
+        return null; // not a complete entry, so build it again
+      }
+      var schedulable = Boolean.valueOf(lines.get(0).substring(SCHEDULABLE.length()));
+      var deadlineMisses = new Description();
+      for (String line : lines.subList(1, lines.size())) {
+        deadlineMisses.add(line + "\n");
+      }
+      var mapped = ProgramBinaryFile.read(programFile.toString());
+      if (!Arrays.equals(mapped.getNodeNames(), workLoad.getNodeNamesOrderedAlphabetically())) {
+        return null; // not the program for this workload, so build it again
+      }
+      /* copy the schedule so the mapped file isn't held open by the program */
+      var schedule = new ProgramSchedule();
+      for (InstructionTimeSlot slot : mapped) {
+        schedule.add(slot);
+      }
+      /* mark the entry as recently used */
+      var now = FileTime.fromMillis(System.currentTimeMillis());
+      Files.setLastModifiedTime(programFile, now);
+      Files.setLastModifiedTime(deadlineMissesFile, now);
+      return new Program(workLoad, schedule, deadlineMisses, schedulable);
+    } catch (IOException e) {
+      return null; // evicted while being read, or unreadable, so build it again
+    }
+  }
+
+  /**
+   * Adds a program to the cache.
+   *
+   * @param program to be cached
+   * @param key of the workload for which the program was built
+   */
+  void store(Program program, String key) {
+    try {
+      Files.createDirectories(directory);
+      /* the program file is moved last, so an entry with a program file is complete */
+      var deadlineMisses = Files.createTempFile(directory, key + ".", TEMPORARY_SUFFIX);
+      Files.writeString(deadlineMisses,
+          SCHEDULABLE + program.isSchedulable() + "\n" + program.deadlineMisses(),
+          StandardCharsets.UTF_8);
+      moveIntoPlace(deadlineMisses, directory.resolve(key + DEADLINE_MISSES_SUFFIX));
+      var programFile = Files.createTempFile(directory, key + ".", TEMPORARY_SUFFIX);
+      try {
+        ProgramBinaryFile.write(program, programFile.toString());
+      } catch (IOException e) {
+        Files.deleteIfExists(programFile); // a partly written program file is never cached
+        throw e;
+      }
+      moveIntoPlace(programFile, directory.resolve(key + ProgramBinaryFile.SUFFIX));
+    } catch (IOException e) {
+      System.err.println("WARNING: Unable to cache program in " + directory + ": "
+          + e.getMessage());
+    }
+  }
+
+  /**
+   * Evicts the entries that haven't been used in MAX_AGE, then the least recently used entries
+   * until the cache fits in MAX_BYTES.
+   */
+  void evict() {
+    var entries = new HashMap<String, List<Path>>();
+    try (Stream<Path> files = Files.list(directory)) {
+      files.forEach(file -> entries
+          .computeIfAbsent(entryKey(file), key -> new ArrayList<Path>()).add(file));
+    } catch (IOException e) {
+      return; // nothing to evict
+    }
+    var oldest = System.currentTimeMillis() - MAX_AGE.toMillis();
+    var lastUsed = new HashMap<String, Long>();
+    var sizes = new HashMap<String, Long>();
+    var totalBytes = 0L;
+    for (var entry : entries.entrySet()) {
+      var time = 0L;
+      var size = 0L;
+      for (Path file : entry.getValue()) {
+        try {
+          time = Math.max(time, Files.getLastModifiedTime(file).toMillis());
+          size += Files.size(file);
+        } catch (IOException e) {
+          /* removed by another run, so its size no longer counts */
+        }
+      }
+      lastUsed.put(entry.getKey(), time);
+      sizes.put(entry.getKey(), size);
+      totalBytes += size;
+    }
+    var keys = new ArrayList<String>(entries.keySet());
+    keys.sort(Comparator.comparing(lastUsed::get));
+    for (String key : keys) {
+      if (lastUsed.get(key) >= oldest && totalBytes <= MAX_BYTES) {
+        break; // the rest were used more recently
+      }
+      for (Path file : entries.get(key)) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException e) {
+          /* removed by another run */
+        }
+      }
+      totalBytes -= sizes.get(key);
+    }
+  }
+
+  /**
+   * @return the cache directory
+   */
+  Path getDirectory() {
+    return directory;
+  }
+
+  private static void moveIntoPlace(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      Files.deleteIfExists(source);
+      throw e;
+    }
+  }
+
+  /* the files of an entry, including its temporary files, are named by its key */
+  private static String entryKey(Path file) {
+    var name = file.getFileName().toString();
+    var dot = name.indexOf('.');
+    return dot < 0 ? name : name.substring(0, dot);
+  }
+}
@@ -1,5 +1,9 @@
 package edu.uiowa.cs.warp;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Builds a visualization of the Warp program. The program is sometimes called a
  * scheduled because it defines the order in which flows transmit their messages
@@ -45,6 +49,31 @@ public class ProgramVisualization extends Visualization {
 		this.warpOptions = warp.getOptions();
 	}
 
+	/**
+	 * Writes the program to a text (.dsl) file. When requested by the options, the
+	 * program is also written to a binary program (.dslb) file with the same name.
+	 * 
+	 * @return the text program file
+	 */
+	@Override
+	public File toFile() {
+		File file = super.toFile();
+		if (warpOptions.dslbRequested()) {
+			var timer = warpOptions.getMetrics().timer("file.ProgramBinaryFile");
+			var start = timer.start();
+			var fileName = warpOptions.getFileManager().createFile(file.getPath(), EMPTY,
+					ProgramBinaryFile.SUFFIX);
+			try {
+				ProgramBinaryFile.write(program, fileName);
+			} catch (IOException e) {
+				System.err.println("Error on writing file contents to file" + fileName + ": "
+						+ e.getMessage());
+			}
+			timer.stop(start);
+		}
+		return file;
+	}
+
 	/**
 	 * Builds and returns the GUI window that displays the program schedule.
 	 * 
@@ -138,6 +167,31 @@ public class ProgramVisualization extends Visualization {
 		return visualizationData;
 	}
 
+	/**
+	 * Writes the schedule table one time slot at a time, straight from the program
+	 * schedule, so a large program is not first copied into the visualization data.
+	 * The rows are the same as those of visualization().
+	 * 
+	 * @param out writer of the file
+	 * @throws IOException if the file can't be written
+	 */
+	@Override
+	protected void writeVisualization(Writer out) throws IOException {
+		out.write(String.join("\t", createColumnHeader()) + "\n");
+		int numRows = sourceCode.getNumRows();
+		int numColumns = sourceCode.getNumColumns();
+		var rowString = new StringBuilder();
+		for (int row = 0; row < numRows; row++) {
+			rowString.setLength(0);
+			rowString.append(row);
+			for (int column = 0; column < numColumns; column++) {
+				rowString.append('\t').append(sourceCode.get(row, column));
+			}
+			rowString.append('\n');
+			out.append(rowString);
+		}
+	}
+
 	/**
 	 * Creates the visualization title string.
 	 * 
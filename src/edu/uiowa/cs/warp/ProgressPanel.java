@@ -0,0 +1,84 @@
+package edu.uiowa.cs.warp;
+
+import java.awt.BorderLayout;
+import java.awt.FlowLayout;
+import java.awt.event.ActionListener;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+
+/**
+ * Status bar of the Gui, which shows the progress of the work done in the background and has a
+ * button to cancel it. This is a view class in a Model-View-Controller software pattern, like
+ * the menus: the controller updates it and attaches the listener of the cancel button. Its
+ * methods must be called on the event dispatch thread.
+ *
+ * @version 2.0 Fall 2025
+ */
+public final class ProgressPanel extends JPanel {
+
+  private static final long serialVersionUID = 1L;
+  private static final String READY = "Ready";
+
+  private JLabel messageLabel = new JLabel(READY);
+  private JProgressBar progressBar = new JProgressBar(0, 100);
+  private JButton cancelButton = new JButton("Cancel");
+
+  /**
+   * Creates the panel, with nothing in progress.
+   */
+  public ProgressPanel() {
+    super(new BorderLayout());
+    setBorder(BorderFactory.createEmptyBorder(2, 6, 2, 6));
+    JPanel controls = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
+    controls.add(progressBar);
+    controls.add(cancelButton);
+    add(messageLabel, BorderLayout.CENTER);
+    add(controls, BorderLayout.EAST);
+    setBusy(false);
+  }
+
+  /**
+   * Attaches the listener called when the cancel button is pressed.
+   *
+   * @param listener of the cancel button
+   */
+  public void addCancelListener(ActionListener listener) {
+    cancelButton.addActionListener(listener);
+  }
+
+  /**
+   * Shows whether work is in progress. The progress bar and cancel button are only enabled
+   * while it is, and the message is reset when it is done.
+   *
+   * @param busy true if work is in progress
+   */
+  public void setBusy(Boolean busy) {
+    progressBar.setVisible(busy);
+    cancelButton.setEnabled(busy);
+    if (!busy) {
+      progressBar.setValue(0);
+      messageLabel.setText(READY);
+    }
+  }
+
+  /**
+   * Shows a message describing the work in progress.
+   *
+   * @param message to show
+   */
+  public void setMessage(String message) {
+    messageLabel.setText(message);
+  }
+
+  /**
+   * Shows how much of the work in progress is done.
+   *
+   * @param percent of the work done, from 0 to 100
+   */
+  public void setProgress(Integer percent) {
+    progressBar.setValue(percent);
+  }
+}
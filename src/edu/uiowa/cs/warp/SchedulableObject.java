@@ -281,16 +281,26 @@ public abstract class SchedulableObject {
 	 */
 	public void setNextReleaseTime(Integer currentTime) {
 		if (currentTime >= lastUpdateTime) {
-			// released every (j*period)+phase, for all j >=0
-			Integer j = 0;
-			if (period > 0) {
-				j = (int) Math.ceil((double)currentTime/(double)period); // gives floor
-			} 
-			Integer nextRelease = (j*period)+phase ;
-			releaseTime = nextRelease;
+			releaseTime = getNextReleaseTime(currentTime);
 			lastUpdateTime = currentTime;
 		}
 	}
+
+	/**
+	 * Computes the next release time without changing the object, so it can be called from
+	 * threads that share the object.
+	 * 
+	 * @param currentTime time from which the next release is found
+	 * @return the release time that setNextReleaseTime(currentTime) would set
+	 */
+	public Integer getNextReleaseTime(Integer currentTime) {
+		// released every (j*period)+phase, for all j >=0
+		Integer j = 0;
+		if (period > 0) {
+			j = (int) Math.ceil((double)currentTime/(double)period); // gives floor
+		} 
+		return (j*period)+phase;
+	}
 	
 	public int maxPhaseComparison(SchedulableObject obj2) {
 		// for ascending order of priority
@@ -16,8 +16,18 @@ import edu.uiowa.cs.warp.WarpDSL.InstructionParameters;
 public abstract class Schedule {
 
   private static final String UNKNOWN = "unknown";
+  private static final String STAGE = "Schedule";
+  private static final String BUILD_TIMER = "schedule.build";
+  private static final String TO_PROGRAM_TIMER = "schedule.toProgram";
 
   protected Boolean schedulable;
+  private final Boolean stopAtFirstMiss;
+  private final Budget budget; // of the poset, checked for each activation
+  private final Metrics metrics; // of the poset's workload
+  private final Metrics.Counter slotsScanned;
+  private final Metrics.Counter conflictChecks;
+  private final Metrics.Counter channelAllocations;
+  private final Metrics.Counter combinedActivations;
   protected Integer numChannels;
   private Integer fakeTime = 0; // for fake scheduling to test
   protected Integer endScheduleTime;
@@ -31,17 +41,44 @@ public abstract class Schedule {
   protected Poset poset; // partially ordered set (poset)
 
   Schedule(Poset poset, Integer numChannels) {
+    this(poset, numChannels, false);
+  }
+
+  /**
+   * Builds the schedule, stopping at the first activation that can't be scheduled when
+   * requested, because the schedule isn't schedulable after that. The budget of the poset is
+   * checked before the schedule table is allocated and for each activation scheduled.
+   *
+   * @param poset to be scheduled
+   * @param numChannels available in each time slot
+   * @param stopAtFirstMiss true to stop at the first activation that can't be scheduled
+   */
+  Schedule(Poset poset, Integer numChannels, Boolean stopAtFirstMiss) {
     this.poset = poset;
     this.numChannels = numChannels;
+    this.stopAtFirstMiss = stopAtFirstMiss;
+    this.budget = poset.getBudget();
+    this.metrics = poset.getMetrics();
+    this.slotsScanned = metrics.counter("schedule.slotsScanned");
+    this.conflictChecks = metrics.counter("schedule.conflictChecks");
+    this.channelAllocations = metrics.counter("schedule.channelAllocations");
+    this.combinedActivations = metrics.counter("schedule.combinedActivations");
     var maxPhase = poset.getMaxPhase();
     endScheduleTime = poset.getHyperPeriod();
     if (maxPhase > 0) {
       /* need to schedule longer to cover start-up period */
       endScheduleTime = maxPhase + 2*endScheduleTime ;
     }
+    budget.checkSlots(STAGE, null, endScheduleTime);
     schedule = new ScheduleTable(numChannels+1,endScheduleTime);
     schedulable = true;
-    buildSchedule();
+    var buildTimer = metrics.timer(BUILD_TIMER);
+    var start = buildTimer.start();
+    try {
+      buildSchedule();
+    } finally {
+      buildTimer.stop(start);
+    }
   }
 
   protected class ScheduleLocation {
@@ -78,10 +115,24 @@ public abstract class Schedule {
     return schedule;
   }
 
+  /**
+   * @return true if every activation was scheduled by its deadline
+   */
+  public Boolean isSchedulable() {
+    return schedulable;
+  }
+
   private void buildSchedule() {
 
+    var numScheduled = 0; // activations scheduled, reported if the budget is exceeded
     var next = poset.getNextActivation();
     while (next != null) {
+      try {
+        budget.check(STAGE, next.getName(), next.getReleaseTime());
+      } catch (BudgetExceededException e) {
+        throw e.addDetail(String.format("Activations scheduled: %d", numScheduled));
+      }
+      numScheduled++;
       /* Add next to the schedule if max of its release time 
        * and end time is less than the endScheduleTime.
        * Otherwise, its releaseTime is >= endScheduleTime
@@ -91,6 +142,9 @@ public abstract class Schedule {
       if (!addToSchedule(next)) {
         schedulable = false;
         reportNotSchedulable(next);
+        if (stopAtFirstMiss) {
+          break;
+        }
         /* Record unschedulable element */
         fakeSchedulingToTestRest(next);
         next.setNextReleaseTime(next.getEndTime());
@@ -98,6 +152,7 @@ public abstract class Schedule {
           poset.addActivation(next);
         }
       } else {
+        channelAllocations.increment();
         /* update the next release time and add it back into
          * the priority queue
          */
@@ -114,6 +169,17 @@ public abstract class Schedule {
 
 
   public ProgramSchedule toProgram() {
+    var toProgramTimer = metrics.timer(TO_PROGRAM_TIMER);
+    var start = toProgramTimer.start();
+    try {
+      return buildProgram();
+    } finally {
+      toProgramTimer.stop(start);
+    }
+  }
+
+  /* creates the program of the schedule, as toProgram() returns it */
+  private ProgramSchedule buildProgram() {
     var nodeNames = poset.getNodesNamesOrderedAlphabetically();
     var numNodes = nodeNames.length;
     var program = new ProgramSchedule(endScheduleTime,numNodes);
@@ -137,6 +203,7 @@ public abstract class Schedule {
     }
 
     for (int channel = 0; channel < numChannels; channel++) {
+      budget.check(STAGE, null, null);
       for (int time = 0; time < endScheduleTime; time++) {
         var entry = schedule.get(channel,time);
         if (entry == null) {
@@ -201,7 +268,7 @@ public abstract class Schedule {
                * and insert the wait() instructions into
                * the program for each listener
                * */
-              var dsl = new WarpDSL();
+              var dsl = new WarpDSL(metrics);
               var instructionParametersArray = dsl.getInstructionParameters(instr); 
               for (InstructionParameters fragment: instructionParametersArray) {
                 String listener = fragment.getListener();
@@ -327,8 +394,10 @@ public abstract class Schedule {
     var channel = numChannels; // default is no channel available 
     var duration = schedulableObject.getExecutionDuration();
 
+    slotsScanned.increment();
     while (time < endScheduleTime && conflictsExist(schedulableObject, time, duration )) {
       time ++; //+= duration+1;
+      slotsScanned.increment();
     }
     if (time >= endScheduleTime) {
       /* no conflict time available */
@@ -394,6 +463,7 @@ public abstract class Schedule {
 
   protected Boolean noOtherChannelConflicts(Integer exceptedChannel, Activation schedulableObject, Integer time) {
     var result = true;
+    conflictChecks.increment();
 
     if (time >= endScheduleTime) {
       /* not enough time left in the schedule,
@@ -416,6 +486,7 @@ public abstract class Schedule {
 
   protected Boolean conflictsExist(Activation obj, Integer time, Integer duration) {
     var result = false;
+    conflictChecks.increment();
 
     if (time+duration >= endScheduleTime) {
       /* not enough time left in the schedule,
@@ -559,6 +630,7 @@ public abstract class Schedule {
     var result = false;
     if (canCombineEntriesInPlace(a1,a2)) {
       var entry = new CombinedActivation(a1, a2);
+      combinedActivations.increment();
       var startTime = entry.getStartTime();
       var endTime = entry.getEndTime();
       for (int i = startTime; i <= endTime; i++) {
@@ -651,6 +723,7 @@ public abstract class Schedule {
        * and set startTime to the beginning of the 
        * combined entries */
       var combinedActivation = new CombinedActivation(currentEntry, entry);
+      combinedActivations.increment();
       entry = combinedActivation;
       startTime = entry.getStartTime();
       duration = entry.getExecutionDuration();
@@ -0,0 +1,465 @@
+package edu.uiowa.cs.warp;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * A structural diff of two program schedules, such as the programs built by two schedulers, or
+ * before and after a change to the input file. The node columns are matched by node name, and a
+ * node missing from one schedule, or a time slot past its end, is treated as sleeping.
+ * <p>
+ * Each distinct instruction is given an integer id in one pass over the time slots of each
+ * schedule. The diff of a node's program then finds the longest common prefix and suffix of the
+ * node's two programs by comparing their ids, with Arrays.mismatch() for the prefix, so only the
+ * time slots between them are parsed. Within them, the transmissions (pushes and pulls) of the
+ * two programs are matched by flow and link, in time order, and each match that isn't in the
+ * same time slot on the same channel is reported as moved or as a channel change. Unmatched
+ * transmissions are reported as added or removed, and time slots in which a node starts or stops
+ * sleeping are counted. The diff takes time linear in the size of the schedules, plus the time
+ * to parse each distinct instruction in a changed time slot once.
+ * <p>
+ * The names of the nodes whose programs changed are also the nodes that need new programs when
+ * only changed programs are deployed.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class ScheduleDiff {
+
+  private static final String TITLE = "ScheduleDiff";
+  private static final String SLEEP = "sleep";
+  private static final int SLEEP_ID = 0;
+  private static final Integer MAX_DETAILS_PER_NODE = 20;
+  private static final Double NANOS_PER_MILLI = 1_000_000.0;
+
+  /**
+   * The ways a transmission can change.
+   */
+  enum Change {
+    /** Sent in a different time slot. */
+    MOVED,
+    /** Sent in the same time slot on a different channel. */
+    CHANNEL,
+    /** Sent only in the new schedule. */
+    ADDED,
+    /** Sent only in the old schedule. */
+    REMOVED
+  }
+
+  private final List<String> instructions = new ArrayList<>(); // by id
+  private final Map<String, Integer> instructionIds = new HashMap<>();
+  private final Map<Integer, List<WarpDSL.InstructionParameters>> parsed = new HashMap<>();
+  private final WarpDSL dsl = new WarpDSL();
+  private final BitSet changedSlots = new BitSet();
+  private final List<NodeDiff> nodeDiffs = new ArrayList<>(); // of changed nodes, by name
+  private final Map<String, int[]> flowChanges = new TreeMap<>(); // counts by Change ordinal
+  private final Integer numNodes;
+  private final Integer numSlots;
+
+  /**
+   * Compares two schedules.
+   *
+   * @param oldSchedule schedule compared with
+   * @param oldNodeNames of the old schedule, in column order
+   * @param newSchedule schedule compared
+   * @param newNodeNames of the new schedule, in column order
+   */
+  ScheduleDiff(ProgramSchedule oldSchedule, String[] oldNodeNames, ProgramSchedule newSchedule,
+      String[] newNodeNames) {
+    instructionIds.put(SLEEP, SLEEP_ID);
+    instructions.add(SLEEP);
+    var nodeNames = new TreeSet<String>(List.of(oldNodeNames));
+    nodeNames.addAll(List.of(newNodeNames));
+    numNodes = nodeNames.size();
+    var nodeIndex = new HashMap<String, Integer>();
+    nodeNames.forEach(nodeName -> nodeIndex.put(nodeName, nodeIndex.size()));
+    numSlots = Math.max(oldSchedule.size(), newSchedule.size());
+    var oldIds = toIds(oldSchedule, oldNodeNames, nodeIndex);
+    var newIds = toIds(newSchedule, newNodeNames, nodeIndex);
+    var column = 0;
+    for (String nodeName : nodeNames) {
+      compareNode(nodeName, oldIds[column], newIds[column]);
+      column++;
+    }
+  }
+
+  /**
+   * Compares the program built for the system with a binary program file, then writes the
+   * report to a file in the output directory and prints it.
+   *
+   * @param warp system whose program is compared
+   * @param fileName of the binary program (.dslb) file
+   * @return the report, or null if the file can't be read
+   */
+  static Description run(WarpInterface warp, String fileName) {
+    var start = System.nanoTime();
+    MappedProgramSchedule oldSchedule;
+    try {
+      oldSchedule = ProgramBinaryFile.read(fileName);
+    } catch (IOException e) {
+      System.err.printf("\n\tERROR: Unable to read %s: %s\n", fileName, e.getMessage());
+      return null;
+    }
+    var program = warp.getProgram();
+    var newNodeNames = new String[program.getNodeMapIndex().size()];
+    program.getNodeMapIndex().forEach((nodeName, column) -> newNodeNames[column] = nodeName);
+    var diff = new ScheduleDiff(oldSchedule, oldSchedule.getNodeNames(), program.getSchedule(),
+        newNodeNames);
+    var report = new Description();
+    report.add(String.format("Schedule diff for graph %s\n", warp.getName()));
+    report.add(String.format("Old: %s (%s, %s scheduler, %d time slots)\n", fileName,
+        oldSchedule.getName(), oldSchedule.getSchedulerName(), oldSchedule.size()));
+    report.add(String.format("New: %s (%s scheduler, %d time slots)\n", warp.getName(),
+        warp.getSchedulerName(), program.getSchedule().size()));
+    report.addAll(diff.toDescription());
+    report.add(String.format("Total(ms): %.1f\n", (System.nanoTime() - start) / NANOS_PER_MILLI));
+    new ReportVisualization(warp, report, TITLE).toFile();
+    System.out.print(report.toString());
+    return report;
+  }
+
+  /**
+   * @return true if the schedules have the same instruction for every node in every time slot
+   */
+  Boolean isEmpty() {
+    return nodeDiffs.isEmpty();
+  }
+
+  /**
+   * @return the diffs of the nodes whose programs changed, ordered by node name
+   */
+  List<NodeDiff> getNodeDiffs() {
+    return nodeDiffs;
+  }
+
+  /**
+   * @return the names of the nodes whose programs changed, which need new programs
+   */
+  List<String> getChangedNodeNames() {
+    var nodeNames = new ArrayList<String>();
+    nodeDiffs.forEach(nodeDiff -> nodeNames.add(nodeDiff.getNodeName()));
+    return nodeNames;
+  }
+
+  /**
+   * @return the ranges of time slots in which some node's instruction changed
+   */
+  List<int[]> getChangedSlots() {
+    return toRanges(changedSlots);
+  }
+
+  /**
+   * Returns the number of the flow's transmissions that changed in the way given.
+   *
+   * @param flowName of the flow
+   * @param change of the transmissions
+   * @return the number of transmissions
+   */
+  Integer getNumChanges(String flowName, Change change) {
+    var counts = flowChanges.get(flowName);
+    return counts == null ? 0 : counts[change.ordinal()];
+  }
+
+  /**
+   * @return a description of the changes, by time slot, by node, and by flow
+   */
+  Description toDescription() {
+    var description = new Description();
+    description.add(String.format("Nodes changed: %d of %d\n", nodeDiffs.size(), numNodes));
+    description.add(String.format("Changed time slots: %s\n", formatRanges(getChangedSlots())));
+    for (NodeDiff nodeDiff : nodeDiffs) {
+      description.add(String.format("Node %s: slots %s; %s, %d new sleeps, %d sleeps removed\n",
+          nodeDiff.nodeName, formatRanges(nodeDiff.getChangedSlots()),
+          formatCounts(nodeDiff.counts()), nodeDiff.numNewSleeps, nodeDiff.numSleepsRemoved));
+      var changes = nodeDiff.changes;
+      for (int index = 0; index < Math.min(changes.size(), MAX_DETAILS_PER_NODE); index++) {
+        description.add(String.format("\t%s\n", changes.get(index)));
+      }
+      if (changes.size() > MAX_DETAILS_PER_NODE) {
+        description.add(String.format("\t... %d more\n", changes.size() - MAX_DETAILS_PER_NODE));
+      }
+    }
+    flowChanges.forEach((flowName, counts) -> description
+        .add(String.format("Flow %s: %s\n", flowName, formatCounts(counts))));
+    return description;
+  }
+
+  /* returns the instruction ids of the schedule, in the union's node order, padded with sleeps */
+  private int[][] toIds(ProgramSchedule schedule, String[] scheduleNodeNames,
+      Map<String, Integer> nodeIndex) {
+    var ids = new int[numNodes][numSlots]; // all SLEEP_ID
+    var columns = new int[scheduleNodeNames.length];
+    for (int column = 0; column < columns.length; column++) {
+      columns[column] = nodeIndex.get(scheduleNodeNames[column]);
+    }
+    var slot = 0;
+    for (InstructionTimeSlot timeSlot : schedule) {
+      for (int column = 0; column < columns.length && column < timeSlot.size(); column++) {
+        ids[columns[column]][slot] = idOf(timeSlot.get(column));
+      }
+      slot++;
+    }
+    return ids;
+  }
+
+  private int idOf(String instruction) {
+    if (instruction == null) {
+      return SLEEP_ID;
+    }
+    var id = instructionIds.get(instruction);
+    if (id == null) {
+      id = instructions.size();
+      instructionIds.put(instruction, id);
+      instructions.add(instruction);
+    }
+    return id;
+  }
+
+  private void compareNode(String nodeName, int[] oldIds, int[] newIds) {
+    /* the longest common prefix, then the longest common suffix after it */
+    var first = Arrays.mismatch(oldIds, newIds);
+    if (first < 0) {
+      return; // the node's program didn't change
+    }
+    var end = numSlots;
+    while (end > first && oldIds[end - 1] == newIds[end - 1]) {
+      end--;
+    }
+    var nodeDiff = new NodeDiff(nodeName);
+    var unmatched = new HashMap<String, ArrayDeque<Transmission>>(); // old, by flow and link
+    var sent = new ArrayList<Transmission>(); // new, in time order
+    for (int slot = first; slot < end; slot++) {
+      if (oldIds[slot] == newIds[slot]) {
+        continue;
+      }
+      nodeDiff.changedSlots.set(slot);
+      changedSlots.set(slot);
+      if (newIds[slot] == SLEEP_ID) {
+        nodeDiff.numNewSleeps++;
+      } else if (oldIds[slot] == SLEEP_ID) {
+        nodeDiff.numSleepsRemoved++;
+      }
+      for (Transmission transmission : transmissions(oldIds[slot], slot)) {
+        unmatched.computeIfAbsent(transmission.key(), key -> new ArrayDeque<>())
+            .add(transmission);
+      }
+      sent.addAll(transmissions(newIds[slot], slot));
+    }
+    for (Transmission transmission : sent) {
+      var candidates = unmatched.get(transmission.key());
+      var match = candidates == null ? null : candidates.poll();
+      if (match == null) {
+        nodeDiff.add(new TransmissionChange(Change.ADDED, null, transmission));
+      } else if (match.slot != transmission.slot) {
+        nodeDiff.add(new TransmissionChange(Change.MOVED, match, transmission));
+      } else if (!match.channel.equals(transmission.channel)) {
+        nodeDiff.add(new TransmissionChange(Change.CHANNEL, match, transmission));
+      }
+    }
+    var removed = new ArrayList<Transmission>();
+    unmatched.values().forEach(removed::addAll);
+    removed.sort(Comparator.comparing((Transmission transmission) -> transmission.slot)
+        .thenComparing(Transmission::key));
+    removed.forEach(
+        transmission -> nodeDiff.add(new TransmissionChange(Change.REMOVED, transmission, null)));
+    nodeDiff.changes.sort((left, right) -> Integer.compare(left.slot(), right.slot()));
+    nodeDiffs.add(nodeDiff);
+  }
+
+  /* returns the pushes and pulls of the instruction, each parsed once */
+  private List<Transmission> transmissions(int id, int slot) {
+    var transmissions = new ArrayList<Transmission>();
+    if (id == SLEEP_ID) {
+      return transmissions;
+    }
+    var parameters = parsed.computeIfAbsent(id,
+        key -> dsl.getInstructionParameters(instructions.get(key)));
+    for (WarpDSL.InstructionParameters parameter : parameters) {
+      if (parameter.getName().equals("push") || parameter.getName().equals("pull")) {
+        transmissions.add(new Transmission(parameter, slot));
+      }
+    }
+    return transmissions;
+  }
+
+  private static List<int[]> toRanges(BitSet slots) {
+    var ranges = new ArrayList<int[]>();
+    for (int from = slots.nextSetBit(0); from >= 0; from = slots.nextSetBit(from)) {
+      var to = slots.nextClearBit(from);
+      ranges.add(new int[] {from, to - 1});
+      from = to;
+    }
+    return ranges;
+  }
+
+  private static String formatRanges(List<int[]> ranges) {
+    var text = new StringBuilder();
+    for (int[] range : ranges) {
+      if (text.length() > 0) {
+        text.append(", ");
+      }
+      text.append(range[0] == range[1] ? String.valueOf(range[0])
+          : String.format("%d-%d", range[0], range[1]));
+    }
+    return text.length() > 0 ? text.toString() : "none";
+  }
+
+  private static String formatCounts(int[] counts) {
+    return String.format("%d moved, %d channel changes, %d added, %d removed",
+        counts[Change.MOVED.ordinal()], counts[Change.CHANNEL.ordinal()],
+        counts[Change.ADDED.ordinal()], counts[Change.REMOVED.ordinal()]);
+  }
+
+  /**
+   * The changes to one node's program.
+   */
+  final class NodeDiff {
+    private final String nodeName;
+    private final BitSet changedSlots = new BitSet();
+    private final List<TransmissionChange> changes = new ArrayList<>();
+    private int numNewSleeps = 0;
+    private int numSleepsRemoved = 0;
+
+    private NodeDiff(String nodeName) {
+      this.nodeName = nodeName;
+    }
+
+    private void add(TransmissionChange change) {
+      changes.add(change);
+      flowChanges.computeIfAbsent(change.getFlowName(),
+          flowName -> new int[Change.values().length])[change.getChange().ordinal()]++;
+    }
+
+    private int[] counts() {
+      var counts = new int[Change.values().length];
+      changes.forEach(change -> counts[change.getChange().ordinal()]++);
+      return counts;
+    }
+
+    String getNodeName() {
+      return nodeName;
+    }
+
+    /**
+     * @return the ranges of time slots in which the node's instruction changed
+     */
+    List<int[]> getChangedSlots() {
+      return toRanges(changedSlots);
+    }
+
+    /**
+     * @return the changed transmissions of the node, in time order
+     */
+    List<TransmissionChange> getChanges() {
+      return changes;
+    }
+
+    /**
+     * @return the number of time slots in which the node sleeps only in the new schedule
+     */
+    int getNumNewSleeps() {
+      return numNewSleeps;
+    }
+
+    /**
+     * @return the number of time slots in which the node sleeps only in the old schedule
+     */
+    int getNumSleepsRemoved() {
+      return numSleepsRemoved;
+    }
+  }
+
+  /**
+   * A changed transmission, with where it was sent in each schedule.
+   */
+  static final class TransmissionChange {
+    private final Change change;
+    private final Transmission before; // null if added
+    private final Transmission after; // null if removed
+
+    private TransmissionChange(Change change, Transmission before, Transmission after) {
+      this.change = change;
+      this.before = before;
+      this.after = after;
+    }
+
+    Change getChange() {
+      return change;
+    }
+
+    String getFlowName() {
+      return (after != null ? after : before).flow;
+    }
+
+    /**
+     * @return the time slot of the transmission in the old schedule, or null if it was added
+     */
+    Integer getOldSlot() {
+      return before == null ? null : before.slot;
+    }
+
+    /**
+     * @return the time slot of the transmission in the new schedule, or null if it was removed
+     */
+    Integer getNewSlot() {
+      return after == null ? null : after.slot;
+    }
+
+    private int slot() {
+      return (after != null ? after : before).slot;
+    }
+
+    @Override
+    public String toString() {
+      switch (change) {
+        case MOVED:
+          return String.format("%s moved from slot %d (#%s) to slot %d (#%s)", after, before.slot,
+              before.channel, after.slot, after.channel);
+        case CHANNEL:
+          return String.format("%s at slot %d changed channel #%s -> #%s", after, after.slot,
+              before.channel, after.channel);
+        case ADDED:
+          return String.format("%s added at slot %d (#%s)", after, after.slot, after.channel);
+        default:
+          return String.format("%s removed from slot %d (#%s)", before, before.slot,
+              before.channel);
+      }
+    }
+  }
+
+  /* a push or pull of a flow over a link, in a time slot */
+  private static final class Transmission {
+    private final String name;
+    private final String flow;
+    private final String src;
+    private final String snk;
+    private final String channel;
+    private final int slot;
+
+    private Transmission(WarpDSL.InstructionParameters parameters, int slot) {
+      this.name = parameters.getName();
+      this.flow = parameters.getFlow();
+      this.src = parameters.getSrc();
+      this.snk = parameters.getSnk();
+      this.channel = parameters.getChannel();
+      this.slot = slot;
+    }
+
+    private String key() {
+      return toString();
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s(%s: %s -> %s)", name, flow, src, snk);
+    }
+  }
+}
@@ -0,0 +1,327 @@
+package edu.uiowa.cs.warp;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo simulator of a WARP program. The simulator executes the program compiled in a
+ * SimulatorInput for a number of hyperperiods. In each time slot, each node runs the first
+ * alternative of its instruction whose has() condition holds when the time slot begins. A push
+ * or pull is a transmission attempt on a link of a flow, which delivers the packet to the link's
+ * snk node with probability M, or the probability given for the link, when the link's src node
+ * holds the packet. When a flow instance is released its src node holds the new packet, and
+ * the packet is delivered when it reaches the flow's snk node before the next release.
+ * <p>
+ * The hyperperiods are independent, so they are simulated in chunks in parallel. Each chunk
+ * has its own SplittableRandom, split from one seeded generator in chunk order, so the results
+ * depend on the seed but not on the number of threads.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class Simulator {
+
+  private static final int HYPER_PERIODS_PER_CHUNK = 4096;
+
+  private final SimulatorInput input;
+  private final double[] successProbability; // of each link of the input
+
+  /**
+   * Creates a simulator of the compiled program, in which every link succeeds with probability
+   * M.
+   *
+   * @param input compiled program
+   */
+  Simulator(SimulatorInput input) {
+    this.input = input;
+    this.successProbability = new double[input.getLinkNames().size()];
+    Arrays.fill(successProbability, input.getMinPacketReceptionRate());
+  }
+
+  /**
+   * Sets the probability with which a transmission attempt on the link succeeds. Invalid
+   * probabilities and links that aren't attempted in the program are ignored.
+   *
+   * @param src node of the link
+   * @param snk node of the link
+   * @param probability between 0.0 and 1.0
+   */
+  void setSuccessProbability(String src, String snk, Double probability) {
+    var link = input.getLinkNames().indexOf(String.format("%s -> %s", src, snk));
+    if (link >= 0 && probability >= 0.0 && probability <= 1.0) {
+      successProbability[link] = probability;
+    }
+  }
+
+  /**
+   * Simulates the program.
+   *
+   * @param numHyperPeriods number of hyperperiods simulated
+   * @param seed of the random numbers
+   * @return the statistics of each flow, in priority order
+   */
+  List<FlowStatistics> simulate(long numHyperPeriods, long seed) {
+    var numChunks = (int) ((numHyperPeriods + HYPER_PERIODS_PER_CHUNK - 1)
+        / HYPER_PERIODS_PER_CHUNK);
+    var random = new SplittableRandom(seed);
+    var chunkRandoms = new SplittableRandom[numChunks];
+    for (int chunk = 0; chunk < numChunks; chunk++) {
+      chunkRandoms[chunk] = random.split();
+    }
+    var totals = IntStream.range(0, numChunks).parallel()
+        .mapToObj(chunk -> simulateChunk(chunkRandoms[chunk],
+            Math.min(HYPER_PERIODS_PER_CHUNK,
+                numHyperPeriods - (long) chunk * HYPER_PERIODS_PER_CHUNK)))
+        .reduce(Simulator::add)
+        .orElseGet(this::newStatistics);
+    return Arrays.asList(totals);
+  }
+
+  /* simulates consecutive hyperperiods with one random number generator */
+  private FlowStatistics[] simulateChunk(SplittableRandom random, long numHyperPeriods) {
+    var statistics = newStatistics();
+    var numFlows = input.getNumFlows();
+    var numSlots = input.getNumSlots();
+    var hyperPeriod = input.getHyperPeriod();
+    var numWords = input.getNumWords();
+    var holds = new long[numWords]; // nodes holding each flow's packet, by hop
+    var arrivals = new long[numWords]; // nodes receiving each flow's packet in a time slot
+    var firstWord = new int[numFlows + 1]; // of each flow's bitmask
+    var snkWord = new int[numFlows]; // word of the flow's snk node
+    var snk = new long[numFlows]; // the flow's snk node, in snkWord
+    var instance = new int[numFlows]; // current instance of each flow
+    var deliveredAt = new int[numFlows]; // time slot of the delivery, or -1
+    var received = new int[numFlows]; // flows with arrivals in the time slot
+    var hasArrivals = new boolean[numFlows]; // flows in received
+    for (int flow = 0; flow < numFlows; flow++) {
+      var snkHop = input.getNumNodesInFlow(flow) - 1;
+      firstWord[flow] = input.getFirstWord(flow);
+      snkWord[flow] = firstWord[flow] + snkHop / Long.SIZE;
+      snk[flow] = 1L << snkHop;
+    }
+    firstWord[numFlows] = numWords;
+    for (long run = 0; run < numHyperPeriods; run++) {
+      Arrays.fill(holds, 0L);
+      Arrays.fill(instance, -1);
+      for (int slot = 0; slot < hyperPeriod; slot++) {
+        /* release the flow instances, after recording those they replace */
+        var lastRelease = input.getReleaseStart(slot + 1);
+        for (int release = input.getReleaseStart(slot); release < lastRelease; release++) {
+          var flow = input.getReleasedFlow(release);
+          if (instance[flow] >= 0) {
+            statistics[flow].record(instance[flow], deliveredAt[flow], input, flow);
+          }
+          instance[flow] = input.getReleasedInstance(release);
+          Arrays.fill(holds, firstWord[flow], firstWord[flow + 1], 0L);
+          holds[firstWord[flow]] = 1L; // the flow's src node
+          deliveredAt[flow] = -1;
+        }
+        if (slot >= numSlots) {
+          continue;
+        }
+        /* run the first alternative of each chain whose condition holds */
+        var numReceived = 0;
+        var end = input.getSlotStart(slot + 1);
+        for (int alternative = input.getSlotStart(slot); alternative < end; alternative++) {
+          var conditionFlow = input.getConditionFlow(alternative);
+          if (conditionFlow != SimulatorInput.NO_FLOW) {
+            var hop = input.getConditionHop(alternative);
+            var has = hop >= 0 && holds(holds, firstWord[conditionFlow], hop);
+            if (has == input.isNegated(alternative)) {
+              continue; // the condition doesn't hold, so try the next alternative
+            }
+          }
+          var flow = input.getTxFlow(alternative);
+          if (flow != SimulatorInput.NO_TX
+              && holds(holds, firstWord[flow], input.getSrcHop(alternative))
+              && random.nextDouble() < successProbability[input.getLink(alternative)]) {
+            if (!hasArrivals[flow]) {
+              hasArrivals[flow] = true;
+              received[numReceived++] = flow;
+            }
+            var snkHop = input.getSnkHop(alternative);
+            arrivals[firstWord[flow] + snkHop / Long.SIZE] |= 1L << snkHop;
+          }
+          while (!input.isLastInChain(alternative)) {
+            alternative++; // skip the rest of the chain
+          }
+        }
+        /* the packets received in the time slot are held when the next time slot begins */
+        for (int index = 0; index < numReceived; index++) {
+          var flow = received[index];
+          hasArrivals[flow] = false;
+          for (int word = firstWord[flow]; word < firstWord[flow + 1]; word++) {
+            holds[word] |= arrivals[word];
+            arrivals[word] = 0L;
+          }
+          if ((holds[snkWord[flow]] & snk[flow]) != 0 && deliveredAt[flow] < 0) {
+            deliveredAt[flow] = slot;
+          }
+        }
+      }
+      for (int flow = 0; flow < numFlows; flow++) {
+        if (instance[flow] >= 0) {
+          statistics[flow].record(instance[flow], deliveredAt[flow], input, flow);
+        }
+      }
+    }
+    return statistics;
+  }
+
+  /* true if the node at the hop holds the packet of the flow whose bitmask starts at firstWord */
+  private static boolean holds(long[] holds, int firstWord, int hop) {
+    return (holds[firstWord + hop / Long.SIZE] & (1L << hop)) != 0;
+  }
+
+  private FlowStatistics[] newStatistics() {
+    var statistics = new FlowStatistics[input.getNumFlows()];
+    for (int flow = 0; flow < statistics.length; flow++) {
+      var maxLatency = 0;
+      var releaseTimes = input.getReleaseTimes(flow);
+      var nextReleaseTimes = input.getNextReleaseTimes(flow);
+      for (int instance = 0; instance < releaseTimes.length; instance++) {
+        maxLatency = Math.max(maxLatency, nextReleaseTimes[instance] - releaseTimes[instance]);
+      }
+      statistics[flow] = new FlowStatistics(input.getFlowNames()[flow], maxLatency);
+    }
+    return statistics;
+  }
+
+  private static FlowStatistics[] add(FlowStatistics[] left, FlowStatistics[] right) {
+    for (int flow = 0; flow < left.length; flow++) {
+      left[flow].add(right[flow]);
+    }
+    return left;
+  }
+
+  /**
+   * The simulated deliveries of a flow's packets.
+   */
+  static final class FlowStatistics {
+    private final String flowName;
+    private final long[] latencyCounts; // packets delivered with each latency, at index L - 1
+    private long numReleased = 0;
+    private long numDelivered = 0;
+    private long numDeadlineMisses = 0;
+
+    private FlowStatistics(String flowName, int maxLatency) {
+      this.flowName = flowName;
+      this.latencyCounts = new long[maxLatency];
+    }
+
+    /* records an instance delivered in time slot deliveredAt, or -1 if it wasn't delivered */
+    private void record(int instance, int deliveredAt, SimulatorInput input, int flow) {
+      numReleased++;
+      var releaseTime = input.getReleaseTimes(flow)[instance];
+      var deadline = input.getAbsoluteDeadlines(flow)[instance];
+      if (deliveredAt >= 0 && deliveredAt < input.getNextReleaseTimes(flow)[instance]) {
+        numDelivered++;
+        latencyCounts[deliveredAt - releaseTime]++;
+        if (deliveredAt >= deadline) {
+          numDeadlineMisses++;
+        }
+      } else {
+        numDeadlineMisses++;
+      }
+    }
+
+    private void add(FlowStatistics other) {
+      numReleased += other.numReleased;
+      numDelivered += other.numDelivered;
+      numDeadlineMisses += other.numDeadlineMisses;
+      for (int index = 0; index < latencyCounts.length; index++) {
+        latencyCounts[index] += other.latencyCounts[index];
+      }
+    }
+
+    String getFlowName() {
+      return flowName;
+    }
+
+    long getNumReleased() {
+      return numReleased;
+    }
+
+    long getNumDelivered() {
+      return numDelivered;
+    }
+
+    long getNumDeadlineMisses() {
+      return numDeadlineMisses;
+    }
+
+    /**
+     * @return the fraction of the packets released that were delivered before the next release
+     */
+    double getDeliveryRatio() {
+      return numReleased > 0 ? (double) numDelivered / numReleased : 0.0;
+    }
+
+    /**
+     * @return the fraction of the packets released that weren't delivered by their deadline
+     */
+    double getDeadlineMissRate() {
+      return numReleased > 0 ? (double) numDeadlineMisses / numReleased : 0.0;
+    }
+
+    /**
+     * Returns the number of packets delivered with the latency, where a packet delivered in
+     * time slot t has a latency of t - releaseTime + 1.
+     *
+     * @param latency in time slots
+     * @return the number of packets
+     */
+    long getNumDelivered(int latency) {
+      return latency >= 1 && latency <= latencyCounts.length ? latencyCounts[latency - 1] : 0;
+    }
+
+    /**
+     * @return the largest latency that can be recorded
+     */
+    int getMaxLatency() {
+      return latencyCounts.length;
+    }
+
+    /**
+     * @return the mean latency of the packets delivered, or NaN if none were delivered
+     */
+    double getMeanLatency() {
+      var sum = 0.0;
+      for (int index = 0; index < latencyCounts.length; index++) {
+        sum += (index + 1) * (double) latencyCounts[index];
+      }
+      return numDelivered > 0 ? sum / numDelivered : Double.NaN;
+    }
+
+    /**
+     * Returns the smallest latency with which at least the fraction of the packets released
+     * were delivered.
+     *
+     * @param fraction of the packets released
+     * @return the latency, or -1 if fewer packets were delivered
+     */
+    int getLatencyPercentile(double fraction) {
+      var needed = fraction * numReleased;
+      var delivered = 0L;
+      for (int index = 0; index < latencyCounts.length; index++) {
+        delivered += latencyCounts[index];
+        if (delivered > 0 && delivered >= needed) {
+          return index + 1;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * @return the latencies and their counts, such as "2:810 3:162", for nonzero counts
+     */
+    String histogram() {
+      return IntStream.range(0, latencyCounts.length)
+          .filter(index -> latencyCounts[index] > 0)
+          .mapToObj(index -> String.format("%d:%d", index + 1, latencyCounts[index]))
+          .collect(Collectors.joining(" "));
+    }
+  }
+}
@@ -1,12 +1,387 @@
-/**
- * 
- */
 package edu.uiowa.cs.warp;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
- * @author sgoddard
+ * The WARP program compiled for the Simulator. Each instruction of the program is parsed once,
+ * into the alternatives of its if/else chain. An alternative has an optional has() condition on
+ * a flow's packet, and an action that is either a transmission attempt on a link of a flow, for
+ * push and pull, or no transmission, for wait and sleep. The alternatives of all of the time
+ * slots are kept in flat arrays, so the simulator only reads ints when it executes a time slot.
+ * <p>
+ * The nodes of a flow are numbered by their hop from the flow's src node, so the nodes holding
+ * a flow's packet are a bitmask, of as many longs as the flow's nodes need. The masks of all of
+ * the flows are kept in one long array, in which hop h of a flow is bit h % 64 of word
+ * getFirstWord(flow) + h / 64. The release times, absolute deadlines, and next release times
+ * of each flow instance in a hyperperiod are also computed once.
  *
+ * @author sgoddard
+ * @version 2.0 Fall 2025
  */
 public class SimulatorInput {
-	// TODO Auto-generated method stub
+
+  static final int NO_FLOW = -1; // condition of an unconditional alternative
+  static final int NO_TX = -1; // link of an alternative that doesn't transmit
+
+  private static final String ALTERNATIVE_SEPARATOR = " else ";
+  private static final String IF = "if ";
+  private static final String HAS = "has(";
+  private static final String NOT_HAS = "!has(";
+  private static final String PUSH = "push(";
+  private static final String PULL = "pull(";
+  private static final String LINK_ARROW = "->";
+
+  private final String[] flowNames;
+  private final int[] numNodesInFlow;
+  private final int[] firstWord; // of each flow's bitmask, and the number of words at the end
+  private final int[][] releaseTimes;
+  private final int[][] absoluteDeadlines;
+  private final int[][] nextReleaseTimes;
+  private final int hyperPeriod;
+  private final Double minPacketReceptionRate;
+  private final List<String> linkNames = new ArrayList<>();
+
+  /* the flow instances released in time slot s are at releaseStart[s] to releaseStart[s + 1] - 1 */
+  private final int[] releaseStart;
+  private final int[] releasedFlow;
+  private final int[] releasedInstance;
+
+  /* the alternatives of time slot s are at indexes slotStart[s] to slotStart[s + 1] - 1 */
+  private final int[] slotStart;
+  private final List<int[]> alternatives = new ArrayList<>();
+  private int[] conditionFlow;
+  private int[] conditionHop;
+  private boolean[] negated;
+  private int[] txFlow;
+  private int[] srcHop;
+  private int[] snkHop;
+  private int[] link;
+  private boolean[] lastInChain;
+
+  /* lookups used while the program is compiled */
+  private final Map<String, Integer> flowIndex = new HashMap<>();
+  private final List<Map<String, Integer>> hopIndex = new ArrayList<>();
+  private final Map<String, Integer> linkIndex = new HashMap<>();
+
+  /**
+   * Compiles the program for the simulator.
+   *
+   * @param program to be simulated
+   */
+  SimulatorInput(Program program) {
+    var workload = program.toWorkLoad();
+    var schedule = program.getSchedule();
+    var nodeNames = workload.getNodeNamesOrderedAlphabetically();
+    minPacketReceptionRate = program.getMinPacketReceptionRate();
+    hyperPeriod = workload.getHyperPeriod();
+
+    var flows = workload.getFlowNamesInPriorityOrder();
+    var numFlows = flows.size();
+    flowNames = flows.toArray(new String[0]);
+    numNodesInFlow = new int[numFlows];
+    firstWord = new int[numFlows + 1];
+    releaseTimes = new int[numFlows][];
+    absoluteDeadlines = new int[numFlows][];
+    nextReleaseTimes = new int[numFlows][];
+    for (int flow = 0; flow < numFlows; flow++) {
+      var nodes = workload.getNodesInFlow(flowNames[flow]);
+      flowIndex.put(flowNames[flow], flow);
+      numNodesInFlow[flow] = nodes.length;
+      var numWords = Math.max(1, (nodes.length + Long.SIZE - 1) / Long.SIZE);
+      firstWord[flow + 1] = firstWord[flow] + numWords;
+      var hops = new HashMap<String, Integer>();
+      for (int hop = 0; hop < nodes.length; hop++) {
+        hops.put(nodes[hop], hop);
+      }
+      hopIndex.add(hops);
+      computeInstances(workload, flow);
+    }
+    /* index the releases by time slot, with the flows of a time slot in priority order */
+    releaseStart = new int[hyperPeriod + 1];
+    for (int[] flowReleases : releaseTimes) {
+      for (int releaseTime : flowReleases) {
+        releaseStart[releaseTime + 1]++;
+      }
+    }
+    Arrays.parallelPrefix(releaseStart, Integer::sum);
+    releasedFlow = new int[releaseStart[hyperPeriod]];
+    releasedInstance = new int[releasedFlow.length];
+    var nextRelease = Arrays.copyOf(releaseStart, hyperPeriod);
+    for (int flow = 0; flow < numFlows; flow++) {
+      for (int instance = 0; instance < releaseTimes[flow].length; instance++) {
+        var index = nextRelease[releaseTimes[flow][instance]]++;
+        releasedFlow[index] = flow;
+        releasedInstance[index] = instance;
+      }
+    }
+
+    var numSlots = schedule.getNumRows();
+    var numNodes = schedule.getNumColumns();
+    var compiled = new HashMap<String, List<int[]>>(); // each distinct instruction, per node
+    slotStart = new int[numSlots + 1];
+    for (int slot = 0; slot < numSlots; slot++) {
+      slotStart[slot] = alternatives.size();
+      for (int node = 0; node < numNodes; node++) {
+        var instruction = schedule.get(slot, node);
+        if (instruction == null) {
+          continue;
+        }
+        var nodeName = nodeNames[node];
+        alternatives.addAll(compiled.computeIfAbsent(nodeName + '\t' + instruction,
+            key -> compile(nodeName, instruction)));
+      }
+    }
+    slotStart[numSlots] = alternatives.size();
+    toArrays();
+  }
+
+  /**
+   * @return the names of the flows, in priority order
+   */
+  public String[] getFlowNames() {
+    return flowNames;
+  }
+
+  /**
+   * @return the names of the links attempted in the program, such as "A -> B"
+   */
+  public List<String> getLinkNames() {
+    return linkNames;
+  }
+
+  /**
+   * @return the number of time slots in a hyperperiod
+   */
+  public Integer getHyperPeriod() {
+    return hyperPeriod;
+  }
+
+  /**
+   * @return the probability with which a transmission attempt succeeds, unless the simulator
+   *         is given another probability for the link
+   */
+  public Double getMinPacketReceptionRate() {
+    return minPacketReceptionRate;
+  }
+
+  /**
+   * @return the number of time slots in the program
+   */
+  int getNumSlots() {
+    return slotStart.length - 1;
+  }
+
+  int getNumFlows() {
+    return flowNames.length;
+  }
+
+  int getNumNodesInFlow(int flow) {
+    return numNodesInFlow[flow];
+  }
+
+  /**
+   * @param flow index
+   * @return the index of the first word of the flow's bitmask in the array of all of the masks
+   */
+  int getFirstWord(int flow) {
+    return firstWord[flow];
+  }
+
+  /**
+   * @return the number of words of the bitmasks of all of the flows
+   */
+  int getNumWords() {
+    return firstWord[firstWord.length - 1];
+  }
+
+  int[] getReleaseTimes(int flow) {
+    return releaseTimes[flow];
+  }
+
+  int[] getAbsoluteDeadlines(int flow) {
+    return absoluteDeadlines[flow];
+  }
+
+  int[] getNextReleaseTimes(int flow) {
+    return nextReleaseTimes[flow];
+  }
+
+  int getReleaseStart(int slot) {
+    return releaseStart[slot];
+  }
+
+  int getReleasedFlow(int release) {
+    return releasedFlow[release];
+  }
+
+  int getReleasedInstance(int release) {
+    return releasedInstance[release];
+  }
+
+  int getSlotStart(int slot) {
+    return slotStart[slot];
+  }
+
+  int getConditionFlow(int alternative) {
+    return conditionFlow[alternative];
+  }
+
+  int getConditionHop(int alternative) {
+    return conditionHop[alternative];
+  }
+
+  boolean isNegated(int alternative) {
+    return negated[alternative];
+  }
+
+  int getTxFlow(int alternative) {
+    return txFlow[alternative];
+  }
+
+  int getSrcHop(int alternative) {
+    return srcHop[alternative];
+  }
+
+  int getSnkHop(int alternative) {
+    return snkHop[alternative];
+  }
+
+  int getLink(int alternative) {
+    return link[alternative];
+  }
+
+  boolean isLastInChain(int alternative) {
+    return lastInChain[alternative];
+  }
+
+  /* computes the release time, deadline, and next release time of each instance of the flow */
+  private void computeInstances(WorkLoad workload, int flow) {
+    var flowName = flowNames[flow];
+    var releases = new ArrayList<int[]>();
+    var time = 0;
+    while (time < hyperPeriod) {
+      var releaseTime = workload.nextReleaseTime(flowName, time);
+      var deadline = workload.nextAbsoluteDeadline(flowName, releaseTime);
+      var nextReleaseTime = workload.nextReleaseTime(flowName, deadline);
+      if (nextReleaseTime <= releaseTime || releaseTime >= hyperPeriod) {
+        break; // no more instances in the hyperperiod
+      }
+      releases.add(new int[] {releaseTime, deadline, nextReleaseTime});
+      time = nextReleaseTime;
+    }
+    releaseTimes[flow] = releases.stream().mapToInt(instance -> instance[0]).toArray();
+    absoluteDeadlines[flow] = releases.stream().mapToInt(instance -> instance[1]).toArray();
+    nextReleaseTimes[flow] = releases.stream().mapToInt(instance -> instance[2]).toArray();
+  }
+
+  /**
+   * Parses an instruction of a node into the alternatives of its if/else chain. Each
+   * alternative is {conditionFlow, conditionHop, negated, txFlow, srcHop, snkHop, link,
+   * lastInChain}, with negated and lastInChain as 0 or 1.
+   *
+   * @param nodeName node executing the instruction
+   * @param instruction from the program schedule
+   * @return the alternatives, or none for an instruction that never transmits
+   */
+  private List<int[]> compile(String nodeName, String instruction) {
+    var chain = new ArrayList<int[]>();
+    var start = 0;
+    while (start < instruction.length()) {
+      var end = instruction.indexOf(ALTERNATIVE_SEPARATOR, start);
+      if (end < 0) {
+        end = instruction.length();
+      }
+      chain.add(compileAlternative(nodeName, instruction.substring(start, end).trim()));
+      start = end + ALTERNATIVE_SEPARATOR.length();
+    }
+    var transmits = chain.stream().anyMatch(alternative -> alternative[3] != NO_TX);
+    if (!transmits) {
+      return List.of(); // wait, sleep, or a chain of them
+    }
+    chain.get(chain.size() - 1)[7] = 1;
+    return chain;
+  }
+
+  /* parses one alternative, such as "if has(F0) push(F0: A -> B, #1)" or "wait(#1)" */
+  private int[] compileAlternative(String nodeName, String alternative) {
+    var compiled = new int[] {NO_FLOW, NO_FLOW, 0, NO_TX, NO_TX, NO_TX, NO_TX, 0};
+    var action = alternative;
+    if (alternative.startsWith(IF)) {
+      var has = alternative.indexOf(HAS);
+      var close = alternative.indexOf(')', has);
+      if (has >= 0 && close > has) {
+        var condition = alternative.substring(has + HAS.length(), close);
+        var colon = condition.indexOf(':');
+        var flow = flowIndex.get((colon < 0 ? condition : condition.substring(0, colon)).trim());
+        if (flow != null) {
+          compiled[0] = flow;
+          compiled[1] = hopIndex.get(flow).getOrDefault(nodeName, NO_FLOW);
+          compiled[2] = alternative.startsWith(NOT_HAS, has - 1) ? 1 : 0;
+        }
+        action = alternative.substring(close + 1).trim();
+      }
+    }
+    var tx = action.indexOf(PUSH);
+    if (tx < 0) {
+      tx = action.indexOf(PULL);
+    }
+    if (tx >= 0) {
+      /* the parameters are "flow: src -> snk, #channel" */
+      var parameters = action.substring(tx + PUSH.length());
+      var colon = parameters.indexOf(':');
+      var arrow = parameters.indexOf(LINK_ARROW, colon);
+      var comma = parameters.indexOf(',', arrow);
+      if (colon > 0 && arrow > colon && comma > arrow) {
+        var flow = flowIndex.get(parameters.substring(0, colon).trim());
+        var src = parameters.substring(colon + 1, arrow).trim();
+        var snk = parameters.substring(arrow + LINK_ARROW.length(), comma).trim();
+        var hops = flow == null ? null : hopIndex.get(flow);
+        if (hops != null && hops.containsKey(src) && hops.containsKey(snk)) {
+          compiled[3] = flow;
+          compiled[4] = hops.get(src);
+          compiled[5] = hops.get(snk);
+          compiled[6] = linkIndex.computeIfAbsent(src + " " + LINK_ARROW + " " + snk, name -> {
+            linkNames.add(name);
+            return linkNames.size() - 1;
+          });
+        }
+      }
+    }
+    return compiled;
+  }
+
+  /* moves the compiled alternatives into the flat arrays read by the simulator */
+  private void toArrays() {
+    var size = alternatives.size();
+    conditionFlow = new int[size];
+    conditionHop = new int[size];
+    negated = new boolean[size];
+    txFlow = new int[size];
+    srcHop = new int[size];
+    snkHop = new int[size];
+    link = new int[size];
+    lastInChain = new boolean[size];
+    for (int index = 0; index < size; index++) {
+      var alternative = alternatives.get(index);
+      conditionFlow[index] = alternative[0];
+      conditionHop[index] = alternative[1];
+      negated[index] = alternative[2] == 1;
+      txFlow[index] = alternative[3];
+      srcHop[index] = alternative[4];
+      snkHop[index] = alternative[5];
+      link[index] = alternative[6];
+      lastInChain[index] = alternative[7] == 1;
+    }
+    alternatives.clear();
+  }
+
+  @Override
+  public String toString() {
+    return String.format("SimulatorInput[flows=%s, links=%s, slots=%d, alternatives=%d]",
+        Arrays.toString(flowNames), linkNames, getNumSlots(), txFlow.length);
+  }
 }
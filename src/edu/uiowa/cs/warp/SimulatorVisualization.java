@@ -0,0 +1,93 @@
+package edu.uiowa.cs.warp;
+
+import java.util.List;
+import edu.uiowa.cs.warp.Simulator.FlowStatistics;
+
+/**
+ * Creates the visualizations of a Monte Carlo simulation of the WARP program. Each row is a
+ * flow, showing the fraction of its packets delivered before the next release (the empirical
+ * E2E reliability), its deadline-miss rate, and its mean and 99th-percentile latencies. The
+ * footer has each flow's latency histogram.
+ *
+ * @version 2.0 Fall 2025
+ */
+public class SimulatorVisualization extends Visualization {
+
+  private static final String SOURCE_SUFFIX = ".sim";
+  private static final String OBJECT_NAME = "Simulation";
+  private static final Double PERCENTILE = 0.99;
+  private static final String NOT_REACHED = "-";
+  private WarpInterface warp;
+  private Integer numHyperPeriods;
+  private Integer seed;
+  private List<FlowStatistics> statistics;
+
+  SimulatorVisualization(WarpInterface warp) {
+    super(warp, SOURCE_SUFFIX);
+    this.warp = warp;
+    this.numHyperPeriods = warp.getOptions().getNumHyperPeriods();
+    this.seed = warp.getOptions().getSeed();
+    this.statistics = new Simulator(warp.toSimulator()).simulate(numHyperPeriods, seed);
+  }
+
+  @Override
+  protected GuiWindow displayVisualization() {
+    return new GuiWindow(warp.getOptions(), createTitle(), createColumnHeader(),
+        createVisualizationData());
+  }
+
+  @Override
+  protected Description createHeader() {
+    Description header = new Description();
+    header.add(createTitle());
+    header.add(String.format("Scheduler Name: %s\n", warp.getSchedulerName()));
+    if (warp.getNumFaults() > 0) { // only specify when deterministic fault model is assumed
+      header.add(String.format("numFaults: %d\n", warp.getNumFaults()));
+    }
+    header.add(String.format("M: %s\n", String.valueOf(warp.getMinPacketReceptionRate())));
+    header.add(String.format("E2E: %s\n", String.valueOf(warp.getE2E())));
+    header.add(String.format("Hyperperiods: %d\n", numHyperPeriods));
+    header.add(String.format("Seed: %d\n", seed));
+    return header;
+  }
+
+  @Override
+  protected Description createFooter() {
+    Description footer = new Description();
+    for (FlowStatistics flow : statistics) {
+      footer.add(String.format("// %s latency histogram: %s\n", flow.getFlowName(),
+          flow.histogram()));
+    }
+    return footer;
+  }
+
+  @Override
+  protected String[] createColumnHeader() {
+    return new String[] {"Flow", "Released", "Delivered", "Delivery Ratio", "Deadline Misses",
+        "Deadline Miss Rate", "Mean Latency", "p99 Latency"};
+  }
+
+  @Override
+  protected String[][] createVisualizationData() {
+    if (visualizationData == null) {
+      visualizationData = new String[statistics.size()][];
+      for (int row = 0; row < statistics.size(); row++) {
+        var flow = statistics.get(row);
+        var percentile = flow.getLatencyPercentile(PERCENTILE);
+        visualizationData[row] = new String[] {flow.getFlowName(),
+            String.valueOf(flow.getNumReleased()), String.valueOf(flow.getNumDelivered()),
+            String.format("%.6f", flow.getDeliveryRatio()),
+            String.valueOf(flow.getNumDeadlineMisses()),
+            String.format("%.6f", flow.getDeadlineMissRate()),
+            flow.getNumDelivered() > 0 ? String.format("%.2f", flow.getMeanLatency())
+                : NOT_REACHED,
+            percentile > 0 ? String.valueOf(percentile) : NOT_REACHED};
+      }
+    }
+    return visualizationData;
+  }
+
+  private String createTitle() {
+    return String.format("%s of graph %s\n", OBJECT_NAME, warp.getName());
+  }
+}
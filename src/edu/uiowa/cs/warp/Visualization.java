@@ -1,6 +1,8 @@
 package edu.uiowa.cs.warp;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import javax.swing.JPanel;
 import org.graphstream.graph.Graph;
 import org.graphstream.ui.swing_viewer.SwingViewer;
@@ -26,6 +28,7 @@ abstract class Visualization implements Visualizable {
   protected Options options;
   
   private static final String NOT_IMPLEMENTED = "This visualization has not been implemented.";
+  private static final String FILE_TIMER = "file.%s"; // each visualization's file is timed
   private String suffix;
   private String nameExtension;
   private GuiWindow window;
@@ -101,15 +104,24 @@ abstract class Visualization implements Visualizable {
   }
   
   /**
-   * Writes the visualization to a file.
+   * Writes the visualization to a file. The content is streamed to the file as it is
+   * created (see writeFileVisualization()), so the whole file is never held in memory.
    */
   @Override
   public File toFile() {
+    var metrics = options != null ? options.getMetrics() : Metrics.DISABLED;
+    var timer = metrics.timer(String.format(FILE_TIMER, getClass().getSimpleName()));
+    var start = timer.start();
     /* create the file name with output directory path. */
     fileName = createFile(fileNameTemplate); 
     /* create the content and write it to the file */
-    Description fileContent = fileVisualization();
-    fm.writeFile(fileName, fileContent.toString());
+    try (var out = fm.newFileWriter(fileName)) {
+      writeFileVisualization(out);
+      out.commit(); // a visualization that fails part way leaves the previous file in place
+    } catch (IOException e) {
+      System.err.println("Error on writing file contents to file" + fileName + ": " + e.getMessage());
+    }
+    timer.stop(start);
     /* return the file handle */
     return new File(fileName);
   }
@@ -243,6 +255,44 @@ abstract class Visualization implements Visualizable {
     return fileContent;
   }
 
+  /**
+   * Writes the contents for a file-based visualization: the header, the visualization,
+   * and the footer. This is what toFile() writes, and it produces the same contents as
+   * fileVisualization().
+   * 
+   * @param out writer of the file
+   * @throws IOException if the file can't be written
+   */
+  protected void writeFileVisualization(Writer out) throws IOException {
+    write(out, createHeader());
+    writeVisualization(out);
+    write(out, createFooter());
+  }
+
+  /**
+   * Writes the text-based visualization, as created by visualization(). Visualizations
+   * with large tables should override this method to write each row as it is created.
+   * 
+   * @param out writer of the file
+   * @throws IOException if the file can't be written
+   */
+  protected void writeVisualization(Writer out) throws IOException {
+    write(out, visualization());
+  }
+
+  /**
+   * Writes each line of the content.
+   * 
+   * @param out writer of the file
+   * @param content to be written
+   * @throws IOException if the file can't be written
+   */
+  protected static void write(Writer out, Description content) throws IOException {
+    for (String line : content) {
+      out.write(line);
+    }
+  }
+
   /**
    * Creates a Gui window that contains the text-based visualization.
    * 
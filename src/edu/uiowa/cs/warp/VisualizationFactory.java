@@ -1,5 +1,12 @@
 package edu.uiowa.cs.warp;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import edu.uiowa.cs.warp.Visualizable.SystemVisualizations;
 import edu.uiowa.cs.warp.Visualizable.WorkLoadVisualizations;
 
@@ -51,6 +58,8 @@ public class VisualizationFactory {
 
   /** 
    * Create multiple visualizations for the Warp System, as specified by the Options object. 
+   * When the options allow more than one job, the files are written concurrently (see
+   * createArtifactsConcurrently()).
    * 
    * @param warp System for which the visualizations will be created
    * @return viz The last visualization created for this system
@@ -58,46 +67,119 @@ public class VisualizationFactory {
   public static Visualizable createWarpVisualizations(WarpInterface warp) {
     Visualizable viz = null;
     if (warp != null) {
-      Options warpOptions = warp.getOptions();
-      if (warpOptions.allRequested()) {
-        /* Create all visualizations for the Warp System, including the WorkLoad visualizations */
-        for (WorkLoadVisualizations choice : WorkLoadVisualizations.values()) {
-          viz = createVisualization(warp.getWorkload(), choice); // visualize all System choices
-        }
-        for (SystemVisualizations choice : SystemVisualizations.values()) {
-          viz = createVisualization(warp, choice); // visualize all System choices
-        }
-      } else {      
-        /* Always create the visualizations for the input graph and Warp Program source code (DSL) 
-         * Followed by the other requested visualizations
-         * */
-        viz = createVisualization(warp.getWorkload(), WorkLoadVisualizations.INPUT_GRAPH);
-        viz = createVisualization(warp, SystemVisualizations.SOURCE);
-        /* Create other visualizations as specified by the Options object */
-        if (warpOptions.wfRequested()) {
-          viz = createVisualization(warp.getWorkload(), WorkLoadVisualizations.COMUNICATION_GRAPH);
-        }
-        if (warpOptions.gvRequested()) {
-          viz = createVisualization(warp.getWorkload(), WorkLoadVisualizations.GRAPHVIZ);
+      List<Artifact> artifacts = requestedArtifacts(warp);
+      if (warp.getOptions().getNumJobs() > 1) {
+        viz = createArtifactsConcurrently(warp, artifacts);
+      } else {
+        for (Artifact artifact : artifacts) {
+          viz = artifact.create();
         }
+      }
+    }
+    return viz;
+  }
 
-        if (warpOptions.caRequested()) {
-          viz = createVisualization(warp, SystemVisualizations.CHANNEL);
-        }
-        if (warpOptions.laRequested()) {
-          viz = createVisualization(warp, SystemVisualizations.LATENCY);
-        }
-        if (warpOptions.eaRequested()) {
-          viz = createVisualization(warp, SystemVisualizations.EXECUTION);
-        }
-        if (warpOptions.latencyRequested() || warpOptions.laRequested() || warpOptions.eaRequested()) {
-          viz = createVisualization(warp, SystemVisualizations.LATENCY_REPORT);
-        }
-        if (warpOptions.raRequested()) {
-          viz = createVisualization(warp, SystemVisualizations.RELIABILITIES);
-        }
+  /**
+   * Lists the visualizations requested by the Options object, in the order they are created.
+   * 
+   * @param warp System for which the visualizations will be created
+   * @return the requested visualizations
+   */
+  private static List<Artifact> requestedArtifacts(WarpInterface warp) {
+    var artifacts = new ArrayList<Artifact>();
+    Options warpOptions = warp.getOptions();
+    if (warpOptions.allRequested()) {
+      /* Create all visualizations for the Warp System, including the WorkLoad visualizations */
+      for (WorkLoadVisualizations choice : WorkLoadVisualizations.values()) {
+        artifacts.add(new Artifact(warp.getWorkload(), choice)); // visualize all WorkLoad choices
+      }
+      for (SystemVisualizations choice : SystemVisualizations.values()) {
+        artifacts.add(new Artifact(warp, choice)); // visualize all System choices
+      }
+    } else {      
+      /* Always create the visualizations for the input graph and Warp Program source code (DSL) 
+       * Followed by the other requested visualizations
+       * */
+      artifacts.add(new Artifact(warp.getWorkload(), WorkLoadVisualizations.INPUT_GRAPH));
+      artifacts.add(new Artifact(warp, SystemVisualizations.SOURCE));
+      /* Create other visualizations as specified by the Options object */
+      if (warpOptions.wfRequested()) {
+        artifacts.add(new Artifact(warp.getWorkload(), WorkLoadVisualizations.COMUNICATION_GRAPH));
+      }
+      if (warpOptions.gvRequested()) {
+        artifacts.add(new Artifact(warp.getWorkload(), WorkLoadVisualizations.GRAPHVIZ));
       }
 
+      if (warpOptions.caRequested()) {
+        artifacts.add(new Artifact(warp, SystemVisualizations.CHANNEL));
+      }
+      if (warpOptions.laRequested()) {
+        artifacts.add(new Artifact(warp, SystemVisualizations.LATENCY));
+      }
+      if (warpOptions.eaRequested()) {
+        artifacts.add(new Artifact(warp, SystemVisualizations.EXECUTION));
+      }
+      if (warpOptions.latencyRequested() || warpOptions.laRequested() || warpOptions.eaRequested()) {
+        artifacts.add(new Artifact(warp, SystemVisualizations.LATENCY_REPORT));
+      }
+      if (warpOptions.raRequested()) {
+        artifacts.add(new Artifact(warp, SystemVisualizations.RELIABILITIES));
+      }
+      if (warpOptions.simRequested()) {
+        artifacts.add(new Artifact(warp, SystemVisualizations.SIMULATOR_INPUT));
+      }
+    }
+    return artifacts;
+  }
+
+  /**
+   * Creates the visualizations and writes their files concurrently. The program, analyses, and
+   * simulator input that the requested visualizations need are built first, in parallel, so the
+   * visualizations only read them; what no requested visualization needs isn't built. The
+   * analyses and the simulator input only read the program's workload. Each file
+   * is written by one task, so the files are the same as when they are written sequentially.
+   * Displays and verbose output are then created in the order the visualizations were
+   * requested, and an error in one visualization is reported without stopping the others.
+   * 
+   * @param warp System for which the visualizations will be created
+   * @param artifacts visualizations to be created
+   * @return the last visualization created without error
+   */
+  private static Visualizable createArtifactsConcurrently(WarpInterface warp,
+      List<Artifact> artifacts) {
+    Visualizable viz = null;
+    /* build the shared prerequisites once */
+    var prerequisites = new ArrayList<CompletableFuture<?>>();
+    for (Artifact artifact : artifacts) {
+      var prerequisite = artifact.prerequisite();
+      if (prerequisite != null) {
+        prerequisites.add(prerequisite);
+      }
+    }
+    CompletableFuture.allOf(prerequisites.toArray(new CompletableFuture<?>[0])).join();
+
+    var numThreads = Math.min(warp.getOptions().getNumJobs(), artifacts.size());
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(numThreads, 1));
+    var files = new ArrayList<Future<Visualization>>(artifacts.size());
+    for (Artifact artifact : artifacts) {
+      files.add(pool.submit(artifact::createFile));
+    }
+    pool.shutdown();
+    for (int i = 0; i < artifacts.size(); i++) {
+      try {
+        Visualization created = files.get(i).get();
+        artifacts.get(i).finish(created);
+        if (created != null) {
+          viz = created;
+        }
+      } catch (ExecutionException e) {
+        System.err.printf("\n\tERROR: Unable to create the %s visualization: %s\n",
+            artifacts.get(i), e.getCause());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        pool.shutdownNow();
+        break;
+      }
     }
     return viz;
   }
@@ -125,7 +207,7 @@ public class VisualizationFactory {
    * @param choice the visualization type to create 
    * @return a visualization object corresponding to the given choice and workload.	
    */
-  private static Visualization createWorkLoadVisualization(WorkLoad workload, WorkLoadVisualizations choice) {
+  static Visualization createWorkLoadVisualization(WorkLoad workload, WorkLoadVisualizations choice) {
     Visualization viz = null;
     /* create the requested visualization */
     switch (choice) { 
@@ -160,7 +242,7 @@ public class VisualizationFactory {
    * @param choice the visualization type to create
    * @return a visualization object corresponding to the given choice and warp system
    */
-  private static Visualization createSystemVisualization(WarpInterface warp, SystemVisualizations choice) {
+  static Visualization createSystemVisualization(WarpInterface warp, SystemVisualizations choice) {
     Visualization viz = null;
     switch (choice) { // select the requested visualization
     case SOURCE:
@@ -172,8 +254,7 @@ public class VisualizationFactory {
       break;
 
     case SIMULATOR_INPUT:
-      // TODO Implement Simulator Input Visualization
-      viz = new NotImplentedVisualization(warp.getOptions(),"SimInputNotImplemented");
+      viz = new SimulatorVisualization(warp);
       break;
 
     case LATENCY:
@@ -204,5 +285,94 @@ public class VisualizationFactory {
     }
     return viz;
   }
+
+  /**
+   * A visualization requested by the Options object. It is created when its file is written.
+   */
+  private static final class Artifact {
+    private final WorkLoad workload;
+    private final WorkLoadVisualizations workLoadChoice;
+    private final WarpInterface warp;
+    private final SystemVisualizations systemChoice;
+
+    private Artifact(WorkLoad workload, WorkLoadVisualizations choice) {
+      this.workload = workload;
+      this.workLoadChoice = choice;
+      this.warp = null;
+      this.systemChoice = null;
+    }
+
+    private Artifact(WarpInterface warp, SystemVisualizations choice) {
+      this.workload = null;
+      this.workLoadChoice = null;
+      this.warp = warp;
+      this.systemChoice = choice;
+    }
+
+    /*
+     * starts building what the visualization reads from the Warp system, or returns null if it
+     * only reads the workload
+     */
+    private CompletableFuture<?> prerequisite() {
+      if (systemChoice == null || warp == null) {
+        return null;
+      }
+      switch (systemChoice) {
+      case RELIABILITIES:
+        return warp.getReliabilityAnalysisAsync();
+      case LATENCY:
+        return warp.getLatencyAnalysisAsync()
+            .thenAcceptAsync(LatencyAnalysis::getLatencyDistributions);
+      case CHANNEL:
+        return warp.getChannelAnalysisAsync();
+      case EXECUTION:
+        return warp.getExecutionAnalysisAsync();
+      case SIMULATOR_INPUT:
+        return warp.getProgramAsync().thenRunAsync(warp::toSimulator);
+      default:
+        return warp.getProgramAsync();
+      }
+    }
+
+    /* creates the file and display visualizations, as createVisualization() does */
+    private Visualizable create() {
+      if (workLoadChoice != null) {
+        return createVisualization(workload, workLoadChoice);
+      }
+      return createVisualization(warp, systemChoice);
+    }
+
+    /* creates the visualization and writes its file */
+    private Visualization createFile() {
+      Visualization viz = null;
+      if (workLoadChoice != null && workload != null) {
+        viz = createWorkLoadVisualization(workload, workLoadChoice);
+      } else if (systemChoice != null && warp != null) {
+        viz = createSystemVisualization(warp, systemChoice);
+      }
+      if (viz != null) {
+        viz.toFile();
+      }
+      return viz;
+    }
+
+    /* creates the display and verbose output of a visualization created by createFile() */
+    private void finish(Visualization viz) {
+      if (viz != null) {
+        Options options = viz.getOptions();
+        if (options.displayRequested()) {
+          viz.toDisplay();
+        }
+        if (workLoadChoice != null && options.verboseMode()) {
+          System.out.println(viz.toString());
+        }
+      }
+    }
+
+    @Override
+    public String toString() {
+      return workLoadChoice != null ? workLoadChoice.toString() : systemChoice.toString();
+    }
+  }
 }
 
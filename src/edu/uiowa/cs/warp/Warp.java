@@ -44,11 +44,13 @@ public class Warp {
 	/**
 	 * Verifies that all deadlines are met, end-to-end message transmission
 	 * reliabilities are met, and no channel conflicts exist in the Warp programs
-	 * that schedule message flow transmissions.
+	 * that schedule message flow transmissions. The analyses checked are built in
+	 * parallel, and are all waited for here before any of them is checked.
 	 * 
 	 * @param warp the WARP system to check
 	 */
 	private static void verifyPerformanceRequirements(WarpInterface warp) {
+		warp.verificationAsync().join();
 		verifyDeadlines(warp);
 		verifyReliabilities(warp);
 		verifyNoChannelConflicts(warp);
@@ -125,6 +127,53 @@ public class Warp {
 		}
 	}
 
+	/**
+	 * Checks the workload with the admission check before its program is built, when
+	 * the precheck option is set, and reports why it can't be scheduled if the check
+	 * proves so.
+	 * 
+	 * @param warp system whose workload is checked
+	 * @return true if the program should be built
+	 */
+	private static Boolean admitted(WarpInterface warp) {
+		if (!warpOptions.precheckRequested()) {
+			return true;
+		}
+		var check = warp.getAdmissionCheck();
+		if (check.isInfeasible()) {
+			System.err.printf("\n\tERROR: The workload can't be scheduled under %s scheduling:\n",
+					warp.getScheduleChoice().toString());
+			for (String reason : check.getReasons()) {
+				System.err.print("\t\t" + reason);
+			}
+		}
+		return !check.isInfeasible();
+	}
+
+	/**
+	 * Creates the visualizations of the Warp system and verifies its performance
+	 * requirements. If the budget set by the time and slot limit options is used up
+	 * while the program or its analyses are built, the report of how far the work
+	 * got is printed instead, and the remaining visualizations are skipped.
+	 * 
+	 * @param warp system whose visualizations are created
+	 */
+	private static void createWarpVisualizations(WarpInterface warp) {
+		try {
+			VisualizationFactory.createWarpVisualizations(warp);
+			verifyPerformanceRequirements(warp);
+		} catch (RuntimeException e) {
+			var exceeded = BudgetExceededException.causeOf(e);
+			if (exceeded == null) {
+				throw e;
+			}
+			System.err.println();
+			for (String line : exceeded.getReport()) {
+				System.err.print("\t" + line);
+			}
+		}
+	}
+
 	/**
 	 * Launch the Warp Gui to interact with the Warp system passed to it.
 	 * 
@@ -140,6 +189,88 @@ public class Warp {
 		});
 	}
 
+	/**
+	 * Writes the workload to a binary workload (.wldb) file in the output
+	 * directory. The file is named after the input file, so Example.txt is saved as
+	 * Example.wldb.
+	 *
+	 * @param workLoad to be saved
+	 */
+	private static void writeBinaryWorkLoad(WorkLoad workLoad) {
+		var fm = warpOptions.getFileManager();
+		var fileNameTemplate = fm.createFileNameTemplate(warpOptions.getInputFileName(),
+				warpOptions.getOutputSubDirectory());
+		workLoad.writeBinaryFile(fm.createFile(fileNameTemplate, "", WorkLoadBinaryFile.SUFFIX));
+	}
+
+	/**
+	 * Creates the visualizations requested by the options for the workload, and
+	 * verifies the performance requirements of its Warp programs.
+	 * 
+	 * @param workLoad for which the visualizations are created
+	 */
+	private static void createVisualizations(WorkLoad workLoad) {
+		/*
+		 * Use the Visualization Factory to create visualizations based on command-line
+		 * arguments and/or default options.
+		 */
+		WarpInterface warp = new WarpSystem(workLoad);
+		if (warpOptions.allRequested()) {
+			/*
+			 * When the -a or --all option is set, then all visualizations are created.
+			 */
+			if (warpOptions.schedulerRequested()) {
+				/*
+				 * Create all visualizations for the Warp System created with the scheduler
+				 * selected and verify the performance requirements were met
+				 */
+				if (admitted(warp)) {
+					/*
+					 * Now verify the deadlines and reliabilities are met with no channel
+					 * conflicts
+					 */
+					createWarpVisualizations(warp);
+				}
+			} else {
+				/*
+				 * If a scheduler wasn't specified in the command line arguments, then all
+				 * visualizations for each scheduler is created.
+				 */
+
+				/*
+				 * For each scheduler choice, create a corresponding Warp System and all of its
+				 * visualizations
+				 */
+				warpOptions.setAllRequested(true);
+				/*
+				 * The input file is parsed once. Each scheduler gets its own copy of the
+				 * workload forked from this snapshot, because building a program changes it.
+				 */
+				WorkLoadSnapshot snapshot = WorkLoadSnapshot.of(workLoad);
+				for (ScheduleChoices sch : ScheduleChoices.values()) {
+					/* set the scheduler and then create the corresponding Warp System */
+					warpOptions.setSchedulerSelected(sch.name());
+					workLoad = snapshot.toWorkLoad(warpOptions);
+					warp = new WarpSystem(workLoad);
+					/* Now create all visualizations using the Factory */
+					if (admitted(warp)) {
+						createWarpVisualizations(warp);
+					}
+				}
+			}
+		} else {
+			/*
+			 * When the -a or --a option wasn't set by the command-line arguments, create
+			 * the System visualizations with the selected scheduler (or default scheduler
+			 * if the user didn't specify one in the command-line options), and then verify
+			 * the Performance Requirements.
+			 */
+			if (admitted(warp)) {
+				createWarpVisualizations(warp);
+			}
+		}
+	}
+
 	/**
 	 * Main entry point for Warp. This class is really just a driver class. This
 	 * method is the method called by the Java Virtual Machine when you run the
@@ -155,20 +286,76 @@ public class Warp {
 		 * then parse command-line arguments to override the defaults.
 		 */
 		warpOptions = new Options(args);
+		/*
+		 * When metrics are requested, they can be watched with a JMX client while
+		 * Warp runs, and are written to Metrics.json when a command-line run is done.
+		 */
+		warpOptions.getMetrics().register();
+		try {
+			run();
+		} finally {
+			if (!warpOptions.guiRequested()) {
+				warpOptions.getMetrics().writeJson(warpOptions);
+			}
+		}
+	}
+
+	/**
+	 * Runs Warp with the options parsed by main(): processes the batch or input
+	 * file, or launches the Gui.
+	 */
+	private static void run() {
+		if (warpOptions.getBatchInput() != null) {
+			/*
+			 * Process each input file of the batch, as below, and write a summary of
+			 * the batch instead of processing only the input file.
+			 */
+			new WarpBatch(warpOptions).run();
+			return;
+		}
 
 		/*
 		 * Now create the workLoad and Warp system with the specified configuration.
 		 */
 		WorkLoad workLoad = new WorkLoad(warpOptions);
-		WarpInterface warp = new WarpSystem(workLoad);
-
+		if (warpOptions.wldbRequested()) {
+			/*
+			 * Save the workload, with its transmission costs, as a binary workload file
+			 * that later runs can use as the input file without parsing the graph.
+			 */
+			writeBinaryWorkLoad(workLoad);
+		}
+		if (warpOptions.minChannelsRequested()) {
+			/*
+			 * Search for the fewest channels the workload needs, scheduling the parsed
+			 * workload with each number of channels probed, instead of processing it.
+			 */
+			new ChannelSearch(new WarpSystem(workLoad)).run();
+			return;
+		}
+		if (warpOptions.prioritiesRequested()) {
+			/*
+			 * Search for flow priorities with which the workload is schedulable, instead
+			 * of processing it.
+			 */
+			new PriorityAssignment(new WarpSystem(workLoad)).run();
+			return;
+		}
+		if (warpOptions.getDiffInput() != null) {
+			/*
+			 * Compare the program built for the workload with the binary program file,
+			 * node by node and flow by flow, instead of processing it.
+			 */
+			ScheduleDiff.run(new WarpSystem(workLoad), warpOptions.getDiffInput());
+			return;
+		}
 		/*
 		 * If the Warp Gui is requested, then launch the Gui. The Gui sets up the views
 		 * and launches a controller, which interacts with the Gui and Warp objects as
 		 * part of the Model-View-Controller (MVC) software design pattern.
 		 */
 		if (warpOptions.guiRequested()) {
-			launchGui(warp);
+			launchGui(new WarpSystem(workLoad));
 		} else {
 			/*
 			 * If the full Gui wasn't requested, then create some visualizations based on
@@ -181,54 +368,13 @@ public class Warp {
 				warpOptions.print();
 			}
 
-			/*
-			 * Use the Visualization Factory to create visualizations based on command-line
-			 * arguments and/or default options.
-			 */
-			if (warpOptions.allRequested()) {
-				/*
-				 * When the -a or --all option is set, then all visualizations are created.
-				 */
-				if (warpOptions.schedulerRequested()) {
-					/*
-					 * Create all visualizations for the Warp System created with the scheduler
-					 * selected and verify the performance requirements were met
-					 */
-					VisualizationFactory.createWarpVisualizations(warp);
-					/*
-					 * Now verify the deadlines and reliabilities are met with no channel conflicts
-					 */
-					verifyPerformanceRequirements(warp);
-				} else {
-					/*
-					 * If a scheduler wasn't specified in the command line arguments, then all
-					 * visualizations for each scheduler is created.
-					 */
-
-					/*
-					 * For each scheduler choice, create a corresponding Warp System and all of its
-					 * visualizations
-					 */
-					warpOptions.setAllRequested(true);
-					for (ScheduleChoices sch : ScheduleChoices.values()) {
-						/* set the scheduler and then create the corresponding Warp System */
-						warpOptions.setSchedulerSelected(sch.name());
-						workLoad = new WorkLoad(warpOptions);
-						warp = new WarpSystem(workLoad);
-						/* Now create all visualizations using the Factory */
-						VisualizationFactory.createWarpVisualizations(warp);
-						verifyPerformanceRequirements(warp);
-					}
-				}
-			} else {
+			createVisualizations(workLoad);
+			if (warpOptions.watchRequested()) {
 				/*
-				 * When the -a or --a option wasn't set by the command-line arguments, create
-				 * the System visualizations with the selected scheduler (or default scheduler
-				 * if the user didn't specify one in the command-line options), and then verify
-				 * the Performance Requirements.
+				 * Keep running, and create the visualizations again each time the input
+				 * file changes.
 				 */
-				VisualizationFactory.createWarpVisualizations(warp);
-				verifyPerformanceRequirements(warp);
+				new WarpWatcher(warpOptions, workLoad, Warp::createVisualizations).run();
 			}
 		}
 	}
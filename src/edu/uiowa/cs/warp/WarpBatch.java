@@ -0,0 +1,242 @@
+package edu.uiowa.cs.warp;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import edu.uiowa.cs.warp.SystemAttributes.ScheduleChoices;
+import edu.uiowa.cs.warp.Visualizable.SystemVisualizations;
+
+/**
+ * Runs Warp on a batch of input files in one JVM, so that JVM startup, class loading, and JIT
+ * warmup are paid once for the batch rather than once per file. The batch is a directory, in
+ * which case every .txt and .wldb file in it is processed, or a glob such as
+ * {@code inputs/*.txt}, whose last name may contain wildcards.
+ * <p>
+ * Each input file is processed as Warp.main() processes its input file, with the options given
+ * for the batch: the requested output files are written to the output directory, including the
+ * deadline miss report and channel visualization that are created when a program misses a
+ * deadline or has a channel conflict. Up to -j input files are processed concurrently, each with
+ * its own copy of the options. When all of them are done, a summary table with one row for each
+ * input file and scheduler is written to BatchSummary.txt in the output directory and printed.
+ * <p>
+ * With the precheck option, a workload that the AdmissionCheck proves infeasible isn't
+ * scheduled. Its row isn't schedulable and has no length or deadline misses, and the reasons are
+ * printed instead. Likewise, a workload whose program or analyses use up the budget set by the
+ * -tl and -sl options isn't schedulable, and the report of how far the work got is printed.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class WarpBatch {
+
+  private static final String SUMMARY_FILE = "BatchSummary.txt";
+  private static final String DIRECTORY_GLOB = "*.{txt,wldb}";
+  private static final String[] SUMMARY_HEADER = {"Input", "Scheduler", "Schedulable", "Length",
+      "DeadlineMisses", "Load(ms)", "Schedule(ms)", "Files(ms)", "Total(ms)"};
+  private static final Double NANOS_PER_MILLI = 1_000_000.0;
+  private static final String NOT_SCHEDULED = "-";
+
+  private final Options template;
+  private final List<String> inputFiles;
+
+  /**
+   * Creates a batch of the input files named by the batch input of the options.
+   *
+   * @param template options used for every input file of the batch
+   */
+  WarpBatch(Options template) {
+    this.template = template;
+    this.inputFiles = findInputFiles(template.getBatchInput());
+  }
+
+  /**
+   * @return the input files of the batch, in the order they are reported
+   */
+  List<String> getInputFiles() {
+    return inputFiles;
+  }
+
+  /**
+   * Processes every input file of the batch, then writes and prints the summary table.
+   *
+   * @return the summary table
+   */
+  Description run() {
+    var summary = new Description();
+    summary.add(String.join("\t", SUMMARY_HEADER) + "\n");
+    if (inputFiles.isEmpty()) {
+      System.err.println("ERROR: No input files found for batch " + template.getBatchInput());
+      return summary;
+    }
+    var numThreads = Math.min(template.getNumJobs(), inputFiles.size());
+    ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+    var results = new ArrayList<Future<List<String[]>>>(inputFiles.size());
+    for (String inputFile : inputFiles) {
+      results.add(pool.submit(() -> processInputFile(inputFile)));
+    }
+    pool.shutdown();
+    /* report in input file order, no matter which file finished first */
+    for (int i = 0; i < inputFiles.size(); i++) {
+      try {
+        for (String[] row : results.get(i).get()) {
+          summary.add(String.join("\t", row) + "\n");
+        }
+      } catch (ExecutionException e) {
+        System.err.printf("ERROR: Unable to process %s: %s\n", inputFiles.get(i), e.getCause());
+        summary.add(String.format("%s\tERROR: %s\n", inputFiles.get(i), e.getCause()));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        pool.shutdownNow();
+        break;
+      }
+    }
+    var fm = template.getFileManager();
+    var summaryFile = fm.createFileNameTemplate(SUMMARY_FILE, template.getOutputSubDirectory());
+    fm.writeFile(summaryFile, summary.toString());
+    System.out.print(summary.toString());
+    return summary;
+  }
+
+  /**
+   * Processes one input file with each scheduler requested.
+   *
+   * @param inputFile to be processed
+   * @return a summary row for each scheduler
+   */
+  private List<String[]> processInputFile(String inputFile) {
+    var options = new Options(template);
+    /* the FileManager remembers the graph file it read, so each input file needs its own */
+    options.setFileManager(new FileManager());
+    options.setInputFile(inputFile);
+    /* the input files are processed concurrently, so each one writes its files sequentially */
+    options.setNumJobs(1);
+    var rows = new ArrayList<String[]>();
+    var start = System.nanoTime();
+    var workLoad = new WorkLoad(options);
+    var loadTime = System.nanoTime() - start;
+    if (options.allRequested() && !options.schedulerRequested()) {
+      /* as in Warp.main(), the input file is parsed once and forked for each scheduler */
+      var snapshot = WorkLoadSnapshot.of(workLoad);
+      for (ScheduleChoices choice : ScheduleChoices.values()) {
+        options.setSchedulerSelected(choice.name());
+        start = System.nanoTime();
+        workLoad = snapshot.toWorkLoad(options);
+        /* the first scheduler's load time includes reading the input file */
+        rows.add(processWorkLoad(inputFile, workLoad, loadTime + System.nanoTime() - start));
+        loadTime = 0L;
+      }
+    } else {
+      rows.add(processWorkLoad(inputFile, workLoad, loadTime));
+    }
+    return rows;
+  }
+
+  /**
+   * Builds the program for the workload, writes its files, and checks its performance
+   * requirements.
+   *
+   * @param inputFile from which the workload was read
+   * @param workLoad to be scheduled
+   * @param loadTime time taken to read or fork the workload, in nanoseconds
+   * @return the summary row
+   */
+  private String[] processWorkLoad(String inputFile, WorkLoad workLoad, Long loadTime) {
+    var options = workLoad.getOptions();
+    var start = System.nanoTime();
+    var warp = new WarpSystem(workLoad);
+    if (options.precheckRequested() && warp.getAdmissionCheck().isInfeasible()) {
+      var checked = System.nanoTime();
+      System.err.printf("ERROR: %s can't be scheduled under %s scheduling:\n%s", inputFile,
+          warp.getSchedulerName(), String.join("", warp.getAdmissionCheck().getReasons()));
+      return new String[] {inputFile, warp.getSchedulerName(), "no", NOT_SCHEDULED,
+          NOT_SCHEDULED, millis(loadTime), millis(checked - start), millis(0L),
+          millis(loadTime + checked - start)};
+    }
+    Program program;
+    Long scheduled;
+    try {
+      program = warp.getProgram();
+      scheduled = System.nanoTime();
+      VisualizationFactory.createWarpVisualizations(warp);
+      warp.verificationAsync().join(); // so the checks below are within the budget too
+    } catch (RuntimeException e) {
+      var exceeded = BudgetExceededException.causeOf(e);
+      if (exceeded == null) {
+        throw e;
+      }
+      var stopped = System.nanoTime();
+      System.err.printf("ERROR: %s wasn't scheduled under %s scheduling:\n%s", inputFile,
+          warp.getSchedulerName(), String.join("", exceeded.getReport()));
+      return new String[] {inputFile, warp.getSchedulerName(), "no", NOT_SCHEDULED,
+          NOT_SCHEDULED, millis(loadTime), millis(stopped - start), millis(0L),
+          millis(loadTime + stopped - start)};
+    }
+    /* the files created by Warp.main() when performance requirements aren't met */
+    var deadlinesMet = warp.deadlinesMet();
+    if (!deadlinesMet) {
+      VisualizationFactory.createVisualization(warp, SystemVisualizations.DEADLINE_REPORT);
+    }
+    var reliabilitiesMet = options.getSchedulerSelected() == ScheduleChoices.RTHART
+        || warp.reliabilitiesMet(); // RealTime HART doesn't adhere to reliability targets
+    var channelConflict = warp.getChannelAnalysis().isChannelConflict();
+    if (channelConflict && !options.caRequested()) {
+      VisualizationFactory.createVisualization(warp, SystemVisualizations.CHANNEL);
+    }
+    var done = System.nanoTime();
+    var schedulable = deadlinesMet && reliabilitiesMet && !channelConflict;
+    return new String[] {inputFile, warp.getSchedulerName(), schedulable ? "yes" : "no",
+        String.valueOf(program.getSchedule().getNumRows()),
+        String.valueOf(program.deadlineMisses().size()), millis(loadTime),
+        millis(scheduled - start), millis(done - scheduled), millis(loadTime + done - start)};
+  }
+
+  /**
+   * Finds the input files of a batch: the .txt and .wldb files in a directory, or the files
+   * matching a glob. The glob's wildcards may only be in its last name.
+   *
+   * @param batchInput directory or glob
+   * @return the input files, sorted by name
+   */
+  static List<String> findInputFiles(String batchInput) {
+    var inputFiles = new ArrayList<String>();
+    if (batchInput == null) {
+      return inputFiles;
+    }
+    Path directory;
+    String glob;
+    var separator = batchInput.lastIndexOf('/');
+    if (Files.isDirectory(Path.of(batchInput))) {
+      directory = Path.of(batchInput);
+      glob = DIRECTORY_GLOB;
+    } else if (separator >= 0) {
+      directory = Path.of(batchInput.substring(0, Math.max(separator, 1)));
+      glob = batchInput.substring(separator + 1);
+    } else {
+      directory = Path.of("");
+      glob = batchInput;
+    }
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    try (Stream<Path> files = Files.list(directory.toAbsolutePath())) {
+      inputFiles.addAll(files.filter(Files::isRegularFile)
+          .filter(file -> matcher.matches(file.getFileName()))
+          .map(file -> directory.resolve(file.getFileName()).toString()).sorted()
+          .collect(Collectors.toList()));
+    } catch (IOException e) {
+      System.err.println("ERROR: Unable to read directory " + directory + ": " + e.getMessage());
+    }
+    return inputFiles;
+  }
+
+  private static String millis(Long nanos) {
+    return String.format("%.1f", nanos / NANOS_PER_MILLI);
+  }
+}
@@ -3,9 +3,16 @@ package edu.uiowa.cs.warp;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
+import javax.swing.SwingWorker;
 import edu.uiowa.cs.warp.Visualizable.SystemVisualizations;
 import edu.uiowa.cs.warp.Visualizable.WorkLoadVisualizations;
 
@@ -18,6 +25,18 @@ import edu.uiowa.cs.warp.Visualizable.WorkLoadVisualizations;
  * classes, but then each menu needs access to warp the editor classes. 
  * Instead, this controller class was created to separate the menu
  * (and views displayed) from the model.
+ * <p>
+ * The actions run on the event dispatch thread, so the work that can
+ * take a while, reading the workload and building the program, its
+ * analyses, and the visualizations, is done by SwingWorkers in the
+ * background, with its progress shown in the Gui's progress panel. The
+ * workers run one at a time, in the order requested, so a visualization
+ * is built with the options set when it was requested. The options
+ * edited in the Gui are the controller's own copy, and each reset hands
+ * the warp object a copy of them, so the workers never read options that
+ * the event dispatch thread is changing. Visualizations not finished yet
+ * can be cancelled, and quick successive changes of the options or input
+ * file are coalesced into one reset of the warp object.
  * 
  * @author sgoddard
  * @version 2.0 Fall 2025
@@ -31,6 +50,10 @@ public class WarpController {
   private InputFileMenu fileMenu;
   private InputFileEditor inputFileEditor;
   private OptionsEditor optionsEditor;
+  private ProgressPanel progressPanel;
+  private ExecutorService modelWork; // runs the workers one at a time, in request order
+  private List<SwingWorker<?, ?>> outstanding = new ArrayList<>(); // workers not done
+  private ResetWorker pendingReset = null; // reset requested and not started yet
 
   /**
    * Creates the controller object that receives view requests from
@@ -47,11 +70,18 @@ public class WarpController {
      * of changing any of the Warp options.
      */
     this.warp = warp;  // Warp model of model-view-controller
-    this.warpOptions = warp.getOptions(); // model for options
+    this.warpOptions = new Options(warp.getOptions()); // edited here, copied by each reset
     this.optionsMenu = gui.getOptionsMenu(); // options view of model-view-controller
     this.fileMenu = gui.getFileMenu(); // file view of model-view-controller
     this.view = gui.getViewMenu(); // view of model-view-controller
     this.guiFrame = gui.getFrame(); // Frame to which all views are attached
+    this.progressPanel = gui.getProgressPanel(); // progress of the work in the background
+    this.modelWork = Executors.newSingleThreadExecutor(task -> {
+      Thread thread = new Thread(task, "Warp model");
+      thread.setDaemon(true); // doesn't keep the Gui from exiting
+      return thread;
+    });
+    this.progressPanel.addCancelListener(e -> cancelVisualizations());
 
     /* 
      * Attached all of the listeners that will display the requested System or WorkLoad 
@@ -100,27 +130,80 @@ public class WarpController {
   }
 
   /**
-   * Creates the requested system visualization choice.
+   * Runs a worker in the background, after the workers requested before it.
    * 
-   * @param warp object
-   * @param choice of the visualization to be created.
-   * @return a reference to the window displayed
+   * @param worker to be run
    */
-  private GuiWindow visualize(WarpInterface warp, SystemVisualizations choice) {
-    Visualizable viz = VisualizationFactory.createVisualization(warp, choice);
-    return getWindow(viz);
+  private void submit(SwingWorker<?, ?> worker) {
+    outstanding.add(worker);
+    progressPanel.setBusy(true);
+    modelWork.execute(worker);
   }
 
   /**
-   * Creates the requested workload visualization choice.
+   * Called by a worker when it is done, or cancelled.
    * 
-   * @param warp object
-   * @param choice of the visualization to be created.
-   * @return a reference to the window displayed
+   * @param worker that is done
    */
-  private GuiWindow visualize(WarpInterface warp, WorkLoadVisualizations choice) {
-    Visualizable viz = VisualizationFactory.createVisualization(warp.getWorkload(), choice);
-    return getWindow(viz);
+  private void finished(SwingWorker<?, ?> worker) {
+    outstanding.remove(worker);
+    if (outstanding.isEmpty()) {
+      progressPanel.setBusy(false);
+    }
+  }
+
+  /**
+   * Cancels the visualizations that are being built or are waiting to be,
+   * and the program and analyses they are waiting for. The resets of the 
+   * warp object aren't cancelled, because the options have already been 
+   * changed.
+   */
+  private void cancelVisualizations() {
+    Boolean cancelled = false;
+    for (SwingWorker<?, ?> worker : new ArrayList<>(outstanding)) {
+      if (worker instanceof VisualizationWorker) {
+        worker.cancel(true);
+        cancelled = true;
+      }
+    }
+    if (cancelled) {
+      getWarp().cancel();
+    }
+  }
+
+  /**
+   * Resets the warp object in the background, so that the visualizations 
+   * requested from now on are based on the current options. A reset that 
+   * was requested before and hasn't started yet is given a copy of the
+   * current options instead, so another one isn't needed.
+   */
+  private void resetWarp() {
+    var options = new Options(warpOptions); // copied on the event dispatch thread
+    if (pendingReset == null || !pendingReset.setOptions(options)) {
+      pendingReset = new ResetWorker(options);
+      submit(pendingReset);
+    }
+  }
+
+  /**
+   * Reports an error of a worker in a dialog box, and on the console.
+   * 
+   * @param task that failed
+   * @param e error thrown by the worker
+   */
+  private void reportError(String task, ExecutionException e) {
+    var exceeded = BudgetExceededException.causeOf(e);
+    if (exceeded != null) {
+      /* the time or slot limit was reached, so report how far the work got */
+      var report = String.join("", exceeded.getReport());
+      System.err.print("\n\t" + report);
+      JOptionPane.showMessageDialog(guiFrame, "Unable to " + task + ":\n" + report,
+          "Warp Error", JOptionPane.ERROR_MESSAGE);
+      return;
+    }
+    System.err.printf("\n\tERROR: Unable to %s: %s\n", task, e.getCause());
+    JOptionPane.showMessageDialog(guiFrame, "Unable to " + task + ":\n" + e.getCause(),
+        "Warp Error", JOptionPane.ERROR_MESSAGE);
   }
 
   /**
@@ -197,13 +280,8 @@ public class WarpController {
      * stores a reference to the window displayed. 
      */
     public void actionPerformed(ActionEvent e) {
-      //	      System.out.println("Program Source Display requested.\n"); 
-      if (systemChoice != null) {
-        window = visualize(getWarp(), systemChoice);
-      } else {
-        window = visualize(getWarp(), workloadChoice);
-      }
-      // window = visualize(getWarp(), choice);
+      /* the visualization is built in the background and displayed when done */
+      submit(new VisualizationWorker(this));
     }
 
     public GuiWindow getWindow() {
@@ -211,6 +289,143 @@ public class WarpController {
     }
   }
 
+  /**
+   * Builds a requested visualization in the background and writes its file,
+   * then displays it on the event dispatch thread, as the VisualizationFactory
+   * does when the Options object requests display. The program is built
+   * before the visualization so that the worker can be cancelled while it 
+   * waits for the program.
+   */
+  class VisualizationWorker extends SwingWorker<Visualization, String> {
+
+    private DisplayWarpOptionListener request;
+
+    /**
+     * Creates a worker for the visualization requested by the listener.
+     * 
+     * @param request listener whose visualization is built, and which 
+     *        stores the window displayed
+     */
+    VisualizationWorker(DisplayWarpOptionListener request) {
+      this.request = request;
+      /* progress is reported on the event dispatch thread */
+      addPropertyChangeListener(event -> {
+        if ("progress".equals(event.getPropertyName())) {
+          progressPanel.setProgress((Integer) event.getNewValue());
+        }
+      });
+    }
+
+    @Override
+    protected Visualization doInBackground() throws Exception {
+      Visualization viz;
+      WarpInterface warp = getWarp();
+      if (request.systemChoice != null) {
+        publish("Building the program of " + warp.getName());
+        setProgress(10);
+        warp.getProgramAsync().get(); // interrupted if the worker is cancelled
+        publish("Creating the " + request.systemChoice + " visualization");
+        setProgress(50);
+        viz = VisualizationFactory.createSystemVisualization(warp, request.systemChoice);
+      } else {
+        publish("Creating the " + request.workloadChoice + " visualization");
+        setProgress(30);
+        viz = VisualizationFactory.createWorkLoadVisualization(warp.getWorkload(),
+            request.workloadChoice);
+      }
+      if (isCancelled()) {
+        return null;
+      }
+      publish("Writing the " + viz.getClass().getSimpleName() + " file");
+      setProgress(80);
+      viz.toFile();
+      setProgress(100);
+      return viz;
+    }
+
+    @Override
+    protected void process(List<String> messages) {
+      progressPanel.setMessage(messages.get(messages.size() - 1));
+    }
+
+    @Override
+    protected void done() {
+      finished(this);
+      try {
+        Visualization viz = get();
+        request.window = getWindow(viz);
+        if (viz != null && request.workloadChoice != null && warpOptions.verboseMode()) {
+          System.out.println(viz.toString());
+        }
+      } catch (CancellationException | InterruptedException e) {
+        /* cancelled by the user, so nothing is displayed */
+      } catch (ExecutionException e) {
+        reportError("create the visualization", e);
+      }
+    }
+  }
+
+  /**
+   * Resets the warp object in the background, with a copy of the options
+   * made when it was requested, and reads the input file again if it was
+   * changed.
+   */
+  class ResetWorker extends SwingWorker<Void, String> {
+
+    private Options options; // guarded by this worker
+
+    /**
+     * Creates a worker that resets the warp object with the options.
+     * 
+     * @param options copy of the options, which no other thread changes
+     */
+    ResetWorker(Options options) {
+      this.options = options;
+    }
+
+    /**
+     * Replaces the options of a reset that hasn't started yet.
+     * 
+     * @param options copy of the current options
+     * @return false if the reset has already started, so it can't be changed
+     */
+    synchronized Boolean setOptions(Options options) {
+      if (getState() != SwingWorker.StateValue.PENDING) {
+        return false;
+      }
+      this.options = options;
+      return true;
+    }
+
+    @Override
+    protected Void doInBackground() {
+      Options resetOptions;
+      synchronized (this) {
+        resetOptions = options;
+      }
+      publish("Reading " + resetOptions.getInputFileName());
+      getWarp().reset(resetOptions);
+      return null;
+    }
+
+    @Override
+    protected void process(List<String> messages) {
+      progressPanel.setMessage(messages.get(messages.size() - 1));
+    }
+
+    @Override
+    protected void done() {
+      finished(this);
+      try {
+        get();
+      } catch (CancellationException | InterruptedException e) {
+        /* resets aren't cancelled */
+      } catch (ExecutionException e) {
+        reportError("reset the Warp system", e);
+      }
+    }
+  }
+
   /* 
    * This next class defines the actions taken for the
    * Options menu. They could be defined in the OptionsEditor
@@ -283,7 +498,7 @@ public class WarpController {
           /* The input file name was updated by the options editor */
           inputFileEditor.openFile(warpOptions.getInputFileName());
         }
-        warp.reset();
+        resetWarp();
       }
 
     }
@@ -372,7 +587,7 @@ public class WarpController {
           warpOptions.setCurrentDirectory(file.getParent());
           warpOptions.setInputFile(file.getName());
           editor.openFile(file);
-          warp.reset(); 
+          resetWarp();
         } else {
           /* if the file doesn't exist, then show an error message */
           JOptionPane.showMessageDialog(frame, "File " + file.getName() + " does not exist!");
@@ -424,7 +639,7 @@ public class WarpController {
         editor.saveFile(file);
         warpOptions.setCurrentDirectory(file.getParent());
         warpOptions.setInputFile(file.getName());
-        warp.reset(); // notifyObservers("Newly Saved and working files is: " + file.getName());
+        resetWarp(); // notifyObservers("Newly Saved and working files is: " + file.getName());
       } 
     }
   }
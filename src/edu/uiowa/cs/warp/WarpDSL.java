@@ -18,6 +18,8 @@ import org.antlr.v4.runtime.tree.*;
 public class WarpDSL {
     
 	private static final String UNKNOWN = "unknown";
+	private static final String PARSES = "dsl.parses";
+	private static final String PARSE_TIMER = "dsl.parse";
 	public static final String UNUSED = "unused";
 	public static final String PUSH = "push";
 	
@@ -92,11 +94,33 @@ public class WarpDSL {
 	
 	}
 
+	private final Metrics.Counter parses;
+	private final Metrics.Timer parseTimer;
+
+	/**
+	 * Creates a parser of instructions that doesn't record metrics.
+	 */
+	public WarpDSL() {
+		this(Metrics.DISABLED);
+	}
+
+	/**
+	 * Creates a parser of instructions that counts and times each instruction parsed.
+	 * 
+	 * @param metrics recorded to, usually those of the Warp options
+	 */
+	WarpDSL(Metrics metrics) {
+		parses = metrics.counter(PARSES);
+		parseTimer = metrics.timer(PARSE_TIMER);
+	}
+
 	
     public ArrayList<InstructionParameters> getInstructionParameters(String instruction)  {
         
     	ArrayList<InstructionParameters> instructionParametersArrayList;
     	var dsl = new ListenerDsl();
+    	parses.increment();
+    	var start = parseTimer.start();
         // Read input file and build AST of graph
         try {
         	CharStream inputInstruction = CharStreams.fromString(instruction);
@@ -111,6 +135,7 @@ public class WarpDSL {
         	System.err.println("Unable to parse instruction instruction from the schedule entry:" + e.getMessage());
         }
         instructionParametersArrayList = dsl.getInstructionParameters();
+        parseTimer.stop(start);
         return instructionParametersArrayList;
     }
 
@@ -1,5 +1,7 @@
 package edu.uiowa.cs.warp;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @author sgoddard
  * @version 2.0 Spring 2025
@@ -11,6 +13,10 @@ public interface WarpInterface extends SystemAttributes {
    * created to be null.
    */
   public void reset();
+
+  public void reset(Options options); // resets with a copy of the options
+
+  public void cancel(); // stops the program and analyses being built
   
   public WorkLoad getWorkload();
 
@@ -25,6 +31,22 @@ public interface WarpInterface extends SystemAttributes {
   public ChannelAnalysis getChannelAnalysis();
 
   public ExecutionAnalysis getExecutionAnalysis();
+
+  public AdmissionCheck getAdmissionCheck(); // checks the workload before it is scheduled
+
+  public CompletableFuture<Program> getProgramAsync(); // builds the program in the background
+
+  public CompletableFuture<ReliabilityAnalysis> getReliabilityAnalysisAsync();
+
+  public CompletableFuture<LatencyAnalysis> getLatencyAnalysisAsync();
+
+  public CompletableFuture<ChannelAnalysis> getChannelAnalysisAsync();
+
+  public CompletableFuture<ExecutionAnalysis> getExecutionAnalysisAsync();
+
+  public CompletableFuture<Void> analyzeAsync(); // builds all of the analyses in parallel
+
+  public CompletableFuture<Void> verificationAsync(); // builds what verification checks
   
   public void toSensorNetwork(); // deploys code to the network
 
@@ -14,6 +14,10 @@ public class WarpPoset extends Poset {
 	WarpPoset(WorkLoad workload) {
 		super(workload);
 	}
+
+	WarpPoset(WorkLoad workload, Budget budget) {
+		super(workload, budget);
+	}
 	
 	/**
 	 *
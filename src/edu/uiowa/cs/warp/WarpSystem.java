@@ -1,19 +1,34 @@
 package edu.uiowa.cs.warp;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 /**
  * Warp System.
+ * <p>
+ * The program and its analyses are built on demand, once, and are kept as futures so that the
+ * analyses, which only read the program, can be built in parallel once the program is built. The
+ * accessors are synchronized, so a program or analysis requested by several threads at once is
+ * still only built once.
+ * <p>
+ * Each program shares a Budget with its analyses, whose time starts when the program is first
+ * requested, and which cancel() uses to stop the work in progress.
  * 
  * @author sgoddard
  * @version 2.0 Fall 2025
  */
 public class WarpSystem implements WarpInterface {
 
-  private Program program;
+  private CompletableFuture<Program> program;
+  private Budget budget; // of the program and its analyses
   private WorkLoad workLoad;
-  private ReliabilityAnalysis ra;
-  private LatencyAnalysis la;
-  private ChannelAnalysis ca;
-  private ExecutionAnalysis ea;
+  private WorkLoadSnapshot snapshot; // parsed workload from which new workloads are forked
+  private CompletableFuture<ReliabilityAnalysis> ra;
+  private CompletableFuture<LatencyAnalysis> la;
+  private CompletableFuture<ChannelAnalysis> ca;
+  private CompletableFuture<ExecutionAnalysis> ea;
+  private SimulatorInput simulatorInput;
+  private AdmissionCheck admissionCheck;
   private Options warpOptions;
   private FaultModel faultModel;
 
@@ -34,6 +49,7 @@ public class WarpSystem implements WarpInterface {
   public WarpSystem(WorkLoad workLoad) {
     this.warpOptions = workLoad.getOptions();
     this.workLoad = workLoad;
+    this.snapshot = WorkLoadSnapshot.of(workLoad);
     initializeSystem();
   }
 
@@ -43,28 +59,64 @@ public class WarpSystem implements WarpInterface {
   private void initializeSystem() {
     faultModel = warpOptions.getFaultModel();
     program = null;
+    budget = null;
     ra = null;
     la = null;
     ca = null;
     ea = null;
+    simulatorInput = null;
+    admissionCheck = null;
   }
 
   /** 
    * Reset the warp objects that were previously
    * created to their initial states using the 
-   * current option settings.
+   * current option settings. The input file is only
+   * read and parsed again if it was changed.
    */
   @Override
-  public void reset() {
-    workLoad = new WorkLoad(warpOptions);
+  public synchronized void reset() {
+    if (snapshot.isCurrent(warpOptions)) {
+      workLoad = snapshot.toWorkLoad(warpOptions);
+    } else {
+      workLoad = new WorkLoad(warpOptions);
+      snapshot = WorkLoadSnapshot.of(workLoad);
+    }
     initializeSystem();
   }
 
+  /**
+   * Resets the system, as reset() does, with a copy of the options given. The system keeps the
+   * copy, so the options given can go on being edited, such as by the Gui, while the system
+   * reads its copy on another thread.
+   *
+   * @param options to be used from now on
+   */
+  @Override
+  public synchronized void reset(Options options) {
+    warpOptions = new Options(options);
+    reset();
+  }
+
+  /**
+   * Cancels the program and analyses being built, which then fail with a
+   * BudgetExceededException. They are built again, from a new copy of the parsed workload, the
+   * next time they are requested.
+   */
+  @Override
+  public synchronized void cancel() {
+    if (budget != null) {
+      budget.cancel();
+      workLoad = snapshot.toWorkLoad(warpOptions); // the cancelled program changed the workload
+      initializeSystem();
+    }
+  }
+
   /**
    * Returns the system WorkLoad object.
    */
   @Override
-  public WorkLoad getWorkload() {
+  public synchronized WorkLoad getWorkload() {
     return workLoad;
   }
 
@@ -73,7 +125,21 @@ public class WarpSystem implements WarpInterface {
    */
   @Override
   public Program getProgram() {
-    ensureProgramExists();
+    return join(getProgramAsync());
+  }
+
+  /**
+   * Returns the program that schedules flow transmissions, which is built in the background the
+   * first time it is requested.
+   */
+  @Override
+  public synchronized CompletableFuture<Program> getProgramAsync() {
+    if (program == null) {
+      var scheduled = workLoad; // a reset doesn't change the workload of a program being built
+      var programBudget = new Budget(warpOptions);
+      budget = programBudget;
+      program = CompletableFuture.supplyAsync(() -> buildProgram(scheduled, programBudget));
+    }
     return program;
   }
 
@@ -84,18 +150,29 @@ public class WarpSystem implements WarpInterface {
    */
   @Override
   public ReliabilityAnalysis getReliabilityAnalysis() {
+    return join(getReliabilityAnalysisAsync());
+  }
+
+  /**
+   * Returns the reliability analysis, which is built once the program is built.
+   */
+  @Override
+  public synchronized CompletableFuture<ReliabilityAnalysis> getReliabilityAnalysisAsync() {
     if (ra == null) {
-      ra = new ReliabilityAnalysis(this);
+      ra = getProgramAsync().thenApplyAsync(ReliabilityAnalysis::new);
     }
     return ra;
   }
 
   /**
-   * Sends the warp system to the simulator.
+   * Returns the program compiled for the simulator.
    */
   @Override
-  public SimulatorInput toSimulator() {
-    return null;
+  public synchronized SimulatorInput toSimulator() {
+    if (simulatorInput == null) {
+      simulatorInput = new SimulatorInput(getProgram());
+    }
+    return simulatorInput;
   }
 
   /**
@@ -103,8 +180,16 @@ public class WarpSystem implements WarpInterface {
    */
   @Override
   public LatencyAnalysis getLatencyAnalysis() {
+    return join(getLatencyAnalysisAsync());
+  }
+
+  /**
+   * Returns the latency analysis, which is built once the program is built.
+   */
+  @Override
+  public synchronized CompletableFuture<LatencyAnalysis> getLatencyAnalysisAsync() {
     if (la == null) {
-      la = new LatencyAnalysis(this);
+      la = getProgramAsync().thenApplyAsync(LatencyAnalysis::new);
     }
     return la;
   }
@@ -114,8 +199,16 @@ public class WarpSystem implements WarpInterface {
    */
   @Override
   public ChannelAnalysis getChannelAnalysis() {
+    return join(getChannelAnalysisAsync());
+  }
+
+  /**
+   * Returns the channel analysis, which is built once the program is built.
+   */
+  @Override
+  public synchronized CompletableFuture<ChannelAnalysis> getChannelAnalysisAsync() {
     if (ca == null) {
-      ca = new ChannelAnalysis(this);
+      ca = getProgramAsync().thenApplyAsync(ChannelAnalysis::new);
     }
     return ca;
   }
@@ -125,22 +218,57 @@ public class WarpSystem implements WarpInterface {
    */
   @Override
   public ExecutionAnalysis getExecutionAnalysis() {
+    return join(getExecutionAnalysisAsync());
+  }
+
+  /**
+   * Returns the execution analysis, which is built once the program is built.
+   */
+  @Override
+  public synchronized CompletableFuture<ExecutionAnalysis> getExecutionAnalysisAsync() {
     if (ea == null) {
-      ea = new ExecutionAnalysis(this);
+      ea = getProgramAsync().thenApplyAsync(ExecutionAnalysis::new);
     }
     return ea;
   }
 
+  /**
+   * Returns a future that completes when the program and all of its analyses, including the
+   * latency distributions, are built. The analyses are built in parallel.
+   */
+  @Override
+  public CompletableFuture<Void> analyzeAsync() {
+    return CompletableFuture.allOf(getReliabilityAnalysisAsync(),
+        getLatencyAnalysisAsync().thenAcceptAsync(LatencyAnalysis::getLatencyDistributions),
+        getChannelAnalysisAsync(), getExecutionAnalysisAsync());
+  }
+
+  /**
+   * Returns a future that completes when the program and the analyses that the performance
+   * requirements are verified with are built, which is the one point verification waits at.
+   */
+  @Override
+  public CompletableFuture<Void> verificationAsync() {
+    return CompletableFuture.allOf(getReliabilityAnalysisAsync(), getChannelAnalysisAsync());
+  }
+
+  /**
+   * Returns the admission check of the workload, which doesn't build the program.
+   */
+  @Override
+  public synchronized AdmissionCheck getAdmissionCheck() {
+    if (admissionCheck == null) {
+      admissionCheck = new AdmissionCheck(workLoad);
+    }
+    return admissionCheck;
+  }
+
   /**
    * Returns True if the end-to-end reliability metrics are met every flow.
    */
   @Override
   public Boolean reliabilitiesMet() {
-    if (ra == null) {
-      ensureProgramExists();
-      ra = new ReliabilityAnalysis(this);
-    }
-    return ra.verifyReliabilities();
+    return getReliabilityAnalysis().verifyReliabilities();
   }
 
   /**
@@ -149,8 +277,7 @@ public class WarpSystem implements WarpInterface {
   @Override
   public Boolean deadlinesMet() {
     Boolean result = true;
-    ensureProgramExists();
-    if (program.deadlineMisses().size() > 0) {
+    if (getProgram().deadlineMisses().size() > 0) {
       result = false;
     }
     return result;
@@ -242,12 +369,31 @@ public class WarpSystem implements WarpInterface {
   }
 
   /**
-   * Called to ensure the program has been built before any analysis on it
-   * is performed.
+   * Builds the program of the workload, reusing a program built before for the same workload and
+   * options when the cache is requested.
    */
-  private void ensureProgramExists () {
-    if (program == null) {
-      program = new Program(workLoad);
+  private Program buildProgram(WorkLoad workLoad, Budget budget) {
+    if (warpOptions.cacheRequested()) {
+      return new ProgramCache(warpOptions).getProgram(workLoad, budget);
+    }
+    return new Program(workLoad, budget);
+  }
+
+  /**
+   * Waits for the future, and throws what it failed with as it would have been thrown had the
+   * value been built on this thread.
+   */
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw e;
     }
   }
 
@@ -0,0 +1,158 @@
+package edu.uiowa.cs.warp;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import edu.uiowa.cs.warp.Visualizable.WorkLoadVisualizations;
+
+/**
+ * Keeps Warp running after its output files are created, and regenerates the output files
+ * affected when the input file changes. The FileManager registers the input file with a
+ * WatchService. Changes are debounced, so an editor that saves a file in several writes causes
+ * one update, and then the file is parsed again and compared with the workload it was before:
+ * <ul>
+ * <li>If the flows, nodes, or their parameters changed, for example a flow's period, the
+ * program is built again and all of the requested output files are created.</li>
+ * <li>If only the layout of the file changed, the workload is the same, so only the echo of the
+ * input file (.wld) is written again.</li>
+ * <li>If the contents are the same, nothing is written.</li>
+ * </ul>
+ * The watch loop runs on the calling thread and the files are created as Warp.main() creates
+ * them, so at most -j threads write files. The FileManager writes each file to a temporary file
+ * that replaces it, so other programs reading the output files never see a partly written file.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class WarpWatcher {
+
+  /** How the input file changed. */
+  enum Change {
+    NONE, INPUT_TEXT, WORKLOAD
+  }
+
+  private static final Long DEBOUNCE_MILLIS = 250L; // quiet time after the last change
+
+  private final Options options;
+  private final Consumer<WorkLoad> createFiles;
+  private final Path inputFile;
+  private String contents;
+  private WorkLoadSnapshot snapshot;
+
+  /**
+   * Creates a watcher of the input file from which the workload was read.
+   *
+   * @param options for the Warp System
+   * @param workLoad read from the input file, for which the output files were created
+   * @param createFiles creates all of the requested output files for a workload
+   */
+  WarpWatcher(Options options, WorkLoad workLoad, Consumer<WorkLoad> createFiles) {
+    this.options = options;
+    this.createFiles = createFiles;
+    var fm = options.getFileManager();
+    this.inputFile = Path.of(fm.getGraphFileName());
+    this.contents = fm.readGraphFile(inputFile.toString());
+    this.snapshot = WorkLoadSnapshot.of(workLoad);
+  }
+
+  /**
+   * Watches the input file and updates the output files each time it changes, until the thread
+   * is interrupted or the program is stopped.
+   */
+  void run() {
+    var fileName = inputFile.getFileName();
+    try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+      options.getFileManager().watchGraphFile(watcher);
+      System.out.printf("Watching %s for changes. Press Ctrl-C to stop.\n", inputFile);
+      while (true) {
+        if (!inputFileChanged(watcher.take(), fileName)) {
+          continue; // another file in the directory changed, such as an output file
+        }
+        /* wait until the file hasn't changed for DEBOUNCE_MILLIS */
+        WatchKey key;
+        while ((key = watcher.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+          inputFileChanged(key, fileName);
+        }
+        update();
+      }
+    } catch (IOException e) {
+      System.err.println("ERROR: Unable to watch " + inputFile + ": " + e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Reads the input file again and creates the output files affected by the change.
+   *
+   * @return how the input file changed
+   */
+  Change update() {
+    if (!Files.exists(inputFile)) {
+      return Change.NONE; // being replaced, so the file will change again
+    }
+    var fm = options.getFileManager();
+    var newContents = fm.readGraphFile(inputFile.toString());
+    WorkLoad workLoad;
+    try {
+      workLoad = new WorkLoad(options);
+    } catch (RuntimeException e) {
+      System.err.printf("ERROR: Unable to read %s: %s\n", inputFile, e);
+      return Change.NONE;
+    }
+    var newSnapshot = WorkLoadSnapshot.of(workLoad);
+    var change = changeOf(contents, snapshot, newContents, newSnapshot);
+    switch (change) {
+      case WORKLOAD:
+        System.out.printf("%s changed, creating the output files.\n", inputFile);
+        createFiles.accept(workLoad);
+        break;
+      case INPUT_TEXT:
+        System.out.printf("%s changed, but not its workload.\n", inputFile);
+        VisualizationFactory.createVisualization(workLoad, WorkLoadVisualizations.INPUT_GRAPH);
+        break;
+      default:
+        break; // saved without changes
+    }
+    contents = newContents;
+    snapshot = newSnapshot;
+    return change;
+  }
+
+  /**
+   * Compares the input file and its workload with what they were before.
+   *
+   * @param previousContents of the input file before it changed
+   * @param previous workload before the input file changed
+   * @param contents of the input file
+   * @param next workload read from the input file
+   * @return how the input file changed
+   */
+  static Change changeOf(String previousContents, WorkLoadSnapshot previous, String contents,
+      WorkLoadSnapshot next) {
+    if (!next.describesSameWorkLoad(previous)) {
+      return Change.WORKLOAD;
+    }
+    if (!contents.equals(previousContents)) {
+      return Change.INPUT_TEXT;
+    }
+    return Change.NONE;
+  }
+
+  /* consumes the events of the key, and returns true if one may be for the input file */
+  private static Boolean inputFileChanged(WatchKey key, Path fileName) {
+    var changed = false;
+    for (var event : key.pollEvents()) {
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+        changed = true;
+      }
+    }
+    key.reset();
+    return changed;
+  }
+}
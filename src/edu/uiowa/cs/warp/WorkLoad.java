@@ -1,6 +1,8 @@
 package edu.uiowa.cs.warp;
 
 import edu.uiowa.cs.utilities.Utilities;
+import java.io.IOException;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -26,6 +28,8 @@ public class WorkLoad implements ReliabilityParameters {
   private static final Integer DEFAULT_TX_NUM = 0;
   private static final String FLOW_WARNING =
       "\n\tWarning! Bad situation: " + "Flow %s doesn't exist but trying to ";
+  private static final String PARSE_TIMER = "workload.parse";
+  private static final String TX_COST_TIMER = "workload.txCost";
 
   private Integer numFaults = 0;
   private Double minPacketReceptionRate = 0.0;
@@ -55,11 +59,99 @@ public class WorkLoad implements ReliabilityParameters {
     e2e = warpOptions.getE2E(); 
     numFaults = warpOptions.getNumFaults();
     faultModel = warpOptions.getFaultModel();
-    /*
-     * Read input file, build the AST of graph and the listener will build the node and flow data
-     * objects
-     */
-    WorkLoadListener.buildNodesAndFlows(this);
+    var parseTimer = warpOptions.getMetrics().timer(PARSE_TIMER);
+    var start = parseTimer.start();
+    var inputFile = warpOptions.getInputFileName();
+    if (warpOptions.getFileManager().isBinaryWorkLoadFile(inputFile)) {
+      /* binary workload file: no parsing, and costs are only recomputed if parameters differ */
+      buildNodesAndFlowsFromBinaryFile(inputFile);
+    } else if (WorkLoadStreamReader.shouldStream(inputFile)) {
+      /* very large input file: build the node and flow data objects while reading it */
+      WorkLoadStreamReader.buildNodesAndFlows(this);
+    } else {
+      /*
+       * Read input file, build the AST of graph (unless this file was already parsed) and the
+       * listener will build the node and flow data objects
+       */
+      WorkLoadListener.buildNodesAndFlows(this);
+    }
+    parseTimer.stop(start); // includes the transmission costs computed as each flow is read
+  }
+
+  /**
+   * Constructs a new WorkLoad object by streaming the graph description from a Reader.
+   * 
+   * The nodes and flows are built as the description is read, so neither the description nor
+   * a parse tree of it is held in memory. The input file named in options is not read.
+   * 
+   * @param options the Warp options used to configure the workload
+   * @param reader of the graph description, in the WARP input grammar
+   */
+  WorkLoad (Options options, Reader reader) {
+    setDefaultParameters();
+    warpOptions = new Options(options);
+    minPacketReceptionRate = warpOptions.getMinPacketReceptionRate();
+    e2e = warpOptions.getE2E();
+    numFaults = warpOptions.getNumFaults();
+    faultModel = warpOptions.getFaultModel();
+    WorkLoadStreamReader.buildNodesAndFlows(this, reader);
+  }
+
+  /**
+   * Constructs a new WorkLoad object from a previously parsed WorkLoadSnapshot.
+   * 
+   * The input graph file is not read. The flows and nodes are copied from the snapshot,
+   * while the reliability parameters and scheduler come from the options provided.
+   * 
+   * @param options the Warp options used to configure the workload
+   * @param snapshot of the parsed workload
+   */
+  WorkLoad (Options options, WorkLoadSnapshot snapshot) {
+    setDefaultParameters();
+    warpOptions = new Options(options);
+    minPacketReceptionRate = warpOptions.getMinPacketReceptionRate(); 
+    e2e = warpOptions.getE2E(); 
+    numFaults = warpOptions.getNumFaults();
+    faultModel = warpOptions.getFaultModel();
+    snapshot.populate(this);
+  }
+
+  /**
+   * Constructs a new synthetic WorkLoad object using a WorkLoadGenerator.
+   *
+   * No input graph file is read. The flows and nodes are created by the generator, while the
+   * reliability parameters and scheduler come from the options provided.
+   *
+   * @param options the Warp options used to configure the workload
+   * @param generator of the synthetic flows and nodes
+   */
+  WorkLoad (Options options, WorkLoadGenerator generator) {
+    setDefaultParameters();
+    warpOptions = new Options(options);
+    minPacketReceptionRate = warpOptions.getMinPacketReceptionRate();
+    e2e = warpOptions.getE2E();
+    numFaults = warpOptions.getNumFaults();
+    faultModel = warpOptions.getFaultModel();
+    generator.populate(this);
+  }
+
+  private void buildNodesAndFlowsFromBinaryFile(String inputFile) {
+    try {
+      WorkLoadBinaryFile.read(inputFile).populate(this);
+    } catch (IOException e) {
+      System.err.println("ERROR: Unable to read binary workload file " + inputFile + ": "
+          + e.getMessage());
+    }
+  }
+
+  /**
+   * Writes this workload, including the transmission costs computed for each flow, to a binary
+   * workload (.wldb) file that can later be used as the input file.
+   * 
+   * @param fileName of the binary workload file
+   */
+  public void writeBinaryFile(String fileName) {
+    WorkLoadBinaryFile.write(this, fileName);
   }
 
   private void setDefaultParameters() {
@@ -237,14 +329,23 @@ public class WorkLoad implements ReliabilityParameters {
     flowNamesInOriginalOrder.add(flowName);
   }
 
-  public void addNodeToFlow(String flowName, String nodeName) {
-    if (!nodes.containsKey(nodeName)) { // create the node and add it to nodes if map doesn't have
-      // this node already.
-      /* If the node already exists, just need to add to the flow */
+  /**
+   * Adds a node to the nodes map if the map doesn't have this node already. The node index
+   * is the order in which it was added.
+   * 
+   * @param nodeName the name of the node
+   */
+  public void addNode(String nodeName) {
+    if (!nodes.containsKey(nodeName)) {
       var index = nodes.size(); // nodeIndex will be the order added
       var graphNode = new Node(nodeName, DEFAULT_PRIORITY, index); // create a new graph node
       nodes.put(nodeName, graphNode); // add it to the map of nodes
     }
+  }
+
+  public void addNodeToFlow(String flowName, String nodeName) {
+    /* If the node already exists, just need to add to the flow */
+    addNode(nodeName);
     /*
      * Node is now created and in the nodes map Next we need to get the current flow and add this
      * node to that flow by appending it to the node array for that flow
@@ -409,25 +510,28 @@ public class WorkLoad implements ReliabilityParameters {
   }
 
   public void finalizeCurrentFlow(String flowName) {
+    var txCostTimer = warpOptions.getMetrics().timer(TX_COST_TIMER);
+    var start = txCostTimer.start();
     if (faultModel.equals(FaultModel.FIXED)) {
       finalizeFlowWithFixedFaultTolerance(flowName);
     } else {
       finalizeFlowWithE2eParameters(flowName);
     }
+    txCostTimer.stop(start);
   }
 
+  /*
+   * The release times and deadlines are computed without changing the flow, so the analyses and
+   * the simulator input can compute them concurrently.
+   */
   public Integer nextReleaseTime(String flowName, Integer currentTime) {
     var flow = getFlow(flowName);
-    flow.setLastUpdateTime(currentTime);
-    flow.setNextReleaseTime(currentTime);
-    return flow.getReleaseTime(); // next release Time at or after currentTime
+    return flow.getNextReleaseTime(currentTime); // next release Time at or after currentTime
   }
 
   public Integer nextAbsoluteDeadline(String flowName, Integer currentTime) {
     var flow = getFlow(flowName);
-    flow.setLastUpdateTime(currentTime);
-    flow.setNextReleaseTime(currentTime);
-    return flow.getReleaseTime() + flow.getDeadline(); // next deadline after currentTime
+    return flow.getNextReleaseTime(currentTime) + flow.getDeadline(); // next deadline
   }
 
   private void finalizeFlowWithE2eParameters(String flowName) {
@@ -751,9 +855,8 @@ public class WorkLoad implements ReliabilityParameters {
   }
 
   public String getInputGraph() {
-    FileManager fm = warpOptions.getFileManager();
-    String inputGraphString = fm.readGraphFile(warpOptions.getInputFileName());
-    return inputGraphString;
+    /* just the contents, so the file isn't parsed or kept in the InputGraph cache */
+    return warpOptions.getFileManager().readGraphFile(warpOptions.getInputFileName());
   }
   
   /* This is a helper method for sorting flows in main
@@ -0,0 +1,281 @@
+package edu.uiowa.cs.warp;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import edu.uiowa.cs.warp.ReliabilityParameters.FaultModel;
+import edu.uiowa.cs.warp.WorkLoadSnapshot.FlowDescription;
+
+/**
+ * Reads and writes the binary workload (.wldb) format. A binary workload file holds a finalized
+ * workload: the flows with their priority, period, deadline, phase, and node order, the node
+ * order, and the transmission costs (linkTxAndTotalCost) computed for each flow, together with
+ * the M, E2E, and fault parameters under which the costs were computed. Loading it needs neither
+ * ANTLR nor the reliability computation, unless the workload is loaded with different
+ * reliability parameters, in which case the costs are recomputed.
+ * <p>
+ * All numbers are big-endian. The file starts with a fixed size header, followed by fixed width
+ * sections of 4 byte integers, and ends with the string data. Every name is stored once, in the
+ * string table, and referred to by its index, so the file can be memory-mapped and each section
+ * located from the counts in the header:
+ *
+ * <pre>
+ *   header       64 bytes: magic "WLDB", version, M, E2E, numFaults, fault model (string),
+ *                graph name (string), and the number of strings, nodes, flows, flow nodes,
+ *                costs, and bytes of string data
+ *   string table numStrings x (offset, length) of each string in the string data
+ *   nodes        numNodes x string, ordered by node index
+ *   flows        numFlows x (name, priority, period, deadline, phase, numTxPerLink,
+ *                first flow node, number of nodes, first cost, number of costs)
+ *   flow nodes   numFlowNodes x string, the nodes of each flow in order
+ *   costs        numCosts x linkTxAndTotalCost entry
+ *   string data  UTF-8 bytes
+ * </pre>
+ *
+ * @version 2.0 Fall 2025
+ */
+final class WorkLoadBinaryFile {
+
+  static final String SUFFIX = ".wldb";
+
+  private static final byte[] MAGIC = {'W', 'L', 'D', 'B'};
+  private static final int VERSION = 1;
+  private static final int HEADER_BYTES = 64;
+  private static final int STRING_ENTRY_INTS = 2;
+  private static final int FLOW_RECORD_INTS = 10;
+
+  private WorkLoadBinaryFile() {}
+
+  /**
+   * Returns true if the file starts with the binary workload file signature.
+   *
+   * @param fileName of the file to check
+   * @return true if the file is a binary workload file
+   */
+  static Boolean isBinaryFile(String fileName) {
+    if (fileName == null || !Files.isRegularFile(Path.of(fileName))) {
+      return false;
+    }
+    try (InputStream in = Files.newInputStream(Path.of(fileName))) {
+      return Arrays.equals(MAGIC, in.readNBytes(MAGIC.length));
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Writes the finalized workload to a binary workload file.
+   *
+   * @param workLoad to be written
+   * @param fileName of the binary workload file
+   */
+  static void write(WorkLoad workLoad, String fileName) {
+    write(WorkLoadSnapshot.of(workLoad), fileName);
+  }
+
+  /**
+   * Writes the workload snapshot to a binary workload file.
+   *
+   * @param snapshot to be written
+   * @param fileName of the binary workload file
+   */
+  static void write(WorkLoadSnapshot snapshot, String fileName) {
+    var strings = new ArrayList<String>();
+    var stringIndex = new HashMap<String, Integer>();
+    var faultModel = intern(snapshot.getFaultModel().name(), strings, stringIndex);
+    var graphName = intern(snapshot.getName(), strings, stringIndex);
+    var numFlowNodes = 0;
+    var numCosts = 0;
+    for (FlowDescription flow : snapshot.getFlows()) {
+      intern(flow.name, strings, stringIndex);
+      numFlowNodes += flow.nodeNames.size();
+      numCosts += flow.linkTxAndTotalCost.size();
+    }
+    for (String nodeName : snapshot.getNodeNames()) {
+      intern(nodeName, strings, stringIndex);
+    }
+    var stringBytes = new ArrayList<byte[]>(strings.size());
+    var numStringBytes = 0;
+    for (String string : strings) {
+      var bytes = string.getBytes(StandardCharsets.UTF_8);
+      stringBytes.add(bytes);
+      numStringBytes += bytes.length;
+    }
+    var numNodes = snapshot.getNodeNames().size();
+    var numFlows = snapshot.getFlows().size();
+    var size = HEADER_BYTES + Integer.BYTES * (strings.size() * STRING_ENTRY_INTS + numNodes
+        + numFlows * FLOW_RECORD_INTS + numFlowNodes + numCosts) + numStringBytes;
+    var buffer = ByteBuffer.allocate(size);
+
+    /* header */
+    buffer.put(MAGIC);
+    buffer.putInt(VERSION);
+    buffer.putDouble(snapshot.getMinPacketReceptionRate());
+    buffer.putDouble(snapshot.getE2E());
+    buffer.putInt(snapshot.getNumFaults());
+    buffer.putInt(faultModel);
+    buffer.putInt(graphName);
+    buffer.putInt(strings.size());
+    buffer.putInt(numNodes);
+    buffer.putInt(numFlows);
+    buffer.putInt(numFlowNodes);
+    buffer.putInt(numCosts);
+    buffer.putInt(numStringBytes);
+    buffer.position(HEADER_BYTES);
+    /* string table */
+    var offset = 0;
+    for (byte[] bytes : stringBytes) {
+      buffer.putInt(offset);
+      buffer.putInt(bytes.length);
+      offset += bytes.length;
+    }
+    /* nodes */
+    for (String nodeName : snapshot.getNodeNames()) {
+      buffer.putInt(stringIndex.get(nodeName));
+    }
+    /* flows */
+    var firstNode = 0;
+    var firstCost = 0;
+    for (FlowDescription flow : snapshot.getFlows()) {
+      buffer.putInt(stringIndex.get(flow.name));
+      buffer.putInt(flow.priority);
+      buffer.putInt(flow.period);
+      buffer.putInt(flow.deadline);
+      buffer.putInt(flow.phase);
+      buffer.putInt(flow.numTxPerLink);
+      buffer.putInt(firstNode);
+      buffer.putInt(flow.nodeNames.size());
+      buffer.putInt(firstCost);
+      buffer.putInt(flow.linkTxAndTotalCost.size());
+      firstNode += flow.nodeNames.size();
+      firstCost += flow.linkTxAndTotalCost.size();
+    }
+    /* flow nodes */
+    for (FlowDescription flow : snapshot.getFlows()) {
+      for (String nodeName : flow.nodeNames) {
+        buffer.putInt(stringIndex.get(nodeName));
+      }
+    }
+    /* costs */
+    for (FlowDescription flow : snapshot.getFlows()) {
+      for (Integer cost : flow.linkTxAndTotalCost) {
+        buffer.putInt(cost);
+      }
+    }
+    /* string data */
+    for (byte[] bytes : stringBytes) {
+      buffer.put(bytes);
+    }
+    try {
+      Files.write(Path.of(fileName), buffer.array());
+    } catch (IOException e) {
+      System.err.println("Error on writing file contents to file" + fileName + ": "
+          + e.getMessage());
+    }
+  }
+
+  /**
+   * Reads a binary workload file by memory-mapping it.
+   *
+   * @param fileName of the binary workload file
+   * @return a snapshot of the workload, from which WorkLoad objects can be created
+   * @throws IOException if the file can't be read or is not a valid binary workload file
+   */
+  static WorkLoadSnapshot read(String fileName) throws IOException {
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (buffer.limit() < HEADER_BYTES) {
+      throw new IOException(fileName + " is too short to be a binary workload file");
+    }
+    var magic = new byte[MAGIC.length];
+    buffer.get(magic);
+    if (!Arrays.equals(MAGIC, magic)) {
+      throw new IOException(fileName + " is not a binary workload file");
+    }
+    var version = buffer.getInt();
+    if (version != VERSION) {
+      throw new IOException(
+          String.format("%s has unsupported binary workload version %d", fileName, version));
+    }
+    var m = buffer.getDouble();
+    var e2e = buffer.getDouble();
+    var numFaults = buffer.getInt();
+    var faultModelIndex = buffer.getInt();
+    var graphNameIndex = buffer.getInt();
+    var numStrings = buffer.getInt();
+    var numNodes = buffer.getInt();
+    var numFlows = buffer.getInt();
+    var numFlowNodes = buffer.getInt();
+    var numCosts = buffer.getInt();
+    var numStringBytes = buffer.getInt();
+
+    /* locate each section from the counts in the header */
+    var stringTable = HEADER_BYTES;
+    var nodeSection = stringTable + Integer.BYTES * numStrings * STRING_ENTRY_INTS;
+    var flowSection = nodeSection + Integer.BYTES * numNodes;
+    var flowNodeSection = flowSection + Integer.BYTES * numFlows * FLOW_RECORD_INTS;
+    var costSection = flowNodeSection + Integer.BYTES * numFlowNodes;
+    var stringData = costSection + Integer.BYTES * numCosts;
+    if (stringData + numStringBytes != buffer.limit()) {
+      throw new IOException(fileName + " is truncated or corrupt");
+    }
+
+    var strings = new String[numStrings];
+    var bytes = new byte[0];
+    for (int i = 0; i < numStrings; i++) {
+      var entry = stringTable + Integer.BYTES * i * STRING_ENTRY_INTS;
+      var length = buffer.getInt(entry + Integer.BYTES);
+      if (bytes.length < length) {
+        bytes = new byte[length];
+      }
+      buffer.get(stringData + buffer.getInt(entry), bytes, 0, length);
+      strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+    var nodeNames = new ArrayList<String>(numNodes);
+    for (int i = 0; i < numNodes; i++) {
+      nodeNames.add(strings[buffer.getInt(nodeSection + Integer.BYTES * i)]);
+    }
+    var flows = new ArrayList<FlowDescription>(numFlows);
+    for (int i = 0; i < numFlows; i++) {
+      var record = flowSection + Integer.BYTES * i * FLOW_RECORD_INTS;
+      var field = new int[FLOW_RECORD_INTS];
+      for (int j = 0; j < FLOW_RECORD_INTS; j++) {
+        field[j] = buffer.getInt(record + Integer.BYTES * j);
+      }
+      List<String> flowNodes = new ArrayList<String>(field[7]);
+      for (int j = 0; j < field[7]; j++) {
+        flowNodes.add(strings[buffer.getInt(flowNodeSection + Integer.BYTES * (field[6] + j))]);
+      }
+      List<Integer> costs = new ArrayList<Integer>(field[9]);
+      for (int j = 0; j < field[9]; j++) {
+        costs.add(buffer.getInt(costSection + Integer.BYTES * (field[8] + j)));
+      }
+      flows.add(new FlowDescription(strings[field[0]], field[1], field[2], field[3], field[4],
+          field[5], flowNodes, costs));
+    }
+    return new WorkLoadSnapshot(strings[graphNameIndex], fileName, m, e2e, numFaults,
+        FaultModel.valueOf(strings[faultModelIndex]), nodeNames, flows);
+  }
+
+  private static Integer intern(String string, List<String> strings,
+      HashMap<String, Integer> stringIndex) {
+    var index = stringIndex.get(string);
+    if (index == null) {
+      index = strings.size();
+      strings.add(string);
+      stringIndex.put(string, index);
+    }
+    return index;
+  }
+}
@@ -0,0 +1,426 @@
+package edu.uiowa.cs.warp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * WorkLoadGenerator builds synthetic workloads for scaling experiments. The workload is described
+ * by the number of nodes and flows, the topology connecting the nodes, the distribution of flow
+ * lengths (in hops), the set of periods from which each flow's period is drawn, whether flows are
+ * given random phases, and a seed. The same parameters and seed always produce the same workload.
+ * <p>
+ * A generated workload can be built directly, using the same WorkLoad methods (addFlow,
+ * addNodeToFlow, setFlowPeriod, ...) that the WorkLoadListener calls when parsing an input file,
+ * or it can be emitted as text in the WARP input grammar and saved as an input file. Both produce
+ * the same flows and nodes.
+ * <p>
+ * Nodes are named N0, N1, ... and flows F0, F1, .... Each flow's route is a random walk over the
+ * topology that never visits a node twice. Flow i has priority i, and its deadline equals its
+ * period. Setters ignore out-of-range values, keeping the current setting, as in Options.
+ *
+ * @version 2.0 Fall 2025
+ */
+public class WorkLoadGenerator {
+
+  /**
+   * The topology connecting the nodes. In the tree based topologies, nodes are attached to a
+   * randomly chosen node that was created earlier.
+   */
+  public enum Topology {
+    /** Nodes N0 - N1 - ... - Nn-1 in a chain. */
+    LINE,
+    /** Nodes in a square grid, each connected to its horizontal and vertical neighbors. */
+    MESH,
+    /** A random tree rooted at the base station N0. */
+    TREE,
+    /** Base stations N0 ... Nb-1 connected in a chain, with random trees hanging off them. */
+    MULTI_BASE_STATION
+  }
+
+  /**
+   * The distribution of the number of hops in each flow, between the minimum and maximum set.
+   */
+  public enum HopDistribution {
+    /** Every flow has the maximum number of hops. */
+    FIXED,
+    /** Each number of hops between the minimum and maximum is equally likely. */
+    UNIFORM,
+    /** Short flows dominate: each hop beyond the minimum is added with probability 1/2. */
+    GEOMETRIC
+  }
+
+  /**
+   * The default set of periods each flow's period is drawn from. Harmonic periods divide each
+   * other, so the hyper-period is the largest period. Co-prime periods share no common factor, so
+   * the hyper-period is their product (124950 for the defaults).
+   */
+  public enum PeriodSet {
+    HARMONIC(50, 100, 200, 400),
+    COPRIME(49, 50, 51);
+
+    private final Integer[] periods;
+
+    PeriodSet(Integer... periods) {
+      this.periods = periods;
+    }
+
+    /**
+     * @return a copy of the periods in this set
+     */
+    public Integer[] getPeriods() {
+      return periods.clone();
+    }
+  }
+
+  private static final String DEFAULT_NAME = "Synthetic";
+  private static final Integer DEFAULT_NUM_NODES = 16;
+  private static final Integer DEFAULT_NUM_FLOWS = 8;
+  private static final Integer DEFAULT_MIN_HOPS = 1;
+  private static final Integer DEFAULT_MAX_HOPS = 4;
+  private static final Integer DEFAULT_NUM_BASE_STATIONS = 2;
+  private static final Integer MAX_ROUTE_ATTEMPTS = 10; // sources tried before accepting a short route
+
+  private String name = DEFAULT_NAME;
+  private Integer numNodes = DEFAULT_NUM_NODES;
+  private Integer numFlows = DEFAULT_NUM_FLOWS;
+  private Integer minHops = DEFAULT_MIN_HOPS;
+  private Integer maxHops = DEFAULT_MAX_HOPS;
+  private Integer numBaseStations = DEFAULT_NUM_BASE_STATIONS;
+  private Topology topology = Topology.TREE;
+  private HopDistribution hopDistribution = HopDistribution.UNIFORM;
+  private Integer[] periods = PeriodSet.HARMONIC.getPeriods();
+  private Boolean randomPhases = false;
+  private Long seed = 0L;
+
+  /**
+   * One generated flow, in WARP input file terms.
+   */
+  private static final class GeneratedFlow {
+    private final String name;
+    private final Integer priority;
+    private final Integer period;
+    private final Integer phase;
+    private final List<String> nodeNames;
+
+    private GeneratedFlow(String name, Integer priority, Integer period, Integer phase,
+        List<String> nodeNames) {
+      this.name = name;
+      this.priority = priority;
+      this.period = period;
+      this.phase = phase;
+      this.nodeNames = nodeNames;
+    }
+  }
+
+  /**
+   * Creates a generator with the default parameters: a 16 node tree carrying 8 flows of 1 to 4
+   * hops with harmonic periods, no phases, and seed 0.
+   */
+  public WorkLoadGenerator() {}
+
+  /**
+   * Builds a new WorkLoad with the generated flows and nodes. No input file is read or written.
+   *
+   * @param options the Warp options (reliability parameters, scheduler, ...) for the workload
+   * @return the synthetic workload
+   */
+  public WorkLoad generate(Options options) {
+    return new WorkLoad(options, this);
+  }
+
+  /**
+   * Adds the generated flows to the (empty) workload, exactly as the WorkLoadListener would when
+   * parsing the text returned by toWarpText(). Called by the WorkLoad constructor used by
+   * generate().
+   *
+   * @param workLoad to be populated
+   */
+  void populate(WorkLoad workLoad) {
+    workLoad.setName(name);
+    for (GeneratedFlow flow : generateFlows()) {
+      workLoad.addFlow(flow.name);
+      workLoad.setFlowPriority(flow.name, flow.priority);
+      workLoad.setFlowPeriod(flow.name, flow.period);
+      workLoad.setFlowDeadline(flow.name, flow.period);
+      workLoad.setFlowPhase(flow.name, flow.phase);
+      for (String nodeName : flow.nodeNames) {
+        workLoad.addNodeToFlow(flow.name, nodeName);
+      }
+      workLoad.finalizeCurrentFlow(flow.name);
+    }
+  }
+
+  /**
+   * Returns the generated workload in the WARP input grammar, ready to be saved as an input file.
+   *
+   * @return the WARP description of the workload
+   */
+  public String toWarpText() {
+    var text = new StringBuilder();
+    text.append(String.format("%s {\n", name));
+    for (GeneratedFlow flow : generateFlows()) {
+      text.append(String.format("%s (%d, %d, %d, %d) : %s\n", flow.name, flow.priority,
+          flow.period, flow.period, flow.phase, String.join(" -> ", flow.nodeNames)));
+    }
+    text.append("}\n");
+    return text.toString();
+  }
+
+  private List<GeneratedFlow> generateFlows() {
+    var random = new Random(seed); // fresh each time, so every call generates the same workload
+    var neighbors = buildTopology(random);
+    var generatedFlows = new ArrayList<GeneratedFlow>(numFlows);
+    for (int i = 0; i < numFlows; i++) {
+      var route = createRoute(neighbors, numHops(random), random);
+      var nodeNames = new ArrayList<String>(route.size());
+      for (Integer node : route) {
+        nodeNames.add("N" + node);
+      }
+      var period = periods[random.nextInt(periods.length)];
+      var phase = randomPhases ? random.nextInt(period) : 0;
+      generatedFlows.add(new GeneratedFlow("F" + i, i, period, phase, nodeNames));
+    }
+    return generatedFlows;
+  }
+
+  /* returns the neighbors of each node, in the order the links were created */
+  private List<List<Integer>> buildTopology(Random random) {
+    var neighbors = new ArrayList<List<Integer>>(numNodes);
+    for (int node = 0; node < numNodes; node++) {
+      neighbors.add(new ArrayList<Integer>());
+    }
+    switch (topology) {
+      case LINE:
+        for (int node = 1; node < numNodes; node++) {
+          link(neighbors, node - 1, node);
+        }
+        break;
+      case MESH:
+        var width = (int) Math.ceil(Math.sqrt(numNodes));
+        for (int node = 1; node < numNodes; node++) {
+          if (node % width != 0) {
+            link(neighbors, node - 1, node); // left neighbor in the same row
+          }
+          if (node >= width) {
+            link(neighbors, node - width, node); // neighbor in the row above
+          }
+        }
+        break;
+      case TREE:
+        for (int node = 1; node < numNodes; node++) {
+          link(neighbors, random.nextInt(node), node);
+        }
+        break;
+      case MULTI_BASE_STATION:
+        var baseStations = Math.min(numBaseStations, numNodes);
+        for (int node = 1; node < baseStations; node++) {
+          link(neighbors, node - 1, node); // backbone connecting the base stations
+        }
+        for (int node = baseStations; node < numNodes; node++) {
+          link(neighbors, random.nextInt(node), node);
+        }
+        break;
+      default:
+        break;
+    }
+    return neighbors;
+  }
+
+  private void link(List<List<Integer>> neighbors, Integer node1, Integer node2) {
+    neighbors.get(node1).add(node2);
+    neighbors.get(node2).add(node1);
+  }
+
+  private Integer numHops(Random random) {
+    var hops = maxHops;
+    switch (hopDistribution) {
+      case UNIFORM:
+        hops = minHops + random.nextInt(maxHops - minHops + 1);
+        break;
+      case GEOMETRIC:
+        hops = minHops;
+        while (hops < maxHops && random.nextBoolean()) {
+          hops++;
+        }
+        break;
+      default:
+        break;
+    }
+    return hops;
+  }
+
+  /*
+   * Walks hops links from a random source without revisiting a node. If the walk reaches a dead
+   * end, another source is tried; after MAX_ROUTE_ATTEMPTS the longest route found is used.
+   */
+  private List<Integer> createRoute(List<List<Integer>> neighbors, Integer hops, Random random) {
+    List<Integer> longest = new ArrayList<Integer>();
+    for (int attempt = 0; attempt < MAX_ROUTE_ATTEMPTS && longest.size() <= hops; attempt++) {
+      var route = new ArrayList<Integer>(hops + 1);
+      var visited = new boolean[numNodes];
+      var node = random.nextInt(numNodes);
+      route.add(node);
+      visited[node] = true;
+      while (route.size() <= hops) {
+        var candidates = new ArrayList<Integer>();
+        for (Integer neighbor : neighbors.get(node)) {
+          if (!visited[neighbor]) {
+            candidates.add(neighbor);
+          }
+        }
+        if (candidates.isEmpty()) {
+          break; // dead end
+        }
+        node = candidates.get(random.nextInt(candidates.size()));
+        route.add(node);
+        visited[node] = true;
+      }
+      if (route.size() > longest.size()) {
+        longest = route;
+      }
+    }
+    return longest;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @param name of the WARP graph; must be a valid WARP name (letters and digits)
+   */
+  public void setName(String name) {
+    if (name != null && name.matches("[A-Za-z][A-Za-z0-9]*")) {
+      this.name = name;
+    }
+  }
+
+  public Integer getNumNodes() {
+    return numNodes;
+  }
+
+  /**
+   * @param numNodes in the network; at least 2 so every flow has at least one link
+   */
+  public void setNumNodes(Integer numNodes) {
+    if (numNodes >= 2) {
+      this.numNodes = numNodes;
+    }
+  }
+
+  public Integer getNumFlows() {
+    return numFlows;
+  }
+
+  public void setNumFlows(Integer numFlows) {
+    if (numFlows >= 0) {
+      this.numFlows = numFlows;
+    }
+  }
+
+  /**
+   * Sets the range of hops in each flow. A flow may be shorter than the minimum when the topology
+   * has no simple path that long from any of the sources tried.
+   *
+   * @param minHops minimum number of links in a flow, at least 1
+   * @param maxHops maximum number of links in a flow, at least minHops
+   */
+  public void setHops(Integer minHops, Integer maxHops) {
+    if (minHops >= 1 && maxHops >= minHops) {
+      this.minHops = minHops;
+      this.maxHops = maxHops;
+    }
+  }
+
+  public Integer getMinHops() {
+    return minHops;
+  }
+
+  public Integer getMaxHops() {
+    return maxHops;
+  }
+
+  public HopDistribution getHopDistribution() {
+    return hopDistribution;
+  }
+
+  public void setHopDistribution(HopDistribution hopDistribution) {
+    if (hopDistribution != null) {
+      this.hopDistribution = hopDistribution;
+    }
+  }
+
+  public Topology getTopology() {
+    return topology;
+  }
+
+  public void setTopology(Topology topology) {
+    if (topology != null) {
+      this.topology = topology;
+    }
+  }
+
+  public Integer getNumBaseStations() {
+    return numBaseStations;
+  }
+
+  /**
+   * @param numBaseStations used by the MULTI_BASE_STATION topology, at least 1
+   */
+  public void setNumBaseStations(Integer numBaseStations) {
+    if (numBaseStations >= 1) {
+      this.numBaseStations = numBaseStations;
+    }
+  }
+
+  /**
+   * @return a copy of the periods each flow's period is drawn from
+   */
+  public Integer[] getPeriods() {
+    return periods.clone();
+  }
+
+  public void setPeriods(PeriodSet periodSet) {
+    if (periodSet != null) {
+      this.periods = periodSet.getPeriods();
+    }
+  }
+
+  /**
+   * @param periods each flow's period is drawn from; all must be positive
+   */
+  public void setPeriods(Integer... periods) {
+    if (periods != null && periods.length > 0) {
+      for (Integer period : periods) {
+        if (period == null || period <= 0) {
+          return;
+        }
+      }
+      this.periods = periods.clone();
+    }
+  }
+
+  public Boolean getRandomPhases() {
+    return randomPhases;
+  }
+
+  /**
+   * @param randomPhases true to give each flow a random phase in [0, period), false for phase 0
+   */
+  public void setRandomPhases(Boolean randomPhases) {
+    if (randomPhases != null) {
+      this.randomPhases = randomPhases;
+    }
+  }
+
+  public Long getSeed() {
+    return seed;
+  }
+
+  public void setSeed(Long seed) {
+    if (seed != null) {
+      this.seed = seed;
+    }
+  }
+}
@@ -3,13 +3,7 @@
  */
 package edu.uiowa.cs.warp;
 
-import org.antlr.v4.runtime.CharStream;
-import org.antlr.v4.runtime.CharStreams;
-import org.antlr.v4.runtime.CommonTokenStream;
-import org.antlr.v4.runtime.tree.ParseTree;
-import org.antlr.v4.runtime.tree.ParseTreeWalker;
 import edu.uiowa.cs.warpdsls.WARPBaseListener;
-import edu.uiowa.cs.warpdsls.WARPLexer;
 import edu.uiowa.cs.warpdsls.WARPParser;
 
 /**
@@ -24,16 +18,9 @@ final class WorkLoadListener extends WARPBaseListener {
     private WorkLoadListener(WorkLoad workLoad){
         this.workLoad = workLoad; // used to populate the workLoad as the input file is read
         this.currentFlow = new String();
-     // Read input file and build AST of graphFile
+     // Walk the parsed input graph (the file is only parsed the first time it is used)
         try {
-        	CharStream inputGraph = CharStreams.fromString(workLoad.getInputGraph());
-        	var lexer = new WARPLexer(inputGraph);
-        	var tokens = new CommonTokenStream(lexer);
-        	var parser = new WARPParser(tokens);
-        	ParseTree warpTree = parser.warp(); // begin parsing at rule 'warp'
-        	var warp = new ParseTreeWalker();
-        	 // Now populate build the workLoad by walking the input Graph tokens
-        	warp.walk(this, warpTree);
+        	InputGraph.of(workLoad.getOptions()).walk(this);
         } catch (Exception e) {
         	e.printStackTrace();
         	System.err.println("ERROR: Unable to parse graphFile" + e.getMessage());
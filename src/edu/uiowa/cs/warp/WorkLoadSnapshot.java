@@ -0,0 +1,316 @@
+package edu.uiowa.cs.warp;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import edu.uiowa.cs.warp.ReliabilityParameters.FaultModel;
+
+/**
+ * WorkLoadSnapshot is an immutable copy of a parsed WorkLoad. It records the graph name, the
+ * flows in the order they were read (with their priority, period, deadline, phase, and node
+ * order), the node names in the order they were created, and the transmission costs computed
+ * for each flow under the reliability parameters in effect when the snapshot was taken.
+ * <p>
+ * The WorkLoad built from an input file is mutated by the schedulers: Poset appends edges to
+ * the Node and Flow objects, and Program sets node channels and the flow priority order. A
+ * snapshot lets each scheduler run start from a fresh WorkLoad without reading and parsing the
+ * input file again. The immutable flow and node descriptions are shared by every WorkLoad forked
+ * from the snapshot, while the Node, Flow, edge, and channel state is created anew for each fork,
+ * so runs never see each other's changes.
+ *
+ * @version 2.0 Fall 2025
+ */
+public final class WorkLoadSnapshot {
+
+  private final String name;
+  private final String inputFileName;
+  private final long inputFileTimeStamp;
+  private final Double minPacketReceptionRate;
+  private final Double e2e;
+  private final Integer numFaults;
+  private final FaultModel faultModel;
+  private final List<String> nodeNames; // in the order they were added to the workload
+  private final List<FlowDescription> flows; // in the order they were read from the graph file
+
+  /**
+   * Immutable description of one flow.
+   */
+  static final class FlowDescription {
+    final String name;
+    final Integer priority;
+    final Integer period;
+    final Integer deadline;
+    final Integer phase;
+    final Integer numTxPerLink;
+    final List<String> nodeNames;
+    final List<Integer> linkTxAndTotalCost;
+
+    FlowDescription(String name, Integer priority, Integer period, Integer deadline,
+        Integer phase, Integer numTxPerLink, List<String> nodeNames,
+        List<Integer> linkTxAndTotalCost) {
+      this.name = name;
+      this.priority = priority;
+      this.period = period;
+      this.deadline = deadline;
+      this.phase = phase;
+      this.numTxPerLink = numTxPerLink;
+      this.nodeNames = Collections.unmodifiableList(new ArrayList<String>(nodeNames));
+      this.linkTxAndTotalCost =
+          Collections.unmodifiableList(new ArrayList<Integer>(linkTxAndTotalCost));
+    }
+
+    private FlowDescription(Flow flow) {
+      this.name = flow.getName();
+      this.priority = flow.getPriority();
+      this.period = flow.getPeriod();
+      this.deadline = flow.getDeadline();
+      this.phase = flow.getPhase();
+      this.numTxPerLink = flow.getNumTxPerLink();
+      var names = new ArrayList<String>(flow.getNodes().size());
+      for (Node node : flow.getNodes()) {
+        names.add(node.getName());
+      }
+      this.nodeNames = Collections.unmodifiableList(names);
+      this.linkTxAndTotalCost =
+          Collections.unmodifiableList(new ArrayList<Integer>(flow.getLinkTxAndTotalCost()));
+    }
+
+    private Boolean sameFlow(FlowDescription other) {
+      return name.equals(other.name) && priority.equals(other.priority)
+          && period.equals(other.period) && deadline.equals(other.deadline)
+          && phase.equals(other.phase) && Objects.equals(numTxPerLink, other.numTxPerLink)
+          && nodeNames.equals(other.nodeNames)
+          && linkTxAndTotalCost.equals(other.linkTxAndTotalCost);
+    }
+  }
+
+  private WorkLoadSnapshot(WorkLoad workLoad) {
+    Options options = workLoad.getOptions();
+    this.name = workLoad.getName();
+    this.inputFileName = options.getInputFileName();
+    this.inputFileTimeStamp = timeStamp(inputFileName);
+    this.minPacketReceptionRate = workLoad.getMinPacketReceptionRate();
+    this.e2e = workLoad.getE2E();
+    this.numFaults = workLoad.getNumFaults();
+    this.faultModel = workLoad.getFaultModel();
+    /* order nodes by the index assigned when they were first added */
+    var nodes = new ArrayList<Node>(workLoad.getNodes().values());
+    nodes.sort((n1, n2) -> n1.getIndex().compareTo(n2.getIndex()));
+    var names = new ArrayList<String>(nodes.size());
+    for (Node node : nodes) {
+      names.add(node.getName());
+    }
+    this.nodeNames = Collections.unmodifiableList(names);
+    var descriptions = new ArrayList<FlowDescription>();
+    for (String flowName : workLoad.getFlowNamesInOriginalOrder()) {
+      descriptions.add(new FlowDescription(workLoad.getFlows().get(flowName)));
+    }
+    this.flows = Collections.unmodifiableList(descriptions);
+  }
+
+  /**
+   * Creates a snapshot from a workload that was saved earlier, such as a binary workload file.
+   *
+   * @param name of the graph defining the workload
+   * @param inputFileName of the file the workload was read from
+   * @param minPacketReceptionRate under which the transmission costs were computed
+   * @param e2e under which the transmission costs were computed
+   * @param numFaults under which the transmission costs were computed
+   * @param faultModel under which the transmission costs were computed
+   * @param nodeNames ordered by node index
+   * @param flows in the order they were read from the graph file
+   */
+  WorkLoadSnapshot(String name, String inputFileName, Double minPacketReceptionRate, Double e2e,
+      Integer numFaults, FaultModel faultModel, List<String> nodeNames,
+      List<FlowDescription> flows) {
+    this.name = name;
+    this.inputFileName = inputFileName;
+    this.inputFileTimeStamp = timeStamp(inputFileName);
+    this.minPacketReceptionRate = minPacketReceptionRate;
+    this.e2e = e2e;
+    this.numFaults = numFaults;
+    this.faultModel = faultModel;
+    this.nodeNames = Collections.unmodifiableList(new ArrayList<String>(nodeNames));
+    this.flows = Collections.unmodifiableList(new ArrayList<FlowDescription>(flows));
+  }
+
+  /**
+   * Creates a snapshot of the parsed state of the workload. Only the state read from the input
+   * file (and the transmission costs derived from it) is recorded, so the snapshot can be taken
+   * before or after the workload has been used to build a program.
+   *
+   * @param workLoad to be copied
+   * @return the immutable snapshot
+   */
+  public static WorkLoadSnapshot of(WorkLoad workLoad) {
+    return new WorkLoadSnapshot(workLoad);
+  }
+
+  /**
+   * Forks a new, mutable WorkLoad from this snapshot without reading or parsing the input file.
+   * The new WorkLoad uses the options provided, so the scheduler and output options can differ
+   * from those of the original workload. When the reliability parameters (M, E2E, and faults)
+   * match those of the snapshot, the transmission costs are copied; otherwise they are
+   * recomputed for the new parameters.
+   *
+   * @param options for the new WorkLoad
+   * @return a new WorkLoad with the flows and nodes of this snapshot
+   */
+  public WorkLoad toWorkLoad(Options options) {
+    return new WorkLoad(options, this);
+  }
+
+  /**
+   * Populates the (empty) workload with the flows and nodes of this snapshot. Called by the
+   * WorkLoad constructor used by toWorkLoad().
+   *
+   * @param workLoad to be populated
+   */
+  void populate(WorkLoad workLoad) {
+    workLoad.setName(name);
+    var sameParameters = sameReliabilityParameters(workLoad);
+    /* add the nodes first so each node gets the same index it had in the original workload */
+    for (String nodeName : nodeNames) {
+      workLoad.addNode(nodeName);
+    }
+    for (FlowDescription description : flows) {
+      workLoad.addFlow(description.name);
+      workLoad.setFlowPriority(description.name, description.priority);
+      workLoad.setFlowPeriod(description.name, description.period);
+      workLoad.setFlowDeadline(description.name, description.deadline);
+      workLoad.setFlowPhase(description.name, description.phase);
+      for (String nodeName : description.nodeNames) {
+        workLoad.addNodeToFlow(description.name, nodeName);
+      }
+      if (sameParameters) {
+        var flow = workLoad.getFlows().get(description.name);
+        flow.setNumTxPerLink(description.numTxPerLink);
+        flow.setLinkTxAndTotalCost(new ArrayList<Integer>(description.linkTxAndTotalCost));
+      } else {
+        workLoad.finalizeCurrentFlow(description.name);
+      }
+    }
+  }
+
+  /**
+   * Returns true if this snapshot still describes the input file named in options. That is, the
+   * file name is the same and the file has not been modified since the snapshot was taken.
+   *
+   * @param options naming the input file
+   * @return true if a WorkLoad can be forked from this snapshot instead of re-reading the file
+   */
+  public Boolean isCurrent(Options options) {
+    var fileName = options.getInputFileName();
+    return fileName != null && fileName.equals(inputFileName)
+        && timeStamp(fileName) == inputFileTimeStamp;
+  }
+
+  /**
+   * Returns true if the other snapshot describes the same workload: the same graph name,
+   * reliability parameters, nodes, and flows, in the same order. The input file and its time
+   * stamp aren't compared, so a file that was saved again with only its layout changed still
+   * describes the same workload.
+   *
+   * @param other snapshot to compare with
+   * @return true if a program built for either workload is the program for both
+   */
+  public Boolean describesSameWorkLoad(WorkLoadSnapshot other) {
+    if (!name.equals(other.name) || !sameReliabilityParameters(other)
+        || !nodeNames.equals(other.nodeNames) || flows.size() != other.flows.size()) {
+      return false;
+    }
+    for (int i = 0; i < flows.size(); i++) {
+      if (!flows.get(i).sameFlow(other.flows.get(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return the name of the graph defining the workload
+   */
+  public String getName() {
+    return name;
+  }
+
+  Double getMinPacketReceptionRate() {
+    return minPacketReceptionRate;
+  }
+
+  Double getE2E() {
+    return e2e;
+  }
+
+  Integer getNumFaults() {
+    return numFaults;
+  }
+
+  FaultModel getFaultModel() {
+    return faultModel;
+  }
+
+  /**
+   * @return the node names, ordered by node index
+   */
+  List<String> getNodeNames() {
+    return nodeNames;
+  }
+
+  /**
+   * @return the flows, in the order they were read from the graph file
+   */
+  List<FlowDescription> getFlows() {
+    return flows;
+  }
+
+  /**
+   * Returns the workload in the WARP input grammar, with every flow's parameters listed.
+   *
+   * @return the WARP description of the workload
+   */
+  public String toWarpText() {
+    var text = new StringBuilder();
+    text.append(String.format("%s {\n", name));
+    for (FlowDescription flow : flows) {
+      text.append(String.format("%s (%d, %d, %d, %d) : %s\n", flow.name, flow.priority,
+          flow.period, flow.deadline, flow.phase, String.join(" -> ", flow.nodeNames)));
+    }
+    text.append("}\n");
+    return text.toString();
+  }
+
+  /**
+   * @return the number of flows in the workload
+   */
+  public Integer numFlows() {
+    return flows.size();
+  }
+
+  /**
+   * @return the number of nodes in the workload
+   */
+  public Integer numNodes() {
+    return nodeNames.size();
+  }
+
+  private Boolean sameReliabilityParameters(WorkLoad workLoad) {
+    return minPacketReceptionRate.equals(workLoad.getMinPacketReceptionRate())
+        && e2e.equals(workLoad.getE2E()) && numFaults.equals(workLoad.getNumFaults())
+        && faultModel.equals(workLoad.getFaultModel());
+  }
+
+  private Boolean sameReliabilityParameters(WorkLoadSnapshot other) {
+    return minPacketReceptionRate.equals(other.minPacketReceptionRate) && e2e.equals(other.e2e)
+        && numFaults.equals(other.numFaults) && faultModel.equals(other.faultModel);
+  }
+
+  private static long timeStamp(String fileName) {
+    if (fileName == null) {
+      return 0L;
+    }
+    return new File(fileName).lastModified(); // 0L when the file does not exist
+  }
+}
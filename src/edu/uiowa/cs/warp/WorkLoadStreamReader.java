@@ -0,0 +1,201 @@
+package edu.uiowa.cs.warp;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * WorkLoadStreamReader builds the nodes and flows of a workload while reading the input graph,
+ * without holding the file contents or an ANTLR parse tree in memory. It is used instead of the
+ * WorkLoadListener for very large input files, such as generated workloads with 10^5 flows.
+ * <p>
+ * The reader accepts the same WARP grammar as the ANTLR parser:
+ *
+ * <pre>
+ *   name { flowName [(priority, period, deadline, phase)] : node -> node ... }
+ * </pre>
+ *
+ * where names are letters and digits and white space (including line breaks) separates tokens.
+ * The WorkLoad methods are called in the same order as the WorkLoadListener calls them: addFlow()
+ * when a flow name is read, the parameter setters, addNodeToFlow() as each node is read, and
+ * finalizeCurrentFlow() when the flow ends. So only the current token is held, and peak memory is
+ * that of the WorkLoad being built.
+ *
+ * @version 2.0 Fall 2025
+ */
+final class WorkLoadStreamReader {
+
+  /* input files larger than this are streamed rather than parsed by ANTLR */
+  private static final long STREAMING_THRESHOLD = 8L * 1024 * 1024; // bytes
+  private static final int EOF = -1;
+  private static final String ARROW = "->";
+
+  private final WorkLoad workLoad;
+  private final Reader reader;
+  private final StringBuilder token = new StringBuilder(); // reused for every token
+  private int next; // next character, read ahead of the current token
+  private Integer line = 1; // line of the current token, for error messages
+
+  private WorkLoadStreamReader(WorkLoad workLoad, Reader reader) {
+    this.workLoad = workLoad;
+    this.reader = reader;
+  }
+
+  /**
+   * Returns true if the input file is large enough that it should be streamed.
+   *
+   * @param inputFile name of the input graph file
+   * @return true if the file exceeds the streaming threshold
+   */
+  static Boolean shouldStream(String inputFile) {
+    return inputFile != null && new File(inputFile).length() > STREAMING_THRESHOLD;
+  }
+
+  /**
+   * Builds the nodes and flows of the workload by streaming the input graph file named in the
+   * workload's options.
+   *
+   * @param workLoad to be populated
+   */
+  static void buildNodesAndFlows(WorkLoad workLoad) {
+    var fm = workLoad.getOptions().getFileManager();
+    /* exits if a valid file can't be found, as when the file is read by the FileManager */
+    var inputFile = fm.verifyGraphFileName(workLoad.getOptions().getInputFileName());
+    try (BufferedReader reader = Files.newBufferedReader(Path.of(inputFile),
+        StandardCharsets.UTF_8)) {
+      buildNodesAndFlows(workLoad, reader);
+    } catch (IOException e) {
+      System.err.println("Error on reading file" + inputFile + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Builds the nodes and flows of the workload from the graph description read from reader.
+   *
+   * @param workLoad to be populated
+   * @param reader of the graph description; it is not closed
+   */
+  static void buildNodesAndFlows(WorkLoad workLoad, Reader reader) {
+    var streamReader = new WorkLoadStreamReader(workLoad,
+        reader instanceof BufferedReader ? reader : new BufferedReader(reader));
+    try {
+      streamReader.readWarp();
+    } catch (IOException | IllegalStateException e) {
+      System.err.println("ERROR: Unable to parse graphFile " + e.getMessage());
+    }
+  }
+
+  /* warp : warpName '{' flow+ '}' */
+  private void readWarp() throws IOException {
+    next = reader.read();
+    workLoad.setName(expectName("graph name"));
+    expect("{");
+    var current = nextToken();
+    while (current != null && !current.equals("}")) {
+      current = readFlow(current);
+    }
+    if (current == null) {
+      throw error("'}'", "end of file");
+    }
+  }
+
+  /*
+   * flow : flowName [parameters] ':' srcNode ('->' node)*
+   * Returns the token following the flow.
+   */
+  private String readFlow(String flowName) throws IOException {
+    checkName(flowName, "flow name");
+    workLoad.addFlow(flowName);
+    var current = nextToken();
+    if ("(".equals(current)) {
+      workLoad.setFlowPriority(flowName, expectNumber("priority"));
+      expect(",");
+      workLoad.setFlowPeriod(flowName, expectNumber("period"));
+      expect(",");
+      workLoad.setFlowDeadline(flowName, expectNumber("deadline"));
+      expect(",");
+      workLoad.setFlowPhase(flowName, expectNumber("phase"));
+      expect(")");
+      current = nextToken();
+    }
+    if (!":".equals(current)) {
+      throw error("':'", current);
+    }
+    workLoad.addNodeToFlow(flowName, expectName("node name"));
+    current = nextToken();
+    while (ARROW.equals(current)) {
+      workLoad.addNodeToFlow(flowName, expectName("node name"));
+      current = nextToken();
+    }
+    workLoad.finalizeCurrentFlow(flowName);
+    return current;
+  }
+
+  /* returns the next token, or null at the end of the input */
+  private String nextToken() throws IOException {
+    while (next != EOF && Character.isWhitespace(next)) {
+      if (next == '\n') {
+        line++;
+      }
+      next = reader.read();
+    }
+    if (next == EOF) {
+      return null;
+    }
+    token.setLength(0);
+    if (isNameCharacter(next)) {
+      while (next != EOF && isNameCharacter(next)) {
+        token.append((char) next);
+        next = reader.read();
+      }
+    } else {
+      token.append((char) next);
+      next = reader.read();
+      if (token.charAt(0) == '-' && next == '>') {
+        token.append((char) next);
+        next = reader.read();
+      }
+    }
+    return token.toString();
+  }
+
+  private void expect(String expected) throws IOException {
+    var current = nextToken();
+    if (!expected.equals(current)) {
+      throw error("'" + expected + "'", current);
+    }
+  }
+
+  private String expectName(String what) throws IOException {
+    var current = nextToken();
+    checkName(current, what);
+    return current;
+  }
+
+  private Integer expectNumber(String what) throws IOException {
+    var current = nextToken();
+    if (current == null || !current.chars().allMatch(Character::isDigit)) {
+      throw error(what, current);
+    }
+    return Integer.parseInt(current);
+  }
+
+  private void checkName(String current, String what) {
+    if (current == null || !isNameCharacter(current.charAt(0))) {
+      throw error(what, current);
+    }
+  }
+
+  private IllegalStateException error(String expected, String found) {
+    return new IllegalStateException(String.format("line %d: expected %s but found %s", line,
+        expected, found == null ? "end of file" : "'" + found + "'"));
+  }
+
+  private static boolean isNameCharacter(int c) {
+    return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+  }
+}
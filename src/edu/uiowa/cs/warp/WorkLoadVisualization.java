@@ -1,5 +1,11 @@
 package edu.uiowa.cs.warp;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * Builds a visualization of the Warp workload as
  * defined by the input file. 
@@ -10,9 +16,10 @@ package edu.uiowa.cs.warp;
 public class WorkLoadVisualization extends Visualization {
 
   private static final String INPUT_FILE_SUFFIX = ".wld";
-  private Description description;
+  private Description description; // null until needed if the input file is streamed
   private String inputGraphString;
   private String inputFileName;
+  private Boolean streamed = false; // true if the input file is copied rather than read
   
   /**
    * Creates a visualization of the workload specified by the input
@@ -38,31 +45,74 @@ public class WorkLoadVisualization extends Visualization {
   
   @Override
   protected Description visualization() {
+    if (description == null) { // only a streamed input file is read when it is displayed
+      readInputGraph();
+    }
     return description;
   }
 
   @Override
   protected Description fileVisualization() {
-    return description;
+    return visualization();
+  }
+
+  @Override
+  protected void writeFileVisualization(Writer out) throws IOException {
+    if (streamed) {
+      copyInputGraph(out);
+    } else {
+      write(out, description);
+    }
   }
 
   @Override
   public String toString() {
+    visualization();
     return inputGraphString;
   }
 
   private void initialize(String inputFile) {
-	/* Get the input graph file name and read its contents */
     FileManager fm = options.getFileManager();
-    inputGraphString = fm.readGraphFile(inputFile);
     /* Update the input file name from the FileManager in case it had
      * to to get a new file name from the user, because of an error
      * reading the original name.
      */
+    fm.verifyGraphFileName(inputFile);
     this.inputFileName = fm.getGraphFileName();
+    /* a very large input file, as streamed by the WorkLoad, is copied to the .wld file as it is
+     * written, rather than read into memory
+     */
+    streamed = !fm.isBinaryWorkLoadFile(inputFileName)
+        && WorkLoadStreamReader.shouldStream(inputFileName);
+    if (!streamed) {
+      readInputGraph();
+    }
+  }
+
+  private void readInputGraph() {
+    /* Get the input graph file contents */
+    inputGraphString = options.getFileManager().readGraphFile(inputFileName);
     /* Store input graph describing the workload as a Description object
     /* with each line of the file is an entry (string).
      */
     description = new Description(inputGraphString);
   }
+
+  /* writes the same lines as the Description of the contents, one line at a time */
+  private void copyInputGraph(Writer out) throws IOException {
+    try (var reader = Files.newBufferedReader(Path.of(inputFileName), StandardCharsets.UTF_8)) {
+      Integer blankLines = 0; // trailing blank lines are dropped, as by the Description
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.isEmpty()) {
+          blankLines++;
+          continue;
+        }
+        for (; blankLines > 0; blankLines--) {
+          out.write("\n");
+        }
+        out.write(line + "\n");
+      }
+    }
+  }
 }
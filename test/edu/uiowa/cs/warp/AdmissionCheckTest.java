@@ -0,0 +1,66 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in AdmissionCheck.java:
+ *
+ * getVerdict()
+ * isInfeasible()
+ * getReasons()
+ */
+class AdmissionCheckTest {
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.AdmissionCheck#getVerdict()}.
+	 */
+	@Test
+	void testSchedulableWorkLoadIsUnknown() {
+		var options = new Options(new String[] {"-i", "Example.txt", "-sch", "priority"});
+		var check = new WarpSystem(new WorkLoad(options)).getAdmissionCheck();
+
+		assertEquals(AdmissionCheck.Verdict.UNKNOWN, check.getVerdict());
+		assertFalse(check.isInfeasible());
+		assertTrue(check.getReasons().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.AdmissionCheck#getReasons()}.
+	 */
+	@Test
+	void testFlowLongerThanItsDeadline() {
+		/* with M = 1.0 each link needs one attempt, so F0 needs 3 time slots */
+		var warp = warpOf("Tight {F0 (1, 20, 2, 0) : A -> B -> C -> D}");
+		var check = warp.getAdmissionCheck();
+
+		assertTrue(check.isInfeasible());
+		assertEquals(List.of("Flow F0 needs at least 3 time slots to reach D, but its deadline is 2\n"),
+				check.getReasons());
+		assertFalse(warp.deadlinesMet());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.AdmissionCheck#getReasons()}.
+	 */
+	@Test
+	void testNodeReceivingTooManyAttempts() {
+		/* D receives one attempt from each flow in the 2 time slots before their deadlines */
+		var warp = warpOf("Hub {F0 (1, 2, 2, 0) : A -> D F1 (2, 2, 2, 0) : B -> D "
+				+ "F2 (3, 2, 2, 0) : C -> D}");
+		var check = warp.getAdmissionCheck();
+
+		assertEquals(AdmissionCheck.Verdict.INFEASIBLE, check.getVerdict());
+		assertEquals(List.of("Node D must receive 3 transmission attempts per hyperperiod in 2 time slots\n"),
+				check.getReasons());
+		assertFalse(warp.deadlinesMet());
+	}
+
+	private WarpSystem warpOf(String graph) {
+		var options = new Options(new String[] {"-m", "1.0", "-sch", "priority"});
+		return new WarpSystem(new WorkLoad(options, new StringReader(graph)));
+	}
+}
@@ -0,0 +1,99 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in Budget.java:
+ *
+ * cancel()
+ * check(String, String, Integer)
+ * checkSlots(String, String, Integer)
+ *
+ * and how Program and Schedule stop when their budget is used up.
+ */
+class BudgetTest {
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Budget#cancel()}.
+	 */
+	@Test
+	void testCancelledBudgetStopsProgram() {
+		var budget = new Budget();
+		budget.cancel();
+
+		var e = assertThrows(BudgetExceededException.class,
+				() -> new Program(newWorkLoad("Example4.txt", "dm", "16"), budget));
+		assertEquals(Budget.Limit.CANCELLED, e.getLimit());
+		assertEquals("Program", e.getStage());
+		assertTrue(budget.isCancelled());
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.uiowa.cs.warp.Budget#checkSlots(String, String, Integer)}.
+	 */
+	@Test
+	void testSlotLimitReportsPartialProgram() {
+		var workLoad = newWorkLoad("StressTest.txt", "dm", "2");
+
+		var e = assertThrows(BudgetExceededException.class,
+				() -> new Program(workLoad, new Budget(0, 301)));
+		assertEquals(Budget.Limit.SLOTS, e.getLimit());
+		assertEquals("AF2", e.getElement());
+		assertEquals(302, e.getSlot());
+		var report = String.join("", e.getReport());
+		assertTrue(report.startsWith("ERROR: Program stopped: slot limit of 301"));
+		assertTrue(report.contains("Flows scheduled: 3 of 15"));
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.uiowa.cs.warp.Budget#checkSlots(String, String, Integer)}.
+	 */
+	@Test
+	void testSlotLimitStopsPosetSchedule() {
+		var e = assertThrows(BudgetExceededException.class,
+				() -> new Program(newWorkLoad("Example4.txt", "poset", "16"), new Budget(0, 10)));
+		assertEquals("Schedule", e.getStage());
+		assertEquals(20, e.getSlot());
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.uiowa.cs.warp.Budget#check(String, String, Integer)}.
+	 */
+	@Test
+	void testBudgetWithinLimitsBuildsSameProgram() {
+		var limited = new Program(newWorkLoad("Example4.txt", "dm", "16"), new Budget(60_000, 20));
+		var unlimited = new Program(newWorkLoad("Example4.txt", "dm", "16"));
+
+		assertEquals(unlimited.getSchedule(), limited.getSchedule());
+		assertNotNull(new ChannelAnalysis(limited));
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.uiowa.cs.warp.Budget#check(String, String, Integer)}.
+	 */
+	@Test
+	void testTimeLimitStopsLongHyperPeriod() {
+		var workLoad = new WorkLoad(new Options(), new StringReader("CoPrime {\n"
+				+ "F0 (1, 499, 499, 0) : A -> B -> C\nF1 (2, 491, 491, 0) : C -> B -> A\n"
+				+ "F2 (3, 487, 487, 0) : A -> C\nF3 (4, 2, 2, 0) : B -> C\n}\n"));
+
+		var e = assertThrows(BudgetExceededException.class,
+				() -> new Program(workLoad, new Budget(500, 0)));
+		assertEquals(Budget.Limit.TIME, e.getLimit());
+		assertEquals("Program", e.getStage());
+		assertTrue(e.getSlot() < workLoad.getHyperPeriod());
+	}
+
+	private WorkLoad newWorkLoad(String inputFile, String scheduler, String numChannels) {
+		var options = new Options(new String[] {"-i", inputFile, "-sch", scheduler, "-c",
+				numChannels});
+		return new WorkLoad(options);
+	}
+}
@@ -0,0 +1,77 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in ChannelAnalysis.java:
+ *
+ * isChannelConflict()
+ * getConflicts()
+ * getChannelAnalysisTable()
+ */
+class ChannelAnalysisTest {
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ChannelAnalysis#isChannelConflict()}.
+	 */
+	@Test
+	void testScheduledProgramHasNoConflict() {
+		var options = new Options(new String[] {"-i", "StressTest.txt", "-sch", "priority"});
+		var ca = new WarpSystem(new WorkLoad(options)).getChannelAnalysis();
+
+		assertFalse(ca.isChannelConflict());
+		assertTrue(ca.getConflicts().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ChannelAnalysis#getChannelAnalysisTable()}.
+	 */
+	@Test
+	void testGetChannelAnalysisTable() {
+		var ca = analysisOf(new String[][] {
+				{"if has(F0) push(F0: A -> B, #1)", "wait(#1)", "sleep"},
+				{"wait(#3)", "if has(F0) push(F0: B -> C, #3) else pull(F0: A -> B, #3)", "wait(#3)"},
+				{"sleep", "sleep", "sleep"}});
+		var table = ca.getChannelAnalysisTable();
+
+		assertFalse(ca.isChannelConflict());
+		assertEquals(3, table.getNumRows());
+		assertEquals(16, table.getNumColumns());
+		assertEquals("F0: A -> B", table.get(0, 1));
+		assertEquals("", table.get(0, 0));
+		assertEquals("F0: B -> C, F0: A -> B", table.get(1, 3));
+		assertEquals("", table.get(2, 1));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ChannelAnalysis#getConflicts()}.
+	 */
+	@Test
+	void testGetConflicts() {
+		var ca = analysisOf(new String[][] {
+				/* only one alternative runs, so transmitting and listening on two channels is fine */
+				{"if has(F0) push(F0: A -> B, #1) else wait(#2)", "wait(#1)", "sleep"},
+				/* A and C both transmit on channel 2 */
+				{"if has(F0) push(F0: A -> B, #2)", "wait(#2)", "if has(F1) push(F1: C -> B, #2)"},
+				/* B transmits on channels 3 and 4, and C uses a channel that doesn't exist */
+				{"wait(#3)", "if has(F0) push(F0: B -> C, #3) else pull(F0: A -> B, #4)", "wait(#16)"}});
+
+		assertTrue(ca.isChannelConflict());
+		assertEquals(3, ca.getConflicts().size());
+		assertEquals("Time slot 1: nodes A and C both transmit on channel 2\n", ca.getConflicts().get(0));
+		assertEquals("Time slot 2: node B transmits on channels 3 and 4\n", ca.getConflicts().get(1));
+		assertEquals("Time slot 2: node C uses channel 16, but only 16 channels are available\n",
+				ca.getConflicts().get(2));
+	}
+
+	private ChannelAnalysis analysisOf(String[][] instructions) {
+		var options = new Options(new String[] {"-i", "Example.txt", "-sch", "priority"});
+		var schedule = new ProgramSchedule();
+		for (String[] slot : instructions) {
+			schedule.add(new InstructionTimeSlot(slot));
+		}
+		return new ChannelAnalysis(new Program(new WorkLoad(options), schedule, new Description(), true));
+	}
+}
@@ -0,0 +1,70 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in ChannelSearch.java:
+ *
+ * search()
+ * isSchedulable(Integer)
+ */
+class ChannelSearchTest {
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ChannelSearch#search()}.
+	 */
+	@Test
+	void testSearchAgreesWithLinearScan() {
+		var options = new Options(new String[] {"-i", "Example4.txt", "-sch", "priority"});
+		var search = new ChannelSearch(new WarpSystem(new WorkLoad(options)));
+		var minChannels = search.search();
+
+		assertNotNull(minChannels);
+		Integer firstSchedulable = null;
+		for (int numChannels = 1; firstSchedulable == null; numChannels++) {
+			var probeOptions = new Options(options);
+			probeOptions.setnChannels(numChannels);
+			if (new Program(new WorkLoad(probeOptions)).deadlineMisses().isEmpty()) {
+				firstSchedulable = numChannels;
+			}
+		}
+		assertEquals(firstSchedulable, minChannels);
+		assertTrue(search.isSchedulable(minChannels));
+		if (minChannels > 1) {
+			assertFalse(search.isSchedulable(minChannels - 1));
+		}
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ChannelSearch#isSchedulable(Integer)}.
+	 */
+	@Test
+	void testStopAtFirstMissAgreesWithFullProgram() {
+		var options = new Options(new String[] {"-i", "Example4.txt", "-sch", "priority"});
+		var search = new ChannelSearch(new WarpSystem(new WorkLoad(options)));
+
+		for (int numChannels = 1; numChannels <= 4; numChannels++) {
+			var probeOptions = new Options(options);
+			probeOptions.setnChannels(numChannels);
+			var program = new Program(new WorkLoad(probeOptions));
+			assertEquals(program.deadlineMisses().isEmpty(), search.isSchedulable(numChannels));
+		}
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ChannelSearch#search()}.
+	 */
+	@Test
+	void testInfeasibleWorkLoadIsNotProbed() {
+		var options = new Options(new String[] {"-m", "1.0", "-sch", "priority"});
+		var graph = "Hub {F0 (1, 2, 2, 0) : A -> D F1 (2, 2, 2, 0) : B -> D "
+				+ "F2 (3, 2, 2, 0) : C -> D}";
+		var search = new ChannelSearch(
+				new WarpSystem(new WorkLoad(options, new StringReader(graph))));
+
+		assertNull(search.search());
+	}
+}
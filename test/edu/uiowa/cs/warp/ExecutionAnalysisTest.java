@@ -0,0 +1,96 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import edu.uiowa.cs.warp.ExecutionAnalysis.Activity;
+
+/**
+ * Tests the following methods in ExecutionAnalysis.java:
+ *
+ * classify()
+ * getExecutionTable()
+ * getRadioOnSlots()
+ * getDutyCycle()
+ * getLongestSleep()
+ * getActiveNodes()
+ */
+class ExecutionAnalysisTest {
+
+	private static final String[][] PROGRAM = {
+			{"if has(F0) push(F0: A -> B, #1)", "wait(#1)", "sleep"},
+			{"wait(#3)", "if has(F0) push(F0: B -> C, #3) else pull(F0: A -> B, #3)", "wait(#3)"},
+			{"sleep", "if has(F0) push(F0: B -> C, #5)", "wait(#5)"},
+			{"sleep", "sleep", "sleep"}};
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ExecutionAnalysis#classify(String)}.
+	 */
+	@Test
+	void testClassify() {
+		assertEquals(Activity.TRANSMIT, ExecutionAnalysis.classify("if has(F0) push(F0: A -> B, #1)"));
+		assertEquals(Activity.TRANSMIT,
+				ExecutionAnalysis.classify("if has(F0) push(F0: C -> D, #1) else wait(#4)"));
+		assertEquals(Activity.LISTEN,
+				ExecutionAnalysis.classify("if !has(F4: 33 -> 16) pull(F4: 33 -> 16, #2)"));
+		assertEquals(Activity.LISTEN, ExecutionAnalysis.classify("wait(#1)"));
+		assertEquals(Activity.SLEEP, ExecutionAnalysis.classify("sleep"));
+		assertEquals(Activity.SLEEP, ExecutionAnalysis.classify(null));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ExecutionAnalysis#getExecutionTable()}.
+	 */
+	@Test
+	void testGetExecutionTable() {
+		var table = analysisOf(PROGRAM).getExecutionTable();
+
+		assertEquals(4, table.getNumRows());
+		assertEquals(3, table.getNumColumns());
+		assertEquals("transmit", table.get(0, 0));
+		assertEquals("listen", table.get(0, 1));
+		assertEquals("sleep", table.get(0, 2));
+		assertEquals("transmit", table.get(1, 1));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ExecutionAnalysis#getRadioOnSlots(int)},
+	 * {@link edu.uiowa.cs.warp.ExecutionAnalysis#getDutyCycle(int)}, and
+	 * {@link edu.uiowa.cs.warp.ExecutionAnalysis#getLongestSleep(int)}.
+	 */
+	@Test
+	void testNodeTotals() {
+		var ea = analysisOf(PROGRAM);
+
+		assertEquals(2, ea.getRadioOnSlots(0));
+		assertEquals(3, ea.getRadioOnSlots(1));
+		assertEquals(2, ea.getRadioOnSlots(2));
+		assertEquals(0.75, ea.getDutyCycle(1), 1e-9);
+		assertEquals(2, ea.getLongestSleep(0));
+		assertEquals(1, ea.getLongestSleep(1));
+		assertEquals(1, ea.getLongestSleep(2));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ExecutionAnalysis#getActiveNodes(int)}.
+	 */
+	@Test
+	void testGetActiveNodes() {
+		var ea = analysisOf(PROGRAM);
+
+		assertEquals(2, ea.getActiveNodes(0));
+		assertEquals(3, ea.getActiveNodes(1));
+		assertEquals(2, ea.getActiveNodes(2));
+		assertEquals(0, ea.getActiveNodes(3));
+	}
+
+	private ExecutionAnalysis analysisOf(String[][] instructions) {
+		var options = new Options(new String[] {"-i", "Example.txt", "-sch", "priority"});
+		var schedule = new ProgramSchedule();
+		for (String[] slot : instructions) {
+			schedule.add(new InstructionTimeSlot(slot));
+		}
+		return new ExecutionAnalysis(
+				new Program(new WorkLoad(options), schedule, new Description(), true));
+	}
+}
@@ -0,0 +1,78 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the following methods in FileManager.java:
+ *
+ * newFileWriter()
+ * writeFile()
+ */
+class FileManagerTest {
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.FileManager#newFileWriter(String)}.
+	 */
+	@Test
+	void testCommittedWriterReplacesFile() throws Exception {
+		var file = tempDir.resolve("Example.dsl");
+		var fm = new FileManager();
+		fm.writeFile(file.toString(), "old contents\n");
+
+		try (var out = fm.newFileWriter(file.toString())) {
+			out.write("new contents\n");
+			out.commit();
+		}
+
+		assertEquals("new contents\n", Files.readString(file));
+		assertEquals(1, tempDir.toFile().list().length);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.FileManager#newFileWriter(String)}.
+	 */
+	@Test
+	void testFailedWriteKeepsFile() throws Exception {
+		var file = tempDir.resolve("Example.dsl");
+		var fm = new FileManager();
+		fm.writeFile(file.toString(), "old contents\n");
+
+		assertThrows(IOException.class, () -> {
+			try (var out = fm.newFileWriter(file.toString())) {
+				out.write("partial contents\n");
+				throw new IOException("visualization failed");
+			}
+		});
+
+		assertEquals("old contents\n", Files.readString(file));
+		assertEquals(1, tempDir.toFile().list().length);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.FileManager#newFileWriter(String)}.
+	 */
+	@Test
+	void testUncommittedWriterClosesQuietly() throws Exception {
+		var file = tempDir.resolve("Example.dsl");
+		var fm = new FileManager();
+		fm.writeFile(file.toString(), "old contents\n");
+
+		assertDoesNotThrow(() -> {
+			try (var out = fm.newFileWriter(file.toString())) {
+				out.write("discarded contents\n");
+			}
+		});
+
+		assertEquals("old contents\n", Files.readString(file));
+		assertEquals(1, tempDir.toFile().list().length);
+	}
+}
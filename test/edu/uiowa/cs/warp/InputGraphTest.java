@@ -0,0 +1,51 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the following methods in InputGraph.java:
+ *
+ * of()
+ */
+class InputGraphTest {
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.InputGraph#of(Options)}.
+	 */
+	@Test
+	void testSameFileIsParsedOnce() {
+		var options = new Options();
+		options.setInputFile("StressTest.txt");
+
+		var first = InputGraph.of(options);
+		var second = InputGraph.of(new Options(options));
+
+		assertSame(first, second);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.InputGraph#of(Options)}.
+	 */
+	@Test
+	void testEditedFileIsParsedAgain() throws Exception {
+		var inputFile = tempDir.resolve("Edited.txt");
+		Files.writeString(inputFile, "Edited {\nF0: A -> B\n}\n");
+		var options = new Options();
+		options.setInputFile(inputFile.toString());
+		var before = InputGraph.of(options);
+
+		Files.writeString(inputFile, "Edited {\nF0: A -> B -> C\n}\n");
+		var after = InputGraph.of(options);
+
+		assertNotSame(before, after);
+		assertArrayEquals(new String[] {"A", "B", "C"}, new WorkLoad(options).getNodesInFlow("F0"));
+	}
+}
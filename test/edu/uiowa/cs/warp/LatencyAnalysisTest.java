@@ -0,0 +1,84 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in LatencyAnalysis.java:
+ *
+ * latencyReport()
+ * getLatencyDistributions()
+ */
+class LatencyAnalysisTest {
+
+	private static final String SEPARATOR = "******************************\n";
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.LatencyAnalysis#latencyReport()}.
+	 */
+	@Test
+	void testLatencyReportOfScheduledProgram() {
+		var options = new Options(new String[] {"-i", "Example.txt", "-sch", "priority"});
+		var warp = new WarpSystem(new WorkLoad(options));
+
+		assertEquals(List.of("Maximum latency for F0:0 is 4\n", SEPARATOR,
+				"Maximum latency for F1:0 is 8\n", SEPARATOR), new LatencyAnalysis(warp).latencyReport());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.LatencyAnalysis#latencyReport()}.
+	 */
+	@Test
+	void testLatencyReportCountsLastLinkAttempts() {
+		/* each link requires 3 attempts; F0's last link is B -> C and F1's is B -> A */
+		var report = reportOf(new String[][] {
+				{"if has(F0) push(F0: A -> B, #1)", "wait(#1)", "sleep"},
+				{"sleep", "if has(F0) push(F0: B -> C, #2)", "wait(#2)"},
+				{"wait(#3)", "if has(F1) push(F1: B -> A, #3) else pull(F0: A -> B, #3)", "sleep"},
+				{"sleep", "if has(F0) push(F0: B -> C, #4)", "wait(#4)"},
+				{"wait(#5)", "if has(F1) push(F1: B -> A, #5)", "sleep"},
+				{"sleep", "sleep", "sleep"},
+				{"sleep", "if has(F0) push(F0: B -> C, #6)", "wait(#6)"}});
+
+		assertEquals(List.of("Maximum latency for F0:0 is 7\n", SEPARATOR,
+				"UNKNOWN latency for F1:0; Not enough transmissions attempted\n", SEPARATOR), report);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.LatencyAnalysis#getLatencyDistributions()}.
+	 */
+	@Test
+	void testGetLatencyDistributions() {
+		var options = new Options(new String[] {"-i", "Example.txt", "-sch", "priority"});
+		var distributions = new WarpSystem(new WorkLoad(options)).getLatencyAnalysis()
+				.getLatencyDistributions();
+		var f0 = distributions.get(0);
+
+		assertEquals(2, distributions.size());
+		assertEquals("F0", f0.getFlowName());
+		assertEquals(0, f0.getInstance());
+		/* F0 is attempted on A -> B in slot 0, and on B -> C in slots 1, 2, and 3 */
+		assertEquals(0.0, f0.getDeliveryProbability(1), 1e-12);
+		assertEquals(0.81, f0.getDeliveryProbability(2), 1e-12);
+		assertEquals(0.972, f0.getDeliveryProbability(3), 1e-12);
+		assertEquals(0.9963, f0.getDeliveryProbability(4), 1e-12);
+		assertEquals(0.9963, f0.getDeliveryProbability(), 1e-12);
+		assertEquals(0.9963, f0.getOnTimeProbability(), 1e-12);
+		assertEquals((2 * 0.81 + 3 * 0.162 + 4 * 0.0243) / 0.9963, f0.getExpectedLatency(), 1e-12);
+		assertEquals(2, f0.getLatencyPercentile(0.5));
+		assertEquals(4, f0.getLatencyPercentile(0.99));
+		assertNull(f0.getLatencyPercentile(0.999));
+	}
+
+	private Description reportOf(String[][] instructions) {
+		var options = new Options(new String[] {"-i", "Example.txt", "-sch", "priority"});
+		var schedule = new ProgramSchedule();
+		for (String[] slot : instructions) {
+			schedule.add(new InstructionTimeSlot(slot));
+		}
+		var program = new Program(new WorkLoad(options), schedule, new Description(), true);
+		return new LatencyAnalysis(program).latencyReport();
+	}
+}
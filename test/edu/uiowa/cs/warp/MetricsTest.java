@@ -0,0 +1,104 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in Metrics.java:
+ *
+ * counter(String)
+ * timer(String)
+ * getJson()
+ * reset()
+ *
+ * and that the Options carry the metrics that a Program is built with.
+ */
+class MetricsTest {
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Metrics#counter(String)}.
+	 */
+	@Test
+	void testDisabledMetricsRecordNothing() {
+		var options = new Options(new String[] {"-i", "Example4.txt"});
+		var metrics = options.getMetrics();
+		metrics.counter("test.count").add(5);
+		var timer = metrics.timer("test.phase");
+		timer.stop(timer.start());
+
+		assertSame(Metrics.DISABLED, metrics);
+		assertFalse(metrics.isEnabled());
+		assertEquals(0L, metrics.counter("test.count").getCount());
+		assertTrue(metrics.getCounters().isEmpty());
+		assertTrue(metrics.getTimerCounts().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Metrics#timer(String)}.
+	 */
+	@Test
+	void testProgramRecordsCountersAndPhases() {
+		var options = new Options(new String[] {"-i", "Example4.txt", "-sch", "dm", "-metrics"});
+		var program = new Program(new WorkLoad(options));
+		new ChannelAnalysis(program);
+
+		var metrics = options.getMetrics();
+		assertSame(metrics, program.getMetrics());
+		var counters = metrics.getCounters();
+		assertTrue(counters.get("program.slotsScanned") > 0);
+		assertTrue(counters.get("program.channelAllocations") > 0);
+		assertTrue(counters.get("dsl.parses") > 0);
+		var timerCounts = metrics.getTimerCounts();
+		assertEquals(1L, timerCounts.get("workload.parse"));
+		assertEquals(1L, timerCounts.get("program.schedule"));
+		assertEquals(1L, timerCounts.get("analysis.channel"));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Metrics#timer(String)}.
+	 */
+	@Test
+	void testStoppedPhasesAreTimed() {
+		var options = new Options(new String[] {"-i", "StressTest.txt", "-sch", "dm", "-c", "2",
+				"-metrics"});
+		var workLoad = new WorkLoad(options);
+
+		assertThrows(BudgetExceededException.class, () -> new Program(workLoad, new Budget(0, 301)));
+		assertFalse(new Program(workLoad, true).isSchedulable()); // stops at the first miss
+
+		assertEquals(2L, options.getMetrics().getTimerCounts().get("program.schedule"));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Metrics#getJson()}.
+	 */
+	@Test
+	void testJsonIsSortedByName() {
+		var metrics = new Metrics();
+		metrics.counter("b.count").add(2);
+		metrics.counter("a.count").increment();
+		var timer = metrics.timer("phase");
+		timer.stop(timer.start());
+		var json = metrics.getJson();
+
+		assertTrue(json.startsWith("{\n  \"counters\": {\n    \"a.count\": 1,\n    \"b.count\": 2\n"));
+		assertTrue(json.contains("\"phase\": {\"count\": 1, \"totalMillis\": "));
+		assertEquals("{\n  \"counters\": {},\n  \"timers\": {}\n}\n", new Metrics().getJson());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Metrics#reset()}.
+	 */
+	@Test
+	void testResetKeepsCountersInUse() {
+		var metrics = new Metrics();
+		var counter = metrics.counter("count");
+		counter.add(3);
+		metrics.reset();
+		counter.increment();
+
+		assertEquals(1L, metrics.getCounters().get("count"));
+		assertSame(counter, metrics.counter("count"));
+	}
+}
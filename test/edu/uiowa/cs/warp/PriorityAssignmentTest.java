@@ -0,0 +1,87 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in PriorityAssignment.java:
+ *
+ * assign()
+ * apply(Map, WorkLoad)
+ *
+ * and the partial program constructors in Program.java it uses.
+ */
+class PriorityAssignmentTest {
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.PriorityAssignment#assign()}.
+	 */
+	@Test
+	void testSchedulableWorkLoadKeepsSchedulerOrder() {
+		var options = new Options(new String[] {"-i", "Example4.txt", "-sch", "dm"});
+		var workLoad = new WorkLoad(options);
+		var priorities = new PriorityAssignment(new WarpSystem(workLoad)).assign();
+
+		var dmOrder = new Program(WorkLoadSnapshot.of(workLoad).toWorkLoad(options)).toWorkLoad()
+				.getFlowNamesInPriorityOrder();
+		assertEquals(dmOrder, new ArrayList<String>(priorities.keySet()));
+		assertEquals(0, priorities.get(dmOrder.get(0)));
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.uiowa.cs.warp.PriorityAssignment#apply(java.util.Map, WorkLoad)}.
+	 */
+	@Test
+	void testPrioritiesMakeWorkLoadSchedulable() {
+		var options = new Options(new String[] {"-i", "StressTest.txt", "-sch", "priority"});
+		var workLoad = new WorkLoad(options);
+		var snapshot = WorkLoadSnapshot.of(workLoad);
+		assertFalse(new Program(snapshot.toWorkLoad(options)).deadlineMisses().isEmpty());
+
+		var priorities = new PriorityAssignment(new WarpSystem(workLoad)).assign();
+		assertNotNull(priorities);
+		var assigned = snapshot.toWorkLoad(options);
+		PriorityAssignment.apply(priorities, assigned);
+		assertEquals(new ArrayList<String>(priorities.keySet()),
+				assigned.getFlowNamesInPriorityOrder());
+		assertTrue(new Program(assigned).deadlineMisses().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.PriorityAssignment#assign()}.
+	 */
+	@Test
+	void testInfeasibleWorkLoadIsNotAssigned() {
+		var options = new Options(new String[] {"-m", "1.0", "-sch", "priority"});
+		var graph = "Hub {F0 (1, 2, 2, 0) : A -> D F1 (2, 2, 2, 0) : B -> D "
+				+ "F2 (3, 2, 2, 0) : C -> D}";
+		var workLoad = new WorkLoad(options, new StringReader(graph));
+
+		assertNull(new PriorityAssignment(new WarpSystem(workLoad)).assign());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Program#Program(Program, String)}.
+	 */
+	@Test
+	void testPartialProgramsMatchProgram() {
+		var options = new Options(new String[] {"-i", "StressTest.txt", "-sch", "priority"});
+		var snapshot = WorkLoadSnapshot.of(new WorkLoad(options));
+		var program = new Program(snapshot.toWorkLoad(options));
+		var flowNames = program.toWorkLoad().getFlowNamesInPriorityOrder();
+
+		var partial = new Program(snapshot.toWorkLoad(options), List.of());
+		for (String flowName : flowNames) {
+			partial = new Program(partial, flowName);
+		}
+		assertEquals(program.getSchedule(), partial.getSchedule());
+		assertEquals(program.deadlineMisses(), partial.deadlineMisses());
+		assertEquals(program.getSchedule(),
+				new Program(snapshot.toWorkLoad(options), flowNames).getSchedule());
+	}
+}
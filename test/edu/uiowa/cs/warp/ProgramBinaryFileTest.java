@@ -0,0 +1,161 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the following methods in ProgramBinaryFile.java:
+ *
+ * write()
+ * read()
+ */
+class ProgramBinaryFileTest {
+
+	/* magic, version, M, E2E, numFaults, nChannels, name, and scheduler name come first */
+	private static final int NUM_STRINGS_OFFSET = 40;
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ProgramBinaryFile#read(String)}.
+	 */
+	@Test
+	void testMappedScheduleMatchesProgram() throws Exception {
+		var options = new Options();
+		options.setInputFile("StressTest.txt");
+		var program = new Program(new WorkLoad(options));
+		var schedule = program.getSchedule();
+		var binaryFile = tempDir.resolve("StressTest.dslb").toString();
+		ProgramBinaryFile.write(program, binaryFile);
+
+		ProgramSchedule mapped = ProgramBinaryFile.read(binaryFile);
+
+		assertEquals(schedule.getNumRows(), mapped.getNumRows());
+		assertEquals(schedule.getNumColumns(), mapped.getNumColumns());
+		for (int row = 0; row < schedule.getNumRows(); row++) {
+			for (int column = 0; column < schedule.getNumColumns(); column++) {
+				assertEquals(schedule.get(row, column), mapped.get(row, column));
+			}
+		}
+		var row = 0;
+		for (InstructionTimeSlot timeSlot : mapped) {
+			assertEquals(schedule.get(row++), timeSlot);
+		}
+		assertEquals(schedule.getNumRows(), row);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ProgramBinaryFile#read(String)}.
+	 */
+	@Test
+	void testMappedScheduleListMethodsSeeTimeSlots() throws Exception {
+		var options = new Options();
+		options.setInputFile("Example.txt");
+		var program = new Program(new WorkLoad(options));
+		var schedule = program.getSchedule();
+		var binaryFile = tempDir.resolve("Example.dslb").toString();
+		ProgramBinaryFile.write(program, binaryFile);
+
+		var mapped = ProgramBinaryFile.read(binaryFile);
+
+		assertEquals(schedule, mapped);
+		assertEquals(mapped, schedule);
+		assertEquals(schedule.hashCode(), mapped.hashCode());
+		assertEquals(schedule.toString(), mapped.toString());
+		assertEquals(schedule.size(), mapped.stream().count());
+		assertArrayEquals(schedule.toArray(), mapped.toArray());
+		assertEquals(schedule.subList(1, 3), mapped.subList(1, 3));
+		assertTrue(mapped.contains(schedule.get(1)));
+		assertEquals(schedule.get(2), mapped.listIterator(2).next());
+		assertThrows(UnsupportedOperationException.class, () -> mapped.remove(0));
+		assertThrows(UnsupportedOperationException.class, () -> mapped.clear());
+
+		var bytes = new ByteArrayOutputStream();
+		try (var out = new ObjectOutputStream(bytes)) {
+			out.writeObject(mapped);
+		}
+		try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertEquals(schedule, in.readObject());
+		}
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ProgramBinaryFile#read(String)}.
+	 */
+	@Test
+	void testProgramAttributesAreSaved() throws Exception {
+		var options = new Options();
+		options.setInputFile("Example.txt");
+		var program = new Program(new WorkLoad(options));
+		var binaryFile = tempDir.resolve("Example.dslb").toString();
+		ProgramBinaryFile.write(program, binaryFile);
+
+		var mapped = ProgramBinaryFile.read(binaryFile);
+
+		assertEquals(program.getName(), mapped.getName());
+		assertEquals(program.getSchedulerName(), mapped.getSchedulerName());
+		assertEquals(program.getNumChannels(), mapped.getNumChannels());
+		assertEquals(program.getMinPacketReceptionRate(), mapped.getMinPacketReceptionRate());
+		assertEquals(program.getE2E(), mapped.getE2E());
+		assertEquals(program.getNodeMapIndex(), mapped.getNodeMapIndex());
+		assertThrows(UnsupportedOperationException.class, () -> mapped.set(0, 0, "sleep"));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ProgramBinaryFile#read(String)}.
+	 */
+	@Test
+	void testTruncatedFileIsRejected() throws Exception {
+		var options = new Options();
+		options.setInputFile("Example.txt");
+		var binaryFile = tempDir.resolve("Example.dslb");
+		ProgramBinaryFile.write(new Program(new WorkLoad(options)), binaryFile.toString());
+		var bytes = Files.readAllBytes(binaryFile);
+		Files.write(binaryFile, Arrays.copyOf(bytes, bytes.length - 1));
+
+		assertThrows(IOException.class, () -> ProgramBinaryFile.read(binaryFile.toString()));
+		assertThrows(IOException.class, () -> ProgramBinaryFile.read("Example.txt"));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ProgramBinaryFile#read(String)}.
+	 */
+	@Test
+	void testOverflowingHeaderIsRejected() throws Exception {
+		var options = new Options();
+		options.setInputFile("Example.txt");
+		var binaryFile = tempDir.resolve("Example.dslb");
+		ProgramBinaryFile.write(new Program(new WorkLoad(options)), binaryFile.toString());
+		var bytes = Files.readAllBytes(binaryFile);
+		ByteBuffer.wrap(bytes).putInt(NUM_STRINGS_OFFSET, Integer.MAX_VALUE);
+		Files.write(binaryFile, bytes);
+
+		assertThrows(IOException.class, () -> ProgramBinaryFile.read(binaryFile.toString()));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ProgramBinaryFile#write(Program, String)}.
+	 */
+	@Test
+	void testFailedWriteIsReported() {
+		var options = new Options();
+		options.setInputFile("Example.txt");
+		var program = new Program(new WorkLoad(options));
+		var binaryFile = tempDir.resolve("missing").resolve("Example.dslb");
+
+		assertThrows(IOException.class,
+				() -> ProgramBinaryFile.write(program, binaryFile.toString()));
+	}
+}
@@ -0,0 +1,81 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the following methods in ProgramCache.java:
+ *
+ * key()
+ * getProgram()
+ */
+class ProgramCacheTest {
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ProgramCache#key(WorkLoad)}.
+	 */
+	@Test
+	void testKeyDependsOnSchedulingOptions() {
+		var options = newOptions("StressTest.txt");
+		var key = ProgramCache.key(new WorkLoad(options));
+
+		assertEquals(key, ProgramCache.key(new WorkLoad(newOptions("StressTest.txt"))));
+		options.setnChannels(4);
+		assertNotEquals(key, ProgramCache.key(new WorkLoad(options)));
+		assertNotEquals(key, ProgramCache.key(new WorkLoad(newOptions("Example.txt"))));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ProgramCache#getProgram(WorkLoad, Budget)}.
+	 */
+	@Test
+	void testCachedProgramMatchesBuiltProgram() {
+		var uncached = newOptions("StressTest.txt");
+		uncached.setCacheRequested(false);
+		var built = new WarpSystem(new WorkLoad(uncached)).getProgram();
+		assertFalse(Files.exists(tempDir.resolve(ProgramCache.DIRECTORY)));
+		var firstRun = new WarpSystem(new WorkLoad(newOptions("StressTest.txt"))).getProgram();
+		var key = ProgramCache.key(new WorkLoad(newOptions("StressTest.txt")));
+		var entry = tempDir.resolve(ProgramCache.DIRECTORY).resolve(key + ProgramBinaryFile.SUFFIX);
+		assertTrue(Files.exists(entry));
+
+		var cached = new WarpSystem(new WorkLoad(newOptions("StressTest.txt"))).getProgram();
+
+		assertEquals(built.getSchedule(), firstRun.getSchedule());
+		assertEquals(built.getSchedule(), cached.getSchedule());
+		assertEquals(built.deadlineMisses(), cached.deadlineMisses());
+		assertFalse(cached.deadlineMisses().isEmpty());
+		assertEquals(built.getSchedulerName(), cached.getSchedulerName());
+		assertEquals(built.toWorkLoad().getFlowNamesInPriorityOrder(),
+				cached.toWorkLoad().getFlowNamesInPriorityOrder());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ProgramCache#getProgram(WorkLoad, Budget)}.
+	 */
+	@Test
+	void testCachedProgramKeepsUnschedulableFlag() {
+		/* POSET can't place an activation of Example4 on one channel, but no deadline is missed */
+		var options = newOptions("Example4.txt");
+		options.setSchedulerSelected("poset");
+		options.setnChannels(1);
+		var built = new WarpSystem(new WorkLoad(new Options(options))).getProgram();
+
+		var cached = new WarpSystem(new WorkLoad(new Options(options))).getProgram();
+
+		assertTrue(built.deadlineMisses().isEmpty());
+		assertFalse(built.isSchedulable());
+		assertFalse(cached.isSchedulable());
+	}
+
+	private Options newOptions(String inputFile) {
+		return new Options(new String[] {"-i", inputFile, "-o", tempDir.toString(), "-cache"});
+	}
+}
@@ -0,0 +1,117 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in ScheduleDiff.java:
+ *
+ * isEmpty()
+ * getChangedNodeNames()
+ * getChangedSlots()
+ * getNodeDiffs()
+ * getNumChanges(String, Change)
+ */
+class ScheduleDiffTest {
+
+	private static final String[] NODES = {"A", "B", "C"};
+	private static final String PUSH_F0 = "push(F0: A -> B, #1)";
+	private static final String PULL_F1 = "pull(F1: C -> B, #2)";
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ScheduleDiff#isEmpty()}.
+	 */
+	@Test
+	void testSameScheduleIsEmpty() {
+		var diff = new ScheduleDiff(scheduleOf(baseSlots()), NODES, scheduleOf(baseSlots()), NODES);
+
+		assertTrue(diff.isEmpty());
+		assertTrue(diff.getChangedNodeNames().isEmpty());
+		assertTrue(diff.getChangedSlots().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ScheduleDiff#getNodeDiffs()}.
+	 */
+	@Test
+	void testMovedTransmissionAndChannelChange() {
+		var changed = baseSlots();
+		changed[0][0] = "sleep"; // F0 moves from slot 0 to slot 2
+		changed[0][1] = "sleep";
+		changed[2][0] = PUSH_F0;
+		changed[2][1] = "wait(#1)";
+		changed[3][1] = "pull(F1: C -> B, #5)"; // same slot, new channel
+		var diff = new ScheduleDiff(scheduleOf(baseSlots()), NODES, scheduleOf(changed), NODES);
+
+		assertEquals(List.of("A", "B"), diff.getChangedNodeNames());
+		var ranges = diff.getChangedSlots();
+		assertEquals(2, ranges.size());
+		assertArrayEquals(new int[] {0, 0}, ranges.get(0));
+		assertArrayEquals(new int[] {2, 3}, ranges.get(1));
+		var nodeA = diff.getNodeDiffs().get(0);
+		assertEquals(1, nodeA.getChanges().size());
+		assertEquals(ScheduleDiff.Change.MOVED, nodeA.getChanges().get(0).getChange());
+		assertEquals(0, nodeA.getChanges().get(0).getOldSlot());
+		assertEquals(2, nodeA.getChanges().get(0).getNewSlot());
+		assertEquals(1, nodeA.getNumNewSleeps());
+		assertEquals(1, nodeA.getNumSleepsRemoved());
+		assertEquals(1, diff.getNumChanges("F0", ScheduleDiff.Change.MOVED));
+		assertEquals(1, diff.getNumChanges("F1", ScheduleDiff.Change.CHANNEL));
+		assertEquals(0, diff.getNumChanges("F1", ScheduleDiff.Change.MOVED));
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.uiowa.cs.warp.ScheduleDiff#getNumChanges(String, ScheduleDiff.Change)}.
+	 */
+	@Test
+	void testAddedNodeAndLongerSchedule() {
+		var longer = new String[][] {{PUSH_F0, "wait(#1)", "sleep", "sleep"},
+				{"sleep", "sleep", "sleep", "sleep"}, {"sleep", "sleep", "sleep", "sleep"},
+				{"sleep", PULL_F1, "wait(#2)", "sleep"},
+				{"sleep", "sleep", "sleep", "push(F2: D -> C, #0)"}};
+		var diff = new ScheduleDiff(scheduleOf(baseSlots()), NODES, scheduleOf(longer),
+				new String[] {"A", "B", "C", "D"});
+
+		assertEquals(List.of("D"), diff.getChangedNodeNames());
+		assertEquals(1, diff.getNumChanges("F2", ScheduleDiff.Change.ADDED));
+		assertArrayEquals(new int[] {4, 4}, diff.getChangedSlots().get(0));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.ScheduleDiff#getChangedSlots()}.
+	 */
+	@Test
+	void testThueMorseProgramsDiffer() {
+		/* sequences that collide under polynomial hashing mod 2^64 for any odd base */
+		var numSlots = 2048;
+		var oldSlots = new String[numSlots][];
+		var newSlots = new String[numSlots][];
+		for (int slot = 0; slot < numSlots; slot++) {
+			var odd = Integer.bitCount(slot) % 2 == 1;
+			oldSlots[slot] = new String[] {odd ? PUSH_F0 : "push(F0: A -> B, #2)", "sleep", "sleep"};
+			newSlots[slot] = new String[] {odd ? "push(F0: A -> B, #2)" : PUSH_F0, "sleep", "sleep"};
+		}
+		var diff = new ScheduleDiff(scheduleOf(oldSlots), NODES, scheduleOf(newSlots), NODES);
+
+		assertEquals(List.of("A"), diff.getChangedNodeNames());
+		assertArrayEquals(new int[] {0, numSlots - 1}, diff.getChangedSlots().get(0));
+		assertEquals(numSlots, diff.getNumChanges("F0", ScheduleDiff.Change.CHANNEL));
+	}
+
+	/* F0 is pushed from A to B in slot 0, and B pulls F1 from C in slot 3 */
+	private String[][] baseSlots() {
+		return new String[][] {{PUSH_F0, "wait(#1)", "sleep"}, {"sleep", "sleep", "sleep"},
+				{"sleep", "sleep", "sleep"}, {"sleep", PULL_F1, "wait(#2)"}};
+	}
+
+	private ProgramSchedule scheduleOf(String[][] slots) {
+		var schedule = new ProgramSchedule();
+		for (String[] slot : slots) {
+			schedule.add(new InstructionTimeSlot(slot));
+		}
+		return schedule;
+	}
+}
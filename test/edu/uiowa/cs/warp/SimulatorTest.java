@@ -0,0 +1,95 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.util.StringJoiner;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in Simulator.java:
+ *
+ * simulate(long, long)
+ * setSuccessProbability(String, String, Double)
+ */
+class SimulatorTest {
+
+	private static final long NUM_HYPER_PERIODS = 20000;
+	private static final long SEED = 2820;
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Simulator#simulate(long, long)}.
+	 */
+	@Test
+	void testSimulateIsReproducible() {
+		var simulator = simulatorOfExample();
+		var first = simulator.simulate(NUM_HYPER_PERIODS, SEED);
+		var second = simulator.simulate(NUM_HYPER_PERIODS, SEED);
+
+		for (int flow = 0; flow < first.size(); flow++) {
+			assertEquals(first.get(flow).getNumDelivered(), second.get(flow).getNumDelivered());
+			assertEquals(first.get(flow).histogram(), second.get(flow).histogram());
+		}
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Simulator#simulate(long, long)}.
+	 */
+	@Test
+	void testSimulateAgreesWithLatencyDistribution() {
+		var f0 = simulatorOfExample().simulate(NUM_HYPER_PERIODS, SEED).get(0);
+
+		assertEquals("F0", f0.getFlowName());
+		assertEquals(NUM_HYPER_PERIODS, f0.getNumReleased());
+		/* the analytical delivery probability of F0 is 0.9963 (LatencyAnalysisTest) */
+		assertEquals(0.9963, f0.getDeliveryRatio(), 0.002);
+		assertEquals(0, f0.getNumDelivered(1));
+		assertEquals(4, f0.getLatencyPercentile(0.99));
+	}
+
+	/**
+	 * Test method for
+	 * {@link edu.uiowa.cs.warp.Simulator#setSuccessProbability(String, String, Double)}.
+	 */
+	@Test
+	void testSetSuccessProbability() {
+		var simulator = simulatorOfExample();
+		simulator.setSuccessProbability("A", "B", 1.0);
+		simulator.setSuccessProbability("B", "C", 1.0);
+		simulator.setSuccessProbability("B", "C", 2.0); // ignored
+		simulator.setSuccessProbability("Z", "C", 0.0); // ignored
+		var f0 = simulator.simulate(NUM_HYPER_PERIODS, SEED).get(0);
+
+		assertEquals(1.0, f0.getDeliveryRatio());
+		assertEquals(0.0, f0.getDeadlineMissRate());
+		assertEquals(f0.getNumReleased(), f0.getNumDelivered(2));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Simulator#simulate(long, long)}.
+	 */
+	@Test
+	void testSimulateFlowWithMoreThan64Nodes() {
+		var numNodes = 70;
+		var nodes = new StringJoiner(" -> ");
+		for (int node = 0; node < numNodes; node++) {
+			nodes.add("N" + node);
+		}
+		var workLoad = new WorkLoad(new Options(new String[] {"-sch", "priority"}),
+				new StringReader("Long {\nF0 (1, 1000, 1000, 0) : " + nodes + "\n}\n"));
+		var simulator = new Simulator(new WarpSystem(workLoad).toSimulator());
+		for (int node = 1; node < numNodes; node++) {
+			simulator.setSuccessProbability("N" + (node - 1), "N" + node, 1.0);
+		}
+		var f0 = simulator.simulate(100, SEED).get(0);
+
+		assertEquals(100, f0.getNumReleased());
+		assertEquals(1.0, f0.getDeliveryRatio());
+		assertTrue(f0.getLatencyPercentile(1.0) >= numNodes - 1); // at least one time slot per hop
+	}
+
+	private Simulator simulatorOfExample() {
+		var options = new Options(new String[] {"-i", "Example.txt", "-sch", "priority"});
+		return new Simulator(new WarpSystem(new WorkLoad(options)).toSimulator());
+	}
+}
@@ -0,0 +1,70 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the following methods in VisualizationFactory.java:
+ *
+ * createWarpVisualizations()
+ */
+class VisualizationFactoryTest {
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.VisualizationFactory#createWarpVisualizations(WarpInterface)}.
+	 */
+	@Test
+	void testConcurrentFilesMatchSequentialFiles() throws Exception {
+		Path sequential = createAllFiles(1, "Sequential");
+		Path concurrent = createAllFiles(4, "Concurrent");
+
+		List<Path> files = listFiles(sequential);
+		assertEquals(files, listFiles(concurrent));
+		assertFalse(files.isEmpty());
+		for (Path file : files) {
+			assertEquals(Files.readString(sequential.resolve(file)),
+					Files.readString(concurrent.resolve(file)), file.toString());
+		}
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.VisualizationFactory#createWarpVisualizations(WarpInterface)}.
+	 */
+	@Test
+	void testConcurrentFilesBuildOnlyWhatIsRequested() {
+		var options = new Options(new String[] {"-i", "Example4.txt", "-o",
+				tempDir.toString(), "-j", "4", "-metrics"});
+		VisualizationFactory.createWarpVisualizations(new WarpSystem(new WorkLoad(options)));
+
+		var timerCounts = options.getMetrics().getTimerCounts();
+		assertEquals(1L, timerCounts.get("program.schedule"));
+		assertFalse(timerCounts.containsKey("analysis.channel"));
+		assertFalse(timerCounts.containsKey("analysis.execution"));
+		assertFalse(timerCounts.containsKey("analysis.latency.distributions"));
+	}
+
+	private Path createAllFiles(Integer numJobs, String subDirectory) {
+		var outputDirectory = tempDir.resolve(subDirectory);
+		var options = new Options(new String[] {"-i", "StressTest.txt", "-o",
+				outputDirectory.toString(), "-a", "-sch", "priority", "-j", numJobs.toString()});
+		VisualizationFactory.createWarpVisualizations(new WarpSystem(new WorkLoad(options)));
+		return outputDirectory;
+	}
+
+	private List<Path> listFiles(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.map(directory::relativize).sorted().collect(Collectors.toList());
+		}
+	}
+}
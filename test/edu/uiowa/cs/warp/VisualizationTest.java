@@ -0,0 +1,74 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import edu.uiowa.cs.warp.Visualizable.SystemVisualizations;
+import edu.uiowa.cs.warp.Visualizable.WorkLoadVisualizations;
+
+/**
+ * Tests the following methods in Visualization.java:
+ *
+ * toFile()
+ */
+class VisualizationTest {
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Visualization#toFile()}.
+	 */
+	@Test
+	void testStreamedProgramFileMatchesFileVisualization() throws Exception {
+		var options = new Options();
+		options.setInputFile("StressTest.txt");
+		options.setOutputSubDirectory(tempDir.toString());
+		var warp = new WarpSystem(new WorkLoad(options));
+		var viz = VisualizationFactory.createSystemVisualization(warp, SystemVisualizations.SOURCE);
+
+		var file = viz.toFile();
+
+		assertEquals(viz.fileVisualization().toString(), Files.readString(file.toPath()));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Visualization#toFile()}.
+	 */
+	@Test
+	void testStreamedWorkLoadFileMatchesInputFile() throws Exception {
+		var options = new Options();
+		options.setInputFile("Example.txt");
+		options.setOutputSubDirectory(tempDir.toString());
+		var viz = VisualizationFactory.createWorkLoadVisualization(new WorkLoad(options),
+				WorkLoadVisualizations.INPUT_GRAPH);
+
+		var file = viz.toFile();
+
+		assertEquals(viz.fileVisualization().toString(), Files.readString(file.toPath()));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.Visualization#toFile()}.
+	 */
+	@Test
+	void testLargeInputFileIsCopied() throws Exception {
+		var graph = new StringBuilder("Large {\n\n");
+		for (int i = 0; graph.length() <= 8 * 1024 * 1024; i++) {
+			graph.append(String.format("F%d : A -> B -> C\n", i));
+		}
+		graph.append("}\n\n\n");
+		var inputFile = tempDir.resolve("Large.txt");
+		Files.writeString(inputFile, graph);
+		var options = new Options();
+		options.setInputFile(inputFile.toString());
+		options.setOutputSubDirectory(tempDir.toString());
+
+		var file = new WorkLoadVisualization(options).toFile();
+
+		assertEquals(new Description(graph.toString()).toString(), Files.readString(file.toPath()));
+	}
+}
@@ -0,0 +1,60 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the following methods in WarpBatch.java:
+ *
+ * findInputFiles()
+ * run()
+ */
+class WarpBatchTest {
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WarpBatch#findInputFiles(String)}.
+	 */
+	@Test
+	void testFindInputFiles() throws Exception {
+		Files.writeString(tempDir.resolve("B.txt"), "B {F0: A -> B}");
+		Files.writeString(tempDir.resolve("A.txt"), "A {F0: A -> B}");
+		Files.writeString(tempDir.resolve("Notes.md"), "not a workload");
+
+		assertEquals(List.of(tempDir.resolve("A.txt").toString(), tempDir.resolve("B.txt").toString()),
+				WarpBatch.findInputFiles(tempDir.toString()));
+		assertEquals(List.of(tempDir.resolve("B.txt").toString()),
+				WarpBatch.findInputFiles(tempDir.resolve("B*").toString()));
+		assertTrue(WarpBatch.findInputFiles(tempDir.resolve("*.wldb").toString()).isEmpty());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WarpBatch#run()}.
+	 */
+	@Test
+	void testRunWritesFilesAndSummary() throws Exception {
+		var inputDirectory = Files.createDirectory(tempDir.resolve("in"));
+		Files.copy(Path.of("Example.txt"), inputDirectory.resolve("Example.txt"));
+		Files.copy(Path.of("StressTest.txt"), inputDirectory.resolve("StressTest.txt"));
+		var outputDirectory = tempDir.resolve("out");
+		var options = new Options(new String[] {"-b", inputDirectory.toString(), "-o",
+				outputDirectory.toString(), "-sch", "priority", "-j", "2"});
+
+		var summary = new WarpBatch(options).run();
+
+		assertEquals(3, summary.size()); // header and one row per input file
+		assertTrue(summary.get(1).startsWith(inputDirectory.resolve("Example.txt") + "\tPriority\tyes\t"));
+		assertTrue(summary.get(2).startsWith(inputDirectory.resolve("StressTest.txt") + "\tPriority\tno\t"));
+		assertTrue(Files.exists(outputDirectory.resolve("BatchSummary.txt")));
+		assertTrue(Files.exists(outputDirectory.resolve("ExamplePriority-0.9M-0.99E2E.dsl")));
+		assertTrue(Files.exists(
+				outputDirectory.resolve("StressTestPriority-0.9M-0.99E2EDeadlineMissesReport.txt")));
+	}
+}
@@ -0,0 +1,99 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in WarpSystem.java:
+ *
+ * getProgramAsync()
+ * getChannelAnalysisAsync()
+ * analyzeAsync()
+ * verificationAsync()
+ * reset()
+ * reset(Options)
+ */
+class WarpSystemTest {
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WarpSystem#getProgramAsync()}.
+	 */
+	@Test
+	void testProgramIsBuiltOnce() {
+		var warp = newWarpSystem();
+		var program = warp.getProgramAsync();
+
+		assertSame(program, warp.getProgramAsync());
+		assertSame(program.join(), warp.getProgram());
+		assertTrue(warp.deadlinesMet());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WarpSystem#getChannelAnalysisAsync()}.
+	 */
+	@Test
+	void testConcurrentRequestsShareOneAnalysis() {
+		var warp = newWarpSystem();
+		List<ChannelAnalysis> analyses = IntStream.range(0, 8).parallel()
+				.mapToObj(i -> warp.getChannelAnalysis()).collect(Collectors.toList());
+
+		for (ChannelAnalysis analysis : analyses) {
+			assertSame(warp.getChannelAnalysisAsync().join(), analysis);
+		}
+		assertFalse(warp.getChannelAnalysis().isChannelConflict());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WarpSystem#analyzeAsync()}.
+	 */
+	@Test
+	void testAnalysesAreBuiltWhenJoined() {
+		var warp = newWarpSystem();
+		warp.analyzeAsync().join();
+
+		assertTrue(warp.verificationAsync().isDone());
+		assertTrue(warp.getLatencyAnalysisAsync().isDone());
+		assertTrue(warp.getExecutionAnalysisAsync().isDone());
+		assertFalse(warp.getLatencyAnalysis().getLatencyDistributions().isEmpty());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WarpSystem#reset()}.
+	 */
+	@Test
+	void testResetBuildsNewProgram() {
+		var warp = newWarpSystem();
+		var program = warp.getProgram();
+		var analysis = warp.getExecutionAnalysis();
+		warp.reset();
+
+		assertNotSame(program, warp.getProgram());
+		assertNotSame(analysis, warp.getExecutionAnalysis());
+		assertEquals(program.getSchedule(), warp.getProgram().getSchedule());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WarpSystem#reset(Options)}.
+	 */
+	@Test
+	void testResetCopiesOptions() {
+		var warp = newWarpSystem();
+		var edited = new Options(warp.getOptions());
+		edited.setnChannels(4);
+		warp.reset(edited);
+		edited.setnChannels(8); // edits after the reset don't change the system
+
+		assertNotSame(edited, warp.getOptions());
+		assertEquals(4, warp.getNumChannels());
+		assertEquals(4, warp.getWorkload().getOptions().getNumChannels());
+	}
+
+	private WarpSystem newWarpSystem() {
+		var options = new Options(new String[] {"-i", "Example4.txt", "-sch", "dm", "-c", "16"});
+		return new WarpSystem(new WorkLoad(options));
+	}
+}
@@ -0,0 +1,83 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import edu.uiowa.cs.warp.WarpWatcher.Change;
+
+/**
+ * Tests the following methods in WarpWatcher.java:
+ *
+ * changeOf()
+ * update()
+ */
+class WarpWatcherTest {
+
+	private static final String WORKLOAD = "Watch {\nF0 (1, 20, 20, 0) : A -> B -> C\n}\n";
+	private static final String NEW_LAYOUT = "Watch {\n\tF0 (1,20,20,0): A -> B -> C }";
+	private static final String NEW_PERIOD = "Watch {\nF0 (1, 10, 20, 0) : A -> B -> C\n}\n";
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WarpWatcher#changeOf(String, WorkLoadSnapshot, String, WorkLoadSnapshot)}.
+	 */
+	@Test
+	void testChangeOf() throws Exception {
+		var before = snapshotOf(WORKLOAD);
+
+		assertEquals(Change.NONE, WarpWatcher.changeOf(WORKLOAD, before, WORKLOAD, snapshotOf(WORKLOAD)));
+		assertEquals(Change.INPUT_TEXT,
+				WarpWatcher.changeOf(WORKLOAD, before, NEW_LAYOUT, snapshotOf(NEW_LAYOUT)));
+		assertEquals(Change.WORKLOAD,
+				WarpWatcher.changeOf(WORKLOAD, before, NEW_PERIOD, snapshotOf(NEW_PERIOD)));
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WarpWatcher#update()}.
+	 */
+	@Test
+	void testUpdateCreatesOnlyAffectedFiles() throws Exception {
+		var inputFile = tempDir.resolve("Watch.txt");
+		var outputDirectory = tempDir.resolve("out");
+		Files.writeString(inputFile, WORKLOAD);
+		var options = new Options(new String[] {"-i", inputFile.toString(), "-o",
+				outputDirectory.toString(), "-sch", "priority"});
+		var created = new ArrayList<WorkLoad>();
+		var watcher = new WarpWatcher(options, new WorkLoad(options), created::add);
+
+		Files.writeString(inputFile, NEW_LAYOUT);
+		assertEquals(Change.INPUT_TEXT, watcher.update());
+		assertTrue(created.isEmpty());
+		assertEquals(NEW_LAYOUT, Files.readString(outputDirectory.resolve("Watch.wld")).strip());
+
+		Files.writeString(inputFile, NEW_PERIOD);
+		assertEquals(Change.WORKLOAD, watcher.update());
+		assertEquals(1, created.size());
+		assertEquals(10, created.get(0).getFlows().get("F0").getPeriod());
+
+		assertEquals(Change.NONE, watcher.update());
+		assertEquals(1, created.size());
+		assertEquals(List.of(Path.of("Watch.wld")), listFiles(outputDirectory)); // no temporary files
+	}
+
+	private WorkLoadSnapshot snapshotOf(String contents) throws Exception {
+		var inputFile = Files.writeString(tempDir.resolve("Snapshot.txt"), contents);
+		var options = new Options(new String[] {"-i", inputFile.toString()});
+		return WorkLoadSnapshot.of(new WorkLoad(options));
+	}
+
+	private List<Path> listFiles(Path directory) throws Exception {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.map(directory::relativize).sorted().collect(Collectors.toList());
+		}
+	}
+}
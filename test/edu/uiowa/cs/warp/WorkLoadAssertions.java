@@ -0,0 +1,37 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Assertions shared by the tests of the ways a WorkLoad can be read, such as from a stream or a
+ * binary file, which should all load the same flows and nodes.
+ */
+final class WorkLoadAssertions {
+
+	private WorkLoadAssertions() {
+	}
+
+	/**
+	 * Asserts that two workloads have the same name, flows, and node indexes, and that each flow
+	 * has the same parameters, nodes, and transmission cost.
+	 *
+	 * @param expected workload
+	 * @param actual workload
+	 */
+	static void assertSameWorkLoad(WorkLoad expected, WorkLoad actual) {
+		assertEquals(expected.getName(), actual.getName());
+		assertArrayEquals(expected.getFlowNames(), actual.getFlowNames());
+		for (String flowName : expected.getFlowNames()) {
+			assertEquals(expected.getFlowPriority(flowName), actual.getFlowPriority(flowName));
+			assertEquals(expected.getFlowPeriod(flowName), actual.getFlowPeriod(flowName));
+			assertEquals(expected.getFlowDeadline(flowName), actual.getFlowDeadline(flowName));
+			assertEquals(expected.getFlowPhase(flowName), actual.getFlowPhase(flowName));
+			assertArrayEquals(expected.getNodesInFlow(flowName), actual.getNodesInFlow(flowName));
+			assertEquals(expected.getTotalTxAttemptsInFlow(flowName),
+					actual.getTotalTxAttemptsInFlow(flowName));
+		}
+		for (String nodeName : expected.getNodes().keySet()) {
+			assertEquals(expected.getNodeIndex(nodeName), actual.getNodeIndex(nodeName));
+		}
+	}
+}
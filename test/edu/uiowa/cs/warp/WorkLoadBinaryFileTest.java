@@ -0,0 +1,73 @@
+package edu.uiowa.cs.warp;
+
+import static edu.uiowa.cs.warp.WorkLoadAssertions.assertSameWorkLoad;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the following methods in WorkLoadBinaryFile.java:
+ *
+ * write()
+ * read()
+ * isBinaryFile()
+ */
+class WorkLoadBinaryFileTest {
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadBinaryFile#read(String)}.
+	 */
+	@Test
+	void testBinaryFileLoadsSameWorkLoad() {
+		var options = new Options();
+		options.setInputFile("WARP-WASHU-MIX.txt");
+		WorkLoad parsed = new WorkLoad(options);
+		var binaryFile = tempDir.resolve("WARP-WASHU-MIX.wldb").toString();
+		parsed.writeBinaryFile(binaryFile);
+
+		var binaryOptions = new Options(options);
+		binaryOptions.setInputFile(binaryFile);
+		WorkLoad loaded = new WorkLoad(binaryOptions);
+
+		assertSameWorkLoad(parsed, loaded);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadBinaryFile#read(String)}.
+	 */
+	@Test
+	void testCostsAreRecomputedForOtherParameters() {
+		var options = new Options();
+		options.setInputFile("Example.txt");
+		var binaryFile = tempDir.resolve("Example.wldb").toString();
+		new WorkLoad(options).writeBinaryFile(binaryFile);
+
+		options.setMinPacketReceptionRate(0.7);
+		WorkLoad parsed = new WorkLoad(options);
+		options.setInputFile(binaryFile);
+		WorkLoad loaded = new WorkLoad(options);
+
+		assertSameWorkLoad(parsed, loaded);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadBinaryFile#isBinaryFile(String)}.
+	 */
+	@Test
+	void testIsBinaryFile() {
+		var options = new Options();
+		options.setInputFile("Example.txt");
+		var binaryFile = tempDir.resolve("Example.wldb");
+		new WorkLoad(options).writeBinaryFile(binaryFile.toString());
+
+		assertTrue(WorkLoadBinaryFile.isBinaryFile(binaryFile.toString()));
+		assertFalse(WorkLoadBinaryFile.isBinaryFile("Example.txt"));
+		assertFalse(WorkLoadBinaryFile.isBinaryFile(tempDir.resolve("Missing.wldb").toString()));
+		assertFalse(WorkLoadBinaryFile.isBinaryFile(tempDir.toString()));
+	}
+}
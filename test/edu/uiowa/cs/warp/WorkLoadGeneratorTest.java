@@ -0,0 +1,110 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the following methods in WorkLoadGenerator.java:
+ *
+ * generate()
+ * toWarpText()
+ */
+class WorkLoadGeneratorTest {
+
+	@TempDir
+	Path tempDir;
+
+	private Options options;
+	private WorkLoadGenerator generator;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		options = new Options();
+		generator = new WorkLoadGenerator();
+		generator.setNumNodes(50);
+		generator.setNumFlows(20);
+		generator.setHops(2, 6);
+		generator.setTopology(WorkLoadGenerator.Topology.MULTI_BASE_STATION);
+		generator.setPeriods(WorkLoadGenerator.PeriodSet.COPRIME);
+		generator.setRandomPhases(true);
+		generator.setSeed(42L);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadGenerator#toWarpText()}.
+	 */
+	@Test
+	void testSameSeedGeneratesSameWorkLoad() {
+		var other = new WorkLoadGenerator();
+		other.setNumNodes(50);
+		other.setNumFlows(20);
+		other.setHops(2, 6);
+		other.setTopology(WorkLoadGenerator.Topology.MULTI_BASE_STATION);
+		other.setPeriods(WorkLoadGenerator.PeriodSet.COPRIME);
+		other.setRandomPhases(true);
+		other.setSeed(42L);
+
+		assertEquals(generator.toWarpText(), other.toWarpText());
+		other.setSeed(43L);
+		assertNotEquals(generator.toWarpText(), other.toWarpText());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadGenerator#generate(Options)}.
+	 */
+	@Test
+	void testGenerateMatchesParsedWarpText() throws Exception {
+		File inputFile = tempDir.resolve("Synthetic.txt").toFile();
+		Files.writeString(inputFile.toPath(), generator.toWarpText());
+		options.setInputFile(inputFile.getPath());
+		WorkLoad parsed = new WorkLoad(options);
+
+		WorkLoad generated = generator.generate(options);
+
+		assertEquals(parsed.getName(), generated.getName());
+		assertArrayEquals(parsed.getFlowNames(), generated.getFlowNames());
+		for (String flowName : parsed.getFlowNames()) {
+			assertEquals(parsed.getFlowPriority(flowName), generated.getFlowPriority(flowName));
+			assertEquals(parsed.getFlowPeriod(flowName), generated.getFlowPeriod(flowName));
+			assertEquals(parsed.getFlowDeadline(flowName), generated.getFlowDeadline(flowName));
+			assertEquals(parsed.getFlowPhase(flowName), generated.getFlowPhase(flowName));
+			assertArrayEquals(parsed.getNodesInFlow(flowName), generated.getNodesInFlow(flowName));
+			assertEquals(parsed.getTotalTxAttemptsInFlow(flowName),
+					generated.getTotalTxAttemptsInFlow(flowName));
+		}
+		for (String nodeName : parsed.getNodes().keySet()) {
+			assertEquals(parsed.getNodeIndex(nodeName), generated.getNodeIndex(nodeName));
+		}
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadGenerator#generate(Options)}.
+	 */
+	@Test
+	void testFlowsFollowTopologyAndHopRange() {
+		generator.setTopology(WorkLoadGenerator.Topology.LINE);
+		generator.setHopDistribution(WorkLoadGenerator.HopDistribution.FIXED);
+
+		WorkLoad generated = generator.generate(options);
+
+		assertEquals(20, generated.getFlowNames().length);
+		for (String flowName : generated.getFlowNames()) {
+			var nodes = generated.getNodesInFlow(flowName);
+			assertEquals(7, nodes.length); // 6 hops
+			for (int i = 1; i < nodes.length; i++) {
+				var previous = Integer.parseInt(nodes[i - 1].substring(1));
+				var current = Integer.parseInt(nodes[i].substring(1));
+				assertEquals(1, Math.abs(current - previous));
+			}
+			var period = generated.getFlowPeriod(flowName);
+			assertTrue(period == 49 || period == 50 || period == 51);
+			assertTrue(generated.getFlowPhase(flowName) < period);
+		}
+	}
+}
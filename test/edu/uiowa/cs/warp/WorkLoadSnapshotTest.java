@@ -0,0 +1,101 @@
+package edu.uiowa.cs.warp;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the following methods in WorkLoadSnapshot.java:
+ *
+ * of()
+ * toWorkLoad()
+ * isCurrent()
+ */
+class WorkLoadSnapshotTest {
+
+	private Options options;
+	private WorkLoad workload;
+	private WorkLoadSnapshot snapshot;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		options = new Options();
+		options.setInputFile("StressTest.txt");
+		workload = new WorkLoad(options);
+		snapshot = WorkLoadSnapshot.of(workload);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadSnapshot#toWorkLoad(Options)}.
+	 */
+	@Test
+	void testToWorkLoadCopiesFlowsAndNodes() {
+		WorkLoad fork = snapshot.toWorkLoad(options);
+
+		assertEquals(workload.getName(), fork.getName());
+		assertArrayEquals(workload.getFlowNames(), fork.getFlowNames());
+		assertArrayEquals(workload.getNodeNamesOrderedAlphabetically(),
+				fork.getNodeNamesOrderedAlphabetically());
+		for (String flowName : workload.getFlowNames()) {
+			assertEquals(workload.getFlowPriority(flowName), fork.getFlowPriority(flowName));
+			assertEquals(workload.getFlowPeriod(flowName), fork.getFlowPeriod(flowName));
+			assertEquals(workload.getFlowDeadline(flowName), fork.getFlowDeadline(flowName));
+			assertEquals(workload.getFlowPhase(flowName), fork.getFlowPhase(flowName));
+			assertArrayEquals(workload.getNodesInFlow(flowName), fork.getNodesInFlow(flowName));
+			assertArrayEquals(workload.getNumTxAttemptsPerLink(flowName),
+					fork.getNumTxAttemptsPerLink(flowName));
+		}
+		for (String nodeName : workload.getNodes().keySet()) {
+			assertEquals(workload.getNodeIndex(nodeName), fork.getNodeIndex(nodeName));
+		}
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadSnapshot#toWorkLoad(Options)}.
+	 */
+	@Test
+	void testForksDoNotShareMutableState() {
+		Options posetOptions = new Options(options);
+		posetOptions.setSchedulerSelected("poset");
+		WorkLoad fork1 = snapshot.toWorkLoad(posetOptions);
+		WorkLoad fork2 = snapshot.toWorkLoad(posetOptions);
+		String nodeName = fork1.getNodeNamesOrderedAlphabetically()[0];
+
+		fork1.setNodeChannel(nodeName, 5);
+		new Program(fork1); // building a poset program adds edges to the fork's nodes
+
+		assertTrue(fork1.getNodes().get(nodeName).numEdges() > 0);
+		assertEquals(0, fork2.getNodeChannel(nodeName));
+		assertEquals(0, fork2.getNodes().get(nodeName).numEdges());
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadSnapshot#toWorkLoad(Options)}.
+	 */
+	@Test
+	void testToWorkLoadRecomputesCostsForNewReliabilityParameters() {
+		Options newOptions = new Options(options);
+		newOptions.setMinPacketReceptionRate(0.7);
+		WorkLoad expected = new WorkLoad(newOptions);
+
+		WorkLoad fork = snapshot.toWorkLoad(newOptions);
+
+		for (String flowName : expected.getFlowNames()) {
+			assertEquals(expected.getTotalTxAttemptsInFlow(flowName),
+					fork.getTotalTxAttemptsInFlow(flowName));
+		}
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadSnapshot#isCurrent(Options)}.
+	 */
+	@Test
+	void testIsCurrent() {
+		Options otherInput = new Options(options);
+		otherInput.setInputFile("Example.txt");
+
+		assertTrue(snapshot.isCurrent(options));
+		assertFalse(snapshot.isCurrent(otherInput));
+	}
+}
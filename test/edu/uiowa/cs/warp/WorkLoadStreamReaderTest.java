@@ -0,0 +1,61 @@
+package edu.uiowa.cs.warp;
+
+import static edu.uiowa.cs.warp.WorkLoadAssertions.assertSameWorkLoad;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests the following methods in WorkLoadStreamReader.java:
+ *
+ * buildNodesAndFlows()
+ */
+class WorkLoadStreamReaderTest {
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadStreamReader#buildNodesAndFlows(WorkLoad, java.io.Reader)}.
+	 */
+	@ParameterizedTest
+	@ValueSource(strings = {"Example.txt", "StressTest.txt", "WARP-WASHU-MIX.txt"})
+	void testStreamedWorkLoadMatchesParsedWorkLoad(String inputFile) throws Exception {
+		var options = new Options();
+		options.setInputFile(inputFile);
+		WorkLoad parsed = new WorkLoad(options);
+
+		WorkLoad streamed = new WorkLoad(options, Files.newBufferedReader(Path.of(inputFile)));
+
+		assertSameWorkLoad(parsed, streamed);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadStreamReader#buildNodesAndFlows(WorkLoad, java.io.Reader)}.
+	 */
+	@Test
+	void testFlowsMaySpanLines() {
+		var options = new Options();
+		WorkLoad oneLine = new WorkLoad(options,
+				new StringReader("Split {\nF0 (1, 20, 20, 2) : A -> B -> C\nF1 : C -> B\n}\n"));
+
+		WorkLoad split = new WorkLoad(options,
+				new StringReader("Split{F0(1,20,20,2):A\n->\nB->C F1\n:\nC->B}"));
+
+		assertSameWorkLoad(oneLine, split);
+	}
+
+	/**
+	 * Test method for {@link edu.uiowa.cs.warp.WorkLoadStreamReader#buildNodesAndFlows(WorkLoad, java.io.Reader)}.
+	 */
+	@Test
+	void testSyntaxErrorKeepsFlowsReadSoFar() {
+		WorkLoad workLoad = new WorkLoad(new Options(),
+				new StringReader("Bad {\nF0 : A -> B\nF1 : C -> \n}\n"));
+
+		assertEquals("Bad", workLoad.getName());
+		assertArrayEquals(new String[] {"A", "B"}, workLoad.getNodesInFlow("F0"));
+	}
+}